@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis;
+
+/**
+ * 图表结果拒绝异常。
+ * <p>
+ * 在{@linkplain DashboardQueryHandler}的并发模式下，执行器已满而拒绝执行图表查询时，将抛出此异常。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ChartResultRejectedException extends DataSetException
+{
+	private static final long serialVersionUID = 1L;
+
+	private String chartId;
+
+	public ChartResultRejectedException(String chartId, Throwable cause)
+	{
+		super("Chart '" + chartId + "' result rejected for too many concurrent queries", cause);
+		this.chartId = chartId;
+	}
+
+	public String getChartId()
+	{
+		return chartId;
+	}
+
+	protected void setChartId(String chartId)
+	{
+		this.chartId = chartId;
+	}
+}
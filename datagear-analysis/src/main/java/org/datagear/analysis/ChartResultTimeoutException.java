@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis;
+
+/**
+ * 图表结果超时异常。
+ * <p>
+ * 在{@linkplain DashboardQueryHandler}的并发模式下，图表未能在看板查询时限内得到结果时，将抛出此异常。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ChartResultTimeoutException extends DataSetException
+{
+	private static final long serialVersionUID = 1L;
+
+	private String chartId;
+
+	private long timeout;
+
+	public ChartResultTimeoutException(String chartId, long timeout)
+	{
+		super("Chart '" + chartId + "' result timeout after " + timeout + " ms");
+		this.chartId = chartId;
+		this.timeout = timeout;
+	}
+
+	public String getChartId()
+	{
+		return chartId;
+	}
+
+	protected void setChartId(String chartId)
+	{
+		this.chartId = chartId;
+	}
+
+	public long getTimeout()
+	{
+		return timeout;
+	}
+
+	protected void setTimeout(long timeout)
+	{
+		this.timeout = timeout;
+	}
+}
@@ -8,21 +8,66 @@
 package org.datagear.analysis;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.datagear.util.IOUtil;
 
 /**
  * {@linkplain DashboardQuery}处理器。
+ * <p>
+ * 默认在调用线程内逐一获取图表结果；设置了{@linkplain #getExecutorService()}后，将使用它并发获取图表结果，
+ * 此时，还可通过{@linkplain #getTimeout()}设置整个看板查询的时限，超时未完成的图表将以{@linkplain ChartResultTimeoutException}处理。
+ * </p>
+ * <p>
+ * 图表结果的{@linkplain DataSetResult#getData()}可能是持有资源的{@linkplain AutoCloseable}（比如流式结果数据），
+ * 对于超时、出错而被丢弃的图表结果，此类将负责关闭它们。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
 public abstract class DashboardQueryHandler
 {
+	/** 并发获取图表结果的执行器，为{@code null}表示不并发 */
+	private ExecutorService executorService = null;
+
+	/** 并发模式下看板查询的时限毫秒数，小于等于{@code 0}表示不限 */
+	private long timeout = 0;
+
 	public DashboardQueryHandler()
 	{
 		super();
 	}
 
+	public ExecutorService getExecutorService()
+	{
+		return executorService;
+	}
+
+	public void setExecutorService(ExecutorService executorService)
+	{
+		this.executorService = executorService;
+	}
+
+	public long getTimeout()
+	{
+		return timeout;
+	}
+
+	public void setTimeout(long timeout)
+	{
+		this.timeout = timeout;
+	}
+
 	/**
 	 * 获取{@linkplain DashboardResult}。
 	 * 
@@ -35,8 +80,8 @@ public abstract class DashboardQueryHandler
 		Map<String, ChartQuery> chartQueries = query.getChartQueries();
 		boolean suppressChartError = query.isSuppressChartError();
 
-		Map<String, ChartResult> chartResults = new HashMap<String, ChartResult>(chartQueries.size());
-		Map<String, ChartResultError> chartResultErrors = new HashMap<String, ChartResultError>();
+		Map<String, ChartDefinition> charts = new LinkedHashMap<String, ChartDefinition>(chartQueries.size());
+		Map<String, ChartQuery> chartQueriesRe = new LinkedHashMap<String, ChartQuery>(chartQueries.size());
 
 		for (Map.Entry<String, ChartQuery> entry : chartQueries.entrySet())
 		{
@@ -53,14 +98,50 @@ public abstract class DashboardQueryHandler
 				chartQuery.setResultDataFormat(query.getResultDataFormat());
 			}
 
-			ChartResult chartResult = null;
+			charts.put(chartId, chart);
+			chartQueriesRe.put(chartId, chartQuery);
+		}
+
+		Map<String, ChartResult> chartResults = new HashMap<String, ChartResult>(chartQueries.size());
+		Map<String, ChartResultError> chartResultErrors = new HashMap<String, ChartResultError>();
+
+		if (this.executorService == null || charts.size() < 2)
+			getChartResults(charts, chartQueriesRe, suppressChartError, chartResults, chartResultErrors);
+		else
+			getChartResultsConcurrently(charts, chartQueriesRe, suppressChartError, chartResults,
+					chartResultErrors);
+
+		DashboardResult dashboardResult = new DashboardResult(chartResults);
+		dashboardResult.setChartResultErrors(chartResultErrors);
+
+		return dashboardResult;
+	}
+
+	/**
+	 * 在调用线程内逐一获取图表结果。
+	 * 
+	 * @param charts
+	 * @param chartQueries
+	 * @param suppressChartError
+	 * @param chartResults
+	 * @param chartResultErrors
+	 * @throws DataSetException
+	 */
+	protected void getChartResults(Map<String, ChartDefinition> charts, Map<String, ChartQuery> chartQueries,
+			boolean suppressChartError, Map<String, ChartResult> chartResults,
+			Map<String, ChartResultError> chartResultErrors) throws DataSetException
+	{
+		for (Map.Entry<String, ChartDefinition> entry : charts.entrySet())
+		{
+			String chartId = entry.getKey();
+			ChartDefinition chart = entry.getValue();
+			ChartQuery chartQuery = chartQueries.get(chartId);
 
 			if (suppressChartError)
 			{
 				try
 				{
-					chartResult = chart.getResult(chartQuery);
-					chartResults.put(chartId, chartResult);
+					chartResults.put(chartId, chart.getResult(chartQuery));
 				}
 				catch (Throwable t)
 				{
@@ -69,17 +150,178 @@ public abstract class DashboardQueryHandler
 			}
 			else
 			{
-				chartResult = chart.getResult(chartQuery);
-				chartResults.put(chartId, chartResult);
+				try
+				{
+					chartResults.put(chartId, chart.getResult(chartQuery));
+				}
+				catch (Throwable t)
+				{
+					closeChartResults(chartResults);
+					chartResults.clear();
+
+					if (t instanceof RuntimeException)
+						throw (RuntimeException) t;
+					else if (t instanceof Error)
+						throw (Error) t;
+					else
+						throw new DataSetException(t);
+				}
 			}
 		}
+	}
 
-		DashboardResult dashboardResult = new DashboardResult(chartResults);
-		dashboardResult.setChartResultErrors(chartResultErrors);
+	/**
+	 * 使用{@linkplain #getExecutorService()}并发获取图表结果。
+	 * <p>
+	 * 执行器拒绝执行的图表将以{@linkplain ChartResultRejectedException}处理，不会在调用线程内执行，以保证看板查询时限有效。
+	 * 不压制错误时，任一图表出错、超时或者被拒绝，都将取消其他未完成的图表并抛出异常。
+	 * </p>
+	 * 
+	 * @param charts
+	 * @param chartQueries
+	 * @param suppressChartError
+	 * @param chartResults
+	 * @param chartResultErrors
+	 * @throws DataSetException
+	 */
+	protected void getChartResultsConcurrently(Map<String, ChartDefinition> charts,
+			Map<String, ChartQuery> chartQueries, boolean suppressChartError, Map<String, ChartResult> chartResults,
+			Map<String, ChartResultError> chartResultErrors) throws DataSetException
+	{
+		Map<String, Future<ChartResult>> futures = new LinkedHashMap<String, Future<ChartResult>>(charts.size());
+		Map<String, ChartResultCallable> callables = new HashMap<String, ChartResultCallable>(charts.size());
+		boolean complete = false;
 
-		return dashboardResult;
+		long deadline = (this.timeout > 0 ? System.currentTimeMillis() + this.timeout : 0);
+
+		try
+		{
+			for (Map.Entry<String, ChartDefinition> entry : charts.entrySet())
+			{
+				String chartId = entry.getKey();
+				ChartResultCallable callable = new ChartResultCallable(entry.getValue(), chartQueries.get(chartId));
+
+				Future<ChartResult> future = null;
+
+				try
+				{
+					future = this.executorService.submit(callable);
+				}
+				catch (RejectedExecutionException e)
+				{
+					ChartResultRejectedException re = new ChartResultRejectedException(chartId, e);
+
+					if (suppressChartError)
+						chartResultErrors.put(chartId, new ChartResultError(re));
+					else
+						throw re;
+				}
+
+				if (future != null)
+				{
+					futures.put(chartId, future);
+					callables.put(chartId, callable);
+				}
+			}
+
+			for (Map.Entry<String, Future<ChartResult>> entry : futures.entrySet())
+			{
+				String chartId = entry.getKey();
+				Future<ChartResult> future = entry.getValue();
+
+				try
+				{
+					ChartResult chartResult = (deadline > 0
+							? future.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS)
+							: future.get());
+
+					chartResults.put(chartId, chartResult);
+					callables.remove(chartId);
+				}
+				catch (TimeoutException e)
+				{
+					callables.remove(chartId).abandon(future);
+
+					ChartResultTimeoutException te = new ChartResultTimeoutException(chartId, this.timeout);
+
+					if (suppressChartError)
+						chartResultErrors.put(chartId, new ChartResultError(te));
+					else
+						throw te;
+				}
+				catch (ExecutionException e)
+				{
+					callables.remove(chartId);
+
+					Throwable cause = (e.getCause() == null ? e : e.getCause());
+
+					if (suppressChartError)
+						chartResultErrors.put(chartId, new ChartResultError(cause));
+					else if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					else if (cause instanceof Error)
+						throw (Error) cause;
+					else
+						throw new DataSetException(cause);
+				}
+			}
+
+			complete = true;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new DataSetException(e);
+		}
+		finally
+		{
+			for (Map.Entry<String, ChartResultCallable> entry : callables.entrySet())
+				entry.getValue().abandon(futures.get(entry.getKey()));
+
+			if (!complete)
+			{
+				closeChartResults(chartResults);
+				chartResults.clear();
+			}
+		}
+	}
+
+	/**
+	 * 关闭图表结果中持有资源的数据。
+	 * 
+	 * @param chartResults
+	 */
+	protected void closeChartResults(Map<String, ChartResult> chartResults)
+	{
+		for (ChartResult chartResult : chartResults.values())
+			closeChartResult(chartResult);
 	}
-	
+
+	/**
+	 * 关闭图表结果中持有资源的数据，即为{@linkplain AutoCloseable}的{@linkplain DataSetResult#getData()}。
+	 * 
+	 * @param chartResult
+	 *            允许为{@code null}
+	 */
+	protected static void closeChartResult(ChartResult chartResult)
+	{
+		if (chartResult == null)
+			return;
+
+		List<DataSetResult> dataSetResults = chartResult.getDataSetResults();
+
+		if (dataSetResults == null)
+			return;
+
+		for (DataSetResult dataSetResult : dataSetResults)
+		{
+			Object data = (dataSetResult == null ? null : dataSetResult.getData());
+
+			if (data instanceof AutoCloseable)
+				IOUtil.close((AutoCloseable) data);
+		}
+	}
+
 	/**
 	 * 获取指定图表ID对应的{@linkplain ChartDefinition}。
 	 * 
@@ -88,4 +330,70 @@ public abstract class DashboardQueryHandler
 	 * @return 允许返回{@code null}
 	 */
 	protected abstract ChartDefinition getChartDefinition(String chartId);
+
+	/**
+	 * 获取图表结果的{@linkplain Callable}。
+	 * <p>
+	 * 被{@linkplain #abandon(Future)}丢弃后，已获取或者之后获取的图表结果将被关闭。
+	 * </p>
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class ChartResultCallable implements Callable<ChartResult>
+	{
+		private final ChartDefinition chart;
+
+		private final ChartQuery chartQuery;
+
+		private ChartResult result = null;
+
+		private boolean abandoned = false;
+
+		public ChartResultCallable(ChartDefinition chart, ChartQuery chartQuery)
+		{
+			super();
+			this.chart = chart;
+			this.chartQuery = chartQuery;
+		}
+
+		@Override
+		public ChartResult call() throws Exception
+		{
+			ChartResult result = this.chart.getResult(this.chartQuery);
+
+			synchronized (this)
+			{
+				if (!this.abandoned)
+				{
+					this.result = result;
+					return result;
+				}
+			}
+
+			closeChartResult(result);
+
+			return null;
+		}
+
+		/**
+		 * 丢弃：取消未完成的执行，并关闭已获取的图表结果。
+		 * 
+		 * @param future
+		 */
+		public void abandon(Future<ChartResult> future)
+		{
+			ChartResult result = null;
+
+			synchronized (this)
+			{
+				this.abandoned = true;
+				result = this.result;
+				this.result = null;
+			}
+
+			future.cancel(true);
+			closeChartResult(result);
+		}
+	}
 }
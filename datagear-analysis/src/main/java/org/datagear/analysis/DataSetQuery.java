@@ -33,6 +33,12 @@ public class DataSetQuery implements ResultDataFormatAware, Serializable
 	/** 结果数据最大返回数目 */
 	private int resultFetchSize = -1;
 
+	/** 是否流式返回结果数据 */
+	private boolean streaming = false;
+
+	/** 查询范围，比如：当前用户ID */
+	private String scope = null;
+
 	public DataSetQuery()
 	{
 		super();
@@ -44,6 +50,8 @@ public class DataSetQuery implements ResultDataFormatAware, Serializable
 		this.paramValues = query.paramValues;
 		this.resultDataFormat = query.resultDataFormat;
 		this.resultFetchSize = query.resultFetchSize;
+		this.streaming = query.streaming;
+		this.scope = query.scope;
 	}
 
 	public Map<String, ?> getParamValues()
@@ -100,6 +108,55 @@ public class DataSetQuery implements ResultDataFormatAware, Serializable
 		this.resultFetchSize = resultFetchSize;
 	}
 
+	/**
+	 * 是否流式返回结果数据。
+	 * 
+	 * @return
+	 */
+	public boolean isStreaming()
+	{
+		return streaming;
+	}
+
+	/**
+	 * 设置是否流式返回结果数据。
+	 * <p>
+	 * 对于支持流式结果的{@linkplain DataSet}（比如：{@linkplain org.datagear.analysis.support.SqlDataSet}），
+	 * {@linkplain DataSet#getResult(DataSetQuery)}将不会立即读取数据，而是在{@linkplain DataSetResult#getData()}序列化为JSON时，
+	 * 才逐行读取、转换并直接写入输出流，因此仅适用于结果数据只会被序列化一次的场景；不支持的{@linkplain DataSet}将忽略此项。
+	 * </p>
+	 * 
+	 * @param streaming
+	 */
+	public void setStreaming(boolean streaming)
+	{
+		this.streaming = streaming;
+	}
+
+	/**
+	 * 获取查询范围。
+	 * 
+	 * @return 为{@code null}表示没有范围
+	 */
+	public String getScope()
+	{
+		return scope;
+	}
+
+	/**
+	 * 设置查询范围。
+	 * <p>
+	 * 查询范围用于区分发起查询的上下文（比如：当前用户ID），
+	 * 范围不同的查询即使数据集、参数值都相同，也不会共享缓存、合并的结果。
+	 * </p>
+	 * 
+	 * @param scope
+	 */
+	public void setScope(String scope)
+	{
+		this.scope = scope;
+	}
+
 	/**
 	 * 浅复制此对象。
 	 * 
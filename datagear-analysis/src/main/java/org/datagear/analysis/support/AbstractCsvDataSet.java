@@ -160,6 +160,25 @@ public abstract class AbstractCsvDataSet extends AbstractResolvableDataSet imple
 		List<String> rawDataPropertyNames = resolvePropertyNames(csvRecords);
 		List<Map<String, String>> rawData = resolveRawData(query, rawDataPropertyNames, csvRecords);
 
+		return resolveResult(query, rawDataPropertyNames, rawData, properties, resolveProperties);
+	}
+
+	/**
+	 * 解析结果。
+	 * 
+	 * @param query
+	 * @param rawDataPropertyNames
+	 * @param rawData
+	 * @param properties
+	 *            允许为{@code null}
+	 * @param resolveProperties
+	 * @return
+	 * @throws Throwable
+	 */
+	protected ResolvedDataSetResult resolveResult(DataSetQuery query, List<String> rawDataPropertyNames,
+			List<Map<String, String>> rawData, List<DataSetProperty> properties, boolean resolveProperties)
+			throws Throwable
+	{
 		if (resolveProperties)
 		{
 			List<DataSetProperty> resolvedProperties = resolveProperties(rawDataPropertyNames, rawData);
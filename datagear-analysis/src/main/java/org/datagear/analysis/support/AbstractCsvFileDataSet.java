@@ -9,10 +9,18 @@ package org.datagear.analysis.support;
 
 import java.io.File;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.datagear.analysis.DataSetException;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.ResolvedDataSetResult;
+import org.datagear.analysis.support.DataSetFileCache.FileData;
+import org.datagear.analysis.support.DataSetFileCache.FileKey;
 import org.datagear.util.IOUtil;
 
 /**
@@ -20,6 +28,9 @@ import org.datagear.util.IOUtil;
  * <p>
  * 注意：此类不支持<code>Freemarker</code>模板语言。
  * </p>
+ * <p>
+ * 如果设置了{@linkplain #getDataSetFileCache()}，已解析的文件数据将被缓存，文件未修改时无需再次解析。
+ * </p>
  * 
  * @author datagear@163.com
  *
@@ -31,6 +42,9 @@ public abstract class AbstractCsvFileDataSet extends AbstractCsvDataSet
 	/** 文件编码 */
 	private String encoding = IOUtil.CHARSET_UTF_8;
 
+	/** 已解析文件数据缓存，为{@code null}表示不缓存 */
+	private transient DataSetFileCache dataSetFileCache = null;
+
 	public AbstractCsvFileDataSet()
 	{
 		super();
@@ -56,6 +70,160 @@ public abstract class AbstractCsvFileDataSet extends AbstractCsvDataSet
 		this.encoding = encoding;
 	}
 
+	public DataSetFileCache getDataSetFileCache()
+	{
+		return dataSetFileCache;
+	}
+
+	public void setDataSetFileCache(DataSetFileCache dataSetFileCache)
+	{
+		this.dataSetFileCache = dataSetFileCache;
+	}
+
+	@Override
+	protected ResolvedDataSetResult resolveResult(DataSetQuery query, List<DataSetProperty> properties,
+			boolean resolveProperties) throws DataSetException
+	{
+		if (this.dataSetFileCache == null)
+			return super.resolveResult(query, properties, resolveProperties);
+
+		try
+		{
+			File file = getCsvFile(query);
+			FileKey key = FileKey.valueOf(file, getCsvFileSignature());
+			FileData fileData = this.dataSetFileCache.get(key);
+
+			if (fileData == null)
+			{
+				// 仅读取部分数据的查询没有必要为了缓存而解析整个文件
+				if (hasResultFetchSize(query))
+					return super.resolveResult(query, properties, resolveProperties);
+
+				fileData = readCsvFile(file, key);
+			}
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, String>> rawData = (List<Map<String, String>>) fileData.getRawData();
+			rawData = subListForResultFetchSize(query, rawData);
+
+			return resolveResult(query, fileData.getPropertyNames(), rawData, properties, resolveProperties);
+		}
+		catch (DataSetException e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new DataSetSourceParseException(t);
+		}
+	}
+
+	/**
+	 * 读取并缓存整个CSV文件的数据。
+	 * <p>
+	 * 数据以{@linkplain ColumnarData}存储，以减少缓存的内存占用。
+	 * </p>
+	 * 
+	 * @param file
+	 * @param key
+	 * @return
+	 * @throws Throwable
+	 */
+	protected FileData readCsvFile(File file, FileKey key) throws Throwable
+	{
+		Reader reader = null;
+
+		try
+		{
+			reader = IOUtil.getReader(file, this.encoding);
+			CSVParser csvParser = buildCSVParser(reader);
+
+			// 名称行之前的记录需在解析出属性名后才能添加
+			List<CSVRecord> pendingRecords = new ArrayList<>();
+			List<String> propertyNames = null;
+			ColumnarData rawData = null;
+			int rowIndex = 0;
+
+			for (CSVRecord csvRecord : csvParser)
+			{
+				if (rawData == null)
+				{
+					pendingRecords.add(csvRecord);
+
+					if (isNameRow(rowIndex) || isAfterNameRow(rowIndex))
+					{
+						propertyNames = resolvePropertyNames(pendingRecords);
+						rawData = new ColumnarData(propertyNames.toArray(new String[propertyNames.size()]));
+						addColumnarRawData(rawData, pendingRecords, 0);
+						pendingRecords = null;
+					}
+				}
+				else if (!isNameRow(rowIndex))
+					addColumnarRawData(rawData, csvRecord);
+
+				rowIndex++;
+			}
+
+			if (rawData == null)
+			{
+				propertyNames = resolvePropertyNames(pendingRecords);
+				rawData = new ColumnarData(propertyNames.toArray(new String[propertyNames.size()]));
+				addColumnarRawData(rawData, pendingRecords, 0);
+			}
+
+			rawData.trimToSize();
+
+			return this.dataSetFileCache.put(key, propertyNames, rawData);
+		}
+		finally
+		{
+			IOUtil.close(reader);
+		}
+	}
+
+	/**
+	 * 将CSV记录添加至{@linkplain ColumnarData}，名称行将被忽略。
+	 * 
+	 * @param rawData
+	 * @param csvRecords
+	 * @param startRowIndex
+	 *            {@code csvRecords}第一个元素的行索引（以{@code 0}计数）
+	 */
+	protected void addColumnarRawData(ColumnarData rawData, List<CSVRecord> csvRecords, int startRowIndex)
+	{
+		for (int i = 0, len = csvRecords.size(); i < len; i++)
+		{
+			if (!isNameRow(startRowIndex + i))
+				addColumnarRawData(rawData, csvRecords.get(i));
+		}
+	}
+
+	/**
+	 * 将CSV记录添加至{@linkplain ColumnarData}。
+	 * 
+	 * @param rawData
+	 * @param csvRecord
+	 */
+	protected void addColumnarRawData(ColumnarData rawData, CSVRecord csvRecord)
+	{
+		Object[] rowValues = new Object[rawData.getColumnCount()];
+
+		for (int j = 0, jlen = Math.min(csvRecord.size(), rowValues.length); j < jlen; j++)
+			rowValues[j] = csvRecord.get(j);
+
+		rawData.addRow(rowValues);
+	}
+
+	/**
+	 * 获取CSV文件解析签名，由影响解析结果的配置构成。
+	 * 
+	 * @return
+	 */
+	protected String getCsvFileSignature()
+	{
+		return "csv;encoding=" + this.encoding + ";nameRow=" + getNameRow();
+	}
+
 	@Override
 	protected TemplateResolvedSource<Reader> getCsvReader(DataSetQuery query) throws Throwable
 	{
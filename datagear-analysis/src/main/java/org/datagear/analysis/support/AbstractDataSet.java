@@ -37,6 +37,9 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 
 	public static final DataSetFmkTemplateResolver GENERAL_TEMPLATE_RESOLVER = new DataSetFmkTemplateResolver();
 
+	/** 转换为列式存储{@linkplain ColumnarData}结果数据的最小记录数 */
+	public static final int COLUMNAR_RESULT_MIN_SIZE = 1000;
+
 	private String name;
 
 	private List<DataSetProperty> properties;
@@ -222,6 +225,9 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 
 	/**
 	 * 转换原始数据。
+	 * <p>
+	 * 如果{@linkplain #isColumnarResult(Collection)}为{@code true}，将返回{@linkplain ColumnarData}。
+	 * </p>
 	 * 
 	 * @param rawData
 	 * @param properties
@@ -235,9 +241,12 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 		DataSetPropertyValueConverter converter = createDataSetPropertyValueConverter();
 		ResultDataFormatter formatter = (format == null ? null : new ResultDataFormatter(format));
 
-		List<Map<String, Object>> data = new ArrayList<>(rawData.size());
+		boolean columnar = isColumnarResult(rawData);
+		ColumnarData columnarData = (columnar ? ColumnarData.valueOf(properties, rawData.size()) : null);
+		List<Map<String, Object>> data = (columnar ? columnarData : new ArrayList<>(rawData.size()));
 
 		int plen = properties.size();
+		Object[] rowValues = (columnar ? new Object[plen] : null);
 
 		Object[] defaultValues = new Object[plen];
 		Object dvPlaceholder = new Object();
@@ -246,7 +255,7 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 		for (Map<String, ?> rowRaw : rawData)
 		{
 			// 应当仅保留数据集属性对应的数据，因为数据集属性是允许编辑的，如果用户删除了某个数据集属性，表明对应的值不想被使用
-			Map<String, Object> row = new HashMap<>();
+			Map<String, Object> row = (columnar ? null : new HashMap<>());
 
 			for (int j = 0; j < plen; j++)
 			{
@@ -270,15 +279,38 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 				if (formatter != null)
 					value = formatter.format(value);
 
-				row.put(name, value);
+				if (columnar)
+					rowValues[j] = value;
+				else
+					row.put(name, value);
 			}
 
-			data.add(row);
+			if (columnar)
+				columnarData.addRow(rowValues);
+			else
+				data.add(row);
 		}
 
+		if (columnar)
+			columnarData.trimToSize();
+
 		return data;
 	}
 
+	/**
+	 * 是否将给定原始数据转换为列式存储的{@linkplain ColumnarData}。
+	 * <p>
+	 * 记录数较多时，列式存储可显著减少内存占用，记录数较少时则没有必要。
+	 * </p>
+	 * 
+	 * @param rawData
+	 * @return
+	 */
+	protected boolean isColumnarResult(Collection<?> rawData)
+	{
+		return (rawData.size() >= COLUMNAR_RESULT_MIN_SIZE);
+	}
+
 	/**
 	 * 是否有{@linkplain DataSetQuery#getResultFetchSize()}。
 	 * 
@@ -335,6 +367,19 @@ public abstract class AbstractDataSet extends AbstractIdentifiable implements Da
 
 		return (maxCount < 0 ? defaultSize : Math.min(maxCount, defaultSize));
 	}
+
+	/**
+	 * 截取不超过{@linkplain DataSetQuery#getResultFetchSize()}的列表。
+	 * 
+	 * @param query 允许为{@code null}
+	 * @param list
+	 * @return 无需截取时返回{@code list}本身，否则返回其子列表视图
+	 */
+	protected <T> List<T> subListForResultFetchSize(DataSetQuery query, List<T> list)
+	{
+		int size = evalResultFetchSize(query, list.size());
+		return (size == list.size() ? list : list.subList(0, size));
+	}
 	
 	/**
 	 * 查找与名称数组对应的{@linkplain DataSetProperty}列表。
@@ -7,29 +7,53 @@
 
 package org.datagear.analysis.support;
 
+import static org.apache.poi.xssf.usermodel.XSSFRelation.NS_SPREADSHEETML;
+
 import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.hssf.eventusermodel.EventWorkbookBuilder.SheetRecordCollectingListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.model.HSSFFormulaParser;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
 import org.apache.poi.hssf.util.CellReference;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.datagear.analysis.DataSetException;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
 import org.datagear.analysis.ResolvableDataSet;
 import org.datagear.analysis.ResolvedDataSetResult;
+import org.datagear.analysis.support.DataSetFileCache.FileData;
+import org.datagear.analysis.support.DataSetFileCache.FileKey;
 import org.datagear.analysis.support.RangeExpResolver.IndexRange;
 import org.datagear.analysis.support.RangeExpResolver.Range;
 import org.datagear.util.FileUtil;
@@ -37,6 +61,11 @@ import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * 抽象Excel数据集。
@@ -50,6 +79,13 @@ import org.slf4j.LoggerFactory;
  * 通过{@linkplain #setNameRow(int)}可设置名称行。
  * </p>
  * <p>
+ * Excel文件以事件（{@code .xls}）、SAX（{@code .xlsx}）流式读取，不会将整个文件加载至内存，
+ * 并且在读取完名称行、所需数据行（参考{@linkplain DataSetQuery#getResultFetchSize()}）后即停止读取。
+ * </p>
+ * <p>
+ * 如果设置了{@linkplain #getDataSetFileCache()}，已解析的工作表数据将被缓存，文件未修改时无需再次解析。
+ * </p>
+ * <p>
  * 注意：此类不支持<code>Freemarker</code>模板语言。
  * </p>
  * 
@@ -84,6 +120,9 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 	/** 是否强制作为xls文件处理 */
 	private boolean forceXls = false;
 
+	/** 已解析文件数据缓存，为{@code null}表示不缓存 */
+	private transient DataSetFileCache dataSetFileCache = null;
+
 	private transient List<IndexRange> _dataRowRanges = null;
 	private transient List<IndexRange> _dataColumnRanges = null;
 
@@ -225,6 +264,16 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		this.forceXls = forceXls;
 	}
 
+	public DataSetFileCache getDataSetFileCache()
+	{
+		return dataSetFileCache;
+	}
+
+	public void setDataSetFileCache(DataSetFileCache dataSetFileCache)
+	{
+		this.dataSetFileCache = dataSetFileCache;
+	}
+
 	@Override
 	protected ResolvedDataSetResult resolveResult(DataSetQuery query, List<DataSetProperty> properties,
 			boolean resolveProperties) throws DataSetException
@@ -234,6 +283,25 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		try
 		{
 			file = getExcelFile(query);
+
+			if (this.dataSetFileCache != null)
+			{
+				FileKey key = FileKey.valueOf(file, getExcelFileSignature());
+				FileData fileData = this.dataSetFileCache.get(key);
+
+				// 仅读取部分数据的查询没有必要为了缓存而解析整个工作表
+				if (fileData == null && !hasResultFetchSize(query))
+					fileData = readExcelFile(file, key);
+
+				if (fileData != null)
+				{
+					@SuppressWarnings("unchecked")
+					List<Map<String, Object>> rawData = (List<Map<String, Object>>) fileData.getRawData();
+					rawData = subListForResultFetchSize(query, rawData);
+
+					return resolveResult(query, fileData.getPropertyNames(), rawData, properties, resolveProperties);
+				}
+			}
 		}
 		catch (DataSetException e)
 		{
@@ -256,6 +324,9 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 
 	/**
 	 * 解析{@code xls}结果。
+	 * <p>
+	 * 使用{@linkplain HSSFEventFactory}事件模式读取，读取完所需的行后即停止。
+	 * </p>
 	 * 
 	 * @param query
 	 * @param file
@@ -267,17 +338,13 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 	protected ResolvedDataSetResult resolveResultForXls(DataSetQuery query, File file,
 			List<DataSetProperty> properties, boolean resolveProperties) throws DataSetException
 	{
-		POIFSFileSystem poifs = null;
-		HSSFWorkbook wb = null;
+		ExcelRowCollector collector = createExcelRowCollector(query);
 
 		try
 		{
-			poifs = new POIFSFileSystem(file, true);
-			wb = new HSSFWorkbook(poifs.getRoot(), true);
+			readXls(file, collector);
 
-			Sheet sheet = wb.getSheetAt(getSheetIndex() - 1);
-
-			return resolveResultForSheet(query, sheet, properties, resolveProperties);
+			return resolveResult(query, collector, properties, resolveProperties);
 		}
 		catch (DataSetException e)
 		{
@@ -287,15 +354,55 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		{
 			throw new DataSetSourceParseException(t);
 		}
+	}
+
+	/**
+	 * 读取{@code xls}文件的行至{@linkplain ExcelRowCollector}。
+	 * 
+	 * @param file
+	 * @param collector
+	 * @throws Throwable
+	 */
+	protected void readXls(File file, ExcelRowCollector collector) throws Throwable
+	{
+		POIFSFileSystem poifs = null;
+
+		try
+		{
+			poifs = new POIFSFileSystem(file, true);
+
+			XlsSheetListener listener = new XlsSheetListener(getSheetIndex() - 1, collector);
+			MissingRecordAwareHSSFListener missingRecordAwareListener = new MissingRecordAwareHSSFListener(listener);
+			FormatTrackingHSSFListener formatTrackingListener = new FormatTrackingHSSFListener(
+					missingRecordAwareListener);
+			SheetRecordCollectingListener workbookBuildingListener = new SheetRecordCollectingListener(
+					formatTrackingListener);
+
+			listener.setFormatTrackingListener(formatTrackingListener);
+			listener.setWorkbookBuildingListener(workbookBuildingListener);
+
+			HSSFRequest request = new HSSFRequest();
+			request.addListenerForAllRecords(workbookBuildingListener);
+
+			try
+			{
+				new HSSFEventFactory().processWorkbookEvents(request, poifs);
+			}
+			catch (ExcelReadStopException e)
+			{
+			}
+		}
 		finally
 		{
-			IOUtil.close(wb);
 			IOUtil.close(poifs);
 		}
 	}
 
 	/**
 	 * 解析{@code xlsx}结果。
+	 * <p>
+	 * 使用{@linkplain XSSFReader}以SAX模式读取，读取完所需的行后即停止。
+	 * </p>
 	 * 
 	 * @param query
 	 * @param file
@@ -308,17 +415,13 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 	protected ResolvedDataSetResult resolveResultForXlsx(DataSetQuery query, File file,
 			List<DataSetProperty> properties, boolean resolveProperties) throws DataSetException
 	{
-		OPCPackage pkg = null;
-		XSSFWorkbook wb = null;
+		ExcelRowCollector collector = createExcelRowCollector(query);
 
 		try
 		{
-			pkg = OPCPackage.open(file, PackageAccess.READ);
-			wb = new XSSFWorkbook(pkg);
+			readXlsx(file, collector);
 
-			Sheet sheet = wb.getSheetAt(getSheetIndex() - 1);
-
-			return resolveResultForSheet(query, sheet, properties, resolveProperties);
+			return resolveResult(query, collector, properties, resolveProperties);
 		}
 		catch (DataSetException e)
 		{
@@ -328,35 +431,95 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		{
 			throw new DataSetSourceParseException(t);
 		}
+	}
+
+	/**
+	 * 读取{@code xlsx}文件的行至{@linkplain ExcelRowCollector}。
+	 * 
+	 * @param file
+	 * @param collector
+	 * @throws Throwable
+	 */
+	protected void readXlsx(File file, ExcelRowCollector collector) throws Throwable
+	{
+		OPCPackage pkg = null;
+
+		try
+		{
+			pkg = OPCPackage.open(file, PackageAccess.READ);
+
+			XSSFReader xssfReader = new XSSFReader(pkg);
+			ReadOnlySharedStringsTable sharedStringsTable = new ReadOnlySharedStringsTable(pkg);
+			StylesTable stylesTable = xssfReader.getStylesTable();
+
+			Iterator<InputStream> sheets = xssfReader.getSheetsData();
+			int sheetIndex = getSheetIndex() - 1;
+			InputStream sheetIn = null;
+
+			for (int i = 0; i <= sheetIndex; i++)
+			{
+				if (!sheets.hasNext())
+					throw new DataSetSourceParseException("No sheet found for index " + getSheetIndex());
+
+				IOUtil.close(sheetIn);
+				sheetIn = sheets.next();
+			}
+
+			try
+			{
+				XMLReader sheetParser = SAXHelper.newXMLReader();
+				sheetParser.setContentHandler(new XlsxSheetHandler(stylesTable, sharedStringsTable, collector));
+				sheetParser.parse(new InputSource(sheetIn));
+			}
+			catch (ExcelReadStopException e)
+			{
+			}
+			finally
+			{
+				IOUtil.close(sheetIn);
+			}
+		}
 		finally
 		{
-			IOUtil.close(wb);
-			IOUtil.close(pkg);
+			if (pkg != null)
+				pkg.revert();
 		}
 	}
 
 	/**
-	 * 解析sheet结果。
+	 * 解析{@linkplain ExcelRowCollector}结果。
 	 * 
 	 * @param query
-	 * @param sheet
+	 * @param collector
 	 * @param properties
 	 *            允许为{@code null}
 	 * @param resolveProperties
 	 * @return
 	 * @throws Throwable
 	 */
-	protected ResolvedDataSetResult resolveResultForSheet(DataSetQuery query, Sheet sheet,
+	protected ResolvedDataSetResult resolveResult(DataSetQuery query, ExcelRowCollector collector,
 			List<DataSetProperty> properties, boolean resolveProperties) throws Throwable
 	{
-		List<Row> excelRows = new ArrayList<Row>();
-
-		for (Row row : sheet)
-			excelRows.add(row);
-
-		List<String> rawDataPropertyNames = resolvePropertyNames(excelRows);
-		List<Map<String, Object>> rawData = resolveRawData(query, rawDataPropertyNames, excelRows);
+		return resolveResult(query, collector.getPropertyNames(), collector.getRawData(), properties,
+				resolveProperties);
+	}
 
+	/**
+	 * 解析结果。
+	 * 
+	 * @param query
+	 * @param rawDataPropertyNames
+	 * @param rawData
+	 * @param properties
+	 *            允许为{@code null}
+	 * @param resolveProperties
+	 * @return
+	 * @throws Throwable
+	 */
+	protected ResolvedDataSetResult resolveResult(DataSetQuery query, List<String> rawDataPropertyNames,
+			List<Map<String, Object>> rawData, List<DataSetProperty> properties, boolean resolveProperties)
+			throws Throwable
+	{
 		if (resolveProperties)
 		{
 			List<DataSetProperty> resolvedProperties = resolveProperties(rawDataPropertyNames, rawData);
@@ -368,79 +531,49 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 	}
 
 	/**
-	 * 解析数据属性名列表。
+	 * 读取并缓存整个工作表的数据。
+	 * <p>
+	 * 数据以{@linkplain ColumnarData}存储，以减少缓存的内存占用。
+	 * </p>
 	 * 
-	 * @param excelRows
+	 * @param file
+	 * @param key
 	 * @return
 	 * @throws Throwable
 	 */
-	@SuppressWarnings("unused")
-	protected List<String> resolvePropertyNames(List<Row> excelRows) throws Throwable
+	protected FileData readExcelFile(File file, FileKey key) throws Throwable
 	{
-		List<String> propertyNames = null;
-
-		for (int i = 0, len = excelRows.size(); i < len; i++)
-		{
-			Row row = excelRows.get(i);
+		ExcelRowCollector collector = createExcelRowCollector(null);
 
-			if (isNameRow(i))
-			{
-				propertyNames = new ArrayList<String>();
-
-				int colIdx = 0;
-				for (Cell cell : row)
-				{
-					if (isDataColumn(colIdx))
-					{
-						String name = null;
-
-						try
-						{
-							name = cell.getStringCellValue();
-						}
-						catch(Throwable t)
-						{
-						}
-
-						if (StringUtil.isEmpty(name))
-							name = CellReference.convertNumToColString(colIdx);
-
-						propertyNames.add(name);
-					}
-
-					colIdx++;
-				}
-
-				break;
-			}
-			else if (isDataRow(i))
-			{
-				if (propertyNames == null)
-				{
-					propertyNames = new ArrayList<String>();
-
-					int colIdx = 0;
-					for (Cell cell : row)
-					{
-						if (isDataColumn(colIdx))
-						{
-							String name = CellReference.convertNumToColString(colIdx);
-							propertyNames.add(name);
-						}
-
-						colIdx++;
-					}
-				}
+		if (isXls(file))
+			readXls(file, collector);
+		else
+			readXlsx(file, collector);
 
-				if (isAfterNameRow(i))
-					break;
-			}
-		}
+		return this.dataSetFileCache.put(key, collector.getPropertyNames(), collector.getColumnarRawData());
+	}
 
-		if (propertyNames == null)
-			propertyNames = Collections.emptyList();
+	/**
+	 * 获取Excel文件解析签名，由影响解析结果的配置构成。
+	 * 
+	 * @return
+	 */
+	protected String getExcelFileSignature()
+	{
+		return "excel;sheetIndex=" + getSheetIndex() + ";nameRow=" + getNameRow() + ";dataRowExp="
+				+ getDataRowExp() + ";dataColumnExp=" + getDataColumnExp() + ";forceXls=" + isForceXls();
+	}
 
-		return propertyNames;
+	/**
+	 * 创建{@linkplain ExcelRowCollector}。
+	 * 
+	 * @param query
+	 *            允许为{@code null}，表示读取全部数据行
+	 * @return
+	 */
+	protected ExcelRowCollector createExcelRowCollector(DataSetQuery query)
+	{
+		return new ExcelRowCollector(query);
 	}
 
 	/**
@@ -490,110 +623,6 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		return properties;
 	}
 
-	/**
-	 * 解析原始数据。
-	 * 
-	 * @param query
-	 * @param propertyNames
-	 * @param excelRows
-	 * @return
-	 * @throws Throwable
-	 */
-	protected List<Map<String, Object>> resolveRawData(DataSetQuery query,
-			List<String> propertyNames, List<Row> excelRows) throws Throwable
-	{
-		List<Map<String, Object>> data = new ArrayList<>();
-
-		for (int i = 0, len = excelRows.size(); i < len; i++)
-		{
-			if (isNameRow(i) || !isDataRow(i))
-				continue;
-
-			if (isReachResultFetchSize(query, data.size()))
-				break;
-
-			Map<String, Object> row = new HashMap<>();
-
-			Row excelRow = excelRows.get(i);
-			int colIdx = 0;
-			int dataColIdx = 0;
-			for (Cell cell : excelRow)
-			{
-				if (isDataColumn(colIdx))
-				{
-					String name = propertyNames.get(dataColIdx);
-					Object value = resolveCellValue(cell);
-
-					row.put(name, value);
-
-					dataColIdx++;
-				}
-
-				colIdx++;
-			}
-
-			data.add(row);
-		}
-
-		return data;
-	}
-
-	/**
-	 * 解析单元格属性值。
-	 * 
-	 * @param cell
-	 * @return
-	 * @throws DataSetSourceParseException
-	 * @throws DataSetException
-	 */
-	protected Object resolveCellValue(Cell cell) throws DataSetSourceParseException, DataSetException
-	{
-		CellType cellType = cell.getCellTypeEnum();
-
-		Object cellValue = null;
-
-		try
-		{
-			if (CellType.BLANK.equals(cellType))
-			{
-				cellValue = null;
-			}
-			else if (CellType.BOOLEAN.equals(cellType))
-			{
-				cellValue = cell.getBooleanCellValue();
-			}
-			else if (CellType.ERROR.equals(cellType))
-			{
-				cellValue = cell.getErrorCellValue();
-			}
-			else if (CellType.FORMULA.equals(cellType))
-			{
-				cellValue = cell.getCellFormula();
-			}
-			else if (CellType.NUMERIC.equals(cellType))
-			{
-				if (DateUtil.isCellDateFormatted(cell))
-					cellValue = cell.getDateCellValue();
-				else
-					cellValue = cell.getNumericCellValue();
-			}
-			else if (CellType.STRING.equals(cellType))
-			{
-				cellValue = cell.getStringCellValue();
-			}
-		}
-		catch(DataSetException e)
-		{
-			throw e;
-		}
-		catch(Throwable t)
-		{
-			throw new DataSetSourceParseException(t);
-		}
-
-		return cellValue;
-	}
-
 	/**
 	 * 是否名称行
 	 * 
@@ -639,6 +668,31 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 		return IndexRange.includes(this._dataRowRanges, rowIndex + 1);
 	}
 
+	/**
+	 * 是否在所有数据行之后。
+	 * 
+	 * @param rowIndex
+	 *            行索引（以{@code 0}计数）
+	 * @return
+	 */
+	protected boolean isAfterDataRows(int rowIndex)
+	{
+		if (this._dataRowRanges == null || this._dataRowRanges.isEmpty())
+			return false;
+
+		int maxRow = -1;
+
+		for (IndexRange range : this._dataRowRanges)
+		{
+			if (range.getTo() < 0)
+				return false;
+
+			maxRow = Math.max(maxRow, range.getTo());
+		}
+
+		return (rowIndex + 1) >= maxRow;
+	}
+
 	/**
 	 * 是否数据列。
 	 * 
@@ -714,4 +768,557 @@ public abstract class AbstractExcelDataSet extends AbstractResolvableDataSet imp
 	 * @throws Throwable
 	 */
 	protected abstract File getExcelFile(DataSetQuery query) throws Throwable;
+
+	/**
+	 * Excel行收集器。
+	 * <p>
+	 * 按顺序接收sheet的每一行，解析名称行、收集数据行，并判断是否已读取完所需的行。
+	 * </p>
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected class ExcelRowCollector
+	{
+		private final DataSetQuery query;
+
+		/** 属性列索引 */
+		private List<Integer> _propertyColumns = null;
+
+		/** 属性名 */
+		private List<String> _propertyNames = null;
+
+		/** 是否已处理过名称行 */
+		private boolean _nameRowHandled = false;
+
+		/** 数据行，元素为以列索引为下标的单元格值数组 */
+		private List<Object[]> _dataRows = new ArrayList<Object[]>();
+
+		private boolean _reachResultFetchSize = false;
+
+		public ExcelRowCollector(DataSetQuery query)
+		{
+			super();
+			this.query = query;
+		}
+
+		/**
+		 * 处理一行。
+		 * 
+		 * @param rowIndex
+		 *            行索引（以{@code 0}计数）
+		 * @param cellValues
+		 *            以列索引为下标的单元格值，缺失的单元格为{@code null}，调用方可能复用此列表
+		 * @return {@code false}表示已读取完所需的行，无需再读取
+		 */
+		public boolean handleRow(int rowIndex, List<Object> cellValues)
+		{
+			if (isNameRow(rowIndex))
+			{
+				resolvePropertyColumns(cellValues, true);
+				this._nameRowHandled = true;
+			}
+			else if (isDataRow(rowIndex))
+			{
+				if (this._propertyNames == null)
+					resolvePropertyColumns(cellValues, false);
+
+				if (!this._reachResultFetchSize)
+				{
+					this._reachResultFetchSize = isReachResultFetchSize(this.query, this._dataRows.size());
+
+					if (!this._reachResultFetchSize)
+						this._dataRows.add(cellValues.toArray());
+				}
+			}
+
+			boolean nameRowResolved = (this._nameRowHandled || !hasNameRow() || isAfterNameRow(rowIndex));
+			boolean dataRowsResolved = (this._reachResultFetchSize || isAfterDataRows(rowIndex));
+
+			return !(nameRowResolved && dataRowsResolved && this._propertyNames != null);
+		}
+
+		/**
+		 * 获取数据属性名列表。
+		 * 
+		 * @return
+		 */
+		public List<String> getPropertyNames()
+		{
+			if (this._propertyNames == null)
+				return Collections.emptyList();
+
+			return this._propertyNames;
+		}
+
+		/**
+		 * 获取原始数据。
+		 * 
+		 * @return
+		 */
+		public List<Map<String, Object>> getRawData()
+		{
+			List<Map<String, Object>> data = new ArrayList<>(this._dataRows.size());
+
+			if (this._propertyNames == null)
+				return data;
+
+			int len = this._propertyNames.size();
+
+			for (Object[] dataRow : this._dataRows)
+			{
+				Map<String, Object> row = new HashMap<>();
+
+				for (int i = 0; i < len; i++)
+				{
+					int colIdx = this._propertyColumns.get(i);
+					row.put(this._propertyNames.get(i), (colIdx < dataRow.length ? dataRow[colIdx] : null));
+				}
+
+				data.add(row);
+			}
+
+			return data;
+		}
+
+		/**
+		 * 获取以{@linkplain ColumnarData}存储的原始数据。
+		 * 
+		 * @return
+		 */
+		public ColumnarData getColumnarRawData()
+		{
+			List<String> propertyNames = getPropertyNames();
+			ColumnarData data = new ColumnarData(propertyNames.toArray(new String[propertyNames.size()]),
+					Math.max(this._dataRows.size(), 1));
+
+			if (this._propertyNames == null)
+				return data;
+
+			int len = this._propertyNames.size();
+			Object[] rowValues = new Object[len];
+
+			for (Object[] dataRow : this._dataRows)
+			{
+				for (int i = 0; i < len; i++)
+				{
+					int colIdx = this._propertyColumns.get(i);
+					rowValues[i] = (colIdx < dataRow.length ? dataRow[colIdx] : null);
+				}
+
+				data.addRow(rowValues);
+			}
+
+			data.trimToSize();
+
+			return data;
+		}
+
+		protected void resolvePropertyColumns(List<Object> cellValues, boolean nameRow)
+		{
+			List<Integer> columns = new ArrayList<>();
+			List<String> names = new ArrayList<>();
+
+			int lastColIdx = cellValues.size() - 1;
+			while (lastColIdx > -1 && cellValues.get(lastColIdx) == null)
+				lastColIdx--;
+
+			for (int colIdx = 0; colIdx <= lastColIdx; colIdx++)
+			{
+				if (!isDataColumn(colIdx))
+					continue;
+
+				Object value = cellValues.get(colIdx);
+				String name = null;
+
+				if (nameRow && (value instanceof String))
+					name = (String) value;
+
+				if (StringUtil.isEmpty(name))
+					name = CellReference.convertNumToColString(colIdx);
+
+				columns.add(colIdx);
+				names.add(name);
+			}
+
+			this._propertyColumns = columns;
+			this._propertyNames = names;
+		}
+	}
+
+	/**
+	 * 停止读取Excel的异常。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class ExcelReadStopException extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+		public ExcelReadStopException()
+		{
+			super();
+		}
+	}
+
+	/**
+	 * {@code .xls}单个sheet的事件读取器。
+	 * <p>
+	 * 单元格值与{@code HSSFCell}一致：布尔值为{@linkplain Boolean}，错误值为错误码{@code byte}，公式为公式文本，
+	 * 日期格式的数值为{@linkplain java.util.Date}，其他数值为{@linkplain Double}，字符串为{@linkplain String}。
+	 * </p>
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class XlsSheetListener implements HSSFListener
+	{
+		/** 读取的sheet索引（以{@code 0}计数） */
+		private final int sheetIndex;
+
+		private final ExcelRowCollector collector;
+
+		private FormatTrackingHSSFListener formatTrackingListener;
+
+		private SheetRecordCollectingListener workbookBuildingListener;
+
+		private SSTRecord _sstRecord = null;
+
+		private int _sheetIndex = -1;
+
+		private List<Object> _cellValues = new ArrayList<Object>();
+
+		public XlsSheetListener(int sheetIndex, ExcelRowCollector collector)
+		{
+			super();
+			this.sheetIndex = sheetIndex;
+			this.collector = collector;
+		}
+
+		public FormatTrackingHSSFListener getFormatTrackingListener()
+		{
+			return formatTrackingListener;
+		}
+
+		public void setFormatTrackingListener(FormatTrackingHSSFListener formatTrackingListener)
+		{
+			this.formatTrackingListener = formatTrackingListener;
+		}
+
+		public SheetRecordCollectingListener getWorkbookBuildingListener()
+		{
+			return workbookBuildingListener;
+		}
+
+		public void setWorkbookBuildingListener(SheetRecordCollectingListener workbookBuildingListener)
+		{
+			this.workbookBuildingListener = workbookBuildingListener;
+		}
+
+		@Override
+		public void processRecord(Record record)
+		{
+			switch (record.getSid())
+			{
+				case BOFRecord.sid:
+				{
+					BOFRecord bofRecord = (BOFRecord) record;
+
+					if (bofRecord.getType() == BOFRecord.TYPE_WORKSHEET)
+					{
+						this._sheetIndex++;
+
+						if (this._sheetIndex > this.sheetIndex)
+							throw new ExcelReadStopException();
+					}
+
+					break;
+				}
+				case SSTRecord.sid:
+				{
+					this._sstRecord = (SSTRecord) record;
+					break;
+				}
+				default:
+				{
+					if (this._sheetIndex != this.sheetIndex)
+						break;
+
+					if (record instanceof LastCellOfRowDummyRecord)
+					{
+						LastCellOfRowDummyRecord lastCellRecord = (LastCellOfRowDummyRecord) record;
+
+						if (!this.collector.handleRow(lastCellRecord.getRow(), this._cellValues))
+							throw new ExcelReadStopException();
+
+						this._cellValues.clear();
+					}
+					else if (record instanceof CellValueRecordInterface)
+					{
+						CellValueRecordInterface cellRecord = (CellValueRecordInterface) record;
+						setElementWithExpand(this._cellValues, cellRecord.getColumn(), resolveCellValue(cellRecord));
+					}
+				}
+			}
+		}
+
+		protected Object resolveCellValue(CellValueRecordInterface cellRecord)
+		{
+			if (cellRecord instanceof NumberRecord)
+			{
+				NumberRecord numberRecord = (NumberRecord) cellRecord;
+				double value = numberRecord.getValue();
+
+				if (isDateFormat(this.formatTrackingListener.getFormatIndex(numberRecord),
+						this.formatTrackingListener.getFormatString(numberRecord), value))
+					return DateUtil.getJavaDate(value);
+
+				return value;
+			}
+			else if (cellRecord instanceof LabelSSTRecord)
+			{
+				LabelSSTRecord labelSSTRecord = (LabelSSTRecord) cellRecord;
+				return (this._sstRecord == null ? null
+						: this._sstRecord.getString(labelSSTRecord.getSSTIndex()).toString());
+			}
+			else if (cellRecord instanceof LabelRecord)
+			{
+				return ((LabelRecord) cellRecord).getValue();
+			}
+			else if (cellRecord instanceof BoolErrRecord)
+			{
+				BoolErrRecord boolErrRecord = (BoolErrRecord) cellRecord;
+
+				if (boolErrRecord.isBoolean())
+					return boolErrRecord.getBooleanValue();
+				else
+					return boolErrRecord.getErrorValue();
+			}
+			else if (cellRecord instanceof FormulaRecord)
+			{
+				return HSSFFormulaParser.toFormulaString(this.workbookBuildingListener.getStubHSSFWorkbook(),
+						((FormulaRecord) cellRecord).getParsedExpression());
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * {@code .xlsx}单个sheet的SAX读取器。
+	 * <p>
+	 * 单元格值同{@linkplain XlsSheetListener}，对于没有公式文本的共享公式单元格，将使用其缓存的计算结果。
+	 * </p>
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class XlsxSheetHandler extends DefaultHandler
+	{
+		private final StylesTable stylesTable;
+
+		private final ReadOnlySharedStringsTable sharedStringsTable;
+
+		private final ExcelRowCollector collector;
+
+		private List<Object> _cellValues = new ArrayList<Object>();
+
+		private int _rowIndex = -1;
+
+		private int _cellIndex = -1;
+
+		private String _cellType = null;
+
+		private String _cellStyle = null;
+
+		private StringBuilder _value = new StringBuilder();
+
+		private StringBuilder _formula = new StringBuilder();
+
+		private boolean _hasValue = false;
+
+		private boolean _inValue = false;
+
+		private boolean _inFormula = false;
+
+		private boolean _inInlineString = false;
+
+		public XlsxSheetHandler(StylesTable stylesTable, ReadOnlySharedStringsTable sharedStringsTable,
+				ExcelRowCollector collector)
+		{
+			super();
+			this.stylesTable = stylesTable;
+			this.sharedStringsTable = sharedStringsTable;
+			this.collector = collector;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String name, Attributes attributes) throws SAXException
+		{
+			if (uri != null && !uri.equals(NS_SPREADSHEETML))
+				return;
+
+			if ("row".equals(localName))
+			{
+				String rowRef = attributes.getValue("r");
+				this._rowIndex = (rowRef == null ? this._rowIndex + 1 : Integer.parseInt(rowRef) - 1);
+				this._cellIndex = -1;
+				this._cellValues.clear();
+			}
+			else if ("c".equals(localName))
+			{
+				String cellRef = attributes.getValue("r");
+				this._cellIndex = (cellRef == null ? this._cellIndex + 1 : new CellReference(cellRef).getCol());
+				this._cellType = attributes.getValue("t");
+				this._cellStyle = attributes.getValue("s");
+				this._hasValue = false;
+				clear(this._value);
+				clear(this._formula);
+			}
+			else if ("v".equals(localName))
+			{
+				this._inValue = true;
+				this._hasValue = true;
+			}
+			else if ("f".equals(localName))
+			{
+				this._inFormula = true;
+			}
+			else if ("is".equals(localName))
+			{
+				this._inInlineString = true;
+			}
+			else if ("t".equals(localName) && this._inInlineString)
+			{
+				this._inValue = true;
+				this._hasValue = true;
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String name) throws SAXException
+		{
+			if (uri != null && !uri.equals(NS_SPREADSHEETML))
+				return;
+
+			if ("v".equals(localName))
+			{
+				this._inValue = false;
+			}
+			else if ("f".equals(localName))
+			{
+				this._inFormula = false;
+			}
+			else if ("is".equals(localName))
+			{
+				this._inInlineString = false;
+			}
+			else if ("t".equals(localName) && this._inInlineString)
+			{
+				this._inValue = false;
+			}
+			else if ("c".equals(localName))
+			{
+				setElementWithExpand(this._cellValues, this._cellIndex, resolveCellValue());
+			}
+			else if ("row".equals(localName))
+			{
+				if (!this.collector.handleRow(this._rowIndex, this._cellValues))
+					throw new ExcelReadStopException();
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException
+		{
+			if (this._inValue)
+				this._value.append(ch, start, length);
+			else if (this._inFormula)
+				this._formula.append(ch, start, length);
+		}
+
+		protected Object resolveCellValue()
+		{
+			if (this._formula.length() > 0)
+				return this._formula.toString();
+
+			if (!this._hasValue)
+				return null;
+
+			String value = this._value.toString();
+
+			if ("b".equals(this._cellType))
+			{
+				return ("1".equals(value) || "true".equalsIgnoreCase(value));
+			}
+			else if ("e".equals(this._cellType))
+			{
+				try
+				{
+					return FormulaError.forString(value).getCode();
+				}
+				catch (IllegalArgumentException e)
+				{
+					return value;
+				}
+			}
+			else if ("s".equals(this._cellType))
+			{
+				return new XSSFRichTextString(this.sharedStringsTable.getEntryAt(Integer.parseInt(value))).toString();
+			}
+			else if ("inlineStr".equals(this._cellType) || "str".equals(this._cellType) || "d".equals(this._cellType))
+			{
+				return value;
+			}
+			else
+			{
+				if (value.isEmpty())
+					return null;
+
+				double number = Double.parseDouble(value);
+
+				if (this._cellStyle != null && this.stylesTable != null)
+				{
+					XSSFCellStyle style = this.stylesTable.getStyleAt(Integer.parseInt(this._cellStyle));
+
+					if (style != null && isDateFormat(style.getDataFormat(), style.getDataFormatString(), number))
+						return DateUtil.getJavaDate(number);
+				}
+
+				return number;
+			}
+		}
+
+		protected void clear(StringBuilder sb)
+		{
+			if (sb.length() > 0)
+				sb.delete(0, sb.length());
+		}
+	}
+
+	/**
+	 * 是否日期格式的数值，参考{@linkplain DateUtil#isCellDateFormatted(org.apache.poi.ss.usermodel.Cell)}。
+	 * 
+	 * @param formatIndex
+	 * @param formatString
+	 * @param value
+	 * @return
+	 */
+	protected static boolean isDateFormat(int formatIndex, String formatString, double value)
+	{
+		if (formatString == null)
+			return false;
+
+		return (DateUtil.isValidExcelDate(value) && DateUtil.isADateFormat(formatIndex, formatString));
+	}
+
+	protected static <T> void setElementWithExpand(List<? super T> list, int index, T element)
+	{
+		int expandCount = index - list.size() + 1;
+		for (int i = 0; i < expandCount; i++)
+			list.add(null);
+
+		list.set(index, element);
+	}
 }
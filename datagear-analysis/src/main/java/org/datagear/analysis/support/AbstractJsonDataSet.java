@@ -22,7 +22,6 @@ import org.datagear.analysis.ResolvableDataSet;
 import org.datagear.analysis.ResolvedDataSetResult;
 import org.datagear.analysis.support.fmk.JsonOutputFormat;
 import org.datagear.util.IOUtil;
-import org.datagear.util.StringUtil;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,9 +29,6 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ValueNode;
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
-import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 
 /**
  * 抽象JSON数据集。
@@ -48,8 +44,10 @@ public abstract class AbstractJsonDataSet extends AbstractResolvableDataSet impl
 			JsonOutputFormat.INSTANCE);
 
 	/** 使用Jackson的{@code JSONPath}配置 */
-	protected static final Configuration JACKSON_JSON_PATH_CONFIGURATION = Configuration.builder()
-			.jsonProvider(new JacksonJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+	protected static final Configuration JACKSON_JSON_PATH_CONFIGURATION = JsonDataPathReader.JACKSON_JSON_PATH_CONFIGURATION;
+
+	protected static final JsonDataPathReader JSON_DATA_PATH_READER = new JsonDataPathReader(
+			JsonSupport.getObjectMapperNonStardand());
 
 	/** 数据JSON路径 */
 	private String dataJsonPath = "";
@@ -160,13 +158,52 @@ public abstract class AbstractJsonDataSet extends AbstractResolvableDataSet impl
 	protected ResolvedDataSetResult resolveResult(DataSetQuery query,
 			Reader jsonReader, List<DataSetProperty> properties, boolean resolveProperties) throws Throwable
 	{
-		JsonNode jsonNode = getObjectMapperNonStardand().readTree(jsonReader);
+		Object rawData = readRawData(query, jsonReader, getDataJsonPath());
 
-		if (!isLegalResultDataJsonNode(jsonNode))
-			throw new UnsupportedJsonResultDataException("Result data must be JSON object or array");
+		return resolveResultForRawData(query, rawData, properties, resolveProperties);
+	}
 
-		Object rawData = resolveRawData(query, jsonNode, getDataJsonPath());
+	/**
+	 * 流式读取原始数据。
+	 * <p>
+	 * 对于简单数据路径，它不会解析整个JSON，且读取到{@linkplain DataSetQuery#getResultFetchSize()}后即停止，
+	 * 具体参考{@linkplain JsonDataPathReader}。
+	 * </p>
+	 * 
+	 * @param query
+	 *            允许为{@code null}
+	 * @param jsonReader
+	 * @param dataJsonPath
+	 *            允许为{@code null}
+	 * @return
+	 * @throws UnsupportedJsonResultDataException
+	 * @throws ReadJsonDataPathException
+	 * @throws Throwable
+	 */
+	protected Object readRawData(DataSetQuery query, Reader jsonReader, String dataJsonPath)
+			throws UnsupportedJsonResultDataException, ReadJsonDataPathException, Throwable
+	{
+		int maxCount = (hasResultFetchSize(query) ? query.getResultFetchSize() : -1);
+		Object data = getJsonDataPathReader().read(jsonReader, dataJsonPath, maxCount);
+
+		return resolveRawDataForResultFetchSize(query, data);
+	}
 
+	/**
+	 * 由原始数据解析结果。
+	 * 
+	 * @param query
+	 * @param rawData
+	 *            允许为{@code null}
+	 * @param properties
+	 *            允许为{@code null}
+	 * @param resolveProperties
+	 * @return
+	 * @throws Throwable
+	 */
+	protected ResolvedDataSetResult resolveResultForRawData(DataSetQuery query, Object rawData,
+			List<DataSetProperty> properties, boolean resolveProperties) throws Throwable
+	{
 		if (resolveProperties)
 		{
 			List<DataSetProperty> resolvedProperties = resolveProperties(rawData);
@@ -194,33 +231,22 @@ public abstract class AbstractJsonDataSet extends AbstractResolvableDataSet impl
 			return null;
 
 		Object data = getObjectMapperNonStardand().treeToValue(jsonNode, Object.class);
+		data = getJsonDataPathReader().readJsonPath(data, dataJsonPath);
 
-		if (data != null && !StringUtil.isEmpty(dataJsonPath))
-		{
-			String stdDataJsonPath = dataJsonPath.trim();
-
-			if (!StringUtil.isEmpty(stdDataJsonPath))
-			{
-				// 转换"stores[0].books"、"[1].stores"简化模式为规范的JSONPath
-				if (!stdDataJsonPath.startsWith("$"))
-				{
-					if (stdDataJsonPath.startsWith("["))
-						stdDataJsonPath = "$" + stdDataJsonPath;
-					else
-						stdDataJsonPath = "$." + stdDataJsonPath;
-				}
-
-				try
-				{
-					data = JsonPath.compile(stdDataJsonPath).read(data, JACKSON_JSON_PATH_CONFIGURATION);
-				}
-				catch(Throwable t)
-				{
-					throw new ReadJsonDataPathException(dataJsonPath, t);
-				}
-			}
-		}
+		return resolveRawDataForResultFetchSize(query, data);
+	}
 
+	/**
+	 * 按照{@linkplain DataSetQuery#getResultFetchSize()}截取原始数据。
+	 * 
+	 * @param query
+	 *            允许为{@code null}
+	 * @param data
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected Object resolveRawDataForResultFetchSize(DataSetQuery query, Object data)
+	{
 		if (data != null && hasResultFetchSize(query))
 		{
 			if (data instanceof Collection<?>)
@@ -373,6 +399,11 @@ public abstract class AbstractJsonDataSet extends AbstractResolvableDataSet impl
 		return JsonSupport.getObjectMapperNonStardand();
 	}
 
+	protected JsonDataPathReader getJsonDataPathReader()
+	{
+		return JSON_DATA_PATH_READER;
+	}
+
 	/**
 	 * 将指定JSON文本作为模板解析。
 	 * 
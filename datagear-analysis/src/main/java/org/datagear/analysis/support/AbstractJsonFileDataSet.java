@@ -11,8 +11,12 @@ import java.io.File;
 import java.io.Reader;
 import java.util.List;
 
+import org.datagear.analysis.DataSetException;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.ResolvedDataSetResult;
+import org.datagear.analysis.support.DataSetFileCache.FileData;
+import org.datagear.analysis.support.DataSetFileCache.FileKey;
 import org.datagear.util.IOUtil;
 
 /**
@@ -20,6 +24,9 @@ import org.datagear.util.IOUtil;
  * <p>
  * 注意：此类不支持<code>Freemarker</code>模板语言。
  * </p>
+ * <p>
+ * 如果设置了{@linkplain #getDataSetFileCache()}，已解析的文件数据将被缓存，文件未修改时无需再次解析。
+ * </p>
  * 
  * @author datagear@163.com
  *
@@ -31,6 +38,9 @@ public abstract class AbstractJsonFileDataSet extends AbstractJsonDataSet
 	/** 文件编码 */
 	private String encoding = IOUtil.CHARSET_UTF_8;
 
+	/** 已解析文件数据缓存，为{@code null}表示不缓存 */
+	private transient DataSetFileCache dataSetFileCache = null;
+
 	public AbstractJsonFileDataSet()
 	{
 		super();
@@ -56,6 +66,90 @@ public abstract class AbstractJsonFileDataSet extends AbstractJsonDataSet
 		this.encoding = encoding;
 	}
 
+	public DataSetFileCache getDataSetFileCache()
+	{
+		return dataSetFileCache;
+	}
+
+	public void setDataSetFileCache(DataSetFileCache dataSetFileCache)
+	{
+		this.dataSetFileCache = dataSetFileCache;
+	}
+
+	@Override
+	protected ResolvedDataSetResult resolveResult(DataSetQuery query, List<DataSetProperty> properties,
+			boolean resolveProperties) throws DataSetException
+	{
+		if (this.dataSetFileCache == null)
+			return super.resolveResult(query, properties, resolveProperties);
+
+		try
+		{
+			File file = getJsonFile(query);
+			FileKey key = FileKey.valueOf(file, getJsonFileSignature());
+			FileData fileData = this.dataSetFileCache.get(key);
+
+			if (fileData == null)
+			{
+				// 仅读取部分数据的查询没有必要为了缓存而解析整个文件
+				if (hasResultFetchSize(query))
+					return super.resolveResult(query, properties, resolveProperties);
+
+				fileData = readJsonFile(file, key);
+			}
+
+			Object rawData = resolveRawDataForResultFetchSize(query, fileData.getRawData());
+
+			return resolveResultForRawData(query, rawData, properties, resolveProperties);
+		}
+		catch (DataSetException e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new DataSetSourceParseException(t);
+		}
+	}
+
+	/**
+	 * 读取并缓存整个JSON文件的数据。
+	 * <p>
+	 * JSON数据可能是嵌套、且各元素属性不一致的，因此直接缓存{@linkplain #getDataJsonPath()}对应的原始数据。
+	 * </p>
+	 * 
+	 * @param file
+	 * @param key
+	 * @return
+	 * @throws Throwable
+	 */
+	protected FileData readJsonFile(File file, FileKey key) throws Throwable
+	{
+		Reader reader = null;
+
+		try
+		{
+			reader = IOUtil.getReader(file, this.encoding);
+			Object rawData = readRawData(null, reader, getDataJsonPath());
+
+			return this.dataSetFileCache.put(key, null, rawData);
+		}
+		finally
+		{
+			IOUtil.close(reader);
+		}
+	}
+
+	/**
+	 * 获取JSON文件解析签名，由影响解析结果的配置构成。
+	 * 
+	 * @return
+	 */
+	protected String getJsonFileSignature()
+	{
+		return "json;encoding=" + this.encoding + ";dataJsonPath=" + getDataJsonPath();
+	}
+
 	@Override
 	protected TemplateResolvedSource<Reader> getJsonReader(DataSetQuery query) throws Throwable
 	{
@@ -0,0 +1,651 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetResult;
+
+/**
+ * 列式存储的{@linkplain DataSetResult#getData()}数据。
+ * <p>
+ * 此类按列存储数据：{@linkplain Long}、{@linkplain Integer}、{@linkplain Double}列使用基本类型数组存储，
+ * {@linkplain java.sql.Date}、{@linkplain Timestamp}列使用毫秒数数组存储，{@linkplain String}列使用字典编码存储，
+ * {@code null}值使用位图记录，其他类型或者类型不一致的列则退化为对象数组存储。
+ * 与每行一个{@linkplain HashMap}相比，它不必重复存储列名、也不必装箱每个数值，可显著减少大结果集的内存占用。
+ * </p>
+ * <p>
+ * 此类是一个只读的{@code List<Map<String, Object>>}，{@linkplain #get(int)}返回的是行视图，
+ * 因此，以{@linkplain Map}方式处理、或者将结果数据序列化为JSON的使用者不受影响。
+ * </p>
+ * <p>
+ * 注意：此类的{@linkplain #addRow(Object[])}不是线程安全的，应在构建完成后再共享给其他线程。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ColumnarData extends AbstractList<Map<String, Object>> implements RandomAccess
+{
+	/** 默认初始容量 */
+	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/** 列名 */
+	private final String[] names;
+
+	/** 列名-列索引映射表，同名列取最后一个 */
+	private final Map<String, Integer> nameIndexes;
+
+	private final Column[] columns;
+
+	private int size = 0;
+
+	private int capacity;
+
+	public ColumnarData(String[] names)
+	{
+		this(names, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	public ColumnarData(String[] names, int initialCapacity)
+	{
+		super();
+		this.names = names;
+		this.nameIndexes = new HashMap<>();
+		this.columns = new Column[names.length];
+		this.capacity = Math.max(initialCapacity, 1);
+
+		for (int i = 0; i < names.length; i++)
+		{
+			this.nameIndexes.put(names[i], i);
+			this.columns[i] = new Column(this.capacity);
+		}
+	}
+
+	/**
+	 * 由{@linkplain DataSetProperty}列表构建。
+	 *
+	 * @param properties
+	 * @param initialCapacity
+	 * @return
+	 */
+	public static ColumnarData valueOf(List<DataSetProperty> properties, int initialCapacity)
+	{
+		String[] names = new String[properties.size()];
+
+		for (int i = 0; i < names.length; i++)
+			names[i] = properties.get(i).getName();
+
+		return new ColumnarData(names, initialCapacity);
+	}
+
+	/**
+	 * 获取列名数组。
+	 * <p>
+	 * 注意：不应修改返回数组。
+	 * </p>
+	 *
+	 * @return
+	 */
+	public String[] getNames()
+	{
+		return names;
+	}
+
+	/**
+	 * 获取列数。
+	 *
+	 * @return
+	 */
+	public int getColumnCount()
+	{
+		return this.names.length;
+	}
+
+	/**
+	 * 获取列索引。
+	 *
+	 * @param name
+	 * @return {@code -1}表示没有此列
+	 */
+	public int getColumnIndex(String name)
+	{
+		Integer index = this.nameIndexes.get(name);
+		return (index == null ? -1 : index.intValue());
+	}
+
+	/**
+	 * 添加一行。
+	 *
+	 * @param values
+	 *            与{@linkplain #getNames()}一一对应的列值数组，此方法不会持有它，因此可在多次调用间复用
+	 */
+	public void addRow(Object[] values)
+	{
+		if (values.length != this.columns.length)
+			throw new IllegalArgumentException("[values] length must be " + this.columns.length);
+
+		if (this.size == this.capacity)
+		{
+			int newCapacity = this.capacity + (this.capacity >> 1) + 1;
+
+			for (Column column : this.columns)
+				column.grow(newCapacity);
+
+			this.capacity = newCapacity;
+		}
+
+		for (int i = 0; i < values.length; i++)
+			this.columns[i].set(this.size, values[i]);
+
+		this.size++;
+	}
+
+	/**
+	 * 将存储空间缩减至当前行数，应在构建完成后调用。
+	 */
+	public void trimToSize()
+	{
+		for (Column column : this.columns)
+			column.releaseDictionaryIndexes();
+
+		if (this.capacity == this.size)
+			return;
+
+		int newCapacity = Math.max(this.size, 1);
+
+		for (Column column : this.columns)
+			column.grow(newCapacity);
+
+		this.capacity = newCapacity;
+	}
+
+	/**
+	 * 估算占用的内存字节数。
+	 * <p>
+	 * 此方法仅按照存储结构粗略估算，用于内存受限的缓存等场景。
+	 * </p>
+	 *
+	 * @return
+	 */
+	public long estimateMemorySize()
+	{
+		long size = 64;
+
+		for (String name : this.names)
+			size += estimateStringSize(name) + 48;
+
+		for (Column column : this.columns)
+			size += column.estimateMemorySize();
+
+		return size;
+	}
+
+	/**
+	 * 获取值。
+	 *
+	 * @param row
+	 * @param column
+	 * @return
+	 */
+	public Object getValue(int row, int column)
+	{
+		checkRowIndex(row);
+		return this.columns[column].get(row);
+	}
+
+	/**
+	 * 获取值。
+	 *
+	 * @param row
+	 * @param name
+	 * @return 没有此列时返回{@code null}
+	 */
+	public Object getValue(int row, String name)
+	{
+		int column = getColumnIndex(name);
+		return (column < 0 ? null : getValue(row, column));
+	}
+
+	/**
+	 * 给定值是否为{@code null}。
+	 *
+	 * @param row
+	 * @param column
+	 * @return
+	 */
+	public boolean isNull(int row, int column)
+	{
+		checkRowIndex(row);
+		return this.columns[column].isNull(row);
+	}
+
+	@Override
+	public Map<String, Object> get(int index)
+	{
+		checkRowIndex(index);
+		return new RowView(index);
+	}
+
+	@Override
+	public int size()
+	{
+		return this.size;
+	}
+
+	protected void checkRowIndex(int row)
+	{
+		if (row < 0 || row >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + this.size);
+	}
+
+	/**
+	 * 估算字符串占用的内存字节数。
+	 *
+	 * @param value
+	 * @return
+	 */
+	protected static long estimateStringSize(String value)
+	{
+		return (value == null ? 0 : 40 + 2L * value.length());
+	}
+
+	/**
+	 * 行视图。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	protected class RowView extends AbstractMap<String, Object>
+	{
+		private final int row;
+
+		public RowView(int row)
+		{
+			super();
+			this.row = row;
+		}
+
+		@Override
+		public Object get(Object key)
+		{
+			Integer index = nameIndexes.get(key);
+			return (index == null ? null : columns[index].get(this.row));
+		}
+
+		@Override
+		public boolean containsKey(Object key)
+		{
+			return nameIndexes.containsKey(key);
+		}
+
+		@Override
+		public int size()
+		{
+			return nameIndexes.size();
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet()
+		{
+			return new AbstractSet<Map.Entry<String, Object>>()
+			{
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator()
+				{
+					return new Iterator<Map.Entry<String, Object>>()
+					{
+						private int next = nextColumn(0);
+
+						@Override
+						public boolean hasNext()
+						{
+							return this.next < names.length;
+						}
+
+						@Override
+						public Map.Entry<String, Object> next()
+						{
+							if (!hasNext())
+								throw new NoSuchElementException();
+
+							int column = this.next;
+							this.next = nextColumn(column + 1);
+
+							return new SimpleImmutableEntry<String, Object>(names[column],
+									columns[column].get(row));
+						}
+					};
+				}
+
+				@Override
+				public int size()
+				{
+					return nameIndexes.size();
+				}
+			};
+		}
+
+		/**
+		 * 获取从指定列开始（包含）的下一个有效列索引，同名列仅保留最后一个。
+		 *
+		 * @param start
+		 * @return
+		 */
+		protected int nextColumn(int start)
+		{
+			for (int i = start; i < names.length; i++)
+			{
+				if (nameIndexes.get(names[i]).intValue() == i)
+					return i;
+			}
+
+			return names.length;
+		}
+	}
+
+	/**
+	 * 列存储。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class Column
+	{
+		/** 尚无非{@code null}值 */
+		protected static final int KIND_NONE = 0;
+
+		protected static final int KIND_LONG = 1;
+
+		protected static final int KIND_INTEGER = 2;
+
+		protected static final int KIND_DOUBLE = 3;
+
+		protected static final int KIND_DATE = 4;
+
+		protected static final int KIND_TIMESTAMP = 5;
+
+		protected static final int KIND_STRING = 6;
+
+		protected static final int KIND_OBJECT = 7;
+
+		private int kind = KIND_NONE;
+
+		private int capacity;
+
+		private final BitSet nulls = new BitSet();
+
+		private long[] longs = null;
+
+		private int[] ints = null;
+
+		private double[] doubles = null;
+
+		/** 字符串在字典中的索引 */
+		private int[] codes = null;
+
+		private List<String> dictionary = null;
+
+		private Map<String, Integer> dictionaryIndexes = null;
+
+		private Object[] objects = null;
+
+		public Column(int capacity)
+		{
+			super();
+			this.capacity = capacity;
+		}
+
+		public boolean isNull(int row)
+		{
+			return this.nulls.get(row);
+		}
+
+		public Object get(int row)
+		{
+			if (this.nulls.get(row))
+				return null;
+
+			switch (this.kind)
+			{
+				case KIND_LONG:
+					return this.longs[row];
+				case KIND_INTEGER:
+					return this.ints[row];
+				case KIND_DOUBLE:
+					return this.doubles[row];
+				case KIND_DATE:
+					return new java.sql.Date(this.longs[row]);
+				case KIND_TIMESTAMP:
+					return new Timestamp(this.longs[row]);
+				case KIND_STRING:
+					return this.dictionary.get(this.codes[row]);
+				case KIND_OBJECT:
+					return this.objects[row];
+				default:
+					return null;
+			}
+		}
+
+		public void set(int row, Object value)
+		{
+			if (value == null)
+			{
+				this.nulls.set(row);
+
+				if (this.kind == KIND_OBJECT)
+					this.objects[row] = null;
+
+				return;
+			}
+
+			this.nulls.clear(row);
+
+			if (this.kind == KIND_NONE)
+				initKind(value);
+			else if (this.kind != KIND_OBJECT && this.kind != kindOf(value))
+				toObjectKind(row);
+
+			switch (this.kind)
+			{
+				case KIND_LONG:
+					this.longs[row] = ((Long) value).longValue();
+					break;
+				case KIND_INTEGER:
+					this.ints[row] = ((Integer) value).intValue();
+					break;
+				case KIND_DOUBLE:
+					this.doubles[row] = ((Double) value).doubleValue();
+					break;
+				case KIND_DATE:
+				case KIND_TIMESTAMP:
+					this.longs[row] = ((java.util.Date) value).getTime();
+					break;
+				case KIND_STRING:
+					this.codes[row] = toCode((String) value);
+					break;
+				default:
+					this.objects[row] = value;
+			}
+		}
+
+		public void grow(int newCapacity)
+		{
+			if (this.longs != null)
+				this.longs = Arrays.copyOf(this.longs, newCapacity);
+			if (this.ints != null)
+				this.ints = Arrays.copyOf(this.ints, newCapacity);
+			if (this.doubles != null)
+				this.doubles = Arrays.copyOf(this.doubles, newCapacity);
+			if (this.codes != null)
+				this.codes = Arrays.copyOf(this.codes, newCapacity);
+			if (this.objects != null)
+				this.objects = Arrays.copyOf(this.objects, newCapacity);
+
+			this.capacity = newCapacity;
+		}
+
+		/**
+		 * 释放字符串字典的索引映射表，之后再添加字符串时将重建它。
+		 */
+		public void releaseDictionaryIndexes()
+		{
+			this.dictionaryIndexes = null;
+		}
+
+		/**
+		 * 估算占用的内存字节数。
+		 *
+		 * @return
+		 */
+		public long estimateMemorySize()
+		{
+			long size = 48 + (this.capacity >> 3);
+
+			if (this.longs != null)
+				size += 16 + 8L * this.longs.length;
+			if (this.ints != null)
+				size += 16 + 4L * this.ints.length;
+			if (this.doubles != null)
+				size += 16 + 8L * this.doubles.length;
+			if (this.codes != null)
+				size += 16 + 4L * this.codes.length;
+
+			if (this.dictionary != null)
+			{
+				for (String value : this.dictionary)
+					size += estimateStringSize(value) + 4;
+			}
+
+			if (this.dictionaryIndexes != null)
+				size += 48L * this.dictionaryIndexes.size();
+
+			if (this.objects != null)
+			{
+				size += 16 + 4L * this.objects.length;
+
+				for (Object value : this.objects)
+				{
+					if (value instanceof String)
+						size += estimateStringSize((String) value);
+					else if (value != null)
+						size += 24;
+				}
+			}
+
+			return size;
+		}
+
+		protected void initKind(Object value)
+		{
+			this.kind = kindOf(value);
+
+			switch (this.kind)
+			{
+				case KIND_LONG:
+				case KIND_DATE:
+				case KIND_TIMESTAMP:
+					this.longs = new long[this.capacity];
+					break;
+				case KIND_INTEGER:
+					this.ints = new int[this.capacity];
+					break;
+				case KIND_DOUBLE:
+					this.doubles = new double[this.capacity];
+					break;
+				case KIND_STRING:
+					this.codes = new int[this.capacity];
+					this.dictionary = new ArrayList<>();
+					this.dictionaryIndexes = new HashMap<>();
+					break;
+				default:
+					this.objects = new Object[this.capacity];
+			}
+		}
+
+		/**
+		 * 退化为对象数组存储。
+		 *
+		 * @param size
+		 *            已存储的行数
+		 */
+		protected void toObjectKind(int size)
+		{
+			Object[] objects = new Object[this.capacity];
+
+			for (int i = 0; i < size; i++)
+				objects[i] = get(i);
+
+			this.kind = KIND_OBJECT;
+			this.objects = objects;
+			this.longs = null;
+			this.ints = null;
+			this.doubles = null;
+			this.codes = null;
+			this.dictionary = null;
+			this.dictionaryIndexes = null;
+		}
+
+		protected int toCode(String value)
+		{
+			if (this.dictionaryIndexes == null)
+			{
+				this.dictionaryIndexes = new HashMap<>();
+
+				for (int i = 0, len = this.dictionary.size(); i < len; i++)
+					this.dictionaryIndexes.put(this.dictionary.get(i), i);
+			}
+
+			Integer code = this.dictionaryIndexes.get(value);
+
+			if (code == null)
+			{
+				code = this.dictionary.size();
+				this.dictionary.add(value);
+				this.dictionaryIndexes.put(value, code);
+			}
+
+			return code.intValue();
+		}
+
+		protected static int kindOf(Object value)
+		{
+			Class<?> type = value.getClass();
+
+			if (type == Long.class)
+				return KIND_LONG;
+			else if (type == Integer.class)
+				return KIND_INTEGER;
+			else if (type == Double.class)
+				return KIND_DOUBLE;
+			else if (type == java.sql.Date.class)
+				return KIND_DATE;
+			// 毫秒数无法存储纳秒精度
+			else if (type == Timestamp.class && ((Timestamp) value).getNanos() % 1000000 == 0)
+				return KIND_TIMESTAMP;
+			else if (type == String.class)
+				return KIND_STRING;
+			else
+				return KIND_OBJECT;
+		}
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.datagear.analysis.DataSet;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * 文件{@linkplain DataSet}的已解析数据缓存。
+ * <p>
+ * 缓存关键字由文件绝对路径、文件大小、文件修改时间、解析签名（编码、名称行、工作表等影响解析结果的配置）构成，
+ * 文件被修改后关键字随之改变，旧的缓存数据将不再被命中，并最终被淘汰。
+ * </p>
+ * <p>
+ * 缓存按照估算的内存占用（字节）限制总大小，超出{@linkplain #getMaximumMemorySize()}时按照最近最少使用原则淘汰。
+ * </p>
+ * <p>
+ * 缓存的已解析数据会被多个查询共享，因此，使用者不应修改它们。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetFileCache
+{
+	/** 缓存数据的最大内存占用字节数 */
+	private long maximumMemorySize = 64 * 1024 * 1024;
+
+	private Cache<FileKey, FileData> _cache = null;
+
+	public DataSetFileCache()
+	{
+		super();
+	}
+
+	public long getMaximumMemorySize()
+	{
+		return maximumMemorySize;
+	}
+
+	public void setMaximumMemorySize(long maximumMemorySize)
+	{
+		this.maximumMemorySize = maximumMemorySize;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._cache = Caffeine.newBuilder().maximumWeight(Math.max(this.maximumMemorySize, 0))
+				.weigher(new Weigher<FileKey, FileData>()
+				{
+					@Override
+					public int weigh(FileKey key, FileData value)
+					{
+						return (int) Math.min(value.getMemorySize(), Integer.MAX_VALUE);
+					}
+				}).recordStats().build();
+	}
+
+	/**
+	 * 获取缓存的已解析数据，没有时返回{@code null}。
+	 *
+	 * @param key
+	 * @return
+	 */
+	public FileData get(FileKey key)
+	{
+		return this._cache.getIfPresent(key);
+	}
+
+	/**
+	 * 缓存已解析数据。
+	 * <p>
+	 * {@code key}应在解析文件之前创建，以免解析期间文件被修改而缓存了与关键字不符的数据。
+	 * </p>
+	 * <p>
+	 * 估算内存占用超过{@linkplain #getMaximumMemorySize()}的数据不会被缓存。
+	 * </p>
+	 *
+	 * @param key
+	 * @param propertyNames
+	 *            数据属性名列表，允许为{@code null}
+	 * @param rawData
+	 *            已解析的原始数据，允许为{@code null}
+	 * @return
+	 */
+	public FileData put(FileKey key, List<String> propertyNames, Object rawData)
+	{
+		FileData fileData = new FileData(propertyNames, rawData, estimateMemorySize(rawData));
+
+		// 超出缓存容量的数据即使放入也会被立即淘汰，而且会挤占其他缓存数据
+		if (fileData.getMemorySize() <= this.maximumMemorySize)
+			this._cache.put(key, fileData);
+
+		return fileData;
+	}
+
+	/**
+	 * 清除所有缓存数据。
+	 */
+	public void invalidateAll()
+	{
+		this._cache.invalidateAll();
+	}
+
+	/**
+	 * 获取当前缓存的文件数。
+	 *
+	 * @return
+	 */
+	public long getSize()
+	{
+		return this._cache.estimatedSize();
+	}
+
+	/**
+	 * 获取缓存命中数。
+	 *
+	 * @return
+	 */
+	public long getHitCount()
+	{
+		return this._cache.stats().hitCount();
+	}
+
+	/**
+	 * 获取缓存未命中数。
+	 *
+	 * @return
+	 */
+	public long getMissCount()
+	{
+		return this._cache.stats().missCount();
+	}
+
+	/**
+	 * 获取缓存淘汰数。
+	 *
+	 * @return
+	 */
+	public long getEvictionCount()
+	{
+		return this._cache.stats().evictionCount();
+	}
+
+	/**
+	 * 估算原始数据占用的内存字节数。
+	 *
+	 * @param rawData
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected long estimateMemorySize(Object rawData)
+	{
+		if (rawData == null)
+			return 0;
+
+		if (rawData instanceof ColumnarData)
+			return ((ColumnarData) rawData).estimateMemorySize();
+
+		if (rawData instanceof String)
+			return ColumnarData.estimateStringSize((String) rawData);
+
+		if (rawData instanceof Map<?, ?>)
+		{
+			Map<?, ?> map = (Map<?, ?>) rawData;
+			long size = 64;
+
+			for (Map.Entry<?, ?> entry : map.entrySet())
+				size += 40 + estimateMemorySize(entry.getKey()) + estimateMemorySize(entry.getValue());
+
+			return size;
+		}
+
+		if (rawData instanceof Collection<?>)
+		{
+			Collection<?> collection = (Collection<?>) rawData;
+			long size = 40;
+
+			for (Object ele : collection)
+				size += 8 + estimateMemorySize(ele);
+
+			return size;
+		}
+
+		if (rawData instanceof Object[])
+		{
+			Object[] array = (Object[]) rawData;
+			long size = 16;
+
+			for (Object ele : array)
+				size += 8 + estimateMemorySize(ele);
+
+			return size;
+		}
+
+		return 24;
+	}
+
+	/**
+	 * 缓存关键字。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	public static class FileKey
+	{
+		private final String path;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final String signature;
+
+		public FileKey(String path, long length, long lastModified, String signature)
+		{
+			super();
+			this.path = path;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.signature = signature;
+		}
+
+		/**
+		 * 由文件和解析签名构建。
+		 *
+		 * @param file
+		 * @param signature
+		 *            影响解析结果的配置信息，比如编码、名称行、工作表等
+		 * @return
+		 */
+		public static FileKey valueOf(File file, String signature)
+		{
+			return new FileKey(file.getAbsolutePath(), file.length(), file.lastModified(), signature);
+		}
+
+		public String getPath()
+		{
+			return path;
+		}
+
+		public long getLength()
+		{
+			return length;
+		}
+
+		public long getLastModified()
+		{
+			return lastModified;
+		}
+
+		public String getSignature()
+		{
+			return signature;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((path == null) ? 0 : path.hashCode());
+			result = prime * result + (int) (length ^ (length >>> 32));
+			result = prime * result + (int) (lastModified ^ (lastModified >>> 32));
+			result = prime * result + ((signature == null) ? 0 : signature.hashCode());
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			FileKey other = (FileKey) obj;
+			if (path == null)
+			{
+				if (other.path != null)
+					return false;
+			}
+			else if (!path.equals(other.path))
+				return false;
+			if (length != other.length)
+				return false;
+			if (lastModified != other.lastModified)
+				return false;
+			if (signature == null)
+			{
+				if (other.signature != null)
+					return false;
+			}
+			else if (!signature.equals(other.signature))
+				return false;
+			return true;
+		}
+
+		@Override
+		public String toString()
+		{
+			return getClass().getSimpleName() + " [path=" + path + ", length=" + length + ", lastModified="
+					+ lastModified + ", signature=" + signature + "]";
+		}
+	}
+
+	/**
+	 * 已解析的文件数据。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	public static class FileData
+	{
+		private final List<String> propertyNames;
+
+		private final Object rawData;
+
+		private final long memorySize;
+
+		public FileData(List<String> propertyNames, Object rawData, long memorySize)
+		{
+			super();
+			this.propertyNames = (propertyNames == null ? null : Collections.unmodifiableList(propertyNames));
+			this.rawData = rawData;
+			this.memorySize = memorySize;
+		}
+
+		/**
+		 * 获取数据属性名列表，可能为{@code null}。
+		 *
+		 * @return
+		 */
+		public List<String> getPropertyNames()
+		{
+			return propertyNames;
+		}
+
+		/**
+		 * 获取已解析的原始数据，可能为{@code null}。
+		 *
+		 * @return
+		 */
+		public Object getRawData()
+		{
+			return rawData;
+		}
+
+		/**
+		 * 获取估算的内存占用字节数。
+		 *
+		 * @return
+		 */
+		public long getMemorySize()
+		{
+			return memorySize;
+		}
+	}
+}
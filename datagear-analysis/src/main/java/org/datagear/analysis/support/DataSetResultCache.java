@@ -0,0 +1,365 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.datagear.analysis.DataSet;
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+/**
+ * {@linkplain DataSetResult}缓存。
+ * <p>
+ * 缓存关键字参考{@linkplain DataSetResultKey}，相同关键字的查询将共享同一个结果，
+ * 因此缓存的是{@linkplain ImmutableDataSetResult}，使用者无法修改返回结果的数据。
+ * {@linkplain DataSetQuery#isStreaming()}的查询不会被缓存。
+ * </p>
+ * <p>
+ * 缓存过期时间可通过{@linkplain #setTimeToLive(String, long)}为每个数据集单独设置，否则使用{@linkplain #getDefaultTimeToLive()}，
+ * 过期时间小于等于{@code 0}表示不缓存。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultCache
+{
+	/** 缓存值的最大数 */
+	private int maximumSize = 500;
+
+	/** 默认缓存过期毫秒数 */
+	private long defaultTimeToLive = 10 * 1000;
+
+	/** 数据集ID-缓存过期毫秒数映射表 */
+	private ConcurrentMap<String, Long> timeToLives = new ConcurrentHashMap<String, Long>();
+
+	/** 缓存未命中时用于合并相同查询的{@linkplain DataSetResultCoalescer}，为{@code null}表示不合并 */
+	private DataSetResultCoalescer dataSetResultCoalescer = null;
+
+	private Cache<DataSetResultKey, DataSetResult> _cache = null;
+
+	/** 数据集ID-缓存关键字集合索引，用于清除指定数据集的缓存结果 */
+	private final ConcurrentMap<String, Set<DataSetResultKey>> _keyIndex = new ConcurrentHashMap<String, Set<DataSetResultKey>>();
+
+	/** 清除次数，加载结果期间发生清除时，加载的结果可能已过时，将不被缓存 */
+	private final AtomicLong _invalidateCount = new AtomicLong(0);
+
+	public DataSetResultCache()
+	{
+		super();
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize)
+	{
+		this.maximumSize = maximumSize;
+	}
+
+	public long getDefaultTimeToLive()
+	{
+		return defaultTimeToLive;
+	}
+
+	public void setDefaultTimeToLive(long defaultTimeToLive)
+	{
+		this.defaultTimeToLive = defaultTimeToLive;
+	}
+
+	public DataSetResultCoalescer getDataSetResultCoalescer()
+	{
+		return dataSetResultCoalescer;
+	}
+
+	public void setDataSetResultCoalescer(DataSetResultCoalescer dataSetResultCoalescer)
+	{
+		this.dataSetResultCoalescer = dataSetResultCoalescer;
+	}
+
+	/**
+	 * 获取指定数据集的缓存过期毫秒数。
+	 *
+	 * @param dataSetId
+	 * @return
+	 */
+	public long getTimeToLive(String dataSetId)
+	{
+		Long ttl = (dataSetId == null ? null : this.timeToLives.get(dataSetId));
+		return (ttl == null ? this.defaultTimeToLive : ttl.longValue());
+	}
+
+	/**
+	 * 设置指定数据集的缓存过期毫秒数。
+	 * <p>
+	 * 新设置的过期时间仅对之后缓存的结果起作用。
+	 * </p>
+	 *
+	 * @param dataSetId
+	 * @param timeToLive
+	 *            小于等于{@code 0}表示不缓存此数据集的结果
+	 */
+	public void setTimeToLive(String dataSetId, long timeToLive)
+	{
+		this.timeToLives.put(dataSetId, timeToLive);
+	}
+
+	/**
+	 * 批量设置数据集的缓存过期毫秒数。
+	 *
+	 * @param timeToLives
+	 *            数据集ID-缓存过期毫秒数映射表
+	 */
+	public void setTimeToLives(Map<String, Long> timeToLives)
+	{
+		this.timeToLives.putAll(timeToLives);
+	}
+
+	/**
+	 * 获取所有单独设置的数据集缓存过期毫秒数。
+	 *
+	 * @return 数据集ID-缓存过期毫秒数映射表
+	 */
+	public Map<String, Long> getTimeToLives()
+	{
+		return new HashMap<>(this.timeToLives);
+	}
+
+	/**
+	 * 移除指定数据集的缓存过期毫秒数，使其使用{@linkplain #getDefaultTimeToLive()}。
+	 *
+	 * @param dataSetId
+	 */
+	public void removeTimeToLive(String dataSetId)
+	{
+		this.timeToLives.remove(dataSetId);
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._cache = Caffeine.newBuilder().maximumSize(this.maximumSize)
+				.expireAfter(new Expiry<DataSetResultKey, DataSetResult>()
+				{
+					@Override
+					public long expireAfterCreate(DataSetResultKey key, DataSetResult value, long currentTime)
+					{
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(getTimeToLive(key.getDataSetId()), 0));
+					}
+
+					@Override
+					public long expireAfterUpdate(DataSetResultKey key, DataSetResult value, long currentTime,
+							long currentDuration)
+					{
+						return expireAfterCreate(key, value, currentTime);
+					}
+
+					@Override
+					public long expireAfterRead(DataSetResultKey key, DataSetResult value, long currentTime,
+							long currentDuration)
+					{
+						return currentDuration;
+					}
+				}).executor(new Executor()
+				{
+					@Override
+					public void execute(Runnable command)
+					{
+						// 同步执行移除监听器，使关键字索引及时更新
+						command.run();
+					}
+				}).removalListener(new RemovalListener<DataSetResultKey, DataSetResult>()
+				{
+					@Override
+					public void onRemoval(DataSetResultKey key, DataSetResult value, RemovalCause cause)
+					{
+						if (key != null && cause != RemovalCause.REPLACED)
+							removeFromKeyIndex(key);
+					}
+				}).recordStats().build();
+	}
+
+	/**
+	 * 获取{@linkplain DataSetResult}，缓存中没有时将调用{@linkplain DataSet#getResult(DataSetQuery)}并缓存结果。
+	 *
+	 * @param dataSet
+	 * @param query
+	 * @return
+	 * @throws DataSetException
+	 */
+	public DataSetResult getResult(DataSet dataSet, DataSetQuery query) throws DataSetException
+	{
+		if (!isCacheable(dataSet, query))
+			return loadResult(dataSet, query);
+
+		DataSetResultKey key = DataSetResultKey.valueOf(dataSet, query);
+		DataSetResult result = this._cache.getIfPresent(key);
+
+		if (result == null)
+		{
+			long invalidateCount = this._invalidateCount.get();
+
+			result = ImmutableDataSetResult.valueOf(loadResult(dataSet, query));
+
+			if (result != null)
+			{
+				addToKeyIndex(key);
+				this._cache.put(key, result);
+
+				// 加载期间数据集可能已被修改，此时不应保留可能已过时的结果
+				if (this._invalidateCount.get() != invalidateCount)
+					this._cache.invalidate(key);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * 清除指定数据集的所有缓存结果。
+	 *
+	 * @param dataSetId
+	 */
+	public void invalidate(String dataSetId)
+	{
+		this._invalidateCount.incrementAndGet();
+
+		Set<DataSetResultKey> keys = this._keyIndex.remove(dataSetId);
+
+		if (keys != null && !keys.isEmpty())
+			this._cache.invalidateAll(keys);
+	}
+
+	/**
+	 * 清除所有缓存结果。
+	 */
+	public void invalidateAll()
+	{
+		this._invalidateCount.incrementAndGet();
+		this._cache.invalidateAll();
+	}
+
+	/**
+	 * 获取当前缓存的结果数。
+	 *
+	 * @return
+	 */
+	public long getSize()
+	{
+		return this._cache.estimatedSize();
+	}
+
+	/**
+	 * 获取缓存命中数。
+	 *
+	 * @return
+	 */
+	public long getHitCount()
+	{
+		return this._cache.stats().hitCount();
+	}
+
+	/**
+	 * 获取缓存未命中数。
+	 *
+	 * @return
+	 */
+	public long getMissCount()
+	{
+		return this._cache.stats().missCount();
+	}
+
+	/**
+	 * 获取缓存命中率。
+	 *
+	 * @return {@code [0, 1]}
+	 */
+	public double getHitRate()
+	{
+		return this._cache.stats().hitRate();
+	}
+
+	/**
+	 * 获取缓存淘汰数。
+	 *
+	 * @return
+	 */
+	public long getEvictionCount()
+	{
+		return this._cache.stats().evictionCount();
+	}
+
+	protected void addToKeyIndex(final DataSetResultKey key)
+	{
+		this._keyIndex.compute(key.getDataSetId(),
+				new BiFunction<String, Set<DataSetResultKey>, Set<DataSetResultKey>>()
+				{
+					@Override
+					public Set<DataSetResultKey> apply(String dataSetId, Set<DataSetResultKey> keys)
+					{
+						if (keys == null)
+							keys = ConcurrentHashMap.<DataSetResultKey> newKeySet();
+
+						keys.add(key);
+
+						return keys;
+					}
+				});
+	}
+
+	protected void removeFromKeyIndex(final DataSetResultKey key)
+	{
+		this._keyIndex.computeIfPresent(key.getDataSetId(),
+				new BiFunction<String, Set<DataSetResultKey>, Set<DataSetResultKey>>()
+				{
+					@Override
+					public Set<DataSetResultKey> apply(String dataSetId, Set<DataSetResultKey> keys)
+					{
+						keys.remove(key);
+						return (keys.isEmpty() ? null : keys);
+					}
+				});
+	}
+
+	protected DataSetResult loadResult(DataSet dataSet, DataSetQuery query) throws DataSetException
+	{
+		if (this.dataSetResultCoalescer == null)
+			return dataSet.getResult(query);
+
+		return this.dataSetResultCoalescer.getResult(dataSet, query);
+	}
+
+	protected boolean isCacheable(DataSet dataSet, DataSetQuery query)
+	{
+		// 流式结果的数据在序列化时才读取，不能被缓存
+		if (query != null && query.isStreaming())
+			return false;
+
+		return (dataSet.getId() != null && getTimeToLive(dataSet.getId()) > 0);
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.datagear.analysis.DataSet;
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+
+/**
+ * {@linkplain DataSetResult}合并获取器。
+ * <p>
+ * 对于{@linkplain DataSetResultKey}相同的并发查询，只有第一个调用者会执行{@linkplain DataSet#getResult(DataSetQuery)}，
+ * 其他调用者将等待并共享它的结果（或者异常），以避免同时向底层数据源发起大量相同的查询。
+ * </p>
+ * <p>
+ * {@linkplain DataSetResultKey}包含{@linkplain DataSetQuery#getScope()}，因此不同范围（比如：不同用户）的查询不会被合并；
+ * 共享的结果是{@linkplain ImmutableDataSetResult}，调用者无法修改其数据；{@linkplain DataSetQuery#isStreaming()}的查询不会被合并。
+ * </p>
+ * <p>
+ * 与{@linkplain DataSetResultCache}不同，此类不保留任何已完成的结果。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultCoalescer
+{
+	private final ConcurrentMap<DataSetResultKey, CompletableFuture<DataSetResult>> inflights = new ConcurrentHashMap<DataSetResultKey, CompletableFuture<DataSetResult>>();
+
+	private final AtomicLong executionCount = new AtomicLong(0);
+
+	private final AtomicLong coalescedCount = new AtomicLong(0);
+
+	public DataSetResultCoalescer()
+	{
+		super();
+	}
+
+	/**
+	 * 获取{@linkplain DataSetResult}。
+	 *
+	 * @param dataSet
+	 * @param query
+	 * @return
+	 * @throws DataSetException
+	 */
+	public DataSetResult getResult(DataSet dataSet, DataSetQuery query) throws DataSetException
+	{
+		// 流式结果的数据在序列化时才读取，只能被一个调用者使用
+		if (dataSet.getId() == null || (query != null && query.isStreaming()))
+			return dataSet.getResult(query);
+
+		DataSetResultKey key = DataSetResultKey.valueOf(dataSet, query);
+
+		CompletableFuture<DataSetResult> myFuture = new CompletableFuture<DataSetResult>();
+		CompletableFuture<DataSetResult> future = this.inflights.putIfAbsent(key, myFuture);
+
+		if (future != null)
+		{
+			this.coalescedCount.incrementAndGet();
+			return awaitResult(future);
+		}
+
+		this.executionCount.incrementAndGet();
+
+		try
+		{
+			DataSetResult result = ImmutableDataSetResult.valueOf(dataSet.getResult(query));
+			myFuture.complete(result);
+
+			return result;
+		}
+		catch (RuntimeException | Error e)
+		{
+			myFuture.completeExceptionally(e);
+			throw e;
+		}
+		finally
+		{
+			this.inflights.remove(key, myFuture);
+		}
+	}
+
+	/**
+	 * 获取正在执行的查询数。
+	 *
+	 * @return
+	 */
+	public int getInflightCount()
+	{
+		return this.inflights.size();
+	}
+
+	/**
+	 * 获取实际执行的查询数。
+	 *
+	 * @return
+	 */
+	public long getExecutionCount()
+	{
+		return this.executionCount.get();
+	}
+
+	/**
+	 * 获取被合并（共享其他查询结果）的查询数。
+	 *
+	 * @return
+	 */
+	public long getCoalescedCount()
+	{
+		return this.coalescedCount.get();
+	}
+
+	protected DataSetResult awaitResult(CompletableFuture<DataSetResult> future) throws DataSetException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new DataSetException(e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = (e.getCause() == null ? e : e.getCause());
+
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			else if (cause instanceof Error)
+				throw (Error) cause;
+			else
+				throw new DataSetException(cause);
+		}
+	}
+}
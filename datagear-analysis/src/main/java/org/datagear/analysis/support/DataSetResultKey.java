@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.datagear.analysis.DataSet;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+import org.datagear.analysis.ResultDataFormat;
+
+/**
+ * {@linkplain DataSetResult}关键字。
+ * <p>
+ * 由{@linkplain DataSet#getId()}、规范化后的{@linkplain DataSetQuery#getParamValues()}、
+ * {@linkplain DataSetQuery#getResultDataFormat()}、{@linkplain DataSetQuery#getResultFetchSize()}、
+ * {@linkplain DataSetQuery#isStreaming()}、{@linkplain DataSetQuery#getScope()}构成，
+ * 关键字相同的查询应得到相同的结果。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultKey implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String dataSetId;
+	private final Object paramValues;
+	private final ResultDataFormat resultDataFormat;
+	private final int resultFetchSize;
+	private final boolean streaming;
+	private final String scope;
+
+	public DataSetResultKey(String dataSetId, Object paramValues, ResultDataFormat resultDataFormat,
+			int resultFetchSize)
+	{
+		this(dataSetId, paramValues, resultDataFormat, resultFetchSize, false, null);
+	}
+
+	public DataSetResultKey(String dataSetId, Object paramValues, ResultDataFormat resultDataFormat,
+			int resultFetchSize, boolean streaming, String scope)
+	{
+		super();
+		this.dataSetId = dataSetId;
+		this.paramValues = paramValues;
+		this.resultDataFormat = resultDataFormat;
+		this.resultFetchSize = (resultFetchSize < 0 ? -1 : resultFetchSize);
+		this.streaming = streaming;
+		this.scope = scope;
+	}
+
+	public String getDataSetId()
+	{
+		return dataSetId;
+	}
+
+	public Object getParamValues()
+	{
+		return paramValues;
+	}
+
+	public ResultDataFormat getResultDataFormat()
+	{
+		return resultDataFormat;
+	}
+
+	public int getResultFetchSize()
+	{
+		return resultFetchSize;
+	}
+
+	public boolean isStreaming()
+	{
+		return streaming;
+	}
+
+	public String getScope()
+	{
+		return scope;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((dataSetId == null) ? 0 : dataSetId.hashCode());
+		result = prime * result + ((paramValues == null) ? 0 : paramValues.hashCode());
+		result = prime * result + ((resultDataFormat == null) ? 0 : resultDataFormat.hashCode());
+		result = prime * result + resultFetchSize;
+		result = prime * result + (streaming ? 1231 : 1237);
+		result = prime * result + ((scope == null) ? 0 : scope.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DataSetResultKey other = (DataSetResultKey) obj;
+		if (dataSetId == null)
+		{
+			if (other.dataSetId != null)
+				return false;
+		}
+		else if (!dataSetId.equals(other.dataSetId))
+			return false;
+		if (paramValues == null)
+		{
+			if (other.paramValues != null)
+				return false;
+		}
+		else if (!paramValues.equals(other.paramValues))
+			return false;
+		if (resultDataFormat == null)
+		{
+			if (other.resultDataFormat != null)
+				return false;
+		}
+		else if (!resultDataFormat.equals(other.resultDataFormat))
+			return false;
+		if (resultFetchSize != other.resultFetchSize)
+			return false;
+		if (streaming != other.streaming)
+			return false;
+		if (scope == null)
+		{
+			if (other.scope != null)
+				return false;
+		}
+		else if (!scope.equals(other.scope))
+			return false;
+		return true;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [dataSetId=" + dataSetId + ", paramValues=" + paramValues
+				+ ", resultDataFormat=" + resultDataFormat + ", resultFetchSize=" + resultFetchSize + ", streaming="
+				+ streaming + ", scope=" + scope + "]";
+	}
+
+	/**
+	 * 构建{@linkplain DataSetResultKey}。
+	 *
+	 * @param dataSet
+	 * @param query
+	 * @return
+	 */
+	public static DataSetResultKey valueOf(DataSet dataSet, DataSetQuery query)
+	{
+		Object paramValues = normalizeParamValue(query.getParamValues());
+		return new DataSetResultKey(dataSet.getId(), paramValues, query.getResultDataFormat(),
+				query.getResultFetchSize(), query.isStreaming(), query.getScope());
+	}
+
+	/**
+	 * 规范化参数值，使得内容相同的参数值具有相同的{@linkplain Object#equals(Object)}和{@linkplain Object#hashCode()}。
+	 * <p>
+	 * {@linkplain Map}将转换为按关键字排序的{@linkplain TreeMap}，数组、{@linkplain Collection}将转换为{@linkplain List}。
+	 * </p>
+	 *
+	 * @param value
+	 * @return
+	 */
+	protected static Object normalizeParamValue(Object value)
+	{
+		if (value == null)
+			return null;
+
+		if (value instanceof Map<?, ?>)
+		{
+			Map<?, ?> map = (Map<?, ?>) value;
+
+			if (map.isEmpty())
+				return Collections.emptyMap();
+
+			Map<String, Object> re = new TreeMap<String, Object>();
+
+			for (Map.Entry<?, ?> entry : map.entrySet())
+				re.put(String.valueOf(entry.getKey()), normalizeParamValue(entry.getValue()));
+
+			return re;
+		}
+		else if (value instanceof Collection<?>)
+		{
+			Collection<?> collection = (Collection<?>) value;
+			List<Object> re = new ArrayList<Object>(collection.size());
+
+			for (Object ele : collection)
+				re.add(normalizeParamValue(ele));
+
+			return re;
+		}
+		else if (value instanceof Object[])
+		{
+			Object[] array = (Object[]) value;
+			List<Object> re = new ArrayList<Object>(array.length);
+
+			for (Object ele : array)
+				re.add(normalizeParamValue(ele));
+
+			return re;
+		}
+		else if (value.getClass().isArray())
+		{
+			int len = Array.getLength(value);
+			List<Object> re = new ArrayList<Object>(len);
+
+			for (int i = 0; i < len; i++)
+				re.add(Array.get(value, i));
+
+			return re;
+		}
+		else
+			return value;
+	}
+}
@@ -75,6 +75,20 @@ public class FileTemplateDashboardWidgetResManager extends AbstractTemplateDashb
 		return doGetRelativePath(id, name);
 	}
 
+	/**
+	 * 获取指定资源的文件。
+	 * 
+	 * @param id
+	 *            {@linkplain Dashboard#getId()}
+	 * @param name
+	 *            资源名称
+	 * @return
+	 */
+	public File getFile(String id, String name)
+	{
+		return getFile(id, name, false);
+	}
+
 	@Override
 	public boolean exists(String id, String name)
 	{
@@ -7,6 +7,7 @@
 
 package org.datagear.analysis.support;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.Charset;
@@ -15,8 +16,19 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.async.HttpAsyncClient;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.hc.client5.http.classic.methods.HttpDelete;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
@@ -24,6 +36,7 @@ import org.apache.hc.client5.http.classic.methods.HttpPatch;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpPut;
 import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
@@ -31,8 +44,10 @@ import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.net.URIAuthority;
 import org.datagear.analysis.DataSetException;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
@@ -43,6 +58,7 @@ import org.datagear.util.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -119,6 +135,15 @@ public class HttpDataSet extends AbstractResolvableDataSet
 	/** 响应数据的JSON路径 */
 	private String responseDataJsonPath = "";
 
+	/** 请求耗时记录器，为{@code null}表示不记录 */
+	private transient HttpLatencyRecorder latencyRecorder = null;
+
+	/** 异步HTTP客户端，为{@code null}表示异步解析时将在调用线程内同步执行 */
+	private transient HttpAsyncClient httpAsyncClient = null;
+
+	/** 异步响应解析执行器，为{@code null}表示使用{@linkplain ForkJoinPool#commonPool()} */
+	private transient Executor responseExecutor = null;
+
 	public HttpDataSet()
 	{
 		super();
@@ -324,6 +349,42 @@ public class HttpDataSet extends AbstractResolvableDataSet
 		this.responseDataJsonPath = responseDataJsonPath;
 	}
 
+	@JsonIgnore
+	public HttpLatencyRecorder getLatencyRecorder()
+	{
+		return latencyRecorder;
+	}
+
+	@JsonIgnore
+	public void setLatencyRecorder(HttpLatencyRecorder latencyRecorder)
+	{
+		this.latencyRecorder = latencyRecorder;
+	}
+
+	@JsonIgnore
+	public HttpAsyncClient getHttpAsyncClient()
+	{
+		return httpAsyncClient;
+	}
+
+	@JsonIgnore
+	public void setHttpAsyncClient(HttpAsyncClient httpAsyncClient)
+	{
+		this.httpAsyncClient = httpAsyncClient;
+	}
+
+	@JsonIgnore
+	public Executor getResponseExecutor()
+	{
+		return responseExecutor;
+	}
+
+	@JsonIgnore
+	public void setResponseExecutor(Executor responseExecutor)
+	{
+		this.responseExecutor = responseExecutor;
+	}
+
 	@Override
 	public TemplateResolvedDataSetResult resolve(DataSetQuery query)
 			throws DataSetException
@@ -331,6 +392,241 @@ public class HttpDataSet extends AbstractResolvableDataSet
 		return (TemplateResolvedDataSetResult) super.resolve(query);
 	}
 
+	/**
+	 * 异步获取结果。
+	 * <p>
+	 * 参考{@linkplain #resolveAsync(DataSetQuery)}。
+	 * </p>
+	 * 
+	 * @param query
+	 * @return
+	 */
+	public CompletableFuture<DataSetResult> getResultAsync(DataSetQuery query)
+	{
+		List<DataSetProperty> properties = getProperties();
+
+		if (properties == null || properties.isEmpty())
+			return failedFuture(new DataSetException("[this.getProperties()] must not be empty"));
+
+		return resolveResultAsync(query, properties, false)
+				.thenApply(new Function<TemplateResolvedDataSetResult, DataSetResult>()
+				{
+					@Override
+					public DataSetResult apply(TemplateResolvedDataSetResult result)
+					{
+						return result.getResult();
+					}
+				});
+	}
+
+	/**
+	 * 异步解析。
+	 * <p>
+	 * 设置了{@linkplain #getHttpAsyncClient()}时，请求将以非阻塞方式执行，等待响应期间不占用任何线程，
+	 * 响应数据将在{@linkplain #getResponseExecutor()}内解析，不占用异步客户端的I/O线程；
+	 * 否则，将在调用线程内同步执行，并返回已完成的{@linkplain CompletableFuture}。
+	 * </p>
+	 * <p>
+	 * 返回的{@linkplain CompletableFuture}被取消时，也将取消正在执行的请求。
+	 * </p>
+	 * 
+	 * @param query
+	 * @return 以{@linkplain DataSetException}异常完成表示解析出错
+	 */
+	public CompletableFuture<TemplateResolvedDataSetResult> resolveAsync(DataSetQuery query)
+	{
+		return resolveResultAsync(query, getProperties(), true);
+	}
+
+	/**
+	 * 异步解析结果。
+	 * 
+	 * @param query
+	 * @param properties
+	 * @param resolveProperties
+	 * @return
+	 */
+	protected CompletableFuture<TemplateResolvedDataSetResult> resolveResultAsync(DataSetQuery query,
+			List<DataSetProperty> properties, boolean resolveProperties)
+	{
+		if (this.httpAsyncClient == null)
+		{
+			try
+			{
+				checkRequiredParamValues(query);
+				return CompletableFuture.completedFuture(resolveResult(query, properties, resolveProperties));
+			}
+			catch (Throwable t)
+			{
+				return failedFuture(t);
+			}
+		}
+
+		String uri = null;
+		String headerContent = null;
+		String requestContent = null;
+
+		try
+		{
+			checkRequiredParamValues(query);
+
+			uri = resolveTemplateUri(query);
+			headerContent = resolveTemplateHeaderContent(query);
+			requestContent = resolveTemplateRequestContent(query);
+
+			ClassicHttpRequest request = createHttpRequest(uri);
+
+			setHttpHeaders(request, headerContent);
+			setHttpEntity(request, requestContent);
+
+			JsonResponseHandler responseHandler = new JsonResponseHandler();
+			responseHandler.setProperties(properties);
+			responseHandler.setResponseDataJsonPath(getResponseDataJsonPath());
+			responseHandler.setDataSetQuery(query);
+
+			return executeHttpRequestAsync(request, responseHandler,
+					buildResolvedTemplate(uri, headerContent, requestContent));
+		}
+		catch (DataSetException e)
+		{
+			return failedFuture(e);
+		}
+		catch (Throwable t)
+		{
+			return failedFuture(
+					new DataSetSourceParseException(t, buildResolvedTemplate(uri, headerContent, requestContent)));
+		}
+	}
+
+	/**
+	 * 使用{@linkplain #getHttpAsyncClient()}执行HTTP请求。
+	 * 
+	 * @param request
+	 * @param responseHandler
+	 * @param resolvedTemplate
+	 * @return
+	 * @throws Throwable
+	 */
+	protected CompletableFuture<TemplateResolvedDataSetResult> executeHttpRequestAsync(ClassicHttpRequest request,
+			final JsonResponseHandler responseHandler, final String resolvedTemplate) throws Throwable
+	{
+		final CompletableFuture<SimpleHttpResponse> responseFuture = new CompletableFuture<>();
+		final String latencyHost = getLatencyHost(request);
+		final long startTime = System.currentTimeMillis();
+
+		SimpleHttpRequest asyncRequest = toSimpleHttpRequest(request);
+
+		final Future<SimpleHttpResponse> httpFuture = this.httpAsyncClient.execute(
+				SimpleRequestProducer.create(asyncRequest), SimpleResponseConsumer.create(), null, null,
+				new FutureCallback<SimpleHttpResponse>()
+				{
+					@Override
+					public void completed(SimpleHttpResponse response)
+					{
+						// 这里是异步客户端的I/O线程，仅传递原始响应，解析交由响应解析执行器
+						responseFuture.complete(response);
+					}
+
+					@Override
+					public void failed(Exception ex)
+					{
+						recordLatency(latencyHost, startTime, false);
+						responseFuture.completeExceptionally(new DataSetSourceParseException(ex, resolvedTemplate));
+					}
+
+					@Override
+					public void cancelled()
+					{
+						responseFuture.cancel(false);
+					}
+				});
+
+		final CompletableFuture<TemplateResolvedDataSetResult> resultFuture = responseFuture.thenApplyAsync(
+				new Function<SimpleHttpResponse, TemplateResolvedDataSetResult>()
+				{
+					@Override
+					public TemplateResolvedDataSetResult apply(SimpleHttpResponse response)
+					{
+						try
+						{
+							ResolvedDataSetResult result = responseHandler.handleResponse(response);
+							recordLatency(latencyHost, startTime, true);
+
+							return new TemplateResolvedDataSetResult(result.getResult(), result.getProperties(),
+									resolvedTemplate);
+						}
+						catch (DataSetException e)
+						{
+							recordLatency(latencyHost, startTime, false);
+							throw e;
+						}
+						catch (Throwable t)
+						{
+							recordLatency(latencyHost, startTime, false);
+							throw new DataSetSourceParseException(t, resolvedTemplate);
+						}
+					}
+				}, getResponseExecutorNonNull());
+
+		resultFuture.whenComplete(new BiConsumer<TemplateResolvedDataSetResult, Throwable>()
+		{
+			@Override
+			public void accept(TemplateResolvedDataSetResult result, Throwable t)
+			{
+				if (resultFuture.isCancelled())
+					httpFuture.cancel(true);
+			}
+		});
+
+		return resultFuture;
+	}
+
+	/**
+	 * 获取异步响应解析执行器，未设置时返回{@linkplain ForkJoinPool#commonPool()}。
+	 * 
+	 * @return
+	 */
+	protected Executor getResponseExecutorNonNull()
+	{
+		return (this.responseExecutor != null ? this.responseExecutor : ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * 将{@linkplain ClassicHttpRequest}转换为异步请求。
+	 * 
+	 * @param request
+	 * @return
+	 * @throws Throwable
+	 */
+	protected SimpleHttpRequest toSimpleHttpRequest(ClassicHttpRequest request) throws Throwable
+	{
+		SimpleHttpRequest asyncRequest = SimpleHttpRequest.copy(request);
+		HttpEntity entity = request.getEntity();
+
+		if (entity != null)
+		{
+			String contentType = entity.getContentType();
+			asyncRequest.setBody(EntityUtils.toByteArray(entity),
+					(StringUtil.isEmpty(contentType) ? null : ContentType.parse(contentType)));
+		}
+
+		return asyncRequest;
+	}
+
+	protected void recordLatency(String host, long startTime, boolean success)
+	{
+		if (this.latencyRecorder != null)
+			this.latencyRecorder.record(host, System.currentTimeMillis() - startTime, success);
+	}
+
+	protected <T> CompletableFuture<T> failedFuture(Throwable t)
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(t);
+
+		return future;
+	}
+
 	@Override
 	protected TemplateResolvedDataSetResult resolveResult(DataSetQuery query, List<DataSetProperty> properties,
 			boolean resolveProperties) throws DataSetException
@@ -355,7 +651,7 @@ public class HttpDataSet extends AbstractResolvableDataSet
 			responseHandler.setResponseDataJsonPath(getResponseDataJsonPath());
 			responseHandler.setDataSetQuery(query);
 
-			ResolvedDataSetResult result = this.httpClient.execute(request, responseHandler);
+			ResolvedDataSetResult result = executeHttpRequest(request, responseHandler);
 
 			return new TemplateResolvedDataSetResult(result.getResult(), result.getProperties(),
 					buildResolvedTemplate(uri, headerContent, requestContent));
@@ -370,6 +666,57 @@ public class HttpDataSet extends AbstractResolvableDataSet
 		}
 	}
 
+	/**
+	 * 执行HTTP请求。
+	 * <p>
+	 * 如果设置了{@linkplain #getLatencyRecorder()}，将按主机记录请求耗时（包括响应处理耗时）。
+	 * </p>
+	 * 
+	 * @param request
+	 * @param responseHandler
+	 * @return
+	 * @throws Throwable
+	 */
+	protected ResolvedDataSetResult executeHttpRequest(ClassicHttpRequest request,
+			JsonResponseHandler responseHandler) throws Throwable
+	{
+		if (this.latencyRecorder == null)
+			return this.httpClient.execute(request, responseHandler);
+
+		long startTime = System.currentTimeMillis();
+		boolean success = false;
+
+		try
+		{
+			ResolvedDataSetResult result = this.httpClient.execute(request, responseHandler);
+			success = true;
+
+			return result;
+		}
+		finally
+		{
+			recordLatency(getLatencyHost(request), startTime, success);
+		}
+	}
+
+	/**
+	 * 获取用于记录请求耗时的主机名，格式为：{@code "scheme://host:port"}。
+	 * 
+	 * @param request
+	 * @return 返回{@code null}表示未知
+	 */
+	protected String getLatencyHost(ClassicHttpRequest request)
+	{
+		URIAuthority authority = request.getAuthority();
+
+		if (authority == null)
+			return null;
+
+		String scheme = request.getScheme();
+
+		return (StringUtil.isEmpty(scheme) ? "" : scheme + "://") + authority.toString();
+	}
+
 	protected String buildResolvedTemplate(String uri, String headerContent, String requestContent)
 	{
 		StringBuilder sb = new StringBuilder();
@@ -616,6 +963,46 @@ public class HttpDataSet extends AbstractResolvableDataSet
 				reader = IOUtil.getReader(entity.getContent(), contentCharset);
 			}
 
+			return handleJson(reader);
+		}
+
+		/**
+		 * 处理异步请求的响应。
+		 * 
+		 * @param response
+		 * @return
+		 * @throws HttpException
+		 * @throws IOException
+		 */
+		public ResolvedDataSetResult handleResponse(SimpleHttpResponse response) throws HttpException, IOException
+		{
+			int code = response.getCode();
+
+			if (code < 200 || code >= 300)
+				throw new HttpResponseException(code, response.getReasonPhrase());
+
+			byte[] body = response.getBodyBytes();
+
+			Reader reader = null;
+
+			if (body == null)
+				reader = IOUtil.getReader("");
+			else
+			{
+				ContentType contentType = response.getContentType();
+				Charset contentCharset = (contentType == null ? null : contentType.getCharset());
+
+				if (contentCharset == null)
+					contentCharset = ContentType.APPLICATION_JSON.getCharset();
+
+				reader = IOUtil.getReader(new ByteArrayInputStream(body), contentCharset);
+			}
+
+			return handleJson(reader);
+		}
+
+		protected ResolvedDataSetResult handleJson(Reader reader)
+		{
 			if (this.properties == null || this.properties.isEmpty())
 			{
 				HttpResponseJsonDataSet jsonDataSet = new HttpResponseJsonDataSet(reader);
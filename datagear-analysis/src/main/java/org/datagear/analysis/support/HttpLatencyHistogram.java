@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HTTP请求耗时直方图。
+ * <p>
+ * 它按照{@linkplain #getBounds()}毫秒数上限统计各区间的请求数，最后一个区间没有上限，线程安全。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HttpLatencyHistogram
+{
+	/** 默认区间毫秒数上限 */
+	public static final long[] DEFAULT_BOUNDS = { 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private final long[] bounds;
+
+	/** 各区间请求数，比{@linkplain #bounds}多一个无上限区间 */
+	private final AtomicLongArray counts;
+
+	private final AtomicLong count = new AtomicLong(0);
+
+	private final AtomicLong errorCount = new AtomicLong(0);
+
+	private final AtomicLong totalMillis = new AtomicLong(0);
+
+	private final AtomicLong maxMillis = new AtomicLong(0);
+
+	public HttpLatencyHistogram()
+	{
+		this(DEFAULT_BOUNDS);
+	}
+
+	/**
+	 * 创建。
+	 *
+	 * @param bounds
+	 *            升序的区间毫秒数上限
+	 */
+	public HttpLatencyHistogram(long[] bounds)
+	{
+		super();
+		this.bounds = Arrays.copyOf(bounds, bounds.length);
+		this.counts = new AtomicLongArray(bounds.length + 1);
+	}
+
+	/**
+	 * 记录一次请求耗时。
+	 *
+	 * @param millis
+	 *            耗时毫秒数
+	 * @param success
+	 *            请求是否成功
+	 */
+	public void record(long millis, boolean success)
+	{
+		if (millis < 0)
+			millis = 0;
+
+		int index = Arrays.binarySearch(this.bounds, millis);
+		if (index < 0)
+			index = -index - 1;
+
+		this.counts.incrementAndGet(index);
+		this.count.incrementAndGet();
+		this.totalMillis.addAndGet(millis);
+
+		if (!success)
+			this.errorCount.incrementAndGet();
+
+		long max = this.maxMillis.get();
+		while (millis > max && !this.maxMillis.compareAndSet(max, millis))
+			max = this.maxMillis.get();
+	}
+
+	/**
+	 * 获取区间毫秒数上限。
+	 *
+	 * @return
+	 */
+	public long[] getBounds()
+	{
+		return Arrays.copyOf(this.bounds, this.bounds.length);
+	}
+
+	/**
+	 * 获取各区间请求数，最后一个元素是超出最大上限的请求数。
+	 *
+	 * @return
+	 */
+	public long[] getCounts()
+	{
+		long[] re = new long[this.counts.length()];
+
+		for (int i = 0; i < re.length; i++)
+			re[i] = this.counts.get(i);
+
+		return re;
+	}
+
+	/**
+	 * 获取请求总数。
+	 *
+	 * @return
+	 */
+	public long getCount()
+	{
+		return this.count.get();
+	}
+
+	/**
+	 * 获取失败请求数。
+	 *
+	 * @return
+	 */
+	public long getErrorCount()
+	{
+		return this.errorCount.get();
+	}
+
+	/**
+	 * 获取平均耗时毫秒数。
+	 *
+	 * @return
+	 */
+	public long getMeanMillis()
+	{
+		long count = this.count.get();
+		return (count == 0 ? 0 : this.totalMillis.get() / count);
+	}
+
+	/**
+	 * 获取最大耗时毫秒数。
+	 *
+	 * @return
+	 */
+	public long getMaxMillis()
+	{
+		return this.maxMillis.get();
+	}
+
+	/**
+	 * 获取{@code 50}百分位耗时毫秒数的上限估计值。
+	 *
+	 * @return
+	 */
+	public long getP50Millis()
+	{
+		return getPercentileMillis(0.5);
+	}
+
+	/**
+	 * 获取{@code 95}百分位耗时毫秒数的上限估计值。
+	 *
+	 * @return
+	 */
+	public long getP95Millis()
+	{
+		return getPercentileMillis(0.95);
+	}
+
+	/**
+	 * 获取{@code 99}百分位耗时毫秒数的上限估计值。
+	 *
+	 * @return
+	 */
+	public long getP99Millis()
+	{
+		return getPercentileMillis(0.99);
+	}
+
+	/**
+	 * 获取指定百分位耗时毫秒数的上限估计值。
+	 * <p>
+	 * 返回百分位所在区间的上限，位于无上限区间时返回{@linkplain #getMaxMillis()}。
+	 * </p>
+	 *
+	 * @param percentile
+	 *            {@code (0, 1]}
+	 * @return
+	 */
+	public long getPercentileMillis(double percentile)
+	{
+		long[] counts = getCounts();
+
+		long total = 0;
+		for (long c : counts)
+			total += c;
+
+		if (total == 0)
+			return 0;
+
+		long rank = (long) Math.ceil(total * percentile);
+		if (rank < 1)
+			rank = 1;
+
+		long accumulated = 0;
+
+		for (int i = 0; i < this.bounds.length; i++)
+		{
+			accumulated += counts[i];
+
+			if (accumulated >= rank)
+				return Math.min(this.bounds[i], getMaxMillis());
+		}
+
+		return getMaxMillis();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按主机统计的HTTP请求耗时记录器。
+ * <p>
+ * 它为每个主机维护一个{@linkplain HttpLatencyHistogram}，主机数超过{@linkplain #getMaxHosts()}后，
+ * 新主机的请求将统一记录在{@linkplain #OTHER_HOST}下，避免请求地址过多时无限增长。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HttpLatencyRecorder
+{
+	/** 超出主机数限制时使用的主机名 */
+	public static final String OTHER_HOST = "*";
+
+	/** 最多统计的主机数 */
+	private int maxHosts = 200;
+
+	private ConcurrentMap<String, HttpLatencyHistogram> _histograms = new ConcurrentHashMap<>();
+
+	public HttpLatencyRecorder()
+	{
+		super();
+	}
+
+	public int getMaxHosts()
+	{
+		return maxHosts;
+	}
+
+	public void setMaxHosts(int maxHosts)
+	{
+		this.maxHosts = maxHosts;
+	}
+
+	/**
+	 * 记录一次请求耗时。
+	 *
+	 * @param host
+	 *            主机，比如：{@code "http://localhost:8080"}
+	 * @param millis
+	 *            耗时毫秒数
+	 * @param success
+	 *            请求是否成功
+	 */
+	public void record(String host, long millis, boolean success)
+	{
+		getHistogram(host).record(millis, success);
+	}
+
+	/**
+	 * 获取按主机名排序的所有直方图。
+	 *
+	 * @return
+	 */
+	public Map<String, HttpLatencyHistogram> getHistograms()
+	{
+		return new TreeMap<>(this._histograms);
+	}
+
+	/**
+	 * 清除所有统计。
+	 */
+	public void clear()
+	{
+		this._histograms.clear();
+	}
+
+	protected HttpLatencyHistogram getHistogram(String host)
+	{
+		if (host == null)
+			host = OTHER_HOST;
+
+		HttpLatencyHistogram histogram = this._histograms.get(host);
+
+		if (histogram != null)
+			return histogram;
+
+		if (this._histograms.size() >= this.maxHosts)
+			host = OTHER_HOST;
+
+		histogram = new HttpLatencyHistogram();
+		HttpLatencyHistogram prev = this._histograms.putIfAbsent(host, histogram);
+
+		return (prev != null ? prev : histogram);
+	}
+}
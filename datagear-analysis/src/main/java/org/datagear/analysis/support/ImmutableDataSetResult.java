@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.datagear.analysis.DataSetResult;
+
+/**
+ * 不可修改的{@linkplain DataSetResult}。
+ * <p>
+ * {@linkplain DataSetResultCache}、{@linkplain DataSetResultCoalescer}使用它在多个调用者之间共享同一个结果：
+ * {@linkplain Collection}、{@linkplain Map}数据（以及作为其元素的{@linkplain Map}）将被包装为不可修改的，
+ * 数组数据在每次{@linkplain #getData()}时返回副本，{@linkplain #setData(Object)}将抛出{@linkplain UnsupportedOperationException}。
+ * </p>
+ * <p>
+ * 普通JavaBean数据无法被包装，调用者不应修改它们。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ImmutableDataSetResult extends DataSetResult
+{
+	public ImmutableDataSetResult(DataSetResult result)
+	{
+		super(toImmutableData(result.getData()));
+	}
+
+	@Override
+	public Object getData()
+	{
+		Object data = super.getData();
+
+		if (data != null && data.getClass().isArray())
+		{
+			int len = Array.getLength(data);
+			Object re = Array.newInstance(data.getClass().getComponentType(), len);
+			System.arraycopy(data, 0, re, 0, len);
+
+			return re;
+		}
+
+		return data;
+	}
+
+	@Override
+	public void setData(Object data)
+	{
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 获取不可修改的{@linkplain DataSetResult}。
+	 *
+	 * @param result
+	 *            允许为{@code null}
+	 * @return 当{@code result}为{@code null}时返回{@code null}
+	 */
+	public static DataSetResult valueOf(DataSetResult result)
+	{
+		if (result == null || result instanceof ImmutableDataSetResult)
+			return result;
+
+		return new ImmutableDataSetResult(result);
+	}
+
+	/**
+	 * 将数据包装为不可修改的。
+	 *
+	 * @param data
+	 * @return
+	 */
+	protected static Object toImmutableData(Object data)
+	{
+		if (data == null)
+			return null;
+
+		// 列式存储数据本身是只读的，不必再包装
+		if (data instanceof ColumnarData)
+			return data;
+
+		if (data instanceof Collection<?>)
+		{
+			Collection<?> collection = (Collection<?>) data;
+			List<Object> re = new ArrayList<Object>(collection.size());
+
+			for (Object ele : collection)
+				re.add(toImmutableElement(ele));
+
+			return Collections.unmodifiableList(re);
+		}
+		else if (data instanceof Object[])
+		{
+			Object[] array = (Object[]) data;
+			Object[] re = new Object[array.length];
+
+			for (int i = 0; i < array.length; i++)
+				re[i] = toImmutableElement(array[i]);
+
+			return re;
+		}
+		else
+			return toImmutableElement(data);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected static Object toImmutableElement(Object ele)
+	{
+		if (ele instanceof Map<?, ?>)
+			return Collections.unmodifiableMap((Map<Object, Object>) ele);
+
+		return ele;
+	}
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.datagear.util.StringUtil;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+/**
+ * JSON数据路径读取器。
+ * <p>
+ * 对于仅由属性名、数组下标构成的简单数据路径（比如：{@code "stores[0].books"}、{@code "$['store']['book']"}），
+ * 它使用{@linkplain JsonParser}流式定位到数据路径，并逐条读取数据，读取到最大数目后即停止，不会解析整个JSON；
+ * 对于包含通配符、过滤器等的数据路径，则读取整个JSON后使用{@code JSONPath}计算，编译后的{@code JSONPath}将被缓存。
+ * </p>
+ * <p>
+ * 此类是线程安全的。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class JsonDataPathReader
+{
+	/** 使用Jackson的{@code JSONPath}配置 */
+	public static final Configuration JACKSON_JSON_PATH_CONFIGURATION = Configuration.builder()
+			.jsonProvider(new JacksonJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+
+	/** 最多缓存的{@code JSONPath}数，超出时将淘汰最少使用的 */
+	protected static final int MAX_CACHED_PATHS = 1000;
+
+	private static final Cache<String, JsonPath> JSON_PATHS = Caffeine.newBuilder().maximumSize(MAX_CACHED_PATHS)
+			.build();
+
+	private static final Cache<String, List<Object>> SIMPLE_PATH_SEGMENTS = Caffeine.newBuilder()
+			.maximumSize(MAX_CACHED_PATHS).build();
+
+	/** 表示非简单数据路径 */
+	private static final List<Object> NOT_SIMPLE_PATH = Collections.unmodifiableList(new ArrayList<Object>(0));
+
+	private final ObjectMapper objectMapper;
+
+	public JsonDataPathReader(ObjectMapper objectMapper)
+	{
+		super();
+		this.objectMapper = objectMapper;
+	}
+
+	public ObjectMapper getObjectMapper()
+	{
+		return objectMapper;
+	}
+
+	/**
+	 * 读取数据。
+	 * <p>
+	 * JSON根数据必须是对象、对象数组或者{@code null}。
+	 * </p>
+	 *
+	 * @param reader
+	 * @param dataJsonPath
+	 *            数据路径，为{@code null}或空表示读取根数据，格式参考{@linkplain AbstractJsonDataSet#setDataJsonPath(String)}
+	 * @param maxCount
+	 *            当数据是数组时最多读取的元素数，小于{@code 0}表示不限制
+	 * @return 数组将返回{@linkplain List}，对象将返回{@linkplain Map}，可能为{@code null}
+	 * @throws UnsupportedJsonResultDataException
+	 * @throws ReadJsonDataPathException
+	 * @throws IOException
+	 */
+	public Object read(Reader reader, String dataJsonPath, int maxCount)
+			throws UnsupportedJsonResultDataException, ReadJsonDataPathException, IOException
+	{
+		JsonParser parser = this.objectMapper.getFactory().createParser(reader);
+
+		try
+		{
+			JsonToken token = parser.nextToken();
+
+			if (token == null || token == JsonToken.VALUE_NULL)
+				return null;
+
+			if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)
+				throw new UnsupportedJsonResultDataException("Result data must be JSON object or array");
+
+			String stdDataJsonPath = toStandardJsonPath(dataJsonPath);
+
+			if (stdDataJsonPath == null)
+				return readValue(parser, maxCount, true);
+
+			List<Object> segments = getSimplePathSegments(stdDataJsonPath);
+
+			if (segments == NOT_SIMPLE_PATH)
+			{
+				Object data = readValue(parser, -1, true);
+				data = readJsonPath(data, dataJsonPath);
+
+				return limit(data, maxCount);
+			}
+
+			if (segments.isEmpty())
+				return readValue(parser, maxCount, true);
+
+			for (Object segment : segments)
+			{
+				if (!moveTo(parser, segment))
+					throw new ReadJsonDataPathException(dataJsonPath, "No data found for path [" + dataJsonPath + "]");
+			}
+
+			return readValue(parser, maxCount, false);
+		}
+		finally
+		{
+			parser.close();
+		}
+	}
+
+	/**
+	 * 使用{@code JSONPath}读取数据。
+	 *
+	 * @param data
+	 *            允许为{@code null}
+	 * @param dataJsonPath
+	 *            允许为{@code null}
+	 * @return
+	 * @throws ReadJsonDataPathException
+	 */
+	public Object readJsonPath(Object data, String dataJsonPath) throws ReadJsonDataPathException
+	{
+		String stdDataJsonPath = toStandardJsonPath(dataJsonPath);
+
+		if (data == null || stdDataJsonPath == null)
+			return data;
+
+		try
+		{
+			return compileJsonPath(stdDataJsonPath).read(data, JACKSON_JSON_PATH_CONFIGURATION);
+		}
+		catch (Throwable t)
+		{
+			throw new ReadJsonDataPathException(dataJsonPath, t);
+		}
+	}
+
+	/**
+	 * 读取当前值。
+	 *
+	 * @param parser
+	 *            当前记号是值的开始记号
+	 * @param maxCount
+	 * @param checkElements
+	 *            是否校验数组元素必须是对象或者{@code null}
+	 * @return
+	 * @throws IOException
+	 */
+	protected Object readValue(JsonParser parser, int maxCount, boolean checkElements)
+			throws UnsupportedJsonResultDataException, IOException
+	{
+		if (parser.currentToken() != JsonToken.START_ARRAY)
+			return this.objectMapper.readValue(parser, Object.class);
+
+		List<Object> list = new ArrayList<>();
+		JsonToken token = null;
+
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY)
+		{
+			if (maxCount >= 0 && list.size() >= maxCount)
+				break;
+
+			if (checkElements && token != JsonToken.START_OBJECT && token != JsonToken.VALUE_NULL)
+				throw new UnsupportedJsonResultDataException("Result data must be JSON object or array");
+
+			list.add(this.objectMapper.readValue(parser, Object.class));
+		}
+
+		return list;
+	}
+
+	/**
+	 * 移至路径片段对应的值。
+	 *
+	 * @param parser
+	 *            当前记号是值的开始记号
+	 * @param segment
+	 *            属性名或者数组下标
+	 * @return {@code false}表示没有对应的值
+	 * @throws IOException
+	 */
+	protected boolean moveTo(JsonParser parser, Object segment) throws IOException
+	{
+		JsonToken token = parser.currentToken();
+
+		if (segment instanceof Integer)
+		{
+			if (token != JsonToken.START_ARRAY)
+				return false;
+
+			int index = (Integer) segment;
+
+			for (int i = 0;; i++)
+			{
+				if (parser.nextToken() == JsonToken.END_ARRAY)
+					return false;
+
+				if (i == index)
+					return true;
+
+				parser.skipChildren();
+			}
+		}
+		else
+		{
+			if (token != JsonToken.START_OBJECT)
+				return false;
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME)
+			{
+				String name = parser.getCurrentName();
+				parser.nextToken();
+
+				if (segment.equals(name))
+					return true;
+
+				parser.skipChildren();
+			}
+
+			return false;
+		}
+	}
+
+	protected Object limit(Object data, int maxCount)
+	{
+		if (maxCount < 0 || !(data instanceof Collection<?>))
+			return data;
+
+		Collection<?> collection = (Collection<?>) data;
+
+		if (collection.size() <= maxCount)
+			return data;
+
+		List<Object> list = new ArrayList<>(maxCount);
+
+		for (Object ele : collection)
+		{
+			if (list.size() >= maxCount)
+				break;
+
+			list.add(ele);
+		}
+
+		return list;
+	}
+
+	/**
+	 * 获取编译后的{@code JSONPath}。
+	 *
+	 * @param stdDataJsonPath
+	 *            规范的{@code JSONPath}
+	 * @return
+	 */
+	protected JsonPath compileJsonPath(String stdDataJsonPath)
+	{
+		return JSON_PATHS.get(stdDataJsonPath, new Function<String, JsonPath>()
+		{
+			@Override
+			public JsonPath apply(String key)
+			{
+				return JsonPath.compile(key);
+			}
+		});
+	}
+
+	/**
+	 * 获取简单数据路径的片段列表。
+	 *
+	 * @param stdDataJsonPath
+	 *            规范的{@code JSONPath}
+	 * @return 属性名、数组下标列表，不是简单数据路径时返回{@linkplain #NOT_SIMPLE_PATH}
+	 */
+	protected List<Object> getSimplePathSegments(String stdDataJsonPath)
+	{
+		return SIMPLE_PATH_SEGMENTS.get(stdDataJsonPath, new Function<String, List<Object>>()
+		{
+			@Override
+			public List<Object> apply(String key)
+			{
+				return parseSimplePathSegments(key);
+			}
+		});
+	}
+
+	/**
+	 * 解析简单数据路径的片段列表。
+	 * <p>
+	 * 简单数据路径仅支持：{@code .name}、{@code ['name']}、{@code ["name"]}、{@code [0]}。
+	 * </p>
+	 *
+	 * @param stdDataJsonPath
+	 *            以{@code "$"}开头的规范{@code JSONPath}
+	 * @return
+	 */
+	protected List<Object> parseSimplePathSegments(String stdDataJsonPath)
+	{
+		List<Object> segments = new ArrayList<>();
+
+		int len = stdDataJsonPath.length();
+		int i = 1;
+
+		while (i < len)
+		{
+			char c = stdDataJsonPath.charAt(i);
+
+			if (c == '.')
+			{
+				int start = i + 1;
+				int end = start;
+
+				while (end < len)
+				{
+					char ce = stdDataJsonPath.charAt(end);
+
+					if (ce == '.' || ce == '[')
+						break;
+
+					if (!isSimpleNameChar(ce))
+						return NOT_SIMPLE_PATH;
+
+					end++;
+				}
+
+				if (end == start)
+					return NOT_SIMPLE_PATH;
+
+				segments.add(stdDataJsonPath.substring(start, end));
+				i = end;
+			}
+			else if (c == '[')
+			{
+				int end = stdDataJsonPath.indexOf(']', i);
+
+				if (end < 0)
+					return NOT_SIMPLE_PATH;
+
+				String content = stdDataJsonPath.substring(i + 1, end).trim();
+				Object segment = parseBracketSegment(content);
+
+				if (segment == null)
+					return NOT_SIMPLE_PATH;
+
+				segments.add(segment);
+				i = end + 1;
+			}
+			else
+				return NOT_SIMPLE_PATH;
+		}
+
+		return segments;
+	}
+
+	protected Object parseBracketSegment(String content)
+	{
+		int len = content.length();
+
+		if (len == 0)
+			return null;
+
+		char first = content.charAt(0);
+
+		if (first == '\'' || first == '"')
+		{
+			if (len < 3 || content.charAt(len - 1) != first)
+				return null;
+
+			String name = content.substring(1, len - 1);
+
+			// 转义、多属性名不是简单数据路径
+			if (name.indexOf('\\') >= 0 || name.indexOf(first) >= 0)
+				return null;
+
+			return name;
+		}
+
+		for (int i = 0; i < len; i++)
+		{
+			if (!Character.isDigit(content.charAt(i)))
+				return null;
+		}
+
+		try
+		{
+			return Integer.valueOf(content);
+		}
+		catch (NumberFormatException e)
+		{
+			return null;
+		}
+	}
+
+	protected boolean isSimpleNameChar(char c)
+	{
+		return (c != '*' && c != '?' && c != '(' && c != ')' && c != '@' && c != ',' && c != ':' && c != ' '
+				&& c != '\'' && c != '"' && c != ']');
+	}
+
+	/**
+	 * 转换为规范的{@code JSONPath}。
+	 * <p>
+	 * 将{@code "stores[0].books"}、{@code "[1].stores"}简化模式转换为规范的{@code JSONPath}。
+	 * </p>
+	 *
+	 * @param dataJsonPath
+	 *            允许为{@code null}
+	 * @return 返回{@code null}表示无数据路径
+	 */
+	public static String toStandardJsonPath(String dataJsonPath)
+	{
+		if (StringUtil.isEmpty(dataJsonPath))
+			return null;
+
+		String stdDataJsonPath = dataJsonPath.trim();
+
+		if (StringUtil.isEmpty(stdDataJsonPath))
+			return null;
+
+		if (!stdDataJsonPath.startsWith("$"))
+		{
+			if (stdDataJsonPath.startsWith("["))
+				stdDataJsonPath = "$" + stdDataJsonPath;
+			else
+				stdDataJsonPath = "$." + stdDataJsonPath;
+		}
+
+		return stdDataJsonPath;
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.sql.Connection;
+
+import org.datagear.util.Sql;
+
+/**
+ * 限制结果数的SQL解析器。
+ * <p>
+ * {@linkplain SqlDataSet}使用它将查询SQL包装为数据库级的分页查询SQL，使数据库仅返回所需的记录。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface LimitSqlResolver
+{
+	/**
+	 * 解析限制结果数的SQL。
+	 * 
+	 * @param cn
+	 * @param sql
+	 *            查询SQL
+	 * @param limit
+	 *            最大记录数
+	 * @return 返回{@code null}表示不支持
+	 * @throws Throwable
+	 */
+	Sql resolve(Connection cn, Sql sql, int limit) throws Throwable;
+}
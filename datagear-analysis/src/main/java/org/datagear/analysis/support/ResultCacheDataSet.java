@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.util.List;
+
+import org.datagear.analysis.DataSet;
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetParam;
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+
+/**
+ * 使用{@linkplain DataSetResultCache}、{@linkplain DataSetResultCoalescer}获取结果的{@linkplain DataSet}。
+ * <p>
+ * 此类仅将{@linkplain #getResult(DataSetQuery)}委托给{@linkplain DataSetResultCache}（没有时委托给{@linkplain DataSetResultCoalescer}），
+ * 其他信息都取自被包装的{@linkplain DataSet}；{@linkplain DataSetQuery#isStreaming()}的查询则直接委托给被包装的{@linkplain DataSet}。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ResultCacheDataSet extends AbstractDataSet
+{
+	private static final long serialVersionUID = 1L;
+
+	private DataSet dataSet;
+
+	private transient DataSetResultCache dataSetResultCache;
+
+	private transient DataSetResultCoalescer dataSetResultCoalescer;
+
+	public ResultCacheDataSet()
+	{
+		super();
+	}
+
+	public ResultCacheDataSet(DataSet dataSet, DataSetResultCache dataSetResultCache)
+	{
+		this(dataSet, dataSetResultCache, null);
+	}
+
+	public ResultCacheDataSet(DataSet dataSet, DataSetResultCache dataSetResultCache,
+			DataSetResultCoalescer dataSetResultCoalescer)
+	{
+		super(dataSet.getId(), dataSet.getName(), dataSet.getProperties());
+		this.dataSet = dataSet;
+		this.dataSetResultCache = dataSetResultCache;
+		this.dataSetResultCoalescer = dataSetResultCoalescer;
+
+		if (dataSet instanceof AbstractDataSet)
+			setDataFormat(((AbstractDataSet) dataSet).getDataFormat());
+	}
+
+	public DataSet getDataSet()
+	{
+		return dataSet;
+	}
+
+	public void setDataSet(DataSet dataSet)
+	{
+		this.dataSet = dataSet;
+	}
+
+	public DataSetResultCache getDataSetResultCache()
+	{
+		return dataSetResultCache;
+	}
+
+	public void setDataSetResultCache(DataSetResultCache dataSetResultCache)
+	{
+		this.dataSetResultCache = dataSetResultCache;
+	}
+
+	public DataSetResultCoalescer getDataSetResultCoalescer()
+	{
+		return dataSetResultCoalescer;
+	}
+
+	public void setDataSetResultCoalescer(DataSetResultCoalescer dataSetResultCoalescer)
+	{
+		this.dataSetResultCoalescer = dataSetResultCoalescer;
+	}
+
+	@Override
+	public String getName()
+	{
+		return this.dataSet.getName();
+	}
+
+	@Override
+	public List<DataSetProperty> getProperties()
+	{
+		return this.dataSet.getProperties();
+	}
+
+	@Override
+	public DataSetProperty getProperty(String name)
+	{
+		return this.dataSet.getProperty(name);
+	}
+
+	@Override
+	public List<DataSetParam> getParams()
+	{
+		return this.dataSet.getParams();
+	}
+
+	@Override
+	public DataSetParam getParam(String name)
+	{
+		return this.dataSet.getParam(name);
+	}
+
+	@Override
+	public boolean hasParam()
+	{
+		List<DataSetParam> params = getParams();
+		return (params != null && !params.isEmpty());
+	}
+
+	@Override
+	public DataSetResult getResult(DataSetQuery query) throws DataSetException
+	{
+		// 流式结果的数据在序列化时才读取，不应被缓存、共享
+		if (query != null && query.isStreaming())
+			return this.dataSet.getResult(query);
+
+		if (this.dataSetResultCache != null)
+			return this.dataSetResultCache.getResult(this.dataSet, query);
+
+		if (this.dataSetResultCoalescer != null)
+			return this.dataSetResultCoalescer.getResult(this.dataSet, query);
+
+		return this.dataSet.getResult(query);
+	}
+}
@@ -12,9 +12,9 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +23,7 @@ import org.datagear.analysis.DataSetException;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetProperty.DataType;
 import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
 import org.datagear.analysis.ResolvableDataSet;
 import org.datagear.analysis.ResolvedDataSetResult;
 import org.datagear.analysis.support.fmk.SqlOutputFormat;
@@ -36,6 +37,8 @@ import org.datagear.util.resource.ConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * SQL {@linkplain DataSet}。
  * <p>
@@ -56,10 +59,19 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 
 	protected static final JdbcSupport JDBC_SUPPORT = new JdbcSupport();
 
+	/** 默认驱动程序每次读取的最大记录数 */
+	public static final int DEFAULT_MAX_FETCH_SIZE = 500;
+
 	private ConnectionFactory connectionFactory;
 
 	private String sql;
 
+	/** 设置了{@linkplain DataSetQuery#getResultFetchSize()}时，驱动程序每次读取的最大记录数 */
+	private int maxFetchSize = DEFAULT_MAX_FETCH_SIZE;
+
+	/** 用于构建数据库级分页查询SQL的{@linkplain LimitSqlResolver}，为{@code null}表示不构建 */
+	private transient LimitSqlResolver limitSqlResolver = null;
+
 	public SqlDataSet()
 	{
 		super();
@@ -100,6 +112,113 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 		this.sql = sql;
 	}
 
+	@JsonIgnore
+	public int getMaxFetchSize()
+	{
+		return maxFetchSize;
+	}
+
+	@JsonIgnore
+	public void setMaxFetchSize(int maxFetchSize)
+	{
+		this.maxFetchSize = maxFetchSize;
+	}
+
+	@JsonIgnore
+	public LimitSqlResolver getLimitSqlResolver()
+	{
+		return limitSqlResolver;
+	}
+
+	@JsonIgnore
+	public void setLimitSqlResolver(LimitSqlResolver limitSqlResolver)
+	{
+		this.limitSqlResolver = limitSqlResolver;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 如果{@linkplain DataSetQuery#isStreaming()}为{@code true}，此方法将执行查询并读取第一行数据，
+	 * 返回结果的{@linkplain DataSetResult#getData()}是持有数据库连接的{@linkplain SqlStreamingData}，
+	 * 它在序列化为JSON时才逐行读取、转换并写入，不会在内存中保留结果数据，序列化完成后将关闭连接。
+	 * </p>
+	 */
+	@Override
+	public DataSetResult getResult(DataSetQuery query) throws DataSetException
+	{
+		if (query == null || !query.isStreaming())
+			return super.getResult(query);
+
+		checkRequiredParamValues(query);
+
+		List<DataSetProperty> properties = getProperties();
+
+		if (properties == null || properties.isEmpty())
+			throw new DataSetException("[this.getProperties()] must not be empty");
+
+		String sql = resolveSqlAsTemplate(getSql(), query);
+
+		Connection cn = null;
+		QueryResultSet qrs = null;
+		SqlStreamingData data = null;
+
+		try
+		{
+			try
+			{
+				cn = getConnectionFactory().get();
+			}
+			catch (Throwable t)
+			{
+				throw new SqlDataSetConnectionException(t);
+			}
+
+			try
+			{
+				qrs = executeQuery(cn, Sql.valueOf(sql), query);
+			}
+			catch (Throwable t)
+			{
+				throw new SqlDataSetSqlExecutionException(sql, t);
+			}
+
+			try
+			{
+				data = new SqlStreamingData(this, sql, query, properties, cn, qrs);
+			}
+			catch (DataSetException e)
+			{
+				throw e;
+			}
+			catch (Throwable t)
+			{
+				throw new DataSetException(t);
+			}
+
+			return new DataSetResult(data);
+		}
+		finally
+		{
+			if (data == null)
+			{
+				QueryResultSet.close(qrs);
+
+				if (cn != null)
+				{
+					try
+					{
+						getConnectionFactory().release(cn);
+					}
+					catch (Throwable t)
+					{
+						LOGGER.error("Release connection error", t);
+					}
+				}
+			}
+		}
+	}
+
 	@Override
 	public TemplateResolvedDataSetResult resolve(DataSetQuery query)
 			throws DataSetException
@@ -128,13 +247,11 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 
 			Sql sqlObj = Sql.valueOf(sql);
 
-			JdbcSupport jdbcSupport = getJdbcSupport();
-
 			QueryResultSet qrs = null;
 
 			try
 			{
-				qrs = jdbcSupport.executeQuery(cn, sqlObj, ResultSet.TYPE_FORWARD_ONLY);
+				qrs = executeQuery(cn, sqlObj, query);
 			}
 			catch (Throwable t)
 			{
@@ -179,6 +296,62 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 		}
 	}
 
+	/**
+	 * 执行查询。
+	 * <p>
+	 * 如果设置了{@linkplain DataSetQuery#getResultFetchSize()}，此方法会将其作为{@linkplain Statement#setMaxRows(int)}、
+	 * 并据此设置{@linkplain Statement#setFetchSize(int)}，使数据库仅返回所需的记录；
+	 * 如果还设置了{@linkplain #getLimitSqlResolver()}，则优先执行由它构建的分页查询SQL，执行出错时再执行原SQL。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param sql
+	 * @param query
+	 * @return
+	 * @throws Throwable
+	 */
+	protected QueryResultSet executeQuery(Connection cn, Sql sql, DataSetQuery query) throws Throwable
+	{
+		JdbcSupport jdbcSupport = getJdbcSupport();
+
+		int maxRows = (query == null ? -1 : query.getResultFetchSize());
+
+		if (maxRows < 0)
+			return jdbcSupport.executeQuery(cn, sql, ResultSet.TYPE_FORWARD_ONLY);
+
+		// 为0时，Statement.setMaxRows(0)表示不限制，因此至少读取1条以便解析属性
+		int limit = Math.max(maxRows, 1);
+		int fetchSize = (this.maxFetchSize > 0 ? Math.min(limit, this.maxFetchSize) : 0);
+
+		Sql limitSql = null;
+
+		if (this.limitSqlResolver != null)
+		{
+			try
+			{
+				limitSql = this.limitSqlResolver.resolve(cn, sql, limit);
+			}
+			catch (Throwable t)
+			{
+				LOGGER.debug("resolve limit sql error, the original sql will be used", t);
+			}
+		}
+
+		if (limitSql != null)
+		{
+			try
+			{
+				return jdbcSupport.executeQuery(cn, limitSql, ResultSet.TYPE_FORWARD_ONLY, limit, fetchSize);
+			}
+			catch (SQLException e)
+			{
+				LOGGER.debug("execute limit sql error, the original sql will be executed", e);
+			}
+		}
+
+		return jdbcSupport.executeQuery(cn, sql, ResultSet.TYPE_FORWARD_ONLY, limit, fetchSize);
+	}
+
 	/**
 	 * 解析结果。
 	 * 
@@ -248,6 +421,9 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 
 	/**
 	 * 解析原始数据。
+	 * <p>
+	 * 返回的是列式存储的{@linkplain ColumnarData}，避免为每一行都创建{@linkplain Map}。
+	 * </p>
 	 * 
 	 * @param cn
 	 * @param rs
@@ -258,8 +434,6 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 	protected List<Map<String, ?>> resolveRawData(Connection cn, ResultSet rs, DataSetQuery query)
 			throws Throwable
 	{
-		List<Map<String, ?>> data = new ArrayList<>();
-
 		JdbcSupport jdbcSupport = getJdbcSupport();
 
 		ResultSetMetaData rsMeta = rs.getMetaData();
@@ -268,23 +442,29 @@ public class SqlDataSet extends AbstractResolvableDataSet implements ResolvableD
 
 		checkDataType(cn, rs, colNames, sqlTypes, jdbcSupport);
 
+		int initialCapacity = (hasResultFetchSize(query)
+				? Math.min(query.getResultFetchSize(), ColumnarData.DEFAULT_INITIAL_CAPACITY)
+				: ColumnarData.DEFAULT_INITIAL_CAPACITY);
+
+		ColumnarData data = new ColumnarData(colNames, initialCapacity);
+		Object[] rowValues = new Object[colNames.length];
+
 		while (rs.next())
 		{
 			if (isReachResultFetchSize(query, data.size()))
 				break;
 
-			Map<String, Object> row = new HashMap<>();
-
 			for (int i = 0; i < colNames.length; i++)
-			{
-				Object value = getColumnValue(cn, rs, colNames[i], sqlTypes[i].getType(), jdbcSupport);
-				row.put(colNames[i], value);
-			}
+				rowValues[i] = getColumnValue(cn, rs, colNames[i], sqlTypes[i].getType(), jdbcSupport);
 
-			data.add(row);
+			data.addRow(rowValues);
 		}
 
-		return data;
+		data.trimToSize();
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		List<Map<String, ?>> re = (List) data;
+		return re;
 	}
 
 	/**
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+import org.datagear.analysis.ResultDataFormat;
+import org.datagear.util.JdbcSupport;
+import org.datagear.util.QueryResultSet;
+import org.datagear.util.SqlType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * {@linkplain SqlDataSet}的流式结果数据。
+ * <p>
+ * 它是{@linkplain DataSetQuery#isStreaming()}查询的{@linkplain DataSetResult#getData()}，
+ * 创建时已执行SQL查询并读取了第一行数据（因此SQL、连接错误会在{@linkplain SqlDataSet#getResult(DataSetQuery)}中抛出），
+ * 在被<code>Jackson</code>序列化时，再将每一行转换后的数据直接写入{@linkplain JsonGenerator}，序列化结果是对象数组。
+ * </p>
+ * <p>
+ * 序列化期间读取数据出错时，将写入一个仅包含{@linkplain #ERROR_NAME}属性（值为错误信息）的对象作为数组最后一个元素，
+ * 并正常结束数组，以保证输出的JSON格式正确。
+ * </p>
+ * <p>
+ * 此类持有数据库连接，只能被序列化一次，序列化完成后将自动关闭；未被序列化时，使用者应调用{@linkplain #close()}关闭它。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class SqlStreamingData implements JsonSerializable, Closeable
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(SqlStreamingData.class);
+
+	/** 序列化出错时写入的错误信息属性名 */
+	public static final String ERROR_NAME = "_streamingError";
+
+	private final SqlDataSet dataSet;
+
+	/** 已解析模板的SQL */
+	private final String sql;
+
+	private final DataSetQuery query;
+
+	private final List<DataSetProperty> properties;
+
+	private Connection connection;
+
+	private QueryResultSet queryResultSet;
+
+	private String[] colNames;
+
+	private SqlType[] sqlTypes;
+
+	/** 数据集属性对应的列索引，为{@code -1}表示没有对应列 */
+	private int[] colIndexes;
+
+	private DataSetPropertyValueConverter converter;
+
+	private ResultDataFormatter formatter;
+
+	private Object[] defaultValues;
+
+	/** 已读取、尚未写入的下一行数据，为{@code null}表示没有更多数据 */
+	private Object[] nextRow = null;
+
+	private int count = 0;
+
+	private boolean serialized = false;
+
+	private boolean closed = false;
+
+	/**
+	 * 创建实例。
+	 * <p>
+	 * 它将读取结果集元信息和第一行数据，出错时不会关闭连接，调用者应负责关闭。
+	 * </p>
+	 *
+	 * @param dataSet
+	 * @param sql
+	 * @param query
+	 * @param properties
+	 * @param connection
+	 * @param queryResultSet
+	 * @throws Throwable
+	 */
+	public SqlStreamingData(SqlDataSet dataSet, String sql, DataSetQuery query, List<DataSetProperty> properties,
+			Connection connection, QueryResultSet queryResultSet) throws Throwable
+	{
+		super();
+		this.dataSet = dataSet;
+		this.sql = sql;
+		this.query = query;
+		this.properties = properties;
+		this.connection = connection;
+		this.queryResultSet = queryResultSet;
+
+		prepare();
+	}
+
+	public SqlDataSet getDataSet()
+	{
+		return dataSet;
+	}
+
+	public String getSql()
+	{
+		return sql;
+	}
+
+	public DataSetQuery getQuery()
+	{
+		return query;
+	}
+
+	public List<DataSetProperty> getProperties()
+	{
+		return properties;
+	}
+
+	/**
+	 * 是否已关闭。
+	 *
+	 * @return
+	 */
+	public synchronized boolean isClosed()
+	{
+		return closed;
+	}
+
+	@Override
+	public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException
+	{
+		synchronized (this)
+		{
+			if (this.serialized || this.closed)
+				throw new IOException("Streaming data can only be serialized once");
+
+			this.serialized = true;
+		}
+
+		try
+		{
+			gen.writeStartArray();
+
+			while (this.nextRow != null)
+			{
+				writeRow(gen, serializers, this.nextRow);
+
+				try
+				{
+					this.nextRow = readRow();
+				}
+				catch (Throwable t)
+				{
+					LOGGER.error("Read streaming data error for sql : " + this.sql, t);
+
+					this.nextRow = null;
+					writeError(gen, t);
+				}
+			}
+
+			gen.writeEndArray();
+		}
+		finally
+		{
+			close();
+		}
+	}
+
+	@Override
+	public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+			throws IOException
+	{
+		// 结果数据不需要类型信息
+		serialize(gen, serializers);
+	}
+
+	@Override
+	public void close()
+	{
+		Connection cn = null;
+		QueryResultSet qrs = null;
+
+		synchronized (this)
+		{
+			if (this.closed)
+				return;
+
+			this.closed = true;
+
+			cn = this.connection;
+			qrs = this.queryResultSet;
+			this.connection = null;
+			this.queryResultSet = null;
+			this.nextRow = null;
+		}
+
+		QueryResultSet.close(qrs);
+
+		if (cn != null)
+		{
+			try
+			{
+				this.dataSet.getConnectionFactory().release(cn);
+			}
+			catch (Throwable t)
+			{
+				LOGGER.error("Release connection error", t);
+			}
+		}
+	}
+
+	/**
+	 * 读取结果集元信息和第一行数据。
+	 *
+	 * @throws Throwable
+	 */
+	protected void prepare() throws Throwable
+	{
+		JdbcSupport jdbcSupport = this.dataSet.getJdbcSupport();
+		ResultSet rs = this.queryResultSet.getResultSet();
+
+		ResultSetMetaData rsMeta = rs.getMetaData();
+		this.colNames = jdbcSupport.getColumnNames(rsMeta);
+		this.sqlTypes = jdbcSupport.getColumnSqlTypes(rsMeta);
+
+		this.dataSet.checkDataType(this.connection, rs, this.colNames, this.sqlTypes, jdbcSupport);
+
+		this.converter = this.dataSet.createDataSetPropertyValueConverter();
+		ResultDataFormat format = this.query.getResultDataFormat();
+		this.formatter = (format == null ? null : new ResultDataFormatter(format));
+
+		int plen = this.properties.size();
+
+		// 应当仅写入数据集属性对应的数据，同名列取最后一个，与Map结构的原始数据一致
+		this.colIndexes = new int[plen];
+		for (int j = 0; j < plen; j++)
+		{
+			this.colIndexes[j] = -1;
+
+			String name = this.properties.get(j).getName();
+			for (int i = 0; i < this.colNames.length; i++)
+			{
+				if (this.colNames[i].equals(name))
+					this.colIndexes[j] = i;
+			}
+		}
+
+		this.defaultValues = new Object[plen];
+
+		this.nextRow = readRow();
+	}
+
+	/**
+	 * 读取下一行转换后的数据。
+	 *
+	 * @return 为{@code null}表示没有更多数据
+	 * @throws Throwable
+	 */
+	protected Object[] readRow() throws Throwable
+	{
+		ResultSet rs = this.queryResultSet.getResultSet();
+
+		if (this.dataSet.isReachResultFetchSize(this.query, this.count) || !rs.next())
+			return null;
+
+		JdbcSupport jdbcSupport = this.dataSet.getJdbcSupport();
+		int plen = this.properties.size();
+		Object[] row = new Object[plen];
+
+		for (int j = 0; j < plen; j++)
+		{
+			DataSetProperty property = this.properties.get(j);
+			int colIndex = this.colIndexes[j];
+
+			Object value = (colIndex < 0 ? null
+					: this.dataSet.getColumnValue(this.connection, rs, this.colNames[colIndex],
+							this.sqlTypes[colIndex].getType(), jdbcSupport));
+			value = this.dataSet.convertToPropertyDataType(this.converter, value, property);
+
+			if (value == null)
+				value = getDefaultValue(j, property);
+
+			if (this.formatter != null)
+				value = this.formatter.format(value);
+
+			row[j] = value;
+		}
+
+		this.count++;
+
+		return row;
+	}
+
+	protected Object getDefaultValue(int index, DataSetProperty property) throws DataSetException
+	{
+		if (this.defaultValues[index] == null && property.getDefaultValue() != null)
+			this.defaultValues[index] = this.dataSet.convertToPropertyDataType(this.converter,
+					property.getDefaultValue(), property);
+
+		return this.defaultValues[index];
+	}
+
+	protected void writeRow(JsonGenerator gen, SerializerProvider serializers, Object[] row) throws IOException
+	{
+		gen.writeStartObject();
+
+		for (int j = 0; j < row.length; j++)
+		{
+			gen.writeFieldName(this.properties.get(j).getName());
+			serializers.defaultSerializeValue(row[j], gen);
+		}
+
+		gen.writeEndObject();
+	}
+
+	protected void writeError(JsonGenerator gen, Throwable t) throws IOException
+	{
+		String message = t.getMessage();
+
+		gen.writeStartObject();
+		gen.writeStringField(ERROR_NAME, (message == null ? t.getClass().getName() : message));
+		gen.writeEndObject();
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [sql=" + sql + ", count=" + count + ", closed=" + closed + "]";
+	}
+}
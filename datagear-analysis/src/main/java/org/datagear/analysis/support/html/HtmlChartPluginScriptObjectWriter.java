@@ -9,6 +9,7 @@ package org.datagear.analysis.support.html;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 
 import org.datagear.analysis.Chart;
@@ -19,6 +20,9 @@ import org.datagear.analysis.RenderException;
 import org.datagear.analysis.support.AbstractChartPlugin;
 import org.datagear.util.IOUtil;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * {@linkplain HtmlChartPlugin} JS脚本对象输出流。
  * 
@@ -27,6 +31,14 @@ import org.datagear.util.IOUtil;
  */
 public class HtmlChartPluginScriptObjectWriter extends AbstractHtmlScriptObjectWriter
 {
+	/**
+	 * 插件脚本内容缓存。
+	 * <p>
+	 * 插件重新加载后是新的对象，因此以对象标识作为关键字，旧插件对象被回收后，其缓存也将被移除。
+	 * </p>
+	 */
+	private Cache<HtmlChartPlugin, PluginScript> _pluginScriptCache = Caffeine.newBuilder().weakKeys().build();
+
 	public HtmlChartPluginScriptObjectWriter()
 	{
 		super();
@@ -45,6 +57,9 @@ public class HtmlChartPluginScriptObjectWriter extends AbstractHtmlScriptObjectW
 	 * {...};
 	 * <pre>
 	 * </code>
+	 * <p>
+	 * 插件的JSON对象、JS渲染器内容在首次输出后会被缓存，之后不再重新序列化、读取。
+	 * </p>
 	 * 
 	 * @param out
 	 * @param plugin
@@ -53,43 +68,106 @@ public class HtmlChartPluginScriptObjectWriter extends AbstractHtmlScriptObjectW
 	 */
 	public void write(Writer out, HtmlChartPlugin plugin, String varName) throws IOException
 	{
-		HtmlChartPluginJson jsonPlugin = new HtmlChartPluginJson(plugin);
+		PluginScript pluginScript = getPluginScript(plugin);
 
 		out.write("var " + varName + "=");
 		writeNewLine(out);
-		writeJsonObject(out, jsonPlugin);
+		out.write(pluginScript.getJson());
 		out.write(";");
 		writeNewLine(out);
-		writeHtmlChartRenderer(out, plugin, varName);
+		writeHtmlChartRenderer(out, pluginScript, varName);
 	}
 
 	/**
 	 * 写JS渲染器内容。
 	 * 
-	 * @param renderContext
-	 * @param chart
+	 * @param out
+	 * @param pluginScript
+	 * @param varName
 	 * @throws IOException
 	 */
-	protected void writeHtmlChartRenderer(Writer out, HtmlChartPlugin plugin, String varName) throws IOException
+	protected void writeHtmlChartRenderer(Writer out, PluginScript pluginScript, String varName) throws IOException
 	{
 		out.write(varName + "." + HtmlChartPlugin.PROPERTY_CHART_RENDERER + "=");
 		writeNewLine(out);
+		out.write(pluginScript.getChartRenderer());
+		out.write(";");
+		writeNewLine(out);
+	}
 
-		JsChartRenderer chartRenderer = plugin.getChartRenderer();
+	/**
+	 * 获取插件脚本内容，插件的{@linkplain HtmlChartPlugin#getLastModified()}变化后将重新读取。
+	 * 
+	 * @param plugin
+	 * @return
+	 * @throws IOException
+	 */
+	protected PluginScript getPluginScript(HtmlChartPlugin plugin) throws IOException
+	{
+		PluginScript pluginScript = this._pluginScriptCache.getIfPresent(plugin);
+
+		if (pluginScript != null && pluginScript.getLastModified() == plugin.getLastModified())
+			return pluginScript;
+
+		StringWriter json = new StringWriter();
+		writeJsonObject(json, new HtmlChartPluginJson(plugin));
 
-		Reader reader = chartRenderer.getReader();
+		StringWriter chartRenderer = new StringWriter();
+		Reader reader = plugin.getChartRenderer().getReader();
 
 		try
 		{
-			IOUtil.write(reader, out);
+			IOUtil.write(reader, chartRenderer);
 		}
 		finally
 		{
 			IOUtil.close(reader);
 		}
 
-		out.write(";");
-		writeNewLine(out);
+		pluginScript = new PluginScript(plugin.getLastModified(), json.toString(), chartRenderer.toString());
+		this._pluginScriptCache.put(plugin, pluginScript);
+
+		return pluginScript;
+	}
+
+	/**
+	 * 插件脚本内容。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class PluginScript
+	{
+		private final long lastModified;
+
+		/** 插件JSON对象 */
+		private final String json;
+
+		/** JS渲染器内容 */
+		private final String chartRenderer;
+
+		public PluginScript(long lastModified, String json, String chartRenderer)
+		{
+			super();
+			this.lastModified = lastModified;
+			this.json = json;
+			this.chartRenderer = chartRenderer;
+		}
+
+		public long getLastModified()
+		{
+			return lastModified;
+		}
+
+		public String getJson()
+		{
+			return json;
+		}
+
+		public String getChartRenderer()
+		{
+			return chartRenderer;
+		}
 	}
 
 	/**
@@ -9,9 +9,13 @@ package org.datagear.analysis.support.html;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.datagear.analysis.Chart;
 import org.datagear.analysis.Dashboard;
@@ -23,6 +27,9 @@ import org.datagear.analysis.support.html.HtmlChartRenderAttr.HtmlChartRenderOpt
 import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * 使用原生HTML网页作为模板的{@linkplain HtmlTplDashboardWidget}渲染器。
  * <p>
@@ -63,6 +70,10 @@ import org.datagear.util.StringUtil;
  * <p>
  * <code>div dg-chart-widget</code>：必填，定义图表部件ID（{@linkplain HtmlChartWidget#getId()}）
  * </p>
+ * <p>
+ * 模板会被编译为静态文本片段和动态内容插入点，并缓存编译结果（参考{@linkplain #getCompiledTemplateCacheSize()}），
+ * 模板未修改时，再次渲染无需重新解析模板。
+ * </p>
  * 
  * @author datagear@163.com
  *
@@ -82,6 +93,8 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 
 	public static final String DEFAULT_ATTR_NAME_CHART_WIDGET = "dg-chart-widget";
 
+	public static final int DEFAULT_COMPILED_TEMPLATE_CACHE_SIZE = 200;
+
 	/** 看板设置标签名 */
 	private String dashboardSetTagName = DEFAULT_DASHBOARD_SET_TAG_NAME;
 
@@ -100,6 +113,12 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 	/** 属性名：图表部件ID */
 	private String attrNameChartWidget = DEFAULT_ATTR_NAME_CHART_WIDGET;
 
+	/** 编译模板缓存的最大数，小于等于{@code 0}表示不缓存 */
+	private int compiledTemplateCacheSize = DEFAULT_COMPILED_TEMPLATE_CACHE_SIZE;
+
+	private Cache<CompiledTemplateKey, CompiledTemplate> _compiledTemplateCache = createCompiledTemplateCache(
+			DEFAULT_COMPILED_TEMPLATE_CACHE_SIZE);
+
 	public HtmlTplDashboardWidgetHtmlRenderer()
 	{
 		super();
@@ -171,6 +190,17 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 		this.attrNameChartWidget = attrNameChartWidget;
 	}
 
+	public int getCompiledTemplateCacheSize()
+	{
+		return compiledTemplateCacheSize;
+	}
+
+	public void setCompiledTemplateCacheSize(int compiledTemplateCacheSize)
+	{
+		this.compiledTemplateCacheSize = compiledTemplateCacheSize;
+		this._compiledTemplateCache = createCompiledTemplateCache(compiledTemplateCacheSize);
+	}
+
 	@Override
 	public String simpleTemplateContent(String htmlCharset, String... chartWidgetId)
 	{
@@ -236,15 +266,114 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 		return sb.toString();
 	}
 
+	/**
+	 * 清除所有模板的编译缓存。
+	 */
+	public void invalidateCompiledTemplates()
+	{
+		Cache<CompiledTemplateKey, CompiledTemplate> cache = this._compiledTemplateCache;
+
+		if (cache != null)
+			cache.invalidateAll();
+	}
+
+	@Override
+	public void saveResourceContent(HtmlTplDashboardWidget dashboardWidget, String name, String content)
+			throws IOException
+	{
+		super.saveResourceContent(dashboardWidget, name, content);
+		invalidateCompiledTemplate(dashboardWidget.getId(), name);
+	}
+
+	/**
+	 * 清除指定模板的编译缓存。
+	 * 
+	 * @param widgetId
+	 * @param template
+	 */
+	public void invalidateCompiledTemplate(String widgetId, String template)
+	{
+		Cache<CompiledTemplateKey, CompiledTemplate> cache = this._compiledTemplateCache;
+
+		if (cache == null)
+			return;
+
+		Set<CompiledTemplateKey> myKeys = new HashSet<>();
+		for (CompiledTemplateKey key : cache.asMap().keySet())
+		{
+			if (key.isTemplate(widgetId, template))
+				myKeys.add(key);
+		}
+
+		if (!myKeys.isEmpty())
+			cache.invalidateAll(myKeys);
+	}
+
 	@Override
 	protected void renderHtmlTplDashboard(RenderContext renderContext, HtmlTplDashboardRenderAttr renderAttr,
 			HtmlTplDashboard dashboard) throws Throwable
 	{
-		Reader in = getResourceReaderNonNull(dashboard.getWidget(), dashboard.getTemplate());
+		CompiledTemplate compiledTemplate = getCompiledTemplate(dashboard.getWidget(), dashboard.getTemplate());
+		renderCompiledTemplate(renderContext, renderAttr, dashboard, compiledTemplate);
+	}
+
+	protected DashboardInfo renderHtmlTplDashboard(RenderContext renderContext, HtmlTplDashboardRenderAttr renderAttr,
+			HtmlTplDashboard dashboard, Reader in) throws Exception
+	{
+		CompiledTemplate compiledTemplate = compileTemplate(in);
+		return renderCompiledTemplate(renderContext, renderAttr, dashboard, compiledTemplate);
+	}
+
+	/**
+	 * 获取编译后的模板。
+	 * <p>
+	 * 编译结果以模板名、模板编码、{@linkplain TemplateDashboardWidgetResManager#lastModified(String, String)}为关键字缓存，
+	 * 模板修改后将重新编译。
+	 * </p>
+	 * 
+	 * @param widget
+	 * @param template
+	 * @return
+	 * @throws IOException
+	 */
+	protected CompiledTemplate getCompiledTemplate(HtmlTplDashboardWidget widget, String template)
+			throws IOException
+	{
+		Cache<CompiledTemplateKey, CompiledTemplate> cache = this._compiledTemplateCache;
+
+		if (cache == null)
+			return compileTemplate(widget, template);
+
+		long lastModified = getTemplateDashboardWidgetResManager().lastModified(widget.getId(), template);
+		CompiledTemplateKey key = new CompiledTemplateKey(widget.getId(), template, widget.getTemplateEncoding(),
+				lastModified);
+
+		CompiledTemplate compiledTemplate = cache.getIfPresent(key);
+
+		if (compiledTemplate == null)
+		{
+			compiledTemplate = compileTemplate(widget, template);
+			cache.put(key, compiledTemplate);
+		}
+
+		return compiledTemplate;
+	}
+
+	protected Cache<CompiledTemplateKey, CompiledTemplate> createCompiledTemplateCache(int maximumSize)
+	{
+		if (maximumSize <= 0)
+			return null;
+
+		return Caffeine.newBuilder().maximumSize(maximumSize).build();
+	}
+
+	protected CompiledTemplate compileTemplate(HtmlTplDashboardWidget widget, String template) throws IOException
+	{
+		Reader in = getResourceReaderNonNull(widget, template);
 
 		try
 		{
-			renderHtmlTplDashboard(renderContext, renderAttr, dashboard, in);
+			return compileTemplate(in);
 		}
 		finally
 		{
@@ -252,21 +381,28 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 		}
 	}
 
-	protected DashboardInfo renderHtmlTplDashboard(RenderContext renderContext, HtmlTplDashboardRenderAttr renderAttr,
-			HtmlTplDashboard dashboard, Reader in) throws Exception
+	/**
+	 * 编译模板。
+	 * <p>
+	 * 将模板解析为静态文本片段和动态内容插入点，渲染时仅需拼接静态文本片段并写入动态内容。
+	 * </p>
+	 * 
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	protected CompiledTemplate compileTemplate(Reader in) throws IOException
 	{
-		Writer out = renderAttr.getHtmlWriterNonNull(renderContext);
-
-		HtmlTitleHandler htmlTitleHandler = renderAttr.getHtmlTitleHandler(renderContext);
+		CompiledTemplate compiledTemplate = new CompiledTemplate();
+		StringWriter out = new StringWriter();
 
 		boolean resolvedDashboardInfo = false;
-		boolean wroteDashboardImport = false;
 		boolean wroteDashboardScript = false;
 		boolean inHeadTag = false;
 		boolean handledTitle = false;
 		boolean inBodyTag = false;
 
-		DashboardInfo dashboardInfo = new DashboardInfo();
+		DashboardInfo dashboardInfo = compiledTemplate.getDashboardInfo();
 
 		StringBuilder nameCache = createStringBuilder();
 		StringBuilder valueCache = createStringBuilder();
@@ -311,8 +447,8 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 					if (last != '>')
 						readToTagEnd(in, out);
 
-					if (!wroteDashboardImport)
-						writeDashboardImport(renderContext, renderAttr, out, dashboard, dashboardInfo);
+					compiledTemplate.addSegment(out,
+							new TemplateSegment(TemplateSegment.TYPE_IMPORT, dashboardInfo.getImportExclude()));
 				}
 				// <title
 				else if (inHeadTag && "title".equalsIgnoreCase(tagName))
@@ -325,18 +461,9 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 					clear(nameCache);
 					last = readToTagStart(in, nameCache);
 
-					if (htmlTitleHandler != null)
-					{
-						String titleContent = htmlTitleHandler.handle(nameCache.toString());
-
-						out.write(titleContent);
-						appendIfValid(out, last);
-					}
-					else
-					{
-						append(out, nameCache);
-						appendIfValid(out, last);
-					}
+					compiledTemplate.addSegment(out,
+							new TemplateSegment(TemplateSegment.TYPE_TITLE, nameCache.toString()));
+					appendIfValid(out, last);
 
 					handledTitle = true;
 				}
@@ -345,15 +472,7 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 				{
 					if (!handledTitle)
 					{
-						if (htmlTitleHandler != null)
-						{
-							String titleContent = htmlTitleHandler.handle("");
-
-							out.write("<title>");
-							out.write(titleContent);
-							out.write("</title>");
-						}
-
+						compiledTemplate.addSegment(out, new TemplateSegment(TemplateSegment.TYPE_DEFAULT_TITLE));
 						handledTitle = true;
 					}
 
@@ -380,10 +499,25 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 						clear(valueCache);
 						clear(tagContentCache);
 
-						last = resolveDashboardChartInfo(renderContext, renderAttr, dashboard, in, last,
-								tagContentCache, nameCache, valueCache, dashboardInfo);
+						List<ChartInfo> chartInfos = dashboardInfo.getChartInfos();
+						int chartIndex = chartInfos.size();
 
-						append(out, tagContentCache);
+						last = resolveDashboardChartInfo(in, last, tagContentCache, nameCache, valueCache,
+								dashboardInfo);
+
+						// 元素没有定义“id”属性，需在渲染时生成并插入
+						if (chartInfos.size() > chartIndex
+								&& StringUtil.isEmpty(chartInfos.get(chartIndex).getElementId()))
+						{
+							int insertIdx = findInsertAttrIndex(tagContentCache);
+
+							out.append(tagContentCache, 0, insertIdx);
+							compiledTemplate.addSegment(out,
+									new TemplateSegment(TemplateSegment.TYPE_CHART_ELEMENT_ID, chartIndex));
+							out.append(tagContentCache, insertIdx, tagContentCache.length());
+						}
+						else
+							append(out, tagContentCache);
 					}
 				}
 				// </body
@@ -393,7 +527,7 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 
 					if (!wroteDashboardScript)
 					{
-						writeHtmlTplDashboardScript(renderContext, renderAttr, out, dashboard, dashboardInfo);
+						compiledTemplate.addSegment(out, new TemplateSegment(TemplateSegment.TYPE_DASHBOARD_SCRIPT));
 						wroteDashboardScript = true;
 					}
 
@@ -419,6 +553,79 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 				out.write(c);
 		}
 
+		compiledTemplate.addSegment(out, null);
+
+		return compiledTemplate;
+	}
+
+	/**
+	 * 渲染编译后的模板。
+	 * 
+	 * @param renderContext
+	 * @param renderAttr
+	 * @param dashboard
+	 * @param compiledTemplate
+	 * @return 本次渲染的{@linkplain DashboardInfo}
+	 * @throws IOException
+	 */
+	protected DashboardInfo renderCompiledTemplate(RenderContext renderContext, HtmlTplDashboardRenderAttr renderAttr,
+			HtmlTplDashboard dashboard, CompiledTemplate compiledTemplate) throws IOException
+	{
+		Writer out = renderAttr.getHtmlWriterNonNull(renderContext);
+
+		HtmlTitleHandler htmlTitleHandler = renderAttr.getHtmlTitleHandler(renderContext);
+
+		DashboardInfo dashboardInfo = compiledTemplate.getDashboardInfo().copy();
+		List<ChartInfo> chartInfos = dashboardInfo.getChartInfos();
+
+		for (int i = 0; i < chartInfos.size(); i++)
+		{
+			ChartInfo chartInfo = chartInfos.get(i);
+
+			if (StringUtil.isEmpty(chartInfo.getElementId()))
+				chartInfo.setElementId(renderAttr.genChartElementId(Integer.toString(i)));
+		}
+
+		for (TemplateSegment segment : compiledTemplate.getSegments())
+		{
+			int type = segment.getType();
+
+			if (type == TemplateSegment.TYPE_TEXT)
+			{
+				out.write(segment.getText());
+			}
+			else if (type == TemplateSegment.TYPE_IMPORT)
+			{
+				writeDashboardImport(renderContext, renderAttr, out, dashboard, segment.getText());
+			}
+			else if (type == TemplateSegment.TYPE_TITLE)
+			{
+				if (htmlTitleHandler != null)
+					out.write(htmlTitleHandler.handle(segment.getText()));
+				else
+					out.write(segment.getText());
+			}
+			else if (type == TemplateSegment.TYPE_DEFAULT_TITLE)
+			{
+				if (htmlTitleHandler != null)
+				{
+					String titleContent = htmlTitleHandler.handle("");
+
+					out.write("<title>");
+					out.write(titleContent);
+					out.write("</title>");
+				}
+			}
+			else if (type == TemplateSegment.TYPE_CHART_ELEMENT_ID)
+			{
+				out.write(" id=\"" + chartInfos.get(segment.getChartIndex()).getElementId() + "\" ");
+			}
+			else if (type == TemplateSegment.TYPE_DASHBOARD_SCRIPT)
+			{
+				writeHtmlTplDashboardScript(renderContext, renderAttr, out, dashboard, dashboardInfo);
+			}
+		}
+
 		return dashboardInfo;
 	}
 
@@ -572,8 +779,22 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 		return c;
 	}
 
-	protected int resolveDashboardChartInfo(RenderContext renderContext, HtmlTplDashboardRenderAttr renderAttr,
-			HtmlTplDashboard dashboard, Reader in, int last, StringBuilder cache, StringBuilder attrName,
+	/**
+	 * 解析图表元素的{@linkplain ChartInfo}并添加至{@linkplain DashboardInfo}。
+	 * <p>
+	 * 如果元素没有定义“id”属性，添加的{@linkplain ChartInfo#getElementId()}将为{@code null}。
+	 * </p>
+	 * 
+	 * @param in
+	 * @param last
+	 * @param cache
+	 * @param attrName
+	 * @param attrValue
+	 * @param dashboardInfo
+	 * @return
+	 * @throws IOException
+	 */
+	protected int resolveDashboardChartInfo(Reader in, int last, StringBuilder cache, StringBuilder attrName,
 			StringBuilder attrValue, DashboardInfo dashboardInfo) throws IOException
 	{
 		ChartInfo chartInfo = null;
@@ -609,18 +830,6 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 		if (chartInfo != null && StringUtil.isEmpty(chartInfo.getWidgetId()))
 			chartInfo = null;
 
-		// 元素没有定义“id”属性
-		if (chartInfo != null && StringUtil.isEmpty(chartInfo.getElementId()))
-		{
-			int chartIndex = dashboardInfo.getChartInfos().size();
-			String elementId = renderAttr.genChartElementId(Integer.toString(chartIndex));
-
-			chartInfo.setElementId(elementId);
-
-			int insertIdx = findInsertAttrIndex(cache);
-			cache.insert(insertIdx, " id=\"" + elementId + "\" ");
-		}
-
 		if (chartInfo != null)
 			dashboardInfo.addChartInfo(chartInfo);
 
@@ -828,6 +1037,23 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 			this.chartInfos.add(chartInfo);
 		}
 
+		/**
+		 * 复制对象，{@linkplain #getChartInfos()}元素也会被复制。
+		 * 
+		 * @return
+		 */
+		public DashboardInfo copy()
+		{
+			DashboardInfo target = new DashboardInfo(this.dashboardVar);
+			target.setDashboardFactoryVar(this.dashboardFactoryVar);
+			target.setImportExclude(this.importExclude);
+
+			for (ChartInfo chartInfo : this.chartInfos)
+				target.addChartInfo(new ChartInfo(chartInfo.getWidgetId(), chartInfo.getElementId()));
+
+			return target;
+		}
+
 		@Override
 		public String toString()
 		{
@@ -881,4 +1107,252 @@ public class HtmlTplDashboardWidgetHtmlRenderer extends HtmlTplDashboardWidgetRe
 			return getClass().getSimpleName() + " [widgetId=" + widgetId + ", elementId=" + elementId + "]";
 		}
 	}
+
+	/**
+	 * 编译后的模板。
+	 * <p>
+	 * 由静态文本片段和动态内容插入点构成，编译后不应再被修改，可在多个渲染线程间共享。
+	 * </p>
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class CompiledTemplate
+	{
+		/** 模板片段 */
+		private List<TemplateSegment> segments = new ArrayList<>();
+
+		/** 模板定义的看板信息，{@linkplain ChartInfo#getElementId()}为{@code null}表示需在渲染时生成 */
+		private DashboardInfo dashboardInfo = new DashboardInfo();
+
+		public CompiledTemplate()
+		{
+			super();
+		}
+
+		public List<TemplateSegment> getSegments()
+		{
+			return Collections.unmodifiableList(this.segments);
+		}
+
+		public DashboardInfo getDashboardInfo()
+		{
+			return dashboardInfo;
+		}
+
+		/**
+		 * 添加片段。
+		 * <p>
+		 * {@code text}中缓存的静态文本将先作为{@linkplain TemplateSegment#TYPE_TEXT}片段添加，然后被清空。
+		 * </p>
+		 * 
+		 * @param text
+		 * @param segment
+		 *            允许为{@code null}
+		 */
+		public void addSegment(StringWriter text, TemplateSegment segment)
+		{
+			StringBuffer buffer = text.getBuffer();
+
+			if (buffer.length() > 0)
+			{
+				this.segments.add(new TemplateSegment(TemplateSegment.TYPE_TEXT, buffer.toString()));
+				buffer.setLength(0);
+			}
+
+			if (segment != null)
+				this.segments.add(segment);
+		}
+	}
+
+	/**
+	 * 模板片段。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class TemplateSegment
+	{
+		/** 静态文本 */
+		public static final int TYPE_TEXT = 0;
+
+		/** 内置导入库，文本为导入排除项 */
+		public static final int TYPE_IMPORT = 1;
+
+		/** 标题，文本为原标题 */
+		public static final int TYPE_TITLE = 2;
+
+		/** 模板未定义标题时的默认标题 */
+		public static final int TYPE_DEFAULT_TITLE = 3;
+
+		/** 图表元素ID属性 */
+		public static final int TYPE_CHART_ELEMENT_ID = 4;
+
+		/** 看板脚本 */
+		public static final int TYPE_DASHBOARD_SCRIPT = 5;
+
+		private final int type;
+
+		private final String text;
+
+		private final int chartIndex;
+
+		public TemplateSegment(int type)
+		{
+			this(type, null, -1);
+		}
+
+		public TemplateSegment(int type, String text)
+		{
+			this(type, text, -1);
+		}
+
+		public TemplateSegment(int type, int chartIndex)
+		{
+			this(type, null, chartIndex);
+		}
+
+		protected TemplateSegment(int type, String text, int chartIndex)
+		{
+			super();
+			this.type = type;
+			this.text = text;
+			this.chartIndex = chartIndex;
+		}
+
+		public int getType()
+		{
+			return type;
+		}
+
+		public String getText()
+		{
+			return text;
+		}
+
+		public int getChartIndex()
+		{
+			return chartIndex;
+		}
+
+		@Override
+		public String toString()
+		{
+			return getClass().getSimpleName() + " [type=" + type + ", text=" + text + ", chartIndex=" + chartIndex
+					+ "]";
+		}
+	}
+
+	/**
+	 * 编译模板缓存关键字。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class CompiledTemplateKey
+	{
+		private final String widgetId;
+
+		private final String template;
+
+		private final String encoding;
+
+		private final long lastModified;
+
+		public CompiledTemplateKey(String widgetId, String template, String encoding, long lastModified)
+		{
+			super();
+			this.widgetId = widgetId;
+			this.template = template;
+			this.encoding = encoding;
+			this.lastModified = lastModified;
+		}
+
+		public String getWidgetId()
+		{
+			return widgetId;
+		}
+
+		public String getTemplate()
+		{
+			return template;
+		}
+
+		public String getEncoding()
+		{
+			return encoding;
+		}
+
+		public long getLastModified()
+		{
+			return lastModified;
+		}
+
+		/**
+		 * 是否是指定模板的关键字。
+		 * 
+		 * @param widgetId
+		 * @param template
+		 * @return
+		 */
+		public boolean isTemplate(String widgetId, String template)
+		{
+			return StringUtil.isEquals(this.widgetId, widgetId) && StringUtil.isEquals(this.template, template);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((encoding == null) ? 0 : encoding.hashCode());
+			result = prime * result + (int) (lastModified ^ (lastModified >>> 32));
+			result = prime * result + ((template == null) ? 0 : template.hashCode());
+			result = prime * result + ((widgetId == null) ? 0 : widgetId.hashCode());
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			CompiledTemplateKey other = (CompiledTemplateKey) obj;
+			if (encoding == null)
+			{
+				if (other.encoding != null)
+					return false;
+			}
+			else if (!encoding.equals(other.encoding))
+				return false;
+			if (lastModified != other.lastModified)
+				return false;
+			if (template == null)
+			{
+				if (other.template != null)
+					return false;
+			}
+			else if (!template.equals(other.template))
+				return false;
+			if (widgetId == null)
+			{
+				if (other.widgetId != null)
+					return false;
+			}
+			else if (!widgetId.equals(other.widgetId))
+				return false;
+			return true;
+		}
+
+		@Override
+		public String toString()
+		{
+			return getClass().getSimpleName() + " [widgetId=" + widgetId + ", template=" + template + ", encoding="
+					+ encoding + ", lastModified=" + lastModified + "]";
+		}
+	}
 }
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@linkplain DashboardQueryHandler}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DashboardQueryHandlerTest
+{
+	private ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+	@After
+	public void destroy()
+	{
+		this.executorService.shutdownNow();
+	}
+
+	@Test
+	public void getResultTest_concurrent()
+	{
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		Map<String, ChartQuery> chartQueries = new HashMap<>();
+
+		// 所有图表都开始执行后才能通过，串行执行时将等待超时
+		CountDownLatch started = new CountDownLatch(4);
+
+		for (int i = 0; i < 4; i++)
+		{
+			charts.put("c" + i, new LatchChartDefinition("c" + i, started));
+			chartQueries.put("c" + i, new ChartQuery());
+		}
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+		handler.setExecutorService(this.executorService);
+
+		DashboardResult result = handler.getResult(new DashboardQuery(chartQueries));
+
+		assertEquals(4, result.getChartResults().size());
+		assertTrue(result.getChartResultErrors() == null || result.getChartResultErrors().isEmpty());
+		assertEquals(0, started.getCount());
+	}
+
+	@Test
+	public void getResultTest_concurrent_timeout_suppressChartError()
+	{
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("fast", new SleepChartDefinition("fast", 0));
+		charts.put("slow", new SleepChartDefinition("slow", 5000));
+
+		Map<String, ChartQuery> chartQueries = new HashMap<>();
+		chartQueries.put("fast", new ChartQuery());
+		chartQueries.put("slow", new ChartQuery());
+
+		DashboardQuery query = new DashboardQuery(chartQueries);
+		query.setSuppressChartError(true);
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+		handler.setExecutorService(this.executorService);
+		handler.setTimeout(200);
+
+		DashboardResult result = handler.getResult(query);
+
+		assertTrue(result.getChartResults().containsKey("fast"));
+		assertTrue(result.getChartResultErrors().get("slow").getThrowable() instanceof ChartResultTimeoutException);
+	}
+
+	@Test(expected = ChartResultTimeoutException.class)
+	public void getResultTest_concurrent_timeout()
+	{
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("fast", new SleepChartDefinition("fast", 0));
+		charts.put("slow", new SleepChartDefinition("slow", 5000));
+
+		Map<String, ChartQuery> chartQueries = new HashMap<>();
+		chartQueries.put("fast", new ChartQuery());
+		chartQueries.put("slow", new ChartQuery());
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+		handler.setExecutorService(this.executorService);
+		handler.setTimeout(200);
+
+		handler.getResult(new DashboardQuery(chartQueries));
+	}
+
+	@Test
+	public void getResultTest_concurrent_rejected_suppressChartError()
+	{
+		ExecutorService executorService = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+
+		try
+		{
+			DashboardQuery query = new DashboardQuery(createRejectedChartQueries());
+			query.setSuppressChartError(true);
+
+			SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(createRejectedCharts());
+			handler.setExecutorService(executorService);
+
+			DashboardResult result = handler.getResult(query);
+
+			assertTrue(result.getChartResults().containsKey("slow"));
+			assertTrue(
+					result.getChartResultErrors().get("fast").getThrowable() instanceof ChartResultRejectedException);
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test(expected = ChartResultRejectedException.class)
+	public void getResultTest_concurrent_rejected()
+	{
+		ExecutorService executorService = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+
+		try
+		{
+			SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(createRejectedCharts());
+			handler.setExecutorService(executorService);
+
+			handler.getResult(new DashboardQuery(createRejectedChartQueries()));
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void getResultTest_concurrent_timeout_closeAbandoned() throws Exception
+	{
+		CloseableData slowData = new CloseableData();
+		CountDownLatch slowDone = new CountDownLatch(1);
+
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("fast", new SleepChartDefinition("fast", 0));
+		charts.put("slow", new CloseableChartDefinition("slow", 500, slowData, slowDone));
+
+		Map<String, ChartQuery> chartQueries = new HashMap<>();
+		chartQueries.put("fast", new ChartQuery());
+		chartQueries.put("slow", new ChartQuery());
+
+		DashboardQuery query = new DashboardQuery(chartQueries);
+		query.setSuppressChartError(true);
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+		handler.setExecutorService(this.executorService);
+		handler.setTimeout(100);
+
+		DashboardResult result = handler.getResult(query);
+
+		assertTrue(result.getChartResultErrors().get("slow").getThrowable() instanceof ChartResultTimeoutException);
+
+		assertTrue(slowDone.await(5, TimeUnit.SECONDS));
+		// 等待结果返回执行器
+		Thread.sleep(100);
+
+		assertTrue(slowData.isClosed());
+	}
+
+	@Test
+	public void getResultTest_concurrent_error_closeCollected()
+	{
+		CloseableData fastData = new CloseableData();
+
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("fast", new CloseableChartDefinition("fast", 0, fastData, new CountDownLatch(1)));
+		charts.put("error", new ErrorChartDefinition("error", 200));
+
+		Map<String, ChartQuery> chartQueries = new LinkedHashMap<>();
+		chartQueries.put("fast", new ChartQuery());
+		chartQueries.put("error", new ChartQuery());
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+		handler.setExecutorService(this.executorService);
+
+		try
+		{
+			handler.getResult(new DashboardQuery(chartQueries));
+			fail();
+		}
+		catch (DataSetException e)
+		{
+		}
+
+		assertTrue(fastData.isClosed());
+	}
+
+	@Test
+	public void getResultTest_error_closeCollected()
+	{
+		CloseableData fastData = new CloseableData();
+
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("fast", new CloseableChartDefinition("fast", 0, fastData, new CountDownLatch(1)));
+		charts.put("error", new ErrorChartDefinition("error", 0));
+
+		Map<String, ChartQuery> chartQueries = new LinkedHashMap<>();
+		chartQueries.put("fast", new ChartQuery());
+		chartQueries.put("error", new ChartQuery());
+
+		SimpleDashboardQueryHandler handler = new SimpleDashboardQueryHandler(charts);
+
+		try
+		{
+			handler.getResult(new DashboardQuery(chartQueries));
+			fail();
+		}
+		catch (DataSetException e)
+		{
+		}
+
+		assertTrue(fastData.isClosed());
+	}
+
+	protected Map<String, ChartDefinition> createRejectedCharts()
+	{
+		Map<String, ChartDefinition> charts = new HashMap<>();
+		charts.put("slow", new SleepChartDefinition("slow", 300));
+		charts.put("fast", new SleepChartDefinition("fast", 0));
+
+		return charts;
+	}
+
+	protected Map<String, ChartQuery> createRejectedChartQueries()
+	{
+		// 单线程、无队列的执行器下，后提交的"fast"将被拒绝
+		Map<String, ChartQuery> chartQueries = new LinkedHashMap<>();
+		chartQueries.put("slow", new ChartQuery());
+		chartQueries.put("fast", new ChartQuery());
+
+		return chartQueries;
+	}
+
+	protected static class LatchChartDefinition extends ChartDefinition
+	{
+		private CountDownLatch started;
+
+		public LatchChartDefinition(String id, CountDownLatch started)
+		{
+			super(id, id, new ChartDataSet[0]);
+			this.started = started;
+		}
+
+		@Override
+		public ChartResult getResult(ChartQuery query) throws DataSetException
+		{
+			this.started.countDown();
+
+			try
+			{
+				if (!this.started.await(10, TimeUnit.SECONDS))
+					throw new DataSetException("Charts are not executed concurrently");
+			}
+			catch (InterruptedException e)
+			{
+				throw new DataSetException(e);
+			}
+
+			return new ChartResult(Collections.<DataSetResult> emptyList());
+		}
+	}
+
+	protected static class SleepChartDefinition extends ChartDefinition
+	{
+		private long sleep;
+
+		public SleepChartDefinition(String id, long sleep)
+		{
+			super(id, id, new ChartDataSet[0]);
+			this.sleep = sleep;
+		}
+
+		@Override
+		public ChartResult getResult(ChartQuery query) throws DataSetException
+		{
+			try
+			{
+				Thread.sleep(this.sleep);
+			}
+			catch (InterruptedException e)
+			{
+				throw new DataSetException(e);
+			}
+
+			return new ChartResult(Collections.<DataSetResult> emptyList());
+		}
+	}
+
+	protected static class CloseableChartDefinition extends ChartDefinition
+	{
+		private long sleep;
+
+		private CloseableData data;
+
+		private CountDownLatch done;
+
+		public CloseableChartDefinition(String id, long sleep, CloseableData data, CountDownLatch done)
+		{
+			super(id, id, new ChartDataSet[0]);
+			this.sleep = sleep;
+			this.data = data;
+			this.done = done;
+		}
+
+		@Override
+		public ChartResult getResult(ChartQuery query) throws DataSetException
+		{
+			// 忽略中断，模拟无法被取消的查询
+			long end = System.currentTimeMillis() + this.sleep;
+
+			while (System.currentTimeMillis() < end)
+			{
+				try
+				{
+					Thread.sleep(Math.max(end - System.currentTimeMillis(), 1));
+				}
+				catch (InterruptedException e)
+				{
+				}
+			}
+
+			this.done.countDown();
+
+			return new ChartResult(Arrays.asList(new DataSetResult(this.data)));
+		}
+	}
+
+	protected static class ErrorChartDefinition extends ChartDefinition
+	{
+		private long sleep;
+
+		public ErrorChartDefinition(String id, long sleep)
+		{
+			super(id, id, new ChartDataSet[0]);
+			this.sleep = sleep;
+		}
+
+		@Override
+		public ChartResult getResult(ChartQuery query) throws DataSetException
+		{
+			try
+			{
+				Thread.sleep(this.sleep);
+			}
+			catch (InterruptedException e)
+			{
+			}
+
+			throw new DataSetException("error");
+		}
+	}
+
+	protected static class CloseableData implements AutoCloseable
+	{
+		private final AtomicBoolean closed = new AtomicBoolean(false);
+
+		@Override
+		public void close()
+		{
+			this.closed.set(true);
+		}
+
+		public boolean isClosed()
+		{
+			return this.closed.get();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@linkplain ColumnarData}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ColumnarDataTest
+{
+	@Test
+	public void addRowTest()
+	{
+		ColumnarData data = new ColumnarData(new String[] { "id", "name", "value", "date", "time" }, 1);
+
+		Timestamp ts = new Timestamp(1000L);
+
+		for (int i = 0; i < 100; i++)
+		{
+			data.addRow(new Object[] { (long) i, (i % 2 == 0 ? "a" : null), (double) i,
+					new java.sql.Date(i * 1000L), ts });
+		}
+
+		data.trimToSize();
+
+		assertEquals(100, data.size());
+
+		Map<String, Object> row = data.get(3);
+		assertEquals(5, row.size());
+		assertEquals(3L, row.get("id"));
+		assertNull(row.get("name"));
+		assertTrue(row.containsKey("name"));
+		assertFalse(row.containsKey("notExists"));
+		assertEquals(3.0d, row.get("value"));
+		assertEquals(new java.sql.Date(3000L), row.get("date"));
+		assertEquals(ts, row.get("time"));
+		assertEquals("a", data.get(4).get("name"));
+
+		Map<String, Object> expected = new HashMap<>();
+		expected.put("id", 3L);
+		expected.put("name", null);
+		expected.put("value", 3.0d);
+		expected.put("date", new java.sql.Date(3000L));
+		expected.put("time", ts);
+		assertEquals(expected, row);
+	}
+
+	@Test
+	public void addRowTest_mixedTypes()
+	{
+		ColumnarData data = new ColumnarData(new String[] { "v" });
+
+		data.addRow(new Object[] { null });
+		data.addRow(new Object[] { 1L });
+		data.addRow(new Object[] { new BigDecimal("1.5") });
+
+		Timestamp nanos = new Timestamp(1000L);
+		nanos.setNanos(123);
+		data.addRow(new Object[] { nanos });
+
+		assertNull(data.getValue(0, 0));
+		assertEquals(1L, data.getValue(1, 0));
+		assertEquals(new BigDecimal("1.5"), data.getValue(2, 0));
+		assertEquals(nanos, data.getValue(3, 0));
+	}
+
+	@Test
+	public void toJsonTest() throws Exception
+	{
+		ColumnarData data = new ColumnarData(new String[] { "id", "name" });
+		data.addRow(new Object[] { 1, "a" });
+		data.addRow(new Object[] { 2, "b" });
+
+		String json = new ObjectMapper().writeValueAsString(data);
+
+		assertEquals("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]", json);
+	}
+}
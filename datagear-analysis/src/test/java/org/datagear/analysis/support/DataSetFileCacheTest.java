@@ -0,0 +1,240 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+import org.datagear.analysis.ResolvedDataSetResult;
+import org.datagear.util.FileUtil;
+import org.junit.Test;
+
+/**
+ * {@linkplain DataSetFileCache}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetFileCacheTest
+{
+	private static final File DIRECTORY = new File("src/test/resources/org/datagear/analysis/support/");
+
+	@Test
+	public void csvTest()
+	{
+		DataSetFileCache cache = createDataSetFileCache();
+
+		List<DataSetProperty> properties = new ArrayList<>();
+		properties.add(new DataSetProperty("name", DataSetProperty.DataType.STRING));
+		properties.add(new DataSetProperty("value", DataSetProperty.DataType.NUMBER));
+
+		CsvDirectoryFileDataSet dataSet = new CsvDirectoryFileDataSet("a", "a", properties, DIRECTORY,
+				"CsvDirectoryFileDataSetTest-0.csv");
+		dataSet.setNameRow(1);
+		dataSet.setDataSetFileCache(cache);
+
+		// 缓存未命中时，部分数据查询不缓存
+		{
+			List<Map<String, Object>> data = getData(dataSet, fetchSizeQuery(1));
+
+			assertEquals(1, data.size());
+			assertEquals(0, cache.getSize());
+		}
+
+		{
+			List<Map<String, Object>> data = getData(dataSet, DataSetQuery.valueOf());
+
+			assertEquals(3, data.size());
+			assertEquals("aaa", data.get(0).get("name"));
+			assertEquals(31, ((Number) data.get(2).get("value")).intValue());
+			assertEquals(1, cache.getSize());
+			assertEquals(0, cache.getHitCount());
+		}
+
+		{
+			List<Map<String, Object>> data = getData(dataSet, fetchSizeQuery(2));
+
+			assertEquals(2, data.size());
+			assertEquals("bbb", data.get(1).get("name"));
+			assertEquals(21, ((Number) data.get(1).get("value")).intValue());
+			assertEquals(1, cache.getHitCount());
+		}
+
+		{
+			ResolvedDataSetResult result = dataSet.resolve(DataSetQuery.valueOf());
+			List<DataSetProperty> resolvedProperties = result.getProperties();
+
+			assertEquals(3, resolvedProperties.size());
+			assertEquals("尺寸", resolvedProperties.get(2).getName());
+			assertEquals(DataSetProperty.DataType.NUMBER, resolvedProperties.get(2).getType());
+			assertEquals(2, cache.getHitCount());
+		}
+
+		// 解析配置不同，不应命中
+		{
+			dataSet.setNameRow(0);
+
+			List<Map<String, Object>> data = getData(dataSet, DataSetQuery.valueOf());
+
+			assertEquals(4, data.size());
+			assertEquals(2, cache.getSize());
+		}
+	}
+
+	@Test
+	public void csvTest_fileModified() throws Exception
+	{
+		DataSetFileCache cache = createDataSetFileCache();
+
+		File directory = FileUtil.createTempDirectory();
+		File file = new File(directory, "test.csv");
+
+		try
+		{
+			writeFile(file, "name,value\naaa,1\nbbb,2");
+
+			List<DataSetProperty> properties = new ArrayList<>();
+			properties.add(new DataSetProperty("name", DataSetProperty.DataType.STRING));
+			properties.add(new DataSetProperty("value", DataSetProperty.DataType.NUMBER));
+
+			CsvDirectoryFileDataSet dataSet = new CsvDirectoryFileDataSet("a", "a", properties, directory,
+					file.getName());
+			dataSet.setNameRow(1);
+			dataSet.setDataSetFileCache(cache);
+
+			assertEquals(2, getData(dataSet, DataSetQuery.valueOf()).size());
+			assertEquals(2, getData(dataSet, DataSetQuery.valueOf()).size());
+			assertEquals(1, cache.getHitCount());
+
+			writeFile(file, "name,value\naaa,1\nbbb,2\nccc,3");
+			file.setLastModified(file.lastModified() + 2000);
+
+			List<Map<String, Object>> data = getData(dataSet, DataSetQuery.valueOf());
+
+			assertEquals(3, data.size());
+			assertEquals("ccc", data.get(2).get("name"));
+			assertEquals(1, cache.getHitCount());
+		}
+		finally
+		{
+			FileUtil.deleteFile(directory);
+		}
+	}
+
+	@Test
+	public void jsonTest()
+	{
+		DataSetFileCache cache = createDataSetFileCache();
+
+		List<DataSetProperty> properties = new ArrayList<>();
+		properties.add(new DataSetProperty("name", DataSetProperty.DataType.STRING));
+		properties.add(new DataSetProperty("value", DataSetProperty.DataType.NUMBER));
+
+		JsonDirectoryFileDataSet dataSet = new JsonDirectoryFileDataSet("a", "a", properties, DIRECTORY,
+				"JsonDirectoryFileDataSetTest-0.json");
+		dataSet.setDataSetFileCache(cache);
+
+		assertEquals(3, getData(dataSet, DataSetQuery.valueOf()).size());
+
+		List<Map<String, Object>> data = getData(dataSet, fetchSizeQuery(2));
+
+		assertEquals(2, data.size());
+		assertEquals("bbb", data.get(1).get("name"));
+		assertEquals(21, ((Number) data.get(1).get("value")).intValue());
+		assertEquals(1, cache.getSize());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void excelTest()
+	{
+		DataSetFileCache cache = createDataSetFileCache();
+
+		List<DataSetProperty> properties = new ArrayList<>();
+		properties.add(new DataSetProperty("name", DataSetProperty.DataType.STRING));
+		properties.add(new DataSetProperty("value", DataSetProperty.DataType.NUMBER));
+
+		for (String fileName : new String[] { "ExcelDirectoryFileDataSetTest-0.xlsx",
+				"ExcelDirectoryFileDataSetTest-1.xls" })
+		{
+			ExcelDirectoryFileDataSet dataSet = new ExcelDirectoryFileDataSet("a", "a", properties, DIRECTORY,
+					fileName);
+			dataSet.setNameRow(1);
+			dataSet.setDataSetFileCache(cache);
+
+			assertEquals(3, getData(dataSet, DataSetQuery.valueOf()).size());
+
+			List<Map<String, Object>> data = getData(dataSet, fetchSizeQuery(2));
+
+			assertEquals(2, data.size());
+			assertEquals("bbb", data.get(1).get("name"));
+			assertEquals(25, ((Number) data.get(1).get("value")).intValue());
+		}
+
+		assertEquals(2, cache.getSize());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	public void maximumMemorySizeTest()
+	{
+		DataSetFileCache cache = new DataSetFileCache();
+		cache.setMaximumMemorySize(0);
+		cache.init();
+
+		List<DataSetProperty> properties = new ArrayList<>();
+		properties.add(new DataSetProperty("name", DataSetProperty.DataType.STRING));
+
+		CsvDirectoryFileDataSet dataSet = new CsvDirectoryFileDataSet("a", "a", properties, DIRECTORY,
+				"CsvDirectoryFileDataSetTest-0.csv");
+		dataSet.setNameRow(1);
+		dataSet.setDataSetFileCache(cache);
+
+		assertEquals(3, getData(dataSet, DataSetQuery.valueOf()).size());
+		assertEquals(3, getData(dataSet, DataSetQuery.valueOf()).size());
+		assertEquals(0, cache.getHitCount());
+	}
+
+	protected DataSetFileCache createDataSetFileCache()
+	{
+		DataSetFileCache cache = new DataSetFileCache();
+		cache.init();
+
+		return cache;
+	}
+
+	protected DataSetQuery fetchSizeQuery(int resultFetchSize)
+	{
+		DataSetQuery query = DataSetQuery.valueOf();
+		query.setResultFetchSize(resultFetchSize);
+
+		return query;
+	}
+
+	protected void writeFile(File file, String content) throws IOException
+	{
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@SuppressWarnings("unchecked")
+	protected List<Map<String, Object>> getData(AbstractDataSet dataSet, DataSetQuery query)
+	{
+		DataSetResult result = dataSet.getResult(query);
+		return (List<Map<String, Object>>) result.getData();
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+import org.junit.Test;
+
+/**
+ * {@linkplain DataSetResultCache}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultCacheTest
+{
+	@Test
+	public void getResultTest()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet = new CountDataSet("a");
+
+		Map<String, Object> paramValues0 = new HashMap<>();
+		paramValues0.put("p0", "v0");
+		paramValues0.put("p1", new String[] { "v1", "v2" });
+
+		Map<String, Object> paramValues1 = new HashMap<>();
+		paramValues1.put("p1", Arrays.asList("v1", "v2"));
+		paramValues1.put("p0", "v0");
+
+		DataSetResult result0 = cache.getResult(dataSet, DataSetQuery.valueOf(paramValues0));
+		DataSetResult result1 = cache.getResult(dataSet, DataSetQuery.valueOf(paramValues1));
+
+		assertSame(result0, result1);
+		assertEquals(1, dataSet.getCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+
+		cache.getResult(dataSet, DataSetQuery.valueOf(paramValues0, null, 10));
+		assertEquals(2, dataSet.getCount());
+
+		cache.invalidate(dataSet.getId());
+		cache.getResult(dataSet, DataSetQuery.valueOf(paramValues0));
+		assertEquals(3, dataSet.getCount());
+	}
+
+	@Test
+	public void getResultTest_timeToLive()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet = new CountDataSet("a");
+		cache.setTimeToLive(dataSet.getId(), 0);
+
+		cache.getResult(dataSet, DataSetQuery.valueOf());
+		cache.getResult(dataSet, DataSetQuery.valueOf());
+
+		assertEquals(2, dataSet.getCount());
+	}
+
+	@Test
+	public void getResultTest_timeToLives()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.setDefaultTimeToLive(0);
+
+		Map<String, Long> timeToLives = new HashMap<>();
+		timeToLives.put("a", 10000L);
+		cache.setTimeToLives(timeToLives);
+		cache.init();
+
+		CountDataSet dataSet0 = new CountDataSet("a");
+		CountDataSet dataSet1 = new CountDataSet("b");
+
+		cache.getResult(dataSet0, DataSetQuery.valueOf());
+		cache.getResult(dataSet0, DataSetQuery.valueOf());
+		cache.getResult(dataSet1, DataSetQuery.valueOf());
+		cache.getResult(dataSet1, DataSetQuery.valueOf());
+
+		assertEquals(1, dataSet0.getCount());
+		assertEquals(2, dataSet1.getCount());
+		assertEquals(timeToLives, cache.getTimeToLives());
+	}
+
+	@Test
+	public void getResultTest_scope()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet = new CountDataSet("a");
+
+		DataSetQuery query0 = DataSetQuery.valueOf();
+		query0.setScope("user0");
+		DataSetQuery query1 = DataSetQuery.valueOf();
+		query1.setScope("user1");
+
+		DataSetResult result0 = cache.getResult(dataSet, query0);
+		DataSetResult result1 = cache.getResult(dataSet, query1);
+
+		assertNotSame(result0, result1);
+		assertEquals(2, dataSet.getCount());
+
+		assertSame(result0, cache.getResult(dataSet, query0.copy()));
+		assertEquals(2, dataSet.getCount());
+	}
+
+	@Test
+	public void getResultTest_streaming()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet = new CountDataSet("a");
+
+		DataSetQuery query = DataSetQuery.valueOf();
+		query.setStreaming(true);
+
+		cache.getResult(dataSet, query);
+		cache.getResult(dataSet, query);
+
+		assertEquals(2, dataSet.getCount());
+		assertEquals(0, cache.getSize());
+	}
+
+	@Test
+	public void getResultTest_immutable()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet = new CountDataSet("a");
+
+		DataSetResult result = cache.getResult(dataSet, DataSetQuery.valueOf());
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> data = (List<Map<String, Object>>) result.getData();
+
+		try
+		{
+			data.add(new HashMap<String, Object>());
+			fail();
+		}
+		catch (UnsupportedOperationException e)
+		{
+		}
+
+		try
+		{
+			data.get(0).put("name", "modified");
+			fail();
+		}
+		catch (UnsupportedOperationException e)
+		{
+		}
+
+		try
+		{
+			result.setData(null);
+			fail();
+		}
+		catch (UnsupportedOperationException e)
+		{
+		}
+
+		assertEquals("a", data.get(0).get("name"));
+	}
+
+	@Test
+	public void invalidateTest()
+	{
+		DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		CountDataSet dataSet0 = new CountDataSet("a");
+		CountDataSet dataSet1 = new CountDataSet("b");
+
+		Map<String, Object> paramValues = new HashMap<>();
+		paramValues.put("p0", "v0");
+
+		cache.getResult(dataSet0, DataSetQuery.valueOf());
+		cache.getResult(dataSet0, DataSetQuery.valueOf(paramValues));
+		cache.getResult(dataSet1, DataSetQuery.valueOf());
+
+		assertEquals(3, cache.getSize());
+
+		cache.invalidate(dataSet0.getId());
+		cache.getResult(dataSet0, DataSetQuery.valueOf());
+		cache.getResult(dataSet0, DataSetQuery.valueOf(paramValues));
+		cache.getResult(dataSet1, DataSetQuery.valueOf());
+
+		assertEquals(4, dataSet0.getCount());
+		assertEquals(1, dataSet1.getCount());
+	}
+
+	@Test
+	public void invalidateTest_duringLoad()
+	{
+		final DataSetResultCache cache = new DataSetResultCache();
+		cache.init();
+
+		// 加载期间数据集被修改，加载的结果不应被缓存
+		CountDataSet dataSet = new CountDataSet("a")
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public DataSetResult getResult(DataSetQuery query) throws DataSetException
+			{
+				DataSetResult result = super.getResult(query);
+
+				if (getCount() == 1)
+					cache.invalidate(getId());
+
+				return result;
+			}
+		};
+
+		cache.getResult(dataSet, DataSetQuery.valueOf());
+		cache.getResult(dataSet, DataSetQuery.valueOf());
+		cache.getResult(dataSet, DataSetQuery.valueOf());
+
+		assertEquals(2, dataSet.getCount());
+	}
+
+	protected static class CountDataSet extends AbstractDataSet
+	{
+		private static final long serialVersionUID = 1L;
+
+		private int count = 0;
+
+		public CountDataSet(String id)
+		{
+			super(id, id, Collections.<DataSetProperty> emptyList());
+		}
+
+		public int getCount()
+		{
+			return count;
+		}
+
+		@Override
+		public DataSetResult getResult(DataSetQuery query) throws DataSetException
+		{
+			this.count++;
+
+			Map<String, Object> row = new HashMap<>();
+			row.put("name", getId());
+
+			List<Map<String, Object>> data = new ArrayList<>();
+			data.add(row);
+
+			return new DataSetResult(data);
+		}
+	}
+}
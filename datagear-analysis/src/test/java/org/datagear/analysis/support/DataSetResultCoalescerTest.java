@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.datagear.analysis.DataSetException;
+import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
+import org.junit.Test;
+
+/**
+ * {@linkplain DataSetResultCoalescer}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultCoalescerTest
+{
+	@Test
+	public void getResultTest() throws Exception
+	{
+		final DataSetResultCoalescer coalescer = new DataSetResultCoalescer();
+		final BlockingDataSet dataSet = new BlockingDataSet("a");
+
+		int threads = 5;
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+		try
+		{
+			List<Future<DataSetResult>> futures = new ArrayList<>();
+
+			for (int i = 0; i < threads; i++)
+			{
+				futures.add(executorService.submit(new Callable<DataSetResult>()
+				{
+					@Override
+					public DataSetResult call() throws Exception
+					{
+						return coalescer.getResult(dataSet, DataSetQuery.valueOf());
+					}
+				}));
+			}
+
+			while (coalescer.getCoalescedCount() < threads - 1)
+				Thread.sleep(10);
+
+			dataSet.getLatch().countDown();
+
+			DataSetResult first = futures.get(0).get();
+
+			for (Future<DataSetResult> future : futures)
+				assertSame(first, future.get());
+
+			assertTrue(first instanceof ImmutableDataSetResult);
+
+			assertEquals(1, dataSet.getCount());
+			assertEquals(0, coalescer.getInflightCount());
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void getResultTest_scope() throws Exception
+	{
+		final DataSetResultCoalescer coalescer = new DataSetResultCoalescer();
+		final BlockingDataSet dataSet = new BlockingDataSet("a");
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+		try
+		{
+			List<Future<DataSetResult>> futures = new ArrayList<>();
+
+			for (int i = 0; i < 2; i++)
+			{
+				final String scope = "user" + i;
+
+				futures.add(executorService.submit(new Callable<DataSetResult>()
+				{
+					@Override
+					public DataSetResult call() throws Exception
+					{
+						DataSetQuery query = DataSetQuery.valueOf();
+						query.setScope(scope);
+
+						return coalescer.getResult(dataSet, query);
+					}
+				}));
+			}
+
+			while (dataSet.getCount() < 2)
+				Thread.sleep(10);
+
+			dataSet.getLatch().countDown();
+
+			DataSetResult result0 = futures.get(0).get();
+			DataSetResult result1 = futures.get(1).get();
+
+			assertNotSame(result0, result1);
+			assertTrue(result0 instanceof ImmutableDataSetResult);
+			assertTrue(result1 instanceof ImmutableDataSetResult);
+			assertEquals(0, coalescer.getCoalescedCount());
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void getResultTest_streaming() throws Exception
+	{
+		DataSetResultCoalescer coalescer = new DataSetResultCoalescer();
+		BlockingDataSet dataSet = new BlockingDataSet("a");
+		dataSet.getLatch().countDown();
+
+		DataSetQuery query = DataSetQuery.valueOf();
+		query.setStreaming(true);
+
+		DataSetResult result = coalescer.getResult(dataSet, query);
+
+		assertTrue(!(result instanceof ImmutableDataSetResult));
+		assertEquals(0, coalescer.getExecutionCount());
+	}
+
+	protected static class BlockingDataSet extends AbstractDataSet
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private final AtomicInteger count = new AtomicInteger(0);
+
+		public BlockingDataSet(String id)
+		{
+			super(id, id, Collections.<DataSetProperty> emptyList());
+		}
+
+		public CountDownLatch getLatch()
+		{
+			return latch;
+		}
+
+		public int getCount()
+		{
+			return count.get();
+		}
+
+		@Override
+		public DataSetResult getResult(DataSetQuery query) throws DataSetException
+		{
+			this.count.incrementAndGet();
+
+			try
+			{
+				this.latch.await();
+			}
+			catch (InterruptedException e)
+			{
+				throw new DataSetException(e);
+			}
+
+			List<Map<String, Object>> data = Collections.emptyList();
+			return new DataSetResult(data);
+		}
+	}
+}
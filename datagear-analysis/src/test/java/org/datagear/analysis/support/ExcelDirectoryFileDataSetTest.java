@@ -349,4 +349,56 @@ public class ExcelDirectoryFileDataSetTest
 			}
 		}
 	}
+
+	@Test
+	public void resolveTest_resultFetchSize()
+	{
+		String[] fileNames = { "ExcelDirectoryFileDataSetTest-0.xlsx", "ExcelDirectoryFileDataSetTest-1.xls" };
+
+		for (String fileName : fileNames)
+		{
+			ExcelDirectoryFileDataSet dataSet = new ExcelDirectoryFileDataSet("a", "a", DIRECTORY, fileName);
+			dataSet.setNameRow(1);
+
+			DataSetQuery query = DataSetQuery.valueOf();
+			query.setResultFetchSize(2);
+
+			ResolvedDataSetResult resolvedResult = dataSet.resolve(query);
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> data = (List<Map<String, Object>>) resolvedResult.getResult().getData();
+			List<DataSetProperty> properties = resolvedResult.getProperties();
+
+			assertEquals(4, properties.size());
+			assertEquals("name", properties.get(0).getName());
+			assertEquals(2, data.size());
+			assertEquals("aaa", data.get(0).get("name"));
+			assertEquals("bbb", data.get(1).get("name"));
+		}
+	}
+
+	@Test
+	public void resolveTest_noNameRow()
+	{
+		String[] fileNames = { "ExcelDirectoryFileDataSetTest-0.xlsx", "ExcelDirectoryFileDataSetTest-1.xls" };
+
+		for (String fileName : fileNames)
+		{
+			ExcelDirectoryFileDataSet dataSet = new ExcelDirectoryFileDataSet("a", "a", DIRECTORY, fileName);
+			dataSet.setDataRowExp("2-");
+
+			ResolvedDataSetResult resolvedResult = dataSet.resolve(DataSetQuery.valueOf());
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> data = (List<Map<String, Object>>) resolvedResult.getResult().getData();
+			List<DataSetProperty> properties = resolvedResult.getProperties();
+
+			assertEquals(4, properties.size());
+			assertEquals("A", properties.get(0).getName());
+			assertEquals("D", properties.get(3).getName());
+			assertEquals(3, data.size());
+			assertEquals("ccc", data.get(2).get("A"));
+			assertEquals(35, ((Number) data.get(2).get("B")).intValue());
+		}
+	}
 }
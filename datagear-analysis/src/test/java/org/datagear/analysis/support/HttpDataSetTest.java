@@ -9,6 +9,7 @@ package org.datagear.analysis.support;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -18,7 +19,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.ClassicHttpRequest;
@@ -35,6 +42,7 @@ import org.apache.hc.core5.http.protocol.HttpContext;
 import org.datagear.analysis.DataSetParam;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
 import org.datagear.util.IOUtil;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -60,6 +68,8 @@ public class HttpDataSetTest
 
 	protected static CloseableHttpClient httpClient;
 
+	protected static CloseableHttpAsyncClient httpAsyncClient;
+
 	@BeforeClass
 	public static void initTestHttpServer() throws Throwable
 	{
@@ -142,6 +152,9 @@ public class HttpDataSetTest
 		server.start();
 
 		httpClient = HttpClients.createDefault();
+
+		httpAsyncClient = HttpAsyncClients.createDefault();
+		httpAsyncClient.start();
 	}
 
 	@AfterClass
@@ -149,6 +162,7 @@ public class HttpDataSetTest
 	{
 		server.close();
 		httpClient.close();
+		httpAsyncClient.close();
 	}
 
 	@Test
@@ -469,6 +483,97 @@ public class HttpDataSetTest
 		}
 	}
 
+	@Test
+	public void resolveAsyncTest() throws Throwable
+	{
+		String pv1 = "参数值1";
+
+		List<DataSetParam> params = Arrays.asList(new DataSetParam("param", DataSetParam.DataType.STRING, true));
+
+		HttpDataSet dataSet = new HttpDataSet(HttpDataSet.class.getName(), HttpDataSet.class.getName(), httpClient,
+				SERVER + "/testJson");
+		dataSet.setHttpAsyncClient(httpAsyncClient);
+		dataSet.setRequestMethod(HttpDataSet.REQUEST_METHOD_POST);
+		dataSet.setRequestContentType(HttpDataSet.REQUEST_CONTENT_TYPE_JSON);
+		dataSet.setRequestContent("[ { name: '" + PARAM_NAME_0 + "', value: 'p0' }, { name: '" + PARAM_NAME_1
+				+ "', value: '${param}' } ]");
+		dataSet.setParams(params);
+
+		HttpLatencyRecorder latencyRecorder = new HttpLatencyRecorder();
+		dataSet.setLatencyRecorder(latencyRecorder);
+
+		Map<String, Object> paramValues = new HashMap<>();
+		paramValues.put("param", pv1);
+
+		TemplateResolvedDataSetResult result = dataSet.resolveAsync(DataSetQuery.valueOf(paramValues)).get(10,
+				TimeUnit.SECONDS);
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> data = (List<Map<String, Object>>) result.getResult().getData();
+
+		assertEquals(2, result.getProperties().size());
+		assertTrue(result.getTemplateResult().contains("value: '" + pv1 + "'"));
+		assertEquals(2, data.size());
+		assertEquals(pv1, data.get(1).get("value"));
+		assertEquals(1, latencyRecorder.getHistograms().get(SERVER).getCount());
+
+		dataSet.setProperties(result.getProperties());
+
+		DataSetResult dataSetResult = dataSet.getResultAsync(DataSetQuery.valueOf(paramValues)).get(10,
+				TimeUnit.SECONDS);
+		assertEquals(2, ((List<?>) dataSetResult.getData()).size());
+		assertEquals(2, latencyRecorder.getHistograms().get(SERVER).getCount());
+	}
+
+	@Test
+	public void resolveAsyncTest_responseExecutor() throws Throwable
+	{
+		final AtomicInteger executeCount = new AtomicInteger(0);
+		final Thread[] parseThread = new Thread[1];
+
+		HttpDataSet dataSet = new HttpDataSet(HttpDataSet.class.getName(), HttpDataSet.class.getName(), httpClient,
+				SERVER + "/testJson");
+		dataSet.setHttpAsyncClient(httpAsyncClient);
+		dataSet.setRequestMethod(HttpDataSet.REQUEST_METHOD_POST);
+		dataSet.setRequestContentType(HttpDataSet.REQUEST_CONTENT_TYPE_JSON);
+		dataSet.setRequestContent("[ { name: '" + PARAM_NAME_0 + "', value: 'p0' } ]");
+		dataSet.setResponseExecutor(new Executor()
+		{
+			@Override
+			public void execute(final Runnable command)
+			{
+				executeCount.incrementAndGet();
+
+				Thread thread = new Thread(command);
+				parseThread[0] = thread;
+				thread.start();
+			}
+		});
+
+		TemplateResolvedDataSetResult result = dataSet.resolveAsync(new DataSetQuery()).get(10, TimeUnit.SECONDS);
+
+		assertEquals(1, ((List<?>) result.getResult().getData()).size());
+		assertEquals(1, executeCount.get());
+		assertTrue(parseThread[0] != null);
+	}
+
+	@Test
+	public void resolveAsyncTest_error() throws Throwable
+	{
+		HttpDataSet dataSet = new HttpDataSet(HttpDataSet.class.getName(), HttpDataSet.class.getName(), httpClient,
+				SERVER + "/notFound");
+		dataSet.setHttpAsyncClient(httpAsyncClient);
+
+		try
+		{
+			dataSet.resolveAsync(new DataSetQuery()).get(10, TimeUnit.SECONDS);
+			fail();
+		}
+		catch (ExecutionException e)
+		{
+			assertTrue(e.getCause() instanceof DataSetSourceParseException);
+		}
+	}
+
 	protected static Map<String, String> parseRequestParams(ClassicHttpRequest request) throws IOException
 	{
 		Map<String, String> map = new HashMap<>();
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * {@linkplain HttpLatencyHistogram}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HttpLatencyHistogramTest
+{
+	@Test
+	public void recordTest()
+	{
+		HttpLatencyHistogram histogram = new HttpLatencyHistogram(new long[] { 10, 100, 1000 });
+
+		histogram.record(5, true);
+		histogram.record(10, true);
+		histogram.record(50, true);
+		histogram.record(500, false);
+		histogram.record(5000, false);
+
+		assertArrayEquals(new long[] { 2, 1, 1, 1 }, histogram.getCounts());
+		assertEquals(5, histogram.getCount());
+		assertEquals(2, histogram.getErrorCount());
+		assertEquals(5000, histogram.getMaxMillis());
+		assertEquals((5 + 10 + 50 + 500 + 5000) / 5, histogram.getMeanMillis());
+	}
+
+	@Test
+	public void getPercentileMillisTest()
+	{
+		HttpLatencyHistogram histogram = new HttpLatencyHistogram(new long[] { 10, 100, 1000 });
+
+		assertEquals(0, histogram.getP50Millis());
+
+		for (int i = 0; i < 90; i++)
+			histogram.record(8, true);
+		for (int i = 0; i < 9; i++)
+			histogram.record(80, true);
+		histogram.record(3000, true);
+
+		assertEquals(10, histogram.getP50Millis());
+		assertEquals(100, histogram.getP95Millis());
+		assertEquals(100, histogram.getP99Millis());
+		assertEquals(3000, histogram.getPercentileMillis(1));
+	}
+
+	@Test
+	public void recorderTest()
+	{
+		HttpLatencyRecorder recorder = new HttpLatencyRecorder();
+		recorder.setMaxHosts(2);
+
+		recorder.record("http://a", 10, true);
+		recorder.record("http://b", 20, true);
+		recorder.record("http://c", 30, true);
+		recorder.record("http://a", 40, true);
+
+		assertEquals(2, recorder.getHistograms().get("http://a").getCount());
+		assertEquals(1, recorder.getHistograms().get("http://b").getCount());
+		assertEquals(1, recorder.getHistograms().get(HttpLatencyRecorder.OTHER_HOST).getCount());
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * {@linkplain JsonDataPathReader}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class JsonDataPathReaderTest
+{
+	private static final String JSON = "{ total: 3, path0: { path1: [ { x: 1 }, { path2: [ { name:'a' }, { name:'b' }, { name:'c' } ] } ] } }";
+
+	private JsonDataPathReader reader = new JsonDataPathReader(JsonSupport.getObjectMapperNonStardand());
+
+	@Test
+	public void readTest_noPath() throws Throwable
+	{
+		assertNull(read("", null, -1));
+		assertNull(read("null", null, -1));
+
+		List<?> data = (List<?>) read("[ { name:'a' }, null, { name:'c' } ]", null, -1);
+		assertEquals(3, data.size());
+		assertNull(data.get(1));
+
+		data = (List<?>) read("[ { name:'a' }, null, { name:'c' } ]", "  ", 2);
+		assertEquals(2, data.size());
+
+		Map<?, ?> obj = (Map<?, ?>) read(JSON, null, -1);
+		assertEquals(3, ((Number) obj.get("total")).intValue());
+	}
+
+	@Test
+	public void readTest_simplePath() throws Throwable
+	{
+		assertEquals(Arrays.asList("a", "b", "c"), names(read(JSON, "path0.path1[1].path2", -1)));
+		assertEquals(Arrays.asList("a", "b", "c"), names(read(JSON, "$.path0.path1[1].path2", -1)));
+		assertEquals(Arrays.asList("a", "b", "c"), names(read(JSON, "$['path0'][\"path1\"][1]['path2']", -1)));
+		assertEquals(Arrays.asList("a", "b"), names(read(JSON, "path0.path1[1].path2", 2)));
+
+		Map<?, ?> obj = (Map<?, ?>) read(JSON, "path0.path1[1].path2[2]", -1);
+		assertEquals("c", obj.get("name"));
+
+		assertEquals(Arrays.asList("b"), names(read("[ { s: [ { name:'a' } ] }, { s: [ { name:'b' } ] } ]", "[1].s", -1)));
+	}
+
+	@Test
+	public void readTest_simplePath_stopAtMaxCount() throws Throwable
+	{
+		// 达到最大数目后即停止解析，不会读到后面的非法内容
+		String json = "{ data: [ { name:'a' }, { name:'b' }, { name: ";
+
+		assertEquals(Arrays.asList("a", "b"), names(read(json, "data", 2)));
+	}
+
+	@Test
+	public void readTest_jsonPath() throws Throwable
+	{
+		assertEquals(Arrays.asList("a", "b", "c"), names(read(JSON, "$..path2[*]", -1)));
+		assertEquals(Arrays.asList("a", "b"), names(read(JSON, "$..path2[*]", 2)));
+		assertEquals(Arrays.asList("b"), names(read(JSON, "$..path2[?(@.name == 'b')]", -1)));
+	}
+
+	@Test(expected = ReadJsonDataPathException.class)
+	public void readTest_simplePath_notFound() throws Throwable
+	{
+		read(JSON, "path0.path1[5]", -1);
+	}
+
+	@Test(expected = ReadJsonDataPathException.class)
+	public void readTest_simplePath_notFound_property() throws Throwable
+	{
+		read(JSON, "path0.none", -1);
+	}
+
+	@Test(expected = UnsupportedJsonResultDataException.class)
+	public void readTest_illegalRoot() throws Throwable
+	{
+		read("123", null, -1);
+	}
+
+	@Test(expected = UnsupportedJsonResultDataException.class)
+	public void readTest_illegalElement() throws Throwable
+	{
+		read("[ { name:'a' }, 3 ]", null, -1);
+	}
+
+	@Test
+	public void toStandardJsonPathTest()
+	{
+		assertNull(JsonDataPathReader.toStandardJsonPath(null));
+		assertNull(JsonDataPathReader.toStandardJsonPath(" "));
+		assertEquals("$.a[0]", JsonDataPathReader.toStandardJsonPath("a[0]"));
+		assertEquals("$[0].a", JsonDataPathReader.toStandardJsonPath("[0].a"));
+		assertEquals("$.a", JsonDataPathReader.toStandardJsonPath(" $.a "));
+	}
+
+	@Test
+	public void getSimplePathSegmentsTest()
+	{
+		assertEquals(Arrays.asList("a", 0, "b c"), reader.getSimplePathSegments("$.a[0]['b c']"));
+		assertTrue(reader.getSimplePathSegments("$").isEmpty());
+		assertTrue(reader.getSimplePathSegments("$..a").isEmpty());
+		assertTrue(reader.getSimplePathSegments("$.a[*]").isEmpty());
+		assertTrue(reader.getSimplePathSegments("$.a[-1]").isEmpty());
+		assertTrue(reader.getSimplePathSegments("$.a[0,1]").isEmpty());
+		assertTrue(reader.getSimplePathSegments("$.a[0:2]").isEmpty());
+	}
+
+	protected Object read(String json, String dataJsonPath, int maxCount) throws Throwable
+	{
+		return reader.read(new StringReader(json), dataJsonPath, maxCount);
+	}
+
+	protected List<Object> names(Object data)
+	{
+		List<?> list = (List<?>) data;
+		Object[] names = new Object[list.size()];
+
+		for (int i = 0; i < names.length; i++)
+			names[i] = ((Map<?, ?>) list.get(i)).get("name");
+
+		return Arrays.asList(names);
+	}
+}
@@ -7,8 +7,12 @@
 
 package org.datagear.analysis.support;
 
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -18,12 +22,16 @@ import org.datagear.analysis.DataSetParam;
 import org.datagear.analysis.DataSetProperty;
 import org.datagear.analysis.DataSetQuery;
 import org.datagear.analysis.DataSetResult;
+import org.datagear.util.JdbcSupport;
 import org.datagear.util.JdbcUtil;
+import org.datagear.util.Sql;
 import org.datagear.util.resource.SimpleConnectionFactory;
 import org.datagear.util.test.DBTestSupport;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * {@linkplain SqlDataSet}单元测试类。
  * 
@@ -113,4 +121,272 @@ public class SqlDataSetTest extends DBTestSupport
 			JdbcUtil.closeConnection(cn);
 		}
 	}
+
+	@Test
+	public void getResultTest_resultFetchSize() throws Exception
+	{
+		Connection cn = null;
+
+		try
+		{
+			cn = getConnection();
+			SimpleConnectionFactory connectionFactory = new SimpleConnectionFactory(cn, false);
+
+			final List<Integer> limits = new ArrayList<>();
+
+			SqlDataSet sqlDataSet = new SqlDataSet("1", "1", connectionFactory, "SELECT ID, NAME FROM T_ACCOUNT");
+			sqlDataSet.setLimitSqlResolver(new LimitSqlResolver()
+			{
+				@Override
+				public Sql resolve(Connection cn, Sql sql, int limit) throws Throwable
+				{
+					limits.add(limit);
+					return Sql.valueOf(sql.getSqlValue() + " LIMIT " + limit);
+				}
+			});
+
+			DataSetResult dataSetResult = sqlDataSet
+					.getResult(DataSetQuery.valueOf(new HashMap<String, Object>(), null, 1));
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, ?>> datas = (List<Map<String, ?>>) dataSetResult.getData();
+
+			Assert.assertTrue(datas.size() <= 1);
+			Assert.assertEquals(Arrays.asList(1), limits);
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
+	@Test
+	public void getResultTest_streaming() throws Exception
+	{
+		Connection cn = null;
+
+		long[] recordIds = { 999999991, 999999992, 999999993 };
+		String recordNamePrefix = SqlDataSet.class.getSimpleName() + "-streaming-";
+
+		try
+		{
+			cn = getConnection();
+			SimpleConnectionFactory connectionFactory = new SimpleConnectionFactory(cn, false);
+
+			insertStreamingRecords(cn, recordIds, recordNamePrefix);
+
+			SqlDataSet sqlDataSet = new SqlDataSet("1", "1", createStreamingProperties(), connectionFactory,
+					createStreamingSql(recordIds));
+
+			DataSetQuery query = DataSetQuery.valueOf(new HashMap<String, Object>(), null, 2);
+			query.setStreaming(true);
+
+			DataSetResult dataSetResult = sqlDataSet.getResult(query);
+
+			Assert.assertTrue(dataSetResult.getData() instanceof SqlStreamingData);
+
+			SqlStreamingData streamingData = (SqlStreamingData) dataSetResult.getData();
+			Assert.assertFalse(streamingData.isClosed());
+
+			ObjectMapper objectMapper = new ObjectMapper();
+			String json = objectMapper.writeValueAsString(streamingData);
+
+			Assert.assertTrue(streamingData.isClosed());
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, ?>> datas = objectMapper.readValue(json, List.class);
+
+			Assert.assertEquals(2, datas.size());
+
+			for (int i = 0; i < datas.size(); i++)
+			{
+				Map<String, ?> row = datas.get(i);
+
+				Assert.assertEquals(2, row.size());
+				Assert.assertEquals(Long.toString(recordIds[i]), row.get("ID").toString());
+				Assert.assertEquals(recordNamePrefix + recordIds[i], row.get("NAME"));
+			}
+		}
+		finally
+		{
+			if (cn != null)
+				deleteStreamingRecords(cn, recordIds);
+
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
+	@Test
+	public void getResultTest_streaming_sqlError() throws Exception
+	{
+		Connection cn = null;
+
+		try
+		{
+			cn = getConnection();
+			SimpleConnectionFactory connectionFactory = new SimpleConnectionFactory(cn, false);
+
+			SqlDataSet sqlDataSet = new SqlDataSet("1", "1", createStreamingProperties(), connectionFactory,
+					"SELECT ID, NAME FROM T_NOT_EXISTS_TABLE");
+
+			DataSetQuery query = DataSetQuery.valueOf(new HashMap<String, Object>());
+			query.setStreaming(true);
+
+			try
+			{
+				sqlDataSet.getResult(query);
+				Assert.fail();
+			}
+			catch (SqlDataSetSqlExecutionException e)
+			{
+			}
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
+	@Test
+	public void getResultTest_streaming_readError() throws Exception
+	{
+		Connection cn = null;
+
+		final long[] recordIds = { 999999994, 999999995, 999999996 };
+		String recordNamePrefix = SqlDataSet.class.getSimpleName() + "-streaming-";
+
+		try
+		{
+			cn = getConnection();
+			SimpleConnectionFactory connectionFactory = new SimpleConnectionFactory(cn, false);
+
+			insertStreamingRecords(cn, recordIds, recordNamePrefix);
+
+			// 读取第二行数据时出错
+			SqlDataSet sqlDataSet = new SqlDataSet("1", "1", createStreamingProperties(), connectionFactory,
+					createStreamingSql(recordIds))
+			{
+				@Override
+				protected Object getColumnValue(Connection cn, ResultSet rs, String columnName, int sqlType,
+						JdbcSupport jdbcSupport) throws Throwable
+				{
+					Object value = super.getColumnValue(cn, rs, columnName, sqlType, jdbcSupport);
+
+					if ("ID".equals(columnName) && Long.toString(recordIds[1]).equals(value.toString()))
+						throw new SQLException("read error");
+
+					return value;
+				}
+			};
+
+			DataSetQuery query = DataSetQuery.valueOf(new HashMap<String, Object>());
+			query.setStreaming(true);
+
+			SqlStreamingData streamingData = (SqlStreamingData) sqlDataSet.getResult(query).getData();
+
+			ObjectMapper objectMapper = new ObjectMapper();
+			String json = objectMapper.writeValueAsString(streamingData);
+
+			Assert.assertTrue(streamingData.isClosed());
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, ?>> datas = objectMapper.readValue(json, List.class);
+
+			Assert.assertEquals(2, datas.size());
+			Assert.assertEquals(Long.toString(recordIds[0]), datas.get(0).get("ID").toString());
+			Assert.assertEquals("read error", datas.get(1).get(SqlStreamingData.ERROR_NAME));
+		}
+		finally
+		{
+			if (cn != null)
+				deleteStreamingRecords(cn, recordIds);
+
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
+	@Test
+	public void getResultTest_streaming_close() throws Exception
+	{
+		Connection cn = null;
+
+		try
+		{
+			cn = getConnection();
+			SimpleConnectionFactory connectionFactory = new SimpleConnectionFactory(cn, false);
+
+			SqlDataSet sqlDataSet = new SqlDataSet("1", "1", createStreamingProperties(), connectionFactory,
+					"SELECT ID, NAME FROM T_ACCOUNT");
+
+			DataSetQuery query = DataSetQuery.valueOf(new HashMap<String, Object>());
+			query.setStreaming(true);
+
+			SqlStreamingData streamingData = (SqlStreamingData) sqlDataSet.getResult(query).getData();
+			streamingData.close();
+
+			Assert.assertTrue(streamingData.isClosed());
+
+			try
+			{
+				new ObjectMapper().writeValueAsString(streamingData);
+				Assert.fail();
+			}
+			catch (IOException e)
+			{
+			}
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
+	protected List<DataSetProperty> createStreamingProperties()
+	{
+		return Arrays.asList(new DataSetProperty("ID", DataSetProperty.DataType.INTEGER),
+				new DataSetProperty("NAME", DataSetProperty.DataType.STRING));
+	}
+
+	protected String createStreamingSql(long[] recordIds)
+	{
+		return "SELECT ID, NAME FROM T_ACCOUNT WHERE ID IN (" + recordIds[0] + ", " + recordIds[1] + ", "
+				+ recordIds[2] + ") ORDER BY ID ASC";
+	}
+
+	protected void insertStreamingRecords(Connection cn, long[] recordIds, String recordNamePrefix) throws SQLException
+	{
+		for (long recordId : recordIds)
+		{
+			String insertSql = "INSERT INTO T_ACCOUNT(ID, NAME) VALUES(" + recordId + ", '" + recordNamePrefix
+					+ recordId + "')";
+			Statement st = null;
+
+			try
+			{
+				st = cn.createStatement();
+				st.executeUpdate(insertSql);
+			}
+			finally
+			{
+				JdbcUtil.closeStatement(st);
+			}
+		}
+	}
+
+	protected void deleteStreamingRecords(Connection cn, long[] recordIds) throws SQLException
+	{
+		String deleteSql = "DELETE FROM T_ACCOUNT WHERE ID IN (" + recordIds[0] + ", " + recordIds[1] + ", "
+				+ recordIds[2] + ")";
+		Statement st = null;
+
+		try
+		{
+			st = cn.createStatement();
+			st.executeUpdate(deleteSql);
+		}
+		finally
+		{
+			JdbcUtil.closeStatement(st);
+		}
+	}
 }
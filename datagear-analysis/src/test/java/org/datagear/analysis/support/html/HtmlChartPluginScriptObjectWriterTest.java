@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.analysis.support.html;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * {@linkplain HtmlChartPluginScriptObjectWriter}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HtmlChartPluginScriptObjectWriterTest
+{
+	@Test
+	public void writeTest() throws Throwable
+	{
+		HtmlChartPluginScriptObjectWriter writer = new HtmlChartPluginScriptObjectWriter();
+
+		CountingJsChartRenderer chartRenderer = new CountingJsChartRenderer("{ render: function(chart){} }");
+
+		HtmlChartPlugin plugin = new HtmlChartPlugin();
+		plugin.setId("pie");
+		plugin.setChartRenderer(chartRenderer);
+		plugin.setLastModified(1);
+
+		String script0 = write(writer, plugin, "plugin0");
+		String script1 = write(writer, plugin, "plugin1");
+
+		assertTrue(script0.startsWith("var plugin0="));
+		assertTrue(script0.contains("\"id\":\"pie\""));
+		assertTrue(script0.contains("plugin0.chartRenderer="));
+		assertTrue(script0.contains("{ render: function(chart){} };"));
+		assertEquals(script0.replace("plugin0", "plugin1"), script1);
+		assertEquals(1, chartRenderer.getReadCount());
+
+		// 插件修改后应重新读取
+		chartRenderer.setContent("{ render: function(chart){ chart.statusRendered(); } }");
+		plugin.setLastModified(2);
+
+		String script2 = write(writer, plugin, "plugin0");
+
+		assertTrue(script2.contains("chart.statusRendered();"));
+		assertEquals(2, chartRenderer.getReadCount());
+	}
+
+	protected String write(HtmlChartPluginScriptObjectWriter writer, HtmlChartPlugin plugin, String varName)
+			throws IOException
+	{
+		StringWriter out = new StringWriter();
+		writer.write(out, plugin, varName);
+
+		return out.toString();
+	}
+
+	protected static class CountingJsChartRenderer extends StringJsChartRenderer
+	{
+		private static final long serialVersionUID = 1L;
+
+		private int readCount = 0;
+
+		public CountingJsChartRenderer(String content)
+		{
+			super(content);
+		}
+
+		public int getReadCount()
+		{
+			return readCount;
+		}
+
+		@Override
+		public Reader getReader() throws IOException
+		{
+			this.readCount++;
+			return super.getReader();
+		}
+	}
+}
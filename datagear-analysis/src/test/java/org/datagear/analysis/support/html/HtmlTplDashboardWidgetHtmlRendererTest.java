@@ -21,6 +21,7 @@ import org.datagear.analysis.support.SimpleDashboardThemeSource;
 import org.datagear.analysis.support.html.HtmlTplDashboardImport.ImportItem;
 import org.datagear.analysis.support.html.HtmlTplDashboardRenderAttr.WebContext;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetHtmlRenderer.ChartInfo;
+import org.datagear.analysis.support.html.HtmlTplDashboardWidgetHtmlRenderer.CompiledTemplate;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetHtmlRenderer.DashboardInfo;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetRenderer.ExtContentHtmlTitleHandler;
 import org.datagear.util.IOUtil;
@@ -86,6 +87,39 @@ public class HtmlTplDashboardWidgetHtmlRendererTest
 		Assert.assertEquals(6, dashboard.getCharts().size());
 	}
 
+	@Test
+	public void renderTest_compiledTemplate() throws Exception
+	{
+		HtmlTplDashboardWidget dashboardWidget = createHtmlTplDashboardWidget();
+
+		CompiledTemplate compiledTemplate = this.renderer.getCompiledTemplate(dashboardWidget,
+				dashboardWidget.getFirstTemplate());
+
+		Assert.assertSame(compiledTemplate,
+				this.renderer.getCompiledTemplate(dashboardWidget, dashboardWidget.getFirstTemplate()));
+
+		for (int i = 0; i < 2; i++)
+		{
+			RenderContext renderContext = new DefaultRenderContext();
+			HtmlTplDashboardRenderAttr renderAttr = new HtmlTplDashboardRenderAttr();
+			StringWriter out = new StringWriter();
+			renderAttr.inflate(renderContext, out, new WebContext(""), SimpleDashboardThemeSource.THEME_LIGHT);
+
+			HtmlTplDashboard dashboard = dashboardWidget.render(renderContext);
+
+			String html = getHtmlWithPrint(out);
+
+			Assert.assertEquals(6, dashboard.getCharts().size());
+			Assert.assertTrue(html.contains(IMPORT_CONTENT_JQUERY));
+			Assert.assertTrue(html.contains("var DataGearDashboardTmp"));
+		}
+
+		this.renderer.invalidateCompiledTemplate(dashboardWidget.getId(), dashboardWidget.getFirstTemplate());
+
+		Assert.assertNotSame(compiledTemplate,
+				this.renderer.getCompiledTemplate(dashboardWidget, dashboardWidget.getFirstTemplate()));
+	}
+
 	@Test
 	public void renderHtmlTplDashboardTest() throws Exception
 	{
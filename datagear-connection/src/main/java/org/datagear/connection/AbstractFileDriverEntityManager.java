@@ -61,6 +61,9 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 
 	private transient long driverEntityInfoFileLastModified = -1;
 
+	/** 驱动程序库的上次变更时间 */
+	private transient volatile long driverLibraryLastModified = -1;
+
 	public AbstractFileDriverEntityManager()
 	{
 		super();
@@ -211,7 +214,7 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 	@Override
 	public long getLastModified() throws DriverEntityManagerException
 	{
-		return this.driverEntityInfoFileLastModified;
+		return Math.max(this.driverEntityInfoFileLastModified, this.driverLibraryLastModified);
 	}
 
 	@Override
@@ -234,6 +237,7 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 		finally
 		{
 			IOUtil.close(out);
+			updateDriverLibraryLastModified();
 		}
 	}
 
@@ -259,15 +263,24 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 			deleted[i] = FileUtil.deleteFile(file);
 		}
 
+		updateDriverLibraryLastModified();
+
 		return deleted;
 	}
 
 	@Override
-	public boolean deleteDriverLibrary(DriverEntity driverEntity) throws DriverEntityManagerException
+	public synchronized boolean deleteDriverLibrary(DriverEntity driverEntity) throws DriverEntityManagerException
 	{
 		File directory = getDriverLibraryDirectory(driverEntity.getId(), false);
 
-		return FileUtil.clearDirectory(directory);
+		try
+		{
+			return FileUtil.clearDirectory(directory);
+		}
+		finally
+		{
+			updateDriverLibraryLastModified();
+		}
 	}
 
 	@Override
@@ -325,7 +338,8 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 				if (file.isDirectory())
 					continue;
 
-				DriverLibraryInfo driverLibraryInfo = new DriverLibraryInfo(file.getName(), file.length());
+				DriverLibraryInfo driverLibraryInfo = new DriverLibraryInfo(file.getName(), file.length(),
+						file.lastModified());
 
 				driverLibraryInfos.add(driverLibraryInfo);
 			}
@@ -488,6 +502,10 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 		{
 			throw new DriverEntityManagerException(e);
 		}
+		finally
+		{
+			updateDriverLibraryLastModified();
+		}
 	}
 
 	@Override
@@ -687,6 +705,17 @@ public abstract class AbstractFileDriverEntityManager implements DriverEntityMan
 		return (!isBlank(driverEntity.getId()) && !isBlank(driverEntity.getDriverClassName()));
 	}
 
+	/**
+	 * 更新驱动程序库的上次变更时间。
+	 * <p>
+	 * 它将严格大于当前的{@linkplain #getLastModified()}，以免同一毫秒内的多次变更无法被察觉。
+	 * </p>
+	 */
+	protected void updateDriverLibraryLastModified()
+	{
+		this.driverLibraryLastModified = Math.max(System.currentTimeMillis(), getLastModified() + 1);
+	}
+
 	protected boolean reloadDriverEntityFileIfModified()
 	{
 		long thisModified = this.driverEntityInfoFile.lastModified();
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import java.io.Serializable;
+
+/**
+ * 连接池配置。
+ * <p>
+ * 各属性的默认值与DBCP2连接池的默认值一致。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class ConnectionPoolConfig implements Serializable, Cloneable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** 最小空闲连接数 */
+	private int minIdle = 0;
+
+	/** 最大空闲连接数，负数表示不限制 */
+	private int maxIdle = 8;
+
+	/** 最大连接数，负数表示不限制 */
+	private int maxTotal = 8;
+
+	/** 获取连接的最大等待毫秒数，负数表示一直等待 */
+	private long maxWaitMillis = -1;
+
+	/** 校验连接的SQL语句，为{@code null}时使用{@linkplain java.sql.Connection#isValid(int)}校验 */
+	private String validationQuery = null;
+
+	/** 空闲连接回收线程的运行间隔毫秒数，非正数表示不运行 */
+	private long timeBetweenEvictionRunsMillis = -1;
+
+	/** 是否缓存{@linkplain java.sql.PreparedStatement} */
+	private boolean poolPreparedStatements = false;
+
+	/** 每个连接缓存的最大{@linkplain java.sql.PreparedStatement}数，负数表示不限制 */
+	private int maxOpenPreparedStatements = -1;
+
+	public ConnectionPoolConfig()
+	{
+		super();
+	}
+
+	public int getMinIdle()
+	{
+		return minIdle;
+	}
+
+	public void setMinIdle(int minIdle)
+	{
+		this.minIdle = minIdle;
+	}
+
+	public int getMaxIdle()
+	{
+		return maxIdle;
+	}
+
+	public void setMaxIdle(int maxIdle)
+	{
+		this.maxIdle = maxIdle;
+	}
+
+	public int getMaxTotal()
+	{
+		return maxTotal;
+	}
+
+	public void setMaxTotal(int maxTotal)
+	{
+		this.maxTotal = maxTotal;
+	}
+
+	public long getMaxWaitMillis()
+	{
+		return maxWaitMillis;
+	}
+
+	public void setMaxWaitMillis(long maxWaitMillis)
+	{
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	public String getValidationQuery()
+	{
+		return validationQuery;
+	}
+
+	public void setValidationQuery(String validationQuery)
+	{
+		this.validationQuery = validationQuery;
+	}
+
+	public long getTimeBetweenEvictionRunsMillis()
+	{
+		return timeBetweenEvictionRunsMillis;
+	}
+
+	public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis)
+	{
+		this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+	}
+
+	public boolean isPoolPreparedStatements()
+	{
+		return poolPreparedStatements;
+	}
+
+	public void setPoolPreparedStatements(boolean poolPreparedStatements)
+	{
+		this.poolPreparedStatements = poolPreparedStatements;
+	}
+
+	public int getMaxOpenPreparedStatements()
+	{
+		return maxOpenPreparedStatements;
+	}
+
+	public void setMaxOpenPreparedStatements(int maxOpenPreparedStatements)
+	{
+		this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+	}
+
+	@Override
+	public ConnectionPoolConfig clone()
+	{
+		try
+		{
+			return (ConnectionPoolConfig) super.clone();
+		}
+		catch (CloneNotSupportedException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [minIdle=" + minIdle + ", maxIdle=" + maxIdle + ", maxTotal="
+				+ maxTotal + ", maxWaitMillis=" + maxWaitMillis + ", validationQuery=" + validationQuery
+				+ ", timeBetweenEvictionRunsMillis=" + timeBetweenEvictionRunsMillis + ", poolPreparedStatements="
+				+ poolPreparedStatements + ", maxOpenPreparedStatements=" + maxOpenPreparedStatements + "]";
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+/**
+ * 连接池配置解析器。
+ * <p>
+ * {@linkplain DefaultConnectionSource}使用此类为不同的数据库连接（比如不同的数据源）解析各自的连接池配置。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface ConnectionPoolConfigResolver
+{
+	/**
+	 * 解析连接池配置。
+	 * 
+	 * @param connectionIdentity
+	 * @param defaultConfig
+	 *            默认连接池配置，不应修改它
+	 * @return 返回{@code null}表示使用默认配置
+	 */
+	ConnectionPoolConfig resolve(ConnectionIdentity connectionIdentity, ConnectionPoolConfig defaultConfig);
+}
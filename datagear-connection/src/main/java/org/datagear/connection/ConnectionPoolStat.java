@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import java.io.Serializable;
+
+/**
+ * 连接池统计信息。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class ConnectionPoolStat implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** 连接URL */
+	private String url;
+
+	/** 连接用户名 */
+	private String user;
+
+	/** 最大连接数，负数表示不限制 */
+	private int maxTotal;
+
+	/** 使用中的连接数 */
+	private int numActive;
+
+	/** 空闲连接数 */
+	private int numIdle;
+
+	/** 等待获取连接的线程数 */
+	private int numWaiters;
+
+	/** 累计借出连接数 */
+	private long borrowedCount;
+
+	/** 最近借出连接的平均等待毫秒数 */
+	private long meanBorrowWaitMillis;
+
+	/** 借出连接的最大等待毫秒数 */
+	private long maxBorrowWaitMillis;
+
+	public ConnectionPoolStat()
+	{
+		super();
+	}
+
+	public String getUrl()
+	{
+		return url;
+	}
+
+	public void setUrl(String url)
+	{
+		this.url = url;
+	}
+
+	public String getUser()
+	{
+		return user;
+	}
+
+	public void setUser(String user)
+	{
+		this.user = user;
+	}
+
+	public int getMaxTotal()
+	{
+		return maxTotal;
+	}
+
+	public void setMaxTotal(int maxTotal)
+	{
+		this.maxTotal = maxTotal;
+	}
+
+	public int getNumActive()
+	{
+		return numActive;
+	}
+
+	public void setNumActive(int numActive)
+	{
+		this.numActive = numActive;
+	}
+
+	public int getNumIdle()
+	{
+		return numIdle;
+	}
+
+	public void setNumIdle(int numIdle)
+	{
+		this.numIdle = numIdle;
+	}
+
+	public int getNumWaiters()
+	{
+		return numWaiters;
+	}
+
+	public void setNumWaiters(int numWaiters)
+	{
+		this.numWaiters = numWaiters;
+	}
+
+	public long getBorrowedCount()
+	{
+		return borrowedCount;
+	}
+
+	public void setBorrowedCount(long borrowedCount)
+	{
+		this.borrowedCount = borrowedCount;
+	}
+
+	public long getMeanBorrowWaitMillis()
+	{
+		return meanBorrowWaitMillis;
+	}
+
+	public void setMeanBorrowWaitMillis(long meanBorrowWaitMillis)
+	{
+		this.meanBorrowWaitMillis = meanBorrowWaitMillis;
+	}
+
+	public long getMaxBorrowWaitMillis()
+	{
+		return maxBorrowWaitMillis;
+	}
+
+	public void setMaxBorrowWaitMillis(long maxBorrowWaitMillis)
+	{
+		this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [url=" + url + ", user=" + user + ", maxTotal=" + maxTotal
+				+ ", numActive=" + numActive + ", numIdle=" + numIdle + ", numWaiters=" + numWaiters
+				+ ", borrowedCount=" + borrowedCount + ", meanBorrowWaitMillis=" + meanBorrowWaitMillis
+				+ ", maxBorrowWaitMillis=" + maxBorrowWaitMillis + "]";
+	}
+}
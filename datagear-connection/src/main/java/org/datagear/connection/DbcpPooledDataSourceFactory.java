@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.ConnectionFactory;
+import org.apache.commons.dbcp2.DriverConnectionFactory;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * 基于DBCP2的{@linkplain PooledDataSourceFactory}。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DbcpPooledDataSourceFactory implements PooledDataSourceFactory
+{
+	public DbcpPooledDataSourceFactory()
+	{
+		super();
+	}
+
+	@Override
+	public DataSource create(Driver driver, String url, Properties properties, ConnectionPoolConfig config)
+			throws ConnectionSourceException
+	{
+		DriverBasicDataSource dataSource = new DriverBasicDataSource(driver, url, properties);
+
+		dataSource.setMinIdle(config.getMinIdle());
+		dataSource.setMaxIdle(config.getMaxIdle());
+		dataSource.setMaxTotal(config.getMaxTotal());
+		dataSource.setMaxWaitMillis(config.getMaxWaitMillis());
+		dataSource.setTimeBetweenEvictionRunsMillis(config.getTimeBetweenEvictionRunsMillis());
+		dataSource.setPoolPreparedStatements(config.isPoolPreparedStatements());
+		dataSource.setMaxOpenPreparedStatements(config.getMaxOpenPreparedStatements());
+
+		String validationQuery = config.getValidationQuery();
+		if (validationQuery != null && !validationQuery.isEmpty())
+			dataSource.setValidationQuery(validationQuery);
+
+		return dataSource;
+	}
+
+	@Override
+	public void close(DataSource dataSource) throws Exception
+	{
+		((DriverBasicDataSource) dataSource).close();
+	}
+
+	@Override
+	public ConnectionPoolStat getStat(DataSource dataSource)
+	{
+		if (!(dataSource instanceof DriverBasicDataSource))
+			return null;
+
+		DriverBasicDataSource basicDataSource = (DriverBasicDataSource) dataSource;
+
+		ConnectionPoolStat stat = new ConnectionPoolStat();
+		stat.setMaxTotal(basicDataSource.getMaxTotal());
+
+		GenericObjectPool<?> pool = basicDataSource.getPool();
+
+		// 连接池在首次获取连接时才会创建
+		if (pool != null)
+		{
+			stat.setNumActive(pool.getNumActive());
+			stat.setNumIdle(pool.getNumIdle());
+			stat.setNumWaiters(pool.getNumWaiters());
+			stat.setBorrowedCount(pool.getBorrowedCount());
+			stat.setMeanBorrowWaitMillis(pool.getMeanBorrowWaitTimeMillis());
+			stat.setMaxBorrowWaitMillis(pool.getMaxBorrowWaitTimeMillis());
+		}
+
+		return stat;
+	}
+
+	/**
+	 * 基于{@linkplain Driver}实例的{@linkplain BasicDataSource}。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class DriverBasicDataSource extends BasicDataSource
+	{
+		private Driver driver;
+
+		private Properties connectionProperties;
+
+		public DriverBasicDataSource(Driver driver, String url, Properties properties)
+		{
+			super();
+			this.driver = driver;
+			super.setDriverClassName(driver.getClass().getName());
+			super.setUrl(url);
+			this.connectionProperties = properties;
+		}
+
+		@Override
+		public Driver getDriver()
+		{
+			return driver;
+		}
+
+		@Override
+		public void setDriver(Driver driver)
+		{
+			this.driver = driver;
+		}
+
+		/**
+		 * 获取底层连接池，还未创建时返回{@code null}。
+		 *
+		 * @return
+		 */
+		public GenericObjectPool<?> getPool()
+		{
+			return getConnectionPool();
+		}
+
+		@Override
+		protected ConnectionFactory createConnectionFactory() throws SQLException
+		{
+			return new DriverConnectionFactory(driver, getUrl(), this.connectionProperties);
+		}
+	}
+}
@@ -14,8 +14,14 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -24,9 +30,6 @@ import java.util.function.Function;
 
 import javax.sql.DataSource;
 
-import org.apache.commons.dbcp2.BasicDataSource;
-import org.apache.commons.dbcp2.ConnectionFactory;
-import org.apache.commons.dbcp2.DriverConnectionFactory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.datagear.util.JDBCCompatiblity;
@@ -36,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy.Eviction;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
 
@@ -44,6 +48,11 @@ import com.github.benmanes.caffeine.cache.RemovalListener;
  * <p>
  * 注意：此类实例不再使用后，应该调用。
  * </p>
+ * <p>
+ * 此类为每个{@linkplain ConnectionIdentity}创建一个内置连接池数据源，连接池由{@linkplain #getPooledDataSourceFactory()}创建（默认为DBCP2），
+ * 并使用{@linkplain #getConnectionPoolConfig()}、{@linkplain #getConnectionPoolConfigResolver()}解析连接池配置，
+ * 可通过{@linkplain #getConnectionPoolStats()}获取各连接池的当前统计信息。
+ * </p>
  * 
  * @author datagear@163.com
  *
@@ -52,18 +61,40 @@ public class DefaultConnectionSource implements ConnectionSource
 {
 	private static Logger LOGGER = LoggerFactory.getLogger(DefaultConnectionSource.class);
 
+	/** 默认最多缓存的内置数据源数 */
+	public static final int DEFAULT_MAX_INTERNAL_DATA_SOURCES = 50;
+
+	/** 查找首选驱动程序的分段锁数 */
+	protected static final int URL_RESOLVE_LOCK_COUNT = 64;
+
 	private DriverEntityManager driverEntityManager;
 
 	private DriverChecker driverChecker = new SimpleDriverChecker();
 
 	private PropertiesProcessor propertiesProcessor = null;
 
+	/** 内置连接池数据源工厂 */
+	private PooledDataSourceFactory pooledDataSourceFactory = new DbcpPooledDataSourceFactory();
+
+	/** 默认连接池配置 */
+	private ConnectionPoolConfig connectionPoolConfig = new ConnectionPoolConfig();
+
+	/** 连接池配置解析器，为{@code null}时都使用默认连接池配置 */
+	private ConnectionPoolConfigResolver connectionPoolConfigResolver = null;
+
 	private Cache<ConnectionIdentity, InternalDataSourceHolder> internalDataSourceCache;
 
 	private ConcurrentMap<String, PreferedDriverEntityResult> _urlPreferedDriverEntityMap = new ConcurrentHashMap<>();
 
+	private final Object[] _urlResolveLocks = createUrlResolveLocks(URL_RESOLVE_LOCK_COUNT);
+
+	private final Object _driverEntityModifiedLock = new Object();
+
 	private volatile long _driverEntityManagerLastModified = -1;
 
+	/** 上次检查时的驱动程序签名映射表，用于找出发生变化的驱动程序 */
+	private volatile Map<String, String> _driverEntitySignatures = null;
+
 	public DefaultConnectionSource()
 	{
 		this(null);
@@ -73,9 +104,9 @@ public class DefaultConnectionSource implements ConnectionSource
 	{
 		super();
 		this.driverEntityManager = driverEntityManager;
-		this.internalDataSourceCache = Caffeine.newBuilder().maximumSize(50)
+		this.internalDataSourceCache = Caffeine.newBuilder().maximumSize(DEFAULT_MAX_INTERNAL_DATA_SOURCES)
 				.expireAfterAccess(60 * 24, TimeUnit.MINUTES)
-				.removalListener(new DriverBasicDataSourceRemovalListener()).build();
+				.removalListener(new InternalDataSourceRemovalListener()).build();
 	}
 
 	public DriverEntityManager getDriverEntityManager()
@@ -108,6 +139,58 @@ public class DefaultConnectionSource implements ConnectionSource
 		this.propertiesProcessor = propertiesProcessor;
 	}
 
+	public PooledDataSourceFactory getPooledDataSourceFactory()
+	{
+		return pooledDataSourceFactory;
+	}
+
+	/**
+	 * 设置内置连接池数据源工厂。
+	 * <p>
+	 * 注意：它仅影响之后新创建的内置数据源。
+	 * </p>
+	 * 
+	 * @param pooledDataSourceFactory
+	 */
+	public void setPooledDataSourceFactory(PooledDataSourceFactory pooledDataSourceFactory)
+	{
+		this.pooledDataSourceFactory = pooledDataSourceFactory;
+	}
+
+	public ConnectionPoolConfig getConnectionPoolConfig()
+	{
+		return connectionPoolConfig;
+	}
+
+	public void setConnectionPoolConfig(ConnectionPoolConfig connectionPoolConfig)
+	{
+		this.connectionPoolConfig = connectionPoolConfig;
+	}
+
+	public ConnectionPoolConfigResolver getConnectionPoolConfigResolver()
+	{
+		return connectionPoolConfigResolver;
+	}
+
+	public void setConnectionPoolConfigResolver(ConnectionPoolConfigResolver connectionPoolConfigResolver)
+	{
+		this.connectionPoolConfigResolver = connectionPoolConfigResolver;
+	}
+
+	/**
+	 * 设置最多缓存的内置数据源数，超出时将关闭最近最少使用的内置数据源。
+	 * 
+	 * @param maxInternalDataSources
+	 */
+	public void setMaxInternalDataSources(int maxInternalDataSources)
+	{
+		Optional<Eviction<ConnectionIdentity, InternalDataSourceHolder>> eviction = this.internalDataSourceCache
+				.policy().eviction();
+
+		if (eviction.isPresent())
+			eviction.get().setMaximum(Math.max(maxInternalDataSources, 1));
+	}
+
 	protected Cache<ConnectionIdentity, InternalDataSourceHolder> getInternalDataSourceCache()
 	{
 		return this.internalDataSourceCache;
@@ -145,6 +228,40 @@ public class DefaultConnectionSource implements ConnectionSource
 		return getPreferredConnection(connectionOption);
 	}
 
+	/**
+	 * 获取当前所有内置连接池的统计信息。
+	 * 
+	 * @return
+	 */
+	public List<ConnectionPoolStat> getConnectionPoolStats()
+	{
+		List<ConnectionPoolStat> stats = new ArrayList<>();
+
+		for (Map.Entry<ConnectionIdentity, InternalDataSourceHolder> entry : this.internalDataSourceCache.asMap()
+				.entrySet())
+		{
+			InternalDataSourceHolder holder = entry.getValue();
+
+			if (!holder.hasDataSource())
+				continue;
+
+			ConnectionPoolStat stat = holder.getPooledDataSourceFactory().getStat(holder.getDataSource());
+
+			if (stat == null)
+				continue;
+
+			ConnectionIdentity connectionIdentity = entry.getKey();
+			Object user = connectionIdentity.getProperties().get(ConnectionOption.PROPERTY_NAME_USER);
+
+			stat.setUrl(connectionIdentity.getUrl());
+			stat.setUser(user == null ? null : user.toString());
+
+			stats.add(stat);
+		}
+
+		return stats;
+	}
+
 	/**
 	 * 关闭。
 	 */
@@ -153,8 +270,50 @@ public class DefaultConnectionSource implements ConnectionSource
 		this.internalDataSourceCache.invalidateAll();
 	}
 
+	/**
+	 * 预先查找并缓存指定连接的首选驱动程序，以免首次获取连接时才查找。
+	 * <p>
+	 * 已缓存时不会执行任何操作，否则将建立一个连接并立即关闭它。
+	 * </p>
+	 * 
+	 * @param connectionOption
+	 * @return 是否找到了首选驱动程序
+	 */
+	public boolean resolvePreferredDriverEntity(ConnectionOption connectionOption)
+	{
+		invalidatePreferedDriverEntitiesIfModified();
+
+		PreferedDriverEntityResult preferedDriverEntityResult = this._urlPreferedDriverEntityMap
+				.get(connectionOption.getUrl());
+
+		if (preferedDriverEntityResult != null)
+			return preferedDriverEntityResult.hasDriverEntity();
+
+		Connection cn = null;
+
+		try
+		{
+			cn = getPreferredConnection(connectionOption);
+			return true;
+		}
+		catch (ConnectionSourceException e)
+		{
+			LOGGER.debug("Resolve prefered driver entity error for [{}]", connectionOption, e);
+
+			preferedDriverEntityResult = this._urlPreferedDriverEntityMap.get(connectionOption.getUrl());
+			return (preferedDriverEntityResult != null && preferedDriverEntityResult.hasDriverEntity());
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+		}
+	}
+
 	/**
 	 * 获取首选{@linkplain Connection}。
+	 * <p>
+	 * 同一URL的首选驱动程序同时只会由一个线程查找，其他线程将等待并使用它的查找结果。
+	 * </p>
 	 * 
 	 * @param connectionOption
 	 * @return
@@ -165,40 +324,73 @@ public class DefaultConnectionSource implements ConnectionSource
 	protected Connection getPreferredConnection(ConnectionOption connectionOption)
 			throws UnsupportedGetConnectionException, ConnectionSourceException
 	{
-		if (this.driverEntityManager.getLastModified() > this._driverEntityManagerLastModified)
-		{
-			this._driverEntityManagerLastModified = this.driverEntityManager.getLastModified();
-			this._urlPreferedDriverEntityMap.clear();
-		}
+		invalidatePreferedDriverEntitiesIfModified();
 
 		String url = connectionOption.getUrl();
 
 		PreferedDriverEntityResult preferedDriverEntityResult = this._urlPreferedDriverEntityMap.get(url);
 
-		if (preferedDriverEntityResult != null)
+		if (preferedDriverEntityResult == null)
 		{
-			if (preferedDriverEntityResult.hasDriverEntity())
+			synchronized (getUrlResolveLock(url))
 			{
-				DriverEntity preferedDriverEntity = preferedDriverEntityResult.getDriverEntity();
+				preferedDriverEntityResult = this._urlPreferedDriverEntityMap.get(url);
 
-				Driver preferedDriver = this.driverEntityManager.getDriver(preferedDriverEntity);
-				Connection preferedConnection = getConnection(preferedDriver, connectionOption);
+				if (preferedDriverEntityResult == null)
+					return resolvePreferredConnection(connectionOption);
+			}
+		}
 
-				if (LOGGER.isDebugEnabled())
-					LOGGER.debug("Get prefered connection by cached [" + preferedDriverEntity + "] for ["
-							+ connectionOption + "]");
+		return getPreferredConnection(preferedDriverEntityResult, connectionOption);
+	}
 
-				return preferedConnection;
-			}
-			else
-			{
-				if (LOGGER.isDebugEnabled())
-					LOGGER.debug("Get null connection by cached no-prefered " + DriverEntity.class.getSimpleName()
-							+ " for [" + connectionOption + "]");
+	/**
+	 * 使用已缓存的首选驱动程序查找结果获取{@linkplain Connection}。
+	 * 
+	 * @param preferedDriverEntityResult
+	 * @param connectionOption
+	 * @return
+	 * @throws UnsupportedGetConnectionException
+	 * @throws ConnectionSourceException
+	 */
+	protected Connection getPreferredConnection(PreferedDriverEntityResult preferedDriverEntityResult,
+			ConnectionOption connectionOption) throws UnsupportedGetConnectionException, ConnectionSourceException
+	{
+		if (preferedDriverEntityResult.hasDriverEntity())
+		{
+			DriverEntity preferedDriverEntity = preferedDriverEntityResult.getDriverEntity();
 
-				throw new UnsupportedGetConnectionException(connectionOption);
-			}
+			Driver preferedDriver = this.driverEntityManager.getDriver(preferedDriverEntity);
+			Connection preferedConnection = getConnection(preferedDriver, connectionOption);
+
+			if (LOGGER.isDebugEnabled())
+				LOGGER.debug("Get prefered connection by cached [" + preferedDriverEntity + "] for ["
+						+ connectionOption + "]");
+
+			return preferedConnection;
 		}
+		else
+		{
+			if (LOGGER.isDebugEnabled())
+				LOGGER.debug("Get null connection by cached no-prefered " + DriverEntity.class.getSimpleName()
+						+ " for [" + connectionOption + "]");
+
+			throw new UnsupportedGetConnectionException(connectionOption);
+		}
+	}
+
+	/**
+	 * 查找首选驱动程序，并返回使用它建立的{@linkplain Connection}。
+	 * 
+	 * @param connectionOption
+	 * @return
+	 * @throws UnsupportedGetConnectionException
+	 * @throws ConnectionSourceException
+	 */
+	protected Connection resolvePreferredConnection(ConnectionOption connectionOption)
+			throws UnsupportedGetConnectionException, ConnectionSourceException
+	{
+		String url = connectionOption.getUrl();
 
 		Connection preferedConnection = null;
 
@@ -255,6 +447,178 @@ public class DefaultConnectionSource implements ConnectionSource
 			return preferedConnection;
 	}
 
+	/**
+	 * 获取查找指定URL首选驱动程序的锁对象。
+	 * <p>
+	 * 锁对象是按照URL散列值分段的，数目固定，不同的URL可能共用一个锁，这仅会使它们的查找串行执行。
+	 * </p>
+	 * 
+	 * @param url
+	 * @return
+	 */
+	protected Object getUrlResolveLock(String url)
+	{
+		int index = (url.hashCode() & Integer.MAX_VALUE) % this._urlResolveLocks.length;
+		return this._urlResolveLocks[index];
+	}
+
+	/**
+	 * 创建查找首选驱动程序的分段锁。
+	 * 
+	 * @param count
+	 * @return
+	 */
+	protected static Object[] createUrlResolveLocks(int count)
+	{
+		Object[] locks = new Object[count];
+
+		for (int i = 0; i < count; i++)
+			locks[i] = new Object();
+
+		return locks;
+	}
+
+	/**
+	 * 如果{@linkplain DriverEntityManager}已修改，则移除受影响URL的首选驱动程序缓存。
+	 * <p>
+	 * 仅移除首选驱动程序已被删除、修改的URL，以及被新增、修改的驱动程序接受的URL，
+	 * 其他URL的缓存保持不变，以免修改驱动程序后所有URL都要重新尝试建立连接。
+	 * </p>
+	 */
+	protected void invalidatePreferedDriverEntitiesIfModified()
+	{
+		if (this._driverEntitySignatures != null
+				&& this.driverEntityManager.getLastModified() <= this._driverEntityManagerLastModified)
+			return;
+
+		synchronized (this._driverEntityModifiedLock)
+		{
+			Map<String, String> prevSignatures = this._driverEntitySignatures;
+
+			if (prevSignatures != null
+					&& this.driverEntityManager.getLastModified() <= this._driverEntityManagerLastModified)
+				return;
+
+			// 先获取全部，它可能会重新加载并更新最后修改时间
+			List<DriverEntity> driverEntities = this.driverEntityManager.getAll();
+			Map<String, String> signatures = new HashMap<>();
+
+			for (DriverEntity driverEntity : driverEntities)
+				signatures.put(driverEntity.getId(), getDriverEntitySignature(driverEntity));
+
+			this._driverEntityManagerLastModified = this.driverEntityManager.getLastModified();
+			this._driverEntitySignatures = signatures;
+
+			if (prevSignatures == null)
+			{
+				this._urlPreferedDriverEntityMap.clear();
+				return;
+			}
+
+			Set<String> removedOrModifiedIds = new HashSet<>();
+			List<DriverEntity> addedOrModified = new ArrayList<>();
+
+			for (Map.Entry<String, String> entry : prevSignatures.entrySet())
+			{
+				if (!entry.getValue().equals(signatures.get(entry.getKey())))
+					removedOrModifiedIds.add(entry.getKey());
+			}
+
+			for (DriverEntity driverEntity : driverEntities)
+			{
+				if (!signatures.get(driverEntity.getId()).equals(prevSignatures.get(driverEntity.getId())))
+					addedOrModified.add(driverEntity);
+			}
+
+			if (removedOrModifiedIds.isEmpty() && addedOrModified.isEmpty())
+				return;
+
+			for (Iterator<Map.Entry<String, PreferedDriverEntityResult>> it = this._urlPreferedDriverEntityMap
+					.entrySet().iterator(); it.hasNext();)
+			{
+				Map.Entry<String, PreferedDriverEntityResult> entry = it.next();
+				PreferedDriverEntityResult result = entry.getValue();
+
+				boolean invalid = (result.hasDriverEntity()
+						&& removedOrModifiedIds.contains(result.getDriverEntity().getId()));
+
+				if (!invalid)
+				{
+					for (DriverEntity driverEntity : addedOrModified)
+					{
+						if (acceptsURLQuietly(driverEntity, entry.getKey()))
+						{
+							invalid = true;
+							break;
+						}
+					}
+				}
+
+				if (invalid)
+				{
+					it.remove();
+
+					LOGGER.debug("Invalidate cached prefered driver entity for [{}]", entry.getKey());
+				}
+			}
+		}
+	}
+
+	/**
+	 * 获取{@linkplain DriverEntity}的签名，签名不同表示驱动程序已修改。
+	 * <p>
+	 * 签名包含驱动类名、JRE版本，以及每个驱动程序库的名称、大小、上次修改时间，因此仅替换驱动程序库时也会被识别为已修改。
+	 * </p>
+	 * 
+	 * @param driverEntity
+	 * @return
+	 */
+	protected String getDriverEntitySignature(DriverEntity driverEntity)
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(driverEntity.getDriverClassName()).append('/').append(driverEntity.getJreVersion());
+
+		List<DriverLibraryInfo> libraryInfos = new ArrayList<>(
+				this.driverEntityManager.getDriverLibraryInfos(driverEntity));
+
+		Collections.sort(libraryInfos, new Comparator<DriverLibraryInfo>()
+		{
+			@Override
+			public int compare(DriverLibraryInfo o1, DriverLibraryInfo o2)
+			{
+				return o1.getName().compareTo(o2.getName());
+			}
+		});
+
+		for (DriverLibraryInfo libraryInfo : libraryInfos)
+		{
+			sb.append('/').append(libraryInfo.getName()).append(':').append(libraryInfo.getSize()).append(':')
+					.append(libraryInfo.getLastModified());
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * 指定{@linkplain DriverEntity}的驱动程序是否接受URL，出现异常时返回{@code false}。
+	 * 
+	 * @param driverEntity
+	 * @param url
+	 * @return
+	 */
+	protected boolean acceptsURLQuietly(DriverEntity driverEntity, String url)
+	{
+		try
+		{
+			Driver driver = this.driverEntityManager.getDriver(driverEntity);
+			return (driver != null && acceptsURL(driver, url));
+		}
+		catch (Throwable t)
+		{
+			return false;
+		}
+	}
+
 	/**
 	 * 查找经过首选优先级排序接受和校验的{@linkplain DriverEntityDriver}列表。
 	 * <p>
@@ -404,9 +768,12 @@ public class DefaultConnectionSource implements ConnectionSource
 						@Override
 						public InternalDataSourceHolder apply(ConnectionIdentity key)
 						{
-							DataSource dataSource = createInternalDataSource(driver, url, properties);
+							PooledDataSourceFactory pooledDataSourceFactory = getPooledDataSourceFactory();
+							DataSource dataSource = createInternalDataSource(pooledDataSourceFactory, driver, url,
+									properties);
 							InternalDataSourceHolder holder = new InternalDataSourceHolder();
 							holder.setDataSource(dataSource);
+							holder.setPooledDataSourceFactory(pooledDataSourceFactory);
 
 							return holder;
 						}
@@ -483,15 +850,35 @@ public class DefaultConnectionSource implements ConnectionSource
 		return driver.connect(url, properties);
 	}
 
-	protected DataSource createInternalDataSource(Driver driver, String url, Properties properties)
+	protected DataSource createInternalDataSource(PooledDataSourceFactory pooledDataSourceFactory, Driver driver,
+			String url, Properties properties)
 	{
-		DriverBasicDataSource re = new DriverBasicDataSource(driver, url, properties);
+		ConnectionIdentity connectionIdentity = ConnectionIdentity.valueOf(url, properties);
+		ConnectionPoolConfig config = resolveConnectionPoolConfig(connectionIdentity);
 
-		LOGGER.debug("Create internal data source for {}", ConnectionIdentity.valueOf(url, properties));
+		DataSource re = pooledDataSourceFactory.create(driver, url, properties, config);
+
+		LOGGER.debug("Create internal data source for {} with {}", connectionIdentity, config);
 
 		return re;
 	}
 
+	/**
+	 * 解析连接池配置。
+	 * 
+	 * @param connectionIdentity
+	 * @return
+	 */
+	protected ConnectionPoolConfig resolveConnectionPoolConfig(ConnectionIdentity connectionIdentity)
+	{
+		ConnectionPoolConfig config = null;
+
+		if (this.connectionPoolConfigResolver != null)
+			config = this.connectionPoolConfigResolver.resolve(connectionIdentity, this.connectionPoolConfig);
+
+		return (config != null ? config : this.connectionPoolConfig);
+	}
+
 	protected String toDriverString(Driver driver)
 	{
 		return driver.getClass().getName() + "[majorVersion=" + driver.getMajorVersion() + ", minorVersion="
@@ -611,55 +998,15 @@ public class DefaultConnectionSource implements ConnectionSource
 	}
 
 	/**
-	 * 基于{@linkplain Driver}实例的{@linkplain BasicDataSource}。
-	 * 
-	 * @author datagear@163.com
-	 *
-	 */
-	protected static class DriverBasicDataSource extends BasicDataSource
-	{
-		private Driver driver;
-
-		private Properties connectionProperties;
-
-		public DriverBasicDataSource(Driver driver, String url, Properties properties)
-		{
-			super();
-			this.driver = driver;
-			super.setDriverClassName(driver.getClass().getName());
-			super.setUrl(url);
-			this.connectionProperties = properties;
-		}
-
-		@Override
-		public Driver getDriver()
-		{
-			return driver;
-		}
-
-		@Override
-		public void setDriver(Driver driver)
-		{
-			this.driver = driver;
-		}
-
-		@Override
-		protected ConnectionFactory createConnectionFactory() throws SQLException
-		{
-			return new DriverConnectionFactory(driver, getUrl(), this.connectionProperties);
-		}
-	}
-
-	/**
-	 * {@linkplain DriverBasicDataSource}缓存移除监听器。
+	 * 内置数据源缓存移除监听器。
 	 * <p>
-	 * 它负责调用{@linkplain DriverBasicDataSource#close()}。
+	 * 它负责使用创建内置数据源的{@linkplain PooledDataSourceFactory}关闭内置数据源。
 	 * </p>
 	 * 
 	 * @author datagear@163.com
 	 *
 	 */
-	protected static class DriverBasicDataSourceRemovalListener
+	protected static class InternalDataSourceRemovalListener
 			implements RemovalListener<ConnectionIdentity, InternalDataSourceHolder>
 	{
 		@Override
@@ -669,21 +1016,14 @@ public class DefaultConnectionSource implements ConnectionSource
 			if (!value.hasDataSource())
 				return;
 
-			DataSource dataSource = value.getDataSource();
-
-			if (!(dataSource instanceof DriverBasicDataSource))
-				throw new UnsupportedOperationException(
-						"This " + DriverBasicDataSourceRemovalListener.class.getSimpleName() + " only support "
-								+ DriverBasicDataSource.class.getSimpleName());
-
 			try
 			{
-				((DriverBasicDataSource) dataSource).close();
+				value.getPooledDataSourceFactory().close(value.getDataSource());
 
 				if (LOGGER.isDebugEnabled())
 					LOGGER.debug("Close internal data source for {}", key);
 			}
-			catch (SQLException e)
+			catch (Exception e)
 			{
 				LOGGER.error("Close internal data source exception:", e);
 			}
@@ -702,6 +1042,9 @@ public class DefaultConnectionSource implements ConnectionSource
 		/** 内置数据源 */
 		private DataSource dataSource = null;
 
+		/** 创建内置数据源的工厂 */
+		private PooledDataSourceFactory pooledDataSourceFactory = null;
+
 		public InternalDataSourceHolder()
 		{
 			super();
@@ -731,5 +1074,15 @@ public class DefaultConnectionSource implements ConnectionSource
 		{
 			this.dataSource = dataSource;
 		}
+
+		public PooledDataSourceFactory getPooledDataSourceFactory()
+		{
+			return pooledDataSourceFactory;
+		}
+
+		public void setPooledDataSourceFactory(PooledDataSourceFactory pooledDataSourceFactory)
+		{
+			this.pooledDataSourceFactory = pooledDataSourceFactory;
+		}
 	}
 }
@@ -67,6 +67,9 @@ public interface DriverEntityManager
 
 	/**
 	 * 获取上次变更时间。
+	 * <p>
+	 * {@linkplain DriverEntity}、驱动程序库的变更都应更新它。
+	 * </p>
 	 * 
 	 * @return
 	 * @throws DriverEntityManagerException
@@ -25,6 +25,9 @@ public class DriverLibraryInfo implements Serializable
 	/** 库字节数大小 */
 	private long size;
 
+	/** 库上次修改时间 */
+	private long lastModified = -1;
+
 	public DriverLibraryInfo()
 	{
 		super();
@@ -37,6 +40,14 @@ public class DriverLibraryInfo implements Serializable
 		this.size = size;
 	}
 
+	public DriverLibraryInfo(String name, long size, long lastModified)
+	{
+		super();
+		this.name = name;
+		this.size = size;
+		this.lastModified = lastModified;
+	}
+
 	public String getName()
 	{
 		return name;
@@ -57,9 +68,20 @@ public class DriverLibraryInfo implements Serializable
 		this.size = size;
 	}
 
+	public long getLastModified()
+	{
+		return lastModified;
+	}
+
+	public void setLastModified(long lastModified)
+	{
+		this.lastModified = lastModified;
+	}
+
 	@Override
 	public String toString()
 	{
-		return getClass().getSimpleName() + " [name=" + name + ", size=" + size + "]";
+		return getClass().getSimpleName() + " [name=" + name + ", size=" + size + ", lastModified=" + lastModified
+				+ "]";
 	}
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import java.sql.Driver;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+/**
+ * 连接池数据源工厂。
+ * <p>
+ * {@linkplain DefaultConnectionSource}使用此类创建、关闭内置的连接池数据源，以及获取它们的运行统计信息，
+ * 可以通过实现此接口替换默认的DBCP2连接池。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface PooledDataSourceFactory
+{
+	/**
+	 * 创建连接池数据源。
+	 * 
+	 * @param driver
+	 * @param url
+	 * @param properties
+	 * @param config
+	 * @return
+	 * @throws ConnectionSourceException
+	 */
+	DataSource create(Driver driver, String url, Properties properties, ConnectionPoolConfig config)
+			throws ConnectionSourceException;
+
+	/**
+	 * 关闭由{@linkplain #create(Driver, String, Properties, ConnectionPoolConfig)}创建的连接池数据源。
+	 * 
+	 * @param dataSource
+	 * @throws Exception
+	 */
+	void close(DataSource dataSource) throws Exception;
+
+	/**
+	 * 获取由{@linkplain #create(Driver, String, Properties, ConnectionPoolConfig)}创建的连接池数据源的当前统计信息。
+	 * 
+	 * @param dataSource
+	 * @return 不支持时返回{@code null}
+	 */
+	ConnectionPoolStat getStat(DataSource dataSource);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.datagear.util.StringUtil;
+
+/**
+ * 以连接URL前缀匹配的{@linkplain ConnectionPoolConfigResolver}。
+ * <p>
+ * 它根据{@linkplain #getMaxTotals()}为连接URL匹配的连接池单独设置最大连接数，有多个前缀匹配时使用最长的那个，
+ * 没有匹配时使用默认连接池配置。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class PrefixURLConnectionPoolConfigResolver implements ConnectionPoolConfigResolver
+{
+	/**
+	 * 最大连接数配置项的分隔符。
+	 * <p>
+	 * 连接URL中可能包含','（比如MySQL、PostgreSQL的多主机URL）、';'（比如SQL Server、H2的URL属性），
+	 * 而'|'不是合法的URL字符，通常的驱动程序也都不使用它。
+	 * </p>
+	 */
+	public static final String MAX_TOTALS_SEPARATOR = "|";
+
+	/** 连接URL前缀-最大连接数映射表 */
+	private Map<String, Integer> maxTotals = Collections.emptyMap();
+
+	public PrefixURLConnectionPoolConfigResolver()
+	{
+		super();
+	}
+
+	public PrefixURLConnectionPoolConfigResolver(Map<String, Integer> maxTotals)
+	{
+		super();
+		this.maxTotals = maxTotals;
+	}
+
+	public Map<String, Integer> getMaxTotals()
+	{
+		return maxTotals;
+	}
+
+	public void setMaxTotals(Map<String, Integer> maxTotals)
+	{
+		this.maxTotals = maxTotals;
+	}
+
+	@Override
+	public ConnectionPoolConfig resolve(ConnectionIdentity connectionIdentity, ConnectionPoolConfig defaultConfig)
+	{
+		String url = connectionIdentity.getUrl();
+
+		if (url == null)
+			return null;
+
+		String matchedPrefix = null;
+
+		for (String prefix : this.maxTotals.keySet())
+		{
+			if (url.startsWith(prefix) && (matchedPrefix == null || prefix.length() > matchedPrefix.length()))
+				matchedPrefix = prefix;
+		}
+
+		if (matchedPrefix == null)
+			return null;
+
+		int maxTotal = this.maxTotals.get(matchedPrefix);
+
+		ConnectionPoolConfig config = defaultConfig.clone();
+		config.setMaxTotal(maxTotal);
+
+		// 最大空闲连接数不应超过最大连接数
+		if (maxTotal >= 0 && (config.getMaxIdle() < 0 || config.getMaxIdle() > maxTotal))
+			config.setMaxIdle(maxTotal);
+
+		if (maxTotal >= 0 && config.getMinIdle() > maxTotal)
+			config.setMinIdle(maxTotal);
+
+		return config;
+	}
+
+	/**
+	 * 解析{@code [URL前缀]=[最大连接数]|[URL前缀]=[最大连接数]}格式的最大连接数配置。
+	 * <p>
+	 * 由于URL前缀中可能包含'='，每一项都以最后一个'='分隔。
+	 * </p>
+	 * 
+	 * @param maxTotals
+	 *            允许为{@code null}
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             当格式不合法时
+	 */
+	public static Map<String, Integer> parseMaxTotals(String maxTotals) throws IllegalArgumentException
+	{
+		Map<String, Integer> re = new HashMap<>();
+
+		if (StringUtil.isEmpty(maxTotals))
+			return re;
+
+		List<String> items = StringUtil.splitWithTrim(maxTotals, Pattern.quote(MAX_TOTALS_SEPARATOR));
+
+		for (String item : items)
+		{
+			if (item.isEmpty())
+				continue;
+
+			int idx = item.lastIndexOf('=');
+			String prefix = (idx > 0 ? item.substring(0, idx).trim() : "");
+
+			try
+			{
+				if (prefix.isEmpty())
+					throw new NumberFormatException();
+
+				re.put(prefix, Integer.parseInt(item.substring(idx + 1).trim()));
+			}
+			catch (NumberFormatException e)
+			{
+				throw new IllegalArgumentException(
+						"Illegal item '" + item + "', it should be [url-prefix]=[max-total]");
+			}
+		}
+
+		return re;
+	}
+}
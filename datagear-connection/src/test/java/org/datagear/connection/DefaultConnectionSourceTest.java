@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.datagear.util.FileUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * {@linkplain DefaultConnectionSource}单元测试类。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class DefaultConnectionSourceTest
+{
+	private static final String DRIVERS_DIRECTORY = "target/DefaultConnectionSourceTest/drivers/";
+
+	private XmlDriverEntityManager driverEntityManager;
+
+	@Before
+	public void setUp() throws Exception
+	{
+		FileUtil.deleteFile(FileUtil.getDirectory(DRIVERS_DIRECTORY));
+
+		this.driverEntityManager = new XmlDriverEntityManager(DRIVERS_DIRECTORY);
+		this.driverEntityManager.init();
+	}
+
+	@After
+	public void tearDown() throws Exception
+	{
+		this.driverEntityManager.releaseAll();
+	}
+
+	@Test
+	public void getUrlResolveLockTest()
+	{
+		DefaultConnectionSource connectionSource = new DefaultConnectionSource(this.driverEntityManager);
+
+		String url = "jdbc:mysql://127.0.0.1:3306/dg";
+		assertSame(connectionSource.getUrlResolveLock(url), connectionSource.getUrlResolveLock(new String(url)));
+
+		Map<Object, Boolean> locks = new IdentityHashMap<>();
+
+		for (int i = 0; i < 10000; i++)
+			locks.put(connectionSource.getUrlResolveLock("jdbc:mysql://127.0.0.1:3306/db" + i), true);
+
+		assertEquals(DefaultConnectionSource.URL_RESOLVE_LOCK_COUNT, locks.size());
+	}
+
+	@Test
+	public void getDriverEntitySignatureTest() throws Exception
+	{
+		DefaultConnectionSource connectionSource = new DefaultConnectionSource(this.driverEntityManager);
+
+		DriverEntity driverEntity = DriverEntity.valueOf("mysql", "mysql.Driver");
+		driverEntity.setJreVersion("8");
+		this.driverEntityManager.add(driverEntity);
+
+		String signature0 = connectionSource.getDriverEntitySignature(driverEntity);
+		long lastModified0 = this.driverEntityManager.getLastModified();
+
+		this.driverEntityManager.addDriverLibrary(driverEntity, "driver.jar",
+				new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+		String signature1 = connectionSource.getDriverEntitySignature(driverEntity);
+		long lastModified1 = this.driverEntityManager.getLastModified();
+
+		assertNotEquals(signature0, signature1);
+		assertTrue(lastModified1 > lastModified0);
+
+		// 同名、同大小的库被替换
+		this.driverEntityManager.getDriverLibraryFile(driverEntity.getId(), "driver.jar")
+				.setLastModified(System.currentTimeMillis() - 60000);
+
+		assertNotEquals(signature1, connectionSource.getDriverEntitySignature(driverEntity));
+
+		this.driverEntityManager.deleteDriverLibrary(driverEntity, "driver.jar");
+
+		assertEquals(signature0, connectionSource.getDriverEntitySignature(driverEntity));
+		assertTrue(this.driverEntityManager.getLastModified() > lastModified1);
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * {@linkplain PrefixURLConnectionPoolConfigResolver}单元测试类。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class PrefixURLConnectionPoolConfigResolverTest
+{
+	@Test
+	public void resolveTest()
+	{
+		Map<String, Integer> maxTotals = new HashMap<>();
+		maxTotals.put("jdbc:mysql://", 20);
+		maxTotals.put("jdbc:mysql://report-db", 4);
+
+		PrefixURLConnectionPoolConfigResolver resolver = new PrefixURLConnectionPoolConfigResolver(maxTotals);
+
+		ConnectionPoolConfig defaultConfig = new ConnectionPoolConfig();
+
+		{
+			ConnectionPoolConfig config = resolver.resolve(
+					ConnectionIdentity.valueOf("jdbc:mysql://report-db:3306/dg", new HashMap<String, Object>()),
+					defaultConfig);
+
+			assertEquals(4, config.getMaxTotal());
+			assertEquals(4, config.getMaxIdle());
+		}
+
+		{
+			ConnectionPoolConfig config = resolver.resolve(
+					ConnectionIdentity.valueOf("jdbc:mysql://127.0.0.1:3306/dg", new HashMap<String, Object>()),
+					defaultConfig);
+
+			assertEquals(20, config.getMaxTotal());
+			assertEquals(defaultConfig.getMaxIdle(), config.getMaxIdle());
+		}
+
+		{
+			ConnectionPoolConfig config = resolver.resolve(
+					ConnectionIdentity.valueOf("jdbc:postgresql://127.0.0.1:5432/dg", new HashMap<String, Object>()),
+					defaultConfig);
+
+			assertNull(config);
+		}
+
+		assertEquals(8, defaultConfig.getMaxTotal());
+	}
+
+	@Test
+	public void parseMaxTotalsTest()
+	{
+		{
+			Map<String, Integer> maxTotals = PrefixURLConnectionPoolConfigResolver.parseMaxTotals(
+					"jdbc:mysql://report-db=20 | jdbc:postgresql://10.0.0.8,10.0.0.9/dg?targetServerType=primary=4"
+							+ "|jdbc:sqlserver://10.0.0.7;databaseName=dg=6|");
+
+			assertEquals(3, maxTotals.size());
+			assertEquals(20, maxTotals.get("jdbc:mysql://report-db").intValue());
+			assertEquals(4, maxTotals
+					.get("jdbc:postgresql://10.0.0.8,10.0.0.9/dg?targetServerType=primary").intValue());
+			assertEquals(6, maxTotals.get("jdbc:sqlserver://10.0.0.7;databaseName=dg").intValue());
+		}
+
+		{
+			assertTrue(PrefixURLConnectionPoolConfigResolver.parseMaxTotals(null).isEmpty());
+			assertTrue(PrefixURLConnectionPoolConfigResolver.parseMaxTotals("").isEmpty());
+		}
+
+		{
+			try
+			{
+				PrefixURLConnectionPoolConfigResolver.parseMaxTotals("jdbc:mysql://report-db");
+				fail();
+			}
+			catch (IllegalArgumentException e)
+			{
+			}
+
+			try
+			{
+				PrefixURLConnectionPoolConfigResolver.parseMaxTotals("=20");
+				fail();
+			}
+			catch (IllegalArgumentException e)
+			{
+			}
+		}
+	}
+}
@@ -16,12 +16,14 @@ import java.math.BigInteger;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.NClob;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.SQLXML;
+import java.sql.Savepoint;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
@@ -42,6 +44,11 @@ import org.datagear.util.resource.ResourceFactory;
 
 /**
  * 抽象{@linkplain DevotedDataExchangeService}。
+ * <p>
+ * 值数据导入支持批量模式（参考{@linkplain #getImportBatchSize()}），此时数据将通过{@linkplain PreparedStatement#addBatch()}、
+ * {@linkplain PreparedStatement#executeBatch()}批量写入，批量执行出错时，将回滚至执行前的保存点，然后逐条重新导入，
+ * 以确定出错数据的{@linkplain DataIndex}。
+ * </p>
  * 
  * @author datagear@163.com
  *
@@ -50,11 +57,37 @@ import org.datagear.util.resource.ResourceFactory;
 public abstract class AbstractDevotedDataExchangeService<T extends DataExchange> extends PersistenceSupport
 		implements DevotedDataExchangeService<T>
 {
+	/** 值数据批量导入的数据条数，小于等于{@code 1}表示不使用批量导入 */
+	private int importBatchSize = 0;
+
+	/** 值数据批量导入时，每执行多少批次提交一次事务，小于等于{@code 0}表示仅在导入结束时提交 */
+	private int importCommitBatchCount = 0;
+
 	public AbstractDevotedDataExchangeService()
 	{
 		super();
 	}
 
+	public int getImportBatchSize()
+	{
+		return importBatchSize;
+	}
+
+	public void setImportBatchSize(int importBatchSize)
+	{
+		this.importBatchSize = importBatchSize;
+	}
+
+	public int getImportCommitBatchCount()
+	{
+		return importCommitBatchCount;
+	}
+
+	public void setImportCommitBatchCount(int importCommitBatchCount)
+	{
+		this.importCommitBatchCount = importCommitBatchCount;
+	}
+
 	@Override
 	public boolean supports(T dataExchange)
 	{
@@ -195,7 +228,13 @@ public abstract class AbstractDevotedDataExchangeService<T extends DataExchange>
 		Connection cn = getConnection(context);
 
 		if (ExceptionResolve.ABORT.equals(exceptionResolve) || ExceptionResolve.IGNORE.equals(exceptionResolve))
+		{
+			// 与逐条导入一致，出错前已读取的数据也应被导入
+			if (context instanceof IndexFormatDataExchangeContext)
+				executeValueDataImportBatchSilently(((IndexFormatDataExchangeContext) context).getValueDataImportBatch());
+
 			JdbcUtil.commitSilently(cn);
+		}
 		else if (ExceptionResolve.ROLLBACK.equals(exceptionResolve))
 			JdbcUtil.rollbackSilently(cn);
 		else
@@ -1358,6 +1397,316 @@ public abstract class AbstractDevotedDataExchangeService<T extends DataExchange>
 		}
 	}
 
+	/**
+	 * 创建{@linkplain ValueDataImportBatch}。
+	 * <p>
+	 * 如果{@linkplain #getImportBatchSize()}小于等于{@code 1}，或者数据库不支持保存点、批量更新，返回对象将不使用批量导入。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param importOption
+	 * @param dataFormatContext
+	 * @param listener
+	 * @return
+	 */
+	protected ValueDataImportBatch createValueDataImportBatch(Connection cn, ValueDataImportOption importOption,
+			DataFormatContext dataFormatContext, ValueDataImportListener listener)
+	{
+		int batchSize = this.importBatchSize;
+
+		// 批量执行出错时需回滚至保存点再逐条导入
+		if (batchSize > 1 && !supportsBatchImport(cn))
+			batchSize = 1;
+
+		return new ValueDataImportBatch(cn, batchSize, this.importCommitBatchCount,
+				importOption.isNullForIllegalColumnValue(), importOption.getExceptionResolve(), dataFormatContext,
+				listener);
+	}
+
+	/**
+	 * 数据库是否支持批量导入。
+	 * 
+	 * @param cn
+	 * @return
+	 */
+	protected boolean supportsBatchImport(Connection cn)
+	{
+		try
+		{
+			DatabaseMetaData metaData = cn.getMetaData();
+			return (metaData.supportsBatchUpdates() && metaData.supportsSavepoints());
+		}
+		catch (Throwable t)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * 导入一条值数据。
+	 * <p>
+	 * 如果{@linkplain ValueDataImportBatch#isBatch()}为{@code true}，数据将被添加至批量导入，
+	 * 并在达到{@linkplain ValueDataImportBatch#getBatchSize()}时执行，
+	 * 此时的{@linkplain ValueDataImportListener#onSuccess(DataIndex)}也将在批量执行后才被调用。
+	 * </p>
+	 * 
+	 * @param batch
+	 * @param st
+	 * @param columns
+	 * @param columnValues
+	 * @param dataIndex
+	 * @return
+	 * @throws DataExchangeException
+	 */
+	protected boolean importValueData(ValueDataImportBatch batch, PreparedStatement st, List<Column> columns,
+			List<? extends Object> columnValues, DataIndex dataIndex) throws DataExchangeException
+	{
+		if (!batch.isBatch())
+			return importValueData(batch.getConnection(), st, columns, columnValues, dataIndex,
+					batch.isNullForIllegalColumnValue(), batch.getExceptionResolve(), batch.getDataFormatContext(),
+					batch.getListener());
+
+		if (!batch.isEmpty() && batch.getStatement() != st)
+			executeValueDataImportBatch(batch);
+
+		DataExchangeException exception = null;
+
+		try
+		{
+			setImportParameterValues(batch.getConnection(), st, columns, columnValues, dataIndex,
+					batch.isNullForIllegalColumnValue(), batch.getDataFormatContext(), batch.getListener());
+
+			addImportPreparedStatementBatch(st, dataIndex);
+		}
+		catch (Throwable t)
+		{
+			exception = wrapToDataExchangeException(t);
+		}
+
+		if (exception == null)
+		{
+			batch.add(st, columns, columnValues, dataIndex);
+
+			if (batch.isFull())
+				executeValueDataImportBatch(batch);
+
+			return true;
+		}
+		else
+		{
+			ValueDataImportListener listener = batch.getListener();
+
+			if (ExceptionResolve.IGNORE.equals(batch.getExceptionResolve()))
+			{
+				if (listener != null)
+					listener.onIgnore(dataIndex, exception);
+
+				return false;
+			}
+			else
+			{
+				// 与逐条导入一致，出错数据之前的数据应被导入
+				executeValueDataImportBatch(batch);
+				throw exception;
+			}
+		}
+	}
+
+	/**
+	 * 执行{@linkplain ValueDataImportBatch}中还未执行的数据。
+	 * <p>
+	 * 批量执行出错时，将回滚至执行前的保存点，然后调用{@linkplain #importValueDataOneByOne(ValueDataImportBatch)}逐条导入。
+	 * </p>
+	 * 
+	 * @param batch
+	 *            允许为{@code null}
+	 * @throws DataExchangeException
+	 */
+	protected void executeValueDataImportBatch(ValueDataImportBatch batch) throws DataExchangeException
+	{
+		if (batch == null || batch.isEmpty())
+			return;
+
+		Connection cn = batch.getConnection();
+		PreparedStatement st = batch.getStatement();
+
+		try
+		{
+			Savepoint savepoint = null;
+			SQLException exception = null;
+
+			try
+			{
+				savepoint = cn.setSavepoint();
+				st.executeBatch();
+			}
+			catch (SQLException e)
+			{
+				exception = e;
+			}
+
+			if (exception == null)
+			{
+				releaseSavepointSilently(cn, savepoint);
+
+				ValueDataImportListener listener = batch.getListener();
+
+				if (listener != null)
+				{
+					for (DataIndex dataIndex : batch.getDataIndexes())
+						listener.onSuccess(dataIndex);
+				}
+			}
+			else
+			{
+				clearBatchSilently(st);
+
+				if (savepoint != null)
+					rollback(cn, savepoint);
+
+				importValueDataOneByOne(batch);
+			}
+		}
+		finally
+		{
+			batch.clear();
+		}
+
+		if (batch.incrementExecutedBatchCount())
+			commit(cn);
+	}
+
+	/**
+	 * 执行{@linkplain ValueDataImportBatch}中还未执行的数据，忽略任何异常。
+	 * 
+	 * @param batch
+	 *            允许为{@code null}
+	 */
+	protected void executeValueDataImportBatchSilently(ValueDataImportBatch batch)
+	{
+		try
+		{
+			executeValueDataImportBatch(batch);
+		}
+		catch (Throwable t)
+		{
+		}
+	}
+
+	/**
+	 * 逐条导入{@linkplain ValueDataImportBatch}中还未执行的数据。
+	 * <p>
+	 * 数据添加至批量导入时已处理过非法列值，因此这里不会再调用{@linkplain ValueDataImportListener#onSetNullColumnValue(DataIndex, String, Object, DataExchangeException)}。
+	 * </p>
+	 * 
+	 * @param batch
+	 * @throws DataExchangeException
+	 */
+	protected void importValueDataOneByOne(ValueDataImportBatch batch) throws DataExchangeException
+	{
+		Connection cn = batch.getConnection();
+		PreparedStatement st = batch.getStatement();
+		List<Column> columns = batch.getColumns();
+		List<DataIndex> dataIndexes = batch.getDataIndexes();
+		List<List<? extends Object>> columnValuess = batch.getColumnValuess();
+		ValueDataImportListener listener = batch.getListener();
+
+		for (int i = 0, len = dataIndexes.size(); i < len; i++)
+		{
+			DataIndex dataIndex = dataIndexes.get(i);
+			DataExchangeException exception = null;
+
+			try
+			{
+				setImportParameterValues(cn, st, columns, columnValuess.get(i), dataIndex,
+						batch.isNullForIllegalColumnValue(), batch.getDataFormatContext(), null);
+
+				executeImportPreparedStatement(st, dataIndex);
+			}
+			catch (Throwable t)
+			{
+				exception = wrapToDataExchangeException(t);
+			}
+
+			if (exception == null)
+			{
+				if (listener != null)
+					listener.onSuccess(dataIndex);
+			}
+			else
+			{
+				if (ExceptionResolve.IGNORE.equals(batch.getExceptionResolve()))
+				{
+					if (listener != null)
+						listener.onIgnore(dataIndex, exception);
+				}
+				else
+					throw exception;
+			}
+		}
+	}
+
+	/**
+	 * 将导入SQL添加至批量执行。
+	 * 
+	 * @param st
+	 * @param dataIndex
+	 * @throws ExecuteDataImportSqlException
+	 */
+	protected void addImportPreparedStatementBatch(PreparedStatement st, DataIndex dataIndex)
+			throws ExecuteDataImportSqlException
+	{
+		try
+		{
+			st.addBatch();
+		}
+		catch (SQLException e)
+		{
+			throw new ExecuteDataImportSqlException(dataIndex, e);
+		}
+	}
+
+	/**
+	 * 回滚至保存点。
+	 * 
+	 * @param cn
+	 * @param savepoint
+	 * @throws DataExchangeException
+	 */
+	protected void rollback(Connection cn, Savepoint savepoint) throws DataExchangeException
+	{
+		try
+		{
+			cn.rollback(savepoint);
+		}
+		catch (SQLException e)
+		{
+			throw new DataExchangeException(e);
+		}
+	}
+
+	protected void releaseSavepointSilently(Connection cn, Savepoint savepoint)
+	{
+		try
+		{
+			cn.releaseSavepoint(savepoint);
+		}
+		catch (Throwable t)
+		{
+		}
+	}
+
+	protected void clearBatchSilently(PreparedStatement st)
+	{
+		try
+		{
+			st.clearBatch();
+		}
+		catch (Throwable t)
+		{
+		}
+	}
+
 	/**
 	 * 执行导入SQL。
 	 * 
@@ -12,22 +12,60 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+import org.datagear.util.JdbcUtil;
+
 /**
  * 抽象{@linkplain Query}。
- * 
+ * <p>
+ * 默认以流式游标模式执行查询：使用只进、只读的{@linkplain Statement}，并根据驱动程序设置{@linkplain Statement#setFetchSize(int)}，
+ * 使驱动程序分批读取结果集，而不是将全部记录加载至内存，具体参考{@linkplain #prepareStreamingStatement(Connection, Statement)}。
+ * </p>
+ *
  * @author datagear@163.com
  *
  */
 public abstract class AbstractQuery implements Query
 {
+	/** 默认流式读取的{@linkplain Statement#setFetchSize(int)} */
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+
+	/** MySQL驱动程序使用服务端游标的连接参数 */
+	protected static final String MYSQL_USE_CURSOR_FETCH = "useCursorFetch=true";
+
+	/** 是否以流式游标模式执行查询 */
+	private boolean streaming = true;
+
+	/** 流式读取的{@linkplain Statement#setFetchSize(int)}，小于等于{@code 0}表示不设置 */
+	private int fetchSize = DEFAULT_FETCH_SIZE;
+
 	public AbstractQuery()
 	{
 		super();
 	}
 
+	public boolean isStreaming()
+	{
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming)
+	{
+		this.streaming = streaming;
+	}
+
+	public int getFetchSize()
+	{
+		return fetchSize;
+	}
+
+	public void setFetchSize(int fetchSize)
+	{
+		this.fetchSize = fetchSize;
+	}
+
 	/**
 	 * 执行SQL查询。
-	 * 
+	 *
 	 * @param cn
 	 * @param sql
 	 * @return
@@ -35,8 +73,85 @@ public abstract class AbstractQuery implements Query
 	 */
 	protected ResultSet executeQuery(Connection cn, String sql) throws SQLException
 	{
-		Statement st = cn.createStatement();
+		Statement st = createStatement(cn);
 
 		return st.executeQuery(sql);
 	}
+
+	/**
+	 * 创建查询{@linkplain Statement}。
+	 *
+	 * @param cn
+	 * @return
+	 * @throws SQLException
+	 */
+	protected Statement createStatement(Connection cn) throws SQLException
+	{
+		if (!this.streaming)
+			return cn.createStatement();
+
+		Statement st = cn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+		prepareStreamingStatement(cn, st);
+
+		return st;
+	}
+
+	/**
+	 * 为流式读取设置{@linkplain Statement}。
+	 * <p>
+	 * MySQL驱动程序仅在{@linkplain Statement#setFetchSize(int)}为{@linkplain Integer#MIN_VALUE}时逐行流式读取，
+	 * 或者在连接URL包含{@code useCursorFetch=true}时使用服务端游标按{@linkplain #getFetchSize()}分批读取；
+	 * PostgreSQL驱动程序仅在非自动提交时才使用游标分批读取；其他驱动程序则直接设置{@linkplain #getFetchSize()}。
+	 * </p>
+	 *
+	 * @param cn
+	 * @param st
+	 * @throws SQLException
+	 */
+	protected void prepareStreamingStatement(Connection cn, Statement st) throws SQLException
+	{
+		if (this.fetchSize <= 0)
+			return;
+
+		String url = JdbcUtil.getURLIfSupports(cn);
+
+		if (isMySqlURL(url))
+		{
+			if (url.contains(MYSQL_USE_CURSOR_FETCH))
+				JdbcUtil.setFetchSizeIfSupports(st, this.fetchSize);
+			else
+				JdbcUtil.setFetchSizeIfSupports(st, Integer.MIN_VALUE);
+		}
+		else if (isPostgreSqlURL(url))
+		{
+			JdbcUtil.setAutoCommitIfSupports(cn, false);
+			JdbcUtil.setFetchSizeIfSupports(st, this.fetchSize);
+		}
+		else
+			JdbcUtil.setFetchSizeIfSupports(st, this.fetchSize);
+	}
+
+	/**
+	 * 是否MySQL驱动程序的连接URL（不包括MariaDB驱动程序，它可直接按照fetchSize流式读取）。
+	 *
+	 * @param url
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected boolean isMySqlURL(String url)
+	{
+		return (url != null && url.startsWith("jdbc:mysql:"));
+	}
+
+	/**
+	 * 是否PostgreSQL驱动程序的连接URL。
+	 *
+	 * @param url
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected boolean isPostgreSqlURL(String url)
+	{
+		return (url != null && url.startsWith("jdbc:postgresql:"));
+	}
 }
@@ -117,6 +117,9 @@ public class DataExchangeContext
 
 	/**
 	 * 关闭上下文{@linkplain Connection}。
+	 * <p>
+	 * 关闭后再调用{@linkplain #getConnection()}将重新获取连接。
+	 * </p>
 	 * 
 	 * @return
 	 */
@@ -133,6 +136,10 @@ public class DataExchangeContext
 		{
 			LOGGER.error("Release connection error", e);
 		}
+		finally
+		{
+			this.connection = null;
+		}
 
 		return true;
 	}
@@ -21,6 +21,9 @@ public class IndexFormatDataExchangeContext extends DataExchangeContext
 
 	private DataIndex dataIndex;
 
+	/** 值数据批量导入信息，仅用于值数据导入 */
+	private ValueDataImportBatch valueDataImportBatch;
+
 	public IndexFormatDataExchangeContext()
 	{
 		super();
@@ -52,6 +55,16 @@ public class IndexFormatDataExchangeContext extends DataExchangeContext
 		this.dataIndex = dataIndex;
 	}
 
+	public ValueDataImportBatch getValueDataImportBatch()
+	{
+		return valueDataImportBatch;
+	}
+
+	public void setValueDataImportBatch(ValueDataImportBatch valueDataImportBatch)
+	{
+		this.valueDataImportBatch = valueDataImportBatch;
+	}
+
 	/**
 	 * 构建{@linkplain IndexFormatDataExchangeContext}。
 	 * 
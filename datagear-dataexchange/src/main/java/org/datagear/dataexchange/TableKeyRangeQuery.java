@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.dataexchange;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * 表主键范围{@linkplain Query}。
+ * <p>
+ * 查询表中整数主键值在[{@linkplain #getMinKey()}, {@linkplain #getMaxKey()})范围内的记录，并按照主键排序，
+ * 用于将单个大表拆分为多个分块并行读取。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class TableKeyRangeQuery extends TableQuery
+{
+	/** 整数主键列名 */
+	private String keyColumn;
+
+	/** 主键最小值（包含），为{@code null}表示无下限 */
+	private Long minKey = null;
+
+	/** 主键最大值（不包含），为{@code null}表示无上限 */
+	private Long maxKey = null;
+
+	public TableKeyRangeQuery()
+	{
+		super();
+	}
+
+	public TableKeyRangeQuery(String table, String keyColumn, Long minKey, Long maxKey)
+	{
+		super(table);
+		this.keyColumn = keyColumn;
+		this.minKey = minKey;
+		this.maxKey = maxKey;
+	}
+
+	public String getKeyColumn()
+	{
+		return keyColumn;
+	}
+
+	public void setKeyColumn(String keyColumn)
+	{
+		this.keyColumn = keyColumn;
+	}
+
+	public Long getMinKey()
+	{
+		return minKey;
+	}
+
+	public void setMinKey(Long minKey)
+	{
+		this.minKey = minKey;
+	}
+
+	public Long getMaxKey()
+	{
+		return maxKey;
+	}
+
+	public void setMaxKey(Long maxKey)
+	{
+		this.maxKey = maxKey;
+	}
+
+	@Override
+	public ResultSet execute(Connection cn) throws Throwable
+	{
+		DatabaseMetaData metaData = cn.getMetaData();
+
+		String quote = metaData.getIdentifierQuoteString();
+		String key = quote + this.keyColumn + quote;
+
+		StringBuilder sql = new StringBuilder("SELECT * FROM " + quote + getTable() + quote);
+
+		if (this.minKey != null || this.maxKey != null)
+		{
+			sql.append(" WHERE ");
+
+			if (this.minKey != null)
+				sql.append(key + " >= " + this.minKey);
+
+			if (this.minKey != null && this.maxKey != null)
+				sql.append(" AND ");
+
+			if (this.maxKey != null)
+				sql.append(key + " < " + this.maxKey);
+		}
+
+		sql.append(" ORDER BY " + key);
+
+		return executeQuery(cn, sql.toString());
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [table=" + getTable() + ", keyColumn=" + keyColumn + ", minKey="
+				+ minKey + ", maxKey=" + maxKey + "]";
+	}
+}
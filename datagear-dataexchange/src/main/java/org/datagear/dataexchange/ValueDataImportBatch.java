@@ -0,0 +1,256 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.dataexchange;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.datagear.meta.Column;
+
+/**
+ * 值数据批量导入信息。
+ * <p>
+ * 存储导入配置，以及已添加至{@linkplain PreparedStatement#addBatch()}、但还未执行的值数据，
+ * 以便批量执行失败时能够逐条重新导入，确定出错数据的{@linkplain DataIndex}。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class ValueDataImportBatch
+{
+	private Connection connection;
+
+	/** 批量导入的数据条数，小于等于{@code 1}表示不使用批量导入 */
+	private int batchSize;
+
+	/** 每执行多少批次提交一次事务，小于等于{@code 0}表示仅在导入结束时提交 */
+	private int commitBatchCount;
+
+	private boolean nullForIllegalColumnValue;
+
+	private ExceptionResolve exceptionResolve;
+
+	private DataFormatContext dataFormatContext;
+
+	private ValueDataImportListener listener;
+
+	private PreparedStatement _statement = null;
+
+	private List<Column> _columns = null;
+
+	private List<DataIndex> _dataIndexes = new ArrayList<>();
+
+	private List<List<? extends Object>> _columnValuess = new ArrayList<>();
+
+	private int _executedBatchCount = 0;
+
+	public ValueDataImportBatch()
+	{
+		super();
+	}
+
+	public ValueDataImportBatch(Connection connection, int batchSize, int commitBatchCount,
+			boolean nullForIllegalColumnValue, ExceptionResolve exceptionResolve,
+			DataFormatContext dataFormatContext, ValueDataImportListener listener)
+	{
+		super();
+		this.connection = connection;
+		this.batchSize = batchSize;
+		this.commitBatchCount = commitBatchCount;
+		this.nullForIllegalColumnValue = nullForIllegalColumnValue;
+		this.exceptionResolve = exceptionResolve;
+		this.dataFormatContext = dataFormatContext;
+		this.listener = listener;
+	}
+
+	public Connection getConnection()
+	{
+		return connection;
+	}
+
+	public void setConnection(Connection connection)
+	{
+		this.connection = connection;
+	}
+
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize)
+	{
+		this.batchSize = batchSize;
+	}
+
+	public int getCommitBatchCount()
+	{
+		return commitBatchCount;
+	}
+
+	public void setCommitBatchCount(int commitBatchCount)
+	{
+		this.commitBatchCount = commitBatchCount;
+	}
+
+	public boolean isNullForIllegalColumnValue()
+	{
+		return nullForIllegalColumnValue;
+	}
+
+	public void setNullForIllegalColumnValue(boolean nullForIllegalColumnValue)
+	{
+		this.nullForIllegalColumnValue = nullForIllegalColumnValue;
+	}
+
+	public ExceptionResolve getExceptionResolve()
+	{
+		return exceptionResolve;
+	}
+
+	public void setExceptionResolve(ExceptionResolve exceptionResolve)
+	{
+		this.exceptionResolve = exceptionResolve;
+	}
+
+	public DataFormatContext getDataFormatContext()
+	{
+		return dataFormatContext;
+	}
+
+	public void setDataFormatContext(DataFormatContext dataFormatContext)
+	{
+		this.dataFormatContext = dataFormatContext;
+	}
+
+	public ValueDataImportListener getListener()
+	{
+		return listener;
+	}
+
+	public void setListener(ValueDataImportListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * 是否批量导入。
+	 *
+	 * @return
+	 */
+	public boolean isBatch()
+	{
+		return (this.batchSize > 1);
+	}
+
+	/**
+	 * 获取未执行数据的{@linkplain PreparedStatement}，没有时返回{@code null}。
+	 *
+	 * @return
+	 */
+	public PreparedStatement getStatement()
+	{
+		return _statement;
+	}
+
+	public List<Column> getColumns()
+	{
+		return _columns;
+	}
+
+	public List<DataIndex> getDataIndexes()
+	{
+		return _dataIndexes;
+	}
+
+	public List<List<? extends Object>> getColumnValuess()
+	{
+		return _columnValuess;
+	}
+
+	/**
+	 * 添加一条已{@linkplain PreparedStatement#addBatch()}的数据。
+	 *
+	 * @param statement
+	 * @param columns
+	 * @param columnValues
+	 * @param dataIndex
+	 */
+	public void add(PreparedStatement statement, List<Column> columns, List<? extends Object> columnValues,
+			DataIndex dataIndex)
+	{
+		this._statement = statement;
+		this._columns = columns;
+
+		// 调用方可能复用列值列表
+		this._columnValuess.add(new ArrayList<Object>(columnValues));
+		this._dataIndexes.add(dataIndex);
+	}
+
+	/**
+	 * 获取未执行数据条数。
+	 *
+	 * @return
+	 */
+	public int size()
+	{
+		return this._dataIndexes.size();
+	}
+
+	public boolean isEmpty()
+	{
+		return this._dataIndexes.isEmpty();
+	}
+
+	/**
+	 * 未执行数据条数是否已达到{@linkplain #getBatchSize()}。
+	 *
+	 * @return
+	 */
+	public boolean isFull()
+	{
+		return (size() >= this.batchSize);
+	}
+
+	/**
+	 * 清除未执行数据。
+	 */
+	public void clear()
+	{
+		this._statement = null;
+		this._columns = null;
+		this._dataIndexes.clear();
+		this._columnValuess.clear();
+	}
+
+	/**
+	 * 增加已执行批次数，并返回是否应该提交事务。
+	 * <p>
+	 * {@linkplain ExceptionResolve#ROLLBACK}时出错需回滚全部数据，因此总是返回{@code false}。
+	 * </p>
+	 *
+	 * @return
+	 */
+	public boolean incrementExecutedBatchCount()
+	{
+		this._executedBatchCount++;
+
+		if (this.commitBatchCount <= 0 || ExceptionResolve.ROLLBACK.equals(this.exceptionResolve))
+			return false;
+
+		return (this._executedBatchCount % this.commitBatchCount == 0);
+	}
+
+	public int getExecutedBatchCount()
+	{
+		return _executedBatchCount;
+	}
+}
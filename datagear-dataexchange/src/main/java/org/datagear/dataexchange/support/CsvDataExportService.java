@@ -7,33 +7,73 @@
 
 package org.datagear.dataexchange.support;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.Writer;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.datagear.dataexchange.AbstractDevotedDBMetaDataExchangeService;
 import org.datagear.dataexchange.DataExchangeContext;
 import org.datagear.dataexchange.DataExchangeException;
+import org.datagear.dataexchange.DataFormatContext;
 import org.datagear.dataexchange.IndexFormatDataExchangeContext;
+import org.datagear.dataexchange.Query;
 import org.datagear.dataexchange.RowDataIndex;
+import org.datagear.dataexchange.TableKeyRangeQuery;
+import org.datagear.dataexchange.TableQuery;
 import org.datagear.dataexchange.TextDataExportListener;
 import org.datagear.dataexchange.TextDataExportOption;
 import org.datagear.meta.Column;
+import org.datagear.meta.PrimaryKey;
 import org.datagear.meta.resolver.DBMetaResolver;
+import org.datagear.util.FileUtil;
+import org.datagear.util.IOUtil;
 import org.datagear.util.JdbcUtil;
 
 /**
  * CSV导出服务。
+ * <p>
+ * 设置了{@linkplain #getChunkExecutorService()}且{@linkplain #getChunkCount()}大于{@code 1}时，
+ * 对于单列整数主键的{@linkplain TableQuery}，将按照主键范围拆分为多个分块，使用各自的连接并行读取、写入临时分块文件，
+ * 再按照主键顺序将分块文件合并至输出流，具体参考{@linkplain #resolveChunkQueries(Connection, Query)}。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
 public class CsvDataExportService extends AbstractDevotedDBMetaDataExchangeService<CsvDataExport>
 {
+	/** 默认每个分块的最小主键跨度 */
+	public static final long DEFAULT_MIN_CHUNK_KEY_SPAN = 100000;
+
+	/** 分块临时文件编码 */
+	protected static final String CHUNK_FILE_ENCODING = "UTF-8";
+
+	/** 单表导出的最大分块数，小于等于{@code 1}表示不分块 */
+	private int chunkCount = 0;
+
+	/** 每个分块的最小主键跨度，主键跨度不足时将减少分块数 */
+	private long minChunkKeySpan = DEFAULT_MIN_CHUNK_KEY_SPAN;
+
+	/** 并行导出分块的执行器，为{@code null}表示不分块 */
+	private ExecutorService chunkExecutorService = null;
+
 	public CsvDataExportService()
 	{
 		super();
@@ -44,6 +84,36 @@ public class CsvDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 		super(dbMetaResolver);
 	}
 
+	public int getChunkCount()
+	{
+		return chunkCount;
+	}
+
+	public void setChunkCount(int chunkCount)
+	{
+		this.chunkCount = chunkCount;
+	}
+
+	public long getMinChunkKeySpan()
+	{
+		return minChunkKeySpan;
+	}
+
+	public void setMinChunkKeySpan(long minChunkKeySpan)
+	{
+		this.minChunkKeySpan = minChunkKeySpan;
+	}
+
+	public ExecutorService getChunkExecutorService()
+	{
+		return chunkExecutorService;
+	}
+
+	public void setChunkExecutorService(ExecutorService chunkExecutorService)
+	{
+		this.chunkExecutorService = chunkExecutorService;
+	}
+
 	@Override
 	protected DataExchangeContext createDataExchangeContext(CsvDataExport dataExchange)
 	{
@@ -63,6 +133,17 @@ public class CsvDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 		Connection cn = exportContext.getConnection();
 		JdbcUtil.setReadonlyIfSupports(cn, true);
 
+		List<TableKeyRangeQuery> chunkQueries = resolveChunkQueries(cn, dataExchange.getQuery());
+
+		if (chunkQueries != null)
+		{
+			// 各分块使用独立的连接，这里应先释放上下文连接，避免在持有连接的同时等待连接池中的其他连接而导致死锁
+			exportContext.closeConnection();
+
+			exchangeChunks(dataExchange, exportContext, csvWriter, chunkQueries);
+			return;
+		}
+
 		ResultSet rs = dataExchange.getQuery().execute(cn);
 
 		List<Column> columns = getColumns(cn, rs);
@@ -114,6 +195,490 @@ public class CsvDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 		}
 	}
 
+	/**
+	 * 解析单表导出的并行分块查询，不能或者无需分块时返回{@code null}。
+	 * <p>
+	 * 仅当{@code query}是{@linkplain TableQuery}、表主键为单个整数列、且主键跨度不小于两倍{@linkplain #getMinChunkKeySpan()}时才分块；
+	 * 首个分块无下限、最后一个分块无上限，以免遗漏统计主键范围后新增的记录。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param query
+	 * @return
+	 * @throws Throwable
+	 */
+	protected List<TableKeyRangeQuery> resolveChunkQueries(Connection cn, Query query) throws Throwable
+	{
+		if (this.chunkCount <= 1 || this.chunkExecutorService == null)
+			return null;
+
+		// 分块查询等子类已限定了查询范围，不再分块
+		if (query == null || !TableQuery.class.equals(query.getClass()))
+			return null;
+
+		TableQuery tableQuery = (TableQuery) query;
+		String table = tableQuery.getTable();
+
+		PrimaryKey primaryKey = getDbMetaResolver().getPrimaryKey(cn, table);
+		String[] keyColumnNames = (primaryKey == null ? null : primaryKey.getColumnNames());
+
+		if (keyColumnNames == null || keyColumnNames.length != 1)
+			return null;
+
+		String keyColumnName = keyColumnNames[0];
+		Column keyColumn = null;
+
+		for (Column column : getColumns(cn, table))
+		{
+			if (column.getName().equals(keyColumnName))
+			{
+				keyColumn = column;
+				break;
+			}
+		}
+
+		if (keyColumn == null || !isIntegerType(keyColumn.getType()))
+			return null;
+
+		long[] keyRange = queryKeyRange(cn, table, keyColumnName);
+
+		if (keyRange == null)
+			return null;
+
+		return splitKeyRange(tableQuery, keyColumnName, keyRange);
+	}
+
+	/**
+	 * 将主键范围拆分为分块查询，无需分块时返回{@code null}。
+	 * <p>
+	 * 相邻分块以同一主键值为界（下限包含、上限不包含），首个分块无下限、最后一个分块无上限。
+	 * </p>
+	 * 
+	 * @param tableQuery
+	 * @param keyColumnName
+	 * @param keyRange
+	 *            {@code [最小值, 最大值]}
+	 * @return
+	 */
+	protected List<TableKeyRangeQuery> splitKeyRange(TableQuery tableQuery, String keyColumnName, long[] keyRange)
+	{
+		String table = tableQuery.getTable();
+		long keySpan = keyRange[1] - keyRange[0];
+
+		// 主键跨度超出long范围
+		if (keySpan < 0)
+			return null;
+
+		long count = Math.min(this.chunkCount, keySpan / Math.max(this.minChunkKeySpan, 1));
+
+		if (count <= 1)
+			return null;
+
+		long step = keySpan / count;
+
+		List<TableKeyRangeQuery> chunkQueries = new ArrayList<>((int) count);
+
+		Long minKey = null;
+
+		for (long i = 1; i <= count; i++)
+		{
+			Long maxKey = (i == count ? null : keyRange[0] + i * step);
+
+			TableKeyRangeQuery chunkQuery = new TableKeyRangeQuery(table, keyColumnName, minKey, maxKey);
+			chunkQuery.setStreaming(tableQuery.isStreaming());
+			chunkQuery.setFetchSize(tableQuery.getFetchSize());
+
+			chunkQueries.add(chunkQuery);
+
+			minKey = maxKey;
+		}
+
+		return chunkQueries;
+	}
+
+	/**
+	 * 查询表主键的最小值、最大值，表为空或者不支持时返回{@code null}。
+	 * 
+	 * @param cn
+	 * @param table
+	 * @param keyColumn
+	 * @return {@code [最小值, 最大值]}
+	 * @throws SQLException
+	 */
+	protected long[] queryKeyRange(Connection cn, String table, String keyColumn) throws SQLException
+	{
+		String quote = cn.getMetaData().getIdentifierQuoteString();
+		String key = quote + keyColumn + quote;
+
+		String sql = "SELECT MIN(" + key + "), MAX(" + key + ") FROM " + quote + table + quote;
+
+		Statement st = null;
+		ResultSet rs = null;
+
+		try
+		{
+			st = cn.createStatement();
+			rs = st.executeQuery(sql);
+
+			if (!rs.next())
+				return null;
+
+			long min = rs.getLong(1);
+
+			if (rs.wasNull())
+				return null;
+
+			long max = rs.getLong(2);
+
+			if (rs.wasNull())
+				return null;
+
+			return new long[] { min, max };
+		}
+		catch (SQLException e)
+		{
+			// 比如无符号BIGINT超出long范围，此时不分块
+			return null;
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(st);
+		}
+	}
+
+	/**
+	 * 是否整数SQL类型。
+	 * 
+	 * @param sqlType
+	 * @return
+	 */
+	protected boolean isIntegerType(int sqlType)
+	{
+		return (sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER
+				|| sqlType == Types.BIGINT);
+	}
+
+	/**
+	 * 并行导出分块，并按顺序合并至{@code csvWriter}。
+	 * <p>
+	 * 各分块读取完成后才按顺序合并，因此{@linkplain TextDataExportListener}的回调会在分块合并时才批量触发。
+	 * </p>
+	 * <p>
+	 * 合并到尚未被{@linkplain #getChunkExecutorService()}开始执行的分块时，将在调用线程内执行它，
+	 * 因此，即使执行器已饱和（比如它同时也在执行外层的导出），导出也能继续进行；
+	 * 并且每个线程同一时刻至多持有一个连接，不会因为连接池耗尽而死锁。
+	 * </p>
+	 * 
+	 * @param dataExchange
+	 * @param exportContext
+	 * @param csvWriter
+	 * @param chunkQueries
+	 * @throws Throwable
+	 */
+	protected void exchangeChunks(final CsvDataExport dataExchange, IndexFormatDataExchangeContext exportContext,
+			Writer csvWriter, List<TableKeyRangeQuery> chunkQueries) throws Throwable
+	{
+		final AtomicBoolean aborted = new AtomicBoolean(false);
+		List<FutureTask<CsvChunk>> futures = new ArrayList<>(chunkQueries.size());
+
+		try
+		{
+			for (final TableKeyRangeQuery chunkQuery : chunkQueries)
+			{
+				FutureTask<CsvChunk> future = new FutureTask<CsvChunk>(new Callable<CsvChunk>()
+				{
+					@Override
+					public CsvChunk call() throws Exception
+					{
+						try
+						{
+							if (aborted.get())
+								throw new DataExchangeException("Chunk export aborted");
+
+							return exportChunk(dataExchange, chunkQuery, aborted);
+						}
+						catch (Throwable t)
+						{
+							throw wrapToDataExchangeException(t);
+						}
+					}
+				});
+
+				futures.add(future);
+
+				try
+				{
+					this.chunkExecutorService.execute(future);
+				}
+				catch (RejectedExecutionException e)
+				{
+					// 将在合并时由调用线程执行
+				}
+			}
+
+			CSVPrinter csvPrinter = buildCSVPrinter(csvWriter);
+
+			long row = 0;
+
+			for (int i = 0, len = futures.size(); i < len; i++)
+			{
+				FutureTask<CsvChunk> future = futures.get(i);
+
+				// 未开始的分块在调用线程内执行，已开始或者已完成时此调用无作用
+				future.run();
+
+				CsvChunk chunk = getChunk(future);
+
+				try
+				{
+					if (i == 0)
+					{
+						writeColumns(csvPrinter, chunk.getColumns());
+						csvPrinter.flush();
+					}
+
+					writeChunk(csvWriter, chunk);
+					onChunkWritten(dataExchange, exportContext, chunk, row);
+
+					row += chunk.getRowCount();
+				}
+				finally
+				{
+					FileUtil.deleteFile(chunk.getFile());
+				}
+			}
+		}
+		finally
+		{
+			aborted.set(true);
+
+			// 等待未完成的分块结束，确保连接已释放、分块文件已删除；
+			// 注意不能使用cancel()，它对正在执行的分块也会返回true
+			for (FutureTask<CsvChunk> future : futures)
+			{
+				// 未开始的分块将因已终止而立即结束
+				future.run();
+
+				try
+				{
+					FileUtil.deleteFile(future.get().getFile());
+				}
+				catch (Throwable t)
+				{
+				}
+			}
+		}
+	}
+
+	/**
+	 * 获取分块导出结果，分块导出出错时抛出其原始异常。
+	 * 
+	 * @param future
+	 * @return
+	 * @throws Throwable
+	 */
+	protected CsvChunk getChunk(Future<CsvChunk> future) throws Throwable
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (ExecutionException e)
+		{
+			throw (e.getCause() == null ? e : e.getCause());
+		}
+	}
+
+	/**
+	 * 将分块文件写入{@code csvWriter}。
+	 * 
+	 * @param csvWriter
+	 * @param chunk
+	 * @throws IOException
+	 */
+	protected void writeChunk(Writer csvWriter, CsvChunk chunk) throws IOException
+	{
+		Reader reader = null;
+
+		try
+		{
+			reader = IOUtil.getReader(chunk.getFile(), CHUNK_FILE_ENCODING);
+			IOUtil.write(reader, csvWriter);
+		}
+		finally
+		{
+			IOUtil.close(reader);
+		}
+	}
+
+	/**
+	 * 分块写入后，按照全局行号设置{@linkplain IndexFormatDataExchangeContext#getDataIndex()}并回调监听器。
+	 * 
+	 * @param dataExchange
+	 * @param exportContext
+	 * @param chunk
+	 * @param startRow
+	 *            分块首行的全局行号
+	 */
+	protected void onChunkWritten(CsvDataExport dataExchange, IndexFormatDataExchangeContext exportContext,
+			CsvChunk chunk, long startRow)
+	{
+		TextDataExportListener listener = dataExchange.getListener();
+		List<CsvChunkSetNullTextValue> setNullTextValues = chunk.getSetNullTextValues();
+
+		int setNullIndex = 0;
+
+		for (long row = 0, rowCount = chunk.getRowCount(); row < rowCount; row++)
+		{
+			exportContext.setDataIndex(RowDataIndex.valueOf(startRow + row));
+
+			if (listener == null)
+				continue;
+
+			for (; setNullIndex < setNullTextValues.size()
+					&& setNullTextValues.get(setNullIndex).getRow() == row; setNullIndex++)
+			{
+				CsvChunkSetNullTextValue setNullTextValue = setNullTextValues.get(setNullIndex);
+				listener.onSetNullTextValue(exportContext.getDataIndex(), setNullTextValue.getColumnName(),
+						setNullTextValue.getException());
+			}
+
+			listener.onSuccess(exportContext.getDataIndex());
+		}
+	}
+
+	/**
+	 * 使用独立的连接将分块导出至临时文件。
+	 * 
+	 * @param dataExchange
+	 * @param query
+	 * @param aborted
+	 *            是否已终止导出，终止后分块应尽快结束
+	 * @return
+	 * @throws Throwable
+	 */
+	protected CsvChunk exportChunk(CsvDataExport dataExchange, TableKeyRangeQuery query, AtomicBoolean aborted)
+			throws Throwable
+	{
+		boolean nullForIllegalColumnValue = dataExchange.getExportOption().isNullForIllegalColumnValue();
+
+		// DataFormatContext不是线程安全的，每个分块需独立创建
+		DataFormatContext dataFormatContext = new DataFormatContext(dataExchange.getDataFormat());
+		DataExchangeContext chunkContext = new DataExchangeContext(dataExchange.getConnectionFactory());
+
+		File file = FileUtil.createTempFile();
+		Writer writer = null;
+		ResultSet rs = null;
+		boolean success = false;
+
+		try
+		{
+			Connection cn = chunkContext.getConnection();
+			JdbcUtil.setReadonlyIfSupports(cn, true);
+
+			rs = query.execute(cn);
+
+			List<Column> columns = getColumns(cn, rs);
+
+			writer = IOUtil.getWriter(file, CHUNK_FILE_ENCODING);
+			CsvChunk chunk = new CsvChunk(file, columns);
+
+			writeChunkRecords(cn, rs, chunk, buildCSVPrinter(writer), dataFormatContext, nullForIllegalColumnValue,
+					aborted);
+
+			success = true;
+
+			return chunk;
+		}
+		finally
+		{
+			IOUtil.close(writer);
+
+			if (rs != null)
+			{
+				Statement st = null;
+
+				try
+				{
+					st = rs.getStatement();
+				}
+				catch (SQLException e)
+				{
+				}
+
+				JdbcUtil.closeResultSet(rs);
+				JdbcUtil.closeStatement(st);
+			}
+
+			chunkContext.closeConnection();
+
+			if (!success)
+				FileUtil.deleteFile(file);
+		}
+	}
+
+	/**
+	 * 将分块结果集的记录写入分块文件，并设置{@linkplain CsvChunk#getRowCount()}。
+	 * 
+	 * @param cn
+	 * @param rs
+	 * @param chunk
+	 * @param csvPrinter
+	 * @param dataFormatContext
+	 * @param nullForIllegalColumnValue
+	 * @param aborted
+	 *            是否已终止导出，终止后将抛出{@linkplain DataExchangeException}
+	 * @throws Throwable
+	 */
+	protected void writeChunkRecords(Connection cn, ResultSet rs, CsvChunk chunk, CSVPrinter csvPrinter,
+			DataFormatContext dataFormatContext, boolean nullForIllegalColumnValue, AtomicBoolean aborted)
+			throws Throwable
+	{
+		List<Column> columns = chunk.getColumns();
+		int columnCount = columns.size();
+
+		long row = 0;
+
+		while (rs.next())
+		{
+			if (aborted.get())
+				throw new DataExchangeException("Chunk export aborted");
+
+			for (int i = 0; i < columnCount; i++)
+			{
+				Column column = columns.get(i);
+
+				String value = null;
+
+				try
+				{
+					value = getStringValue(cn, rs, i + 1, column.getType(), dataFormatContext);
+				}
+				catch (Throwable t)
+				{
+					if (nullForIllegalColumnValue)
+					{
+						value = null;
+						chunk.addSetNullTextValue(
+								new CsvChunkSetNullTextValue(row, column.getName(), wrapToDataExchangeException(t)));
+					}
+					else
+						throw t;
+				}
+
+				csvPrinter.print(value);
+			}
+
+			csvPrinter.println();
+
+			row++;
+		}
+
+		csvPrinter.flush();
+		chunk.setRowCount(row);
+	}
+
 	/**
 	 * 构建{@linkplain CSVPrinter}。
 	 * 
@@ -155,4 +720,97 @@ public class CsvDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 
 		csvPrinter.println();
 	}
+
+	/**
+	 * 已导出至临时文件的分块。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class CsvChunk
+	{
+		private final File file;
+
+		private final List<Column> columns;
+
+		private long rowCount = 0;
+
+		private final List<CsvChunkSetNullTextValue> setNullTextValues = new ArrayList<>(0);
+
+		public CsvChunk(File file, List<Column> columns)
+		{
+			super();
+			this.file = file;
+			this.columns = columns;
+		}
+
+		public File getFile()
+		{
+			return file;
+		}
+
+		public List<Column> getColumns()
+		{
+			return columns;
+		}
+
+		public long getRowCount()
+		{
+			return rowCount;
+		}
+
+		public void setRowCount(long rowCount)
+		{
+			this.rowCount = rowCount;
+		}
+
+		public List<CsvChunkSetNullTextValue> getSetNullTextValues()
+		{
+			return setNullTextValues;
+		}
+
+		public void addSetNullTextValue(CsvChunkSetNullTextValue setNullTextValue)
+		{
+			this.setNullTextValues.add(setNullTextValue);
+		}
+	}
+
+	/**
+	 * 分块中被设置为{@code null}的非法列值信息。
+	 * 
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class CsvChunkSetNullTextValue
+	{
+		/** 分块内的行号 */
+		private final long row;
+
+		private final String columnName;
+
+		private final DataExchangeException exception;
+
+		public CsvChunkSetNullTextValue(long row, String columnName, DataExchangeException exception)
+		{
+			super();
+			this.row = row;
+			this.columnName = columnName;
+			this.exception = exception;
+		}
+
+		public long getRow()
+		{
+			return row;
+		}
+
+		public String getColumnName()
+		{
+			return columnName;
+		}
+
+		public DataExchangeException getException()
+		{
+			return exception;
+		}
+	}
 }
@@ -63,6 +63,9 @@ public class CsvDataImportService extends AbstractDevotedDBMetaDataExchangeServi
 		JdbcUtil.setAutoCommitIfSupports(cn, false);
 		JdbcUtil.setReadonlyIfSupports(cn, false);
 
+		importContext.setValueDataImportBatch(createValueDataImportBatch(cn, importOption,
+				importContext.getDataFormatContext(), dataExchange.getListener()));
+
 		PreparedStatement st = null;
 
 		List<Column> rawColumns = null;
@@ -92,14 +95,14 @@ public class CsvDataImportService extends AbstractDevotedDBMetaDataExchangeServi
 			{
 				List<String> columnValues = resolveCSVRecordValues(dataExchange, csvRecord, rawColumns, noNullColumns);
 
-				importValueData(cn, st, noNullColumns, columnValues, importContext.getDataIndex(),
-						importOption.isNullForIllegalColumnValue(), importOption.getExceptionResolve(),
-						importContext.getDataFormatContext(), dataExchange.getListener());
+				importValueData(importContext.getValueDataImportBatch(), st, noNullColumns, columnValues,
+						importContext.getDataIndex());
 			}
 
 			row++;
 		}
 
+		executeValueDataImportBatch(importContext.getValueDataImportBatch());
 		commit(cn);
 	}
 
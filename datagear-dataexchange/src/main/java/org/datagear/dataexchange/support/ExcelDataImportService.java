@@ -88,11 +88,15 @@ public class ExcelDataImportService extends AbstractDevotedDBMetaDataExchangeSer
 		JdbcUtil.setAutoCommitIfSupports(cn, false);
 		JdbcUtil.setReadonlyIfSupports(cn, false);
 
+		importContext.setValueDataImportBatch(createValueDataImportBatch(cn, dataExchange.getImportOption(),
+				importContext.getDataFormatContext(), dataExchange.getListener()));
+
 		if (dataExchange.isXls())
 			importXls(dataExchange, importContext, cn);
 		else
 			importXlsx(dataExchange, importContext, cn);
 
+		executeValueDataImportBatch(importContext.getValueDataImportBatch());
 		commit(cn);
 	}
 
@@ -474,11 +478,9 @@ public class ExcelDataImportService extends AbstractDevotedDBMetaDataExchangeSer
 
 						this.importContext.setDataIndex(ExcelDataIndex.valueOf(this._sheetIndex, this._rowIndex));
 
-						ExcelDataImportService.this.importValueData(this.connection, this._statement,
-								this._noNullColumns, columnValues, this.importContext.getDataIndex(),
-								this.excelDataImport.getImportOption().isNullForIllegalColumnValue(),
-								this.excelDataImport.getImportOption().getExceptionResolve(),
-								this.importContext.getDataFormatContext(), this.excelDataImport.getListener());
+						ExcelDataImportService.this.importValueData(this.importContext.getValueDataImportBatch(),
+								this._statement, this._noNullColumns, columnValues,
+								this.importContext.getDataIndex());
 					}
 				}
 
@@ -788,11 +790,9 @@ public class ExcelDataImportService extends AbstractDevotedDBMetaDataExchangeSer
 
 						this.importContext.setDataIndex(ExcelDataIndex.valueOf(this.sheetIndex, this._rowIndex));
 
-						ExcelDataImportService.this.importValueData(this.connection, this._statement,
-								this._noNullColumns, columnValues, this.importContext.getDataIndex(),
-								this.excelDataImport.getImportOption().isNullForIllegalColumnValue(),
-								this.excelDataImport.getImportOption().getExceptionResolve(),
-								this.importContext.getDataFormatContext(), this.excelDataImport.getListener());
+						ExcelDataImportService.this.importValueData(this.importContext.getValueDataImportBatch(),
+								this._statement, this._noNullColumns, columnValues,
+								this.importContext.getDataIndex());
 					}
 				}
 
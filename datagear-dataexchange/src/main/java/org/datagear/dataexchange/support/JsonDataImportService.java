@@ -87,6 +87,9 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 		JdbcUtil.setAutoCommitIfSupports(cn, false);
 		JdbcUtil.setReadonlyIfSupports(cn, false);
 
+		importContext.setValueDataImportBatch(createValueDataImportBatch(cn, dataExchange.getImportOption(),
+				importContext.getDataFormatContext(), dataExchange.getListener()));
+
 		JsonParser p = Json.createParser(jsonReader);
 
 		if (p.hasNext())
@@ -122,6 +125,7 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 			}
 		}
 
+		executeValueDataImportBatch(importContext.getValueDataImportBatch());
 		commit(cn);
 	}
 
@@ -146,6 +150,9 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 		Connection cn = context.getConnection();
 		JdbcUtil.setAutoCommitIfSupports(cn, false);
 
+		importContext.setValueDataImportBatch(createValueDataImportBatch(cn, dataExchange.getImportOption(),
+				importContext.getDataFormatContext(), dataExchange.getListener()));
+
 		JsonParser p = Json.createParser(jsonReader);
 
 		if (p.hasNext())
@@ -158,6 +165,7 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 			importJsonArray(dataExchange, importContext, cn, p, table);
 		}
 
+		executeValueDataImportBatch(importContext.getValueDataImportBatch());
 		commit(cn);
 	}
 
@@ -175,8 +183,6 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 	protected void importJsonArray(JsonDataImport dataExchange, IndexFormatDataExchangeContext context, Connection cn,
 			JsonParser p, String table) throws Throwable
 	{
-		JsonDataImportOption importOption = dataExchange.getImportOption();
-
 		List<Column> totalColumns = getColumns(cn, table);
 
 		PreparedStatement prevSt = null;
@@ -215,6 +221,7 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 
 				if (newSql)
 				{
+					executeValueDataImportBatch(context.getValueDataImportBatch());
 					JdbcUtil.closeStatement(prevSt);
 
 					String sql = buildInsertPreparedSql(cn, table, myColumns);
@@ -223,12 +230,12 @@ public class JsonDataImportService extends AbstractDevotedDBMetaDataExchangeServ
 					prevColumns = myColumns;
 				}
 
-				importValueData(cn, prevSt, prevColumns, myColumnValues, context.getDataIndex(),
-						importOption.isNullForIllegalColumnValue(), importOption.getExceptionResolve(),
-						context.getDataFormatContext(), dataExchange.getListener());
+				importValueData(context.getValueDataImportBatch(), prevSt, prevColumns, myColumnValues,
+						context.getDataIndex());
 			}
 		}
 
+		executeValueDataImportBatch(context.getValueDataImportBatch());
 		JdbcUtil.closeStatement(prevSt);
 	}
 
@@ -61,10 +61,30 @@ public class SqlDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 		Connection cn = context.getConnection();
 		JdbcUtil.setReadonlyIfSupports(cn, true);
 
+		// 查询可能是流式的（比如MySQL流式结果集），在读完结果集之前不能在同一连接上执行其他查询，
+		// 所以数据库元信息应在执行查询之前获取
+		DatabaseMetaData metaData = cn.getMetaData();
+		String quote = metaData.getIdentifierQuoteString();
+		PrimaryKey primaryKey = (dataExchange.getExportOption().isExportCreationSql()
+				? getPrimaryKey(cn, dataExchange.getTableName())
+				: null);
+
 		ResultSet rs = dataExchange.getQuery().execute(cn);
 		List<Column> columns = getColumns(cn, rs);
 
-		writeRecords(dataExchange, cn, columns, rs, sqlWriter, exportContext);
+		writeRecords(dataExchange, cn, columns, rs, quote, primaryKey, sqlWriter, exportContext);
+	}
+
+	/**
+	 * 获取表主键。
+	 * 
+	 * @param cn
+	 * @param tableName
+	 * @return 可能为{@code null}
+	 */
+	protected PrimaryKey getPrimaryKey(Connection cn, String tableName)
+	{
+		return getDbMetaResolver().getPrimaryKey(cn, tableName);
 	}
 
 	/**
@@ -74,21 +94,22 @@ public class SqlDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 	 * @param cn
 	 * @param columns
 	 * @param rs
+	 * @param quote
+	 * @param primaryKey
+	 *            建表语句的主键，允许为{@code null}
 	 * @param out
 	 * @param exportContext
 	 */
 	protected void writeRecords(SqlDataExport dataExchange, Connection cn, List<Column> columns, ResultSet rs,
-			Writer out, IndexFormatDataExchangeContext exportContext) throws Throwable
+			String quote, PrimaryKey primaryKey, Writer out, IndexFormatDataExchangeContext exportContext)
+			throws Throwable
 	{
 		TextDataExportListener listener = dataExchange.getListener();
 		SqlDataExportOption exportOption = dataExchange.getExportOption();
 		int columnCount = columns.size();
 
-		DatabaseMetaData metaData = cn.getMetaData();
-		String quote = metaData.getIdentifierQuoteString();
-
 		if (exportOption.isExportCreationSql())
-			writeCreationSql(dataExchange, cn, columns, rs, quote, out, exportContext);
+			writeCreationSql(dataExchange, columns, quote, primaryKey, out, exportContext);
 
 		long row = 0;
 
@@ -172,16 +193,16 @@ public class SqlDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 	 * 写建表语句。
 	 * 
 	 * @param dataExchange
-	 * @param cn
 	 * @param columns
-	 * @param rs
 	 * @param quote
+	 * @param primaryKey
+	 *            允许为{@code null}
 	 * @param out
 	 * @param exportContext
 	 * @throws Throwable
 	 */
-	protected void writeCreationSql(SqlDataExport dataExchange, Connection cn, List<Column> columns, ResultSet rs,
-			String quote, Writer out, IndexFormatDataExchangeContext exportContext) throws Throwable
+	protected void writeCreationSql(SqlDataExport dataExchange, List<Column> columns, String quote,
+			PrimaryKey primaryKey, Writer out, IndexFormatDataExchangeContext exportContext) throws Throwable
 	{
 		out.write("CREATE TABLE ");
 		out.write(quote);
@@ -191,7 +212,6 @@ public class SqlDataExportService extends AbstractDevotedDBMetaDataExchangeServi
 		out.write('(');
 		out.write(LINE_SEPARATOR);
 
-		PrimaryKey primaryKey = getDbMetaResolver().getPrimaryKey(cn, dataExchange.getTableName());
 		List<String> filterPkNames = filterPrimaryColumnNames(primaryKey, columns);
 
 		for (int i = 0, len = columns.size(); i < len; i++)
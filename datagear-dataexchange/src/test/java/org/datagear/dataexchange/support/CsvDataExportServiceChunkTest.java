@@ -0,0 +1,347 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.dataexchange.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.datagear.dataexchange.DataExchangeContext;
+import org.datagear.dataexchange.DataExchangeException;
+import org.datagear.dataexchange.DataFormat;
+import org.datagear.dataexchange.Query;
+import org.datagear.dataexchange.TableKeyRangeQuery;
+import org.datagear.dataexchange.TableQuery;
+import org.datagear.dataexchange.TextDataExportOption;
+import org.datagear.meta.Column;
+import org.datagear.util.FileUtil;
+import org.datagear.util.IOUtil;
+import org.datagear.util.resource.ConnectionFactory;
+import org.datagear.util.resource.ResourceFactory;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * {@linkplain CsvDataExportService}分块导出单元测试类。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class CsvDataExportServiceChunkTest
+{
+	private ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+	@After
+	public void destroy()
+	{
+		this.executorService.shutdownNow();
+	}
+
+	@Test
+	public void splitKeyRangeTest()
+	{
+		CsvDataExportService service = new CsvDataExportService();
+		service.setChunkCount(4);
+		service.setMinChunkKeySpan(10);
+
+		List<TableKeyRangeQuery> queries = service.splitKeyRange(new TableQuery("T"), "ID", new long[] { 0, 100 });
+
+		assertEquals(4, queries.size());
+
+		assertNull(queries.get(0).getMinKey());
+		assertEquals(Long.valueOf(25), queries.get(0).getMaxKey());
+		assertEquals(Long.valueOf(25), queries.get(1).getMinKey());
+		assertEquals(Long.valueOf(50), queries.get(1).getMaxKey());
+		assertEquals(Long.valueOf(50), queries.get(2).getMinKey());
+		assertEquals(Long.valueOf(75), queries.get(2).getMaxKey());
+		assertEquals(Long.valueOf(75), queries.get(3).getMinKey());
+		assertNull(queries.get(3).getMaxKey());
+
+		for (TableKeyRangeQuery query : queries)
+		{
+			assertEquals("T", query.getTable());
+			assertEquals("ID", query.getKeyColumn());
+		}
+	}
+
+	@Test
+	public void splitKeyRangeTest_minChunkKeySpan()
+	{
+		CsvDataExportService service = new CsvDataExportService();
+		service.setChunkCount(4);
+		service.setMinChunkKeySpan(40);
+
+		List<TableKeyRangeQuery> queries = service.splitKeyRange(new TableQuery("T"), "ID", new long[] { 0, 100 });
+
+		assertEquals(2, queries.size());
+		assertNull(queries.get(0).getMinKey());
+		assertEquals(Long.valueOf(50), queries.get(0).getMaxKey());
+		assertEquals(Long.valueOf(50), queries.get(1).getMinKey());
+		assertNull(queries.get(1).getMaxKey());
+
+		service.setMinChunkKeySpan(60);
+		assertNull(service.splitKeyRange(new TableQuery("T"), "ID", new long[] { 0, 100 }));
+
+		// 主键跨度超出long范围
+		assertNull(service.splitKeyRange(new TableQuery("T"), "ID", new long[] { Long.MIN_VALUE, Long.MAX_VALUE }));
+	}
+
+	@Test
+	public void exchangeTest_poolExhausted() throws Exception
+	{
+		// 连接池仅有一个连接、执行器已饱和时，导出也应能完成
+		final CountDownLatch blocker = new CountDownLatch(1);
+
+		for (int i = 0; i < 2; i++)
+		{
+			this.executorService.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						blocker.await();
+					}
+					catch (InterruptedException e)
+					{
+					}
+				}
+			});
+		}
+
+		try
+		{
+			PoolConnectionFactory connectionFactory = new PoolConnectionFactory(1);
+			MockChunkCsvDataExportService service = new MockChunkCsvDataExportService(-1);
+			service.setChunkCount(4);
+			service.setMinChunkKeySpan(10);
+			service.setChunkExecutorService(this.executorService);
+
+			StringWriter out = new StringWriter();
+			service.exchange(createCsvDataExport(connectionFactory, out));
+
+			assertEquals("ID\r\n0\r\n1\r\n2\r\n3\r\n", out.toString());
+			assertEquals(1, connectionFactory.getAvailable());
+			assertTrue(service.isAllChunkFilesDeleted());
+		}
+		finally
+		{
+			blocker.countDown();
+		}
+	}
+
+	@Test
+	public void exchangeTest_concurrent() throws Exception
+	{
+		PoolConnectionFactory connectionFactory = new PoolConnectionFactory(2);
+		MockChunkCsvDataExportService service = new MockChunkCsvDataExportService(-1);
+		service.setChunkCount(4);
+		service.setMinChunkKeySpan(10);
+		service.setChunkExecutorService(this.executorService);
+
+		StringWriter out = new StringWriter();
+		service.exchange(createCsvDataExport(connectionFactory, out));
+
+		assertEquals("ID\r\n0\r\n1\r\n2\r\n3\r\n", out.toString());
+		assertEquals(2, connectionFactory.getAvailable());
+		assertTrue(service.isAllChunkFilesDeleted());
+	}
+
+	@Test
+	public void exchangeTest_abort() throws Exception
+	{
+		PoolConnectionFactory connectionFactory = new PoolConnectionFactory(4);
+		MockChunkCsvDataExportService service = new MockChunkCsvDataExportService(1);
+		service.setChunkCount(4);
+		service.setMinChunkKeySpan(10);
+		service.setChunkExecutorService(this.executorService);
+
+		try
+		{
+			service.exchange(createCsvDataExport(connectionFactory, new StringWriter()));
+			fail();
+		}
+		catch (DataExchangeException e)
+		{
+		}
+
+		assertEquals(4, connectionFactory.getAvailable());
+		assertTrue(service.isAllChunkFilesDeleted());
+	}
+
+	protected CsvDataExport createCsvDataExport(ConnectionFactory connectionFactory, final Writer out)
+	{
+		ResourceFactory<Writer> writerFactory = new ResourceFactory<Writer>()
+		{
+			@Override
+			public Writer get() throws Exception
+			{
+				return out;
+			}
+
+			@Override
+			public void release(Writer resource) throws Exception
+			{
+			}
+		};
+
+		return new CsvDataExport(connectionFactory, new DataFormat(), new TextDataExportOption(true),
+				new TableQuery("T"), writerFactory);
+	}
+
+	/**
+	 * 模拟分块导出的{@linkplain CsvDataExportService}，每个分块写入一行分块序号。
+	 */
+	protected static class MockChunkCsvDataExportService extends CsvDataExportService
+	{
+		private final int errorChunk;
+
+		private final List<File> chunkFiles = new CopyOnWriteArrayList<File>();
+
+		public MockChunkCsvDataExportService(int errorChunk)
+		{
+			super();
+			this.errorChunk = errorChunk;
+		}
+
+		public boolean isAllChunkFilesDeleted()
+		{
+			for (File file : this.chunkFiles)
+			{
+				if (file.exists())
+					return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		protected List<TableKeyRangeQuery> resolveChunkQueries(Connection cn, Query query) throws Throwable
+		{
+			return splitKeyRange((TableQuery) query, "ID", new long[] { 0, 100 });
+		}
+
+		@Override
+		protected CsvChunk exportChunk(CsvDataExport dataExchange, TableKeyRangeQuery query, AtomicBoolean aborted)
+				throws Throwable
+		{
+			int index = (query.getMinKey() == null ? 0 : (int) (query.getMinKey() / 25));
+
+			DataExchangeContext chunkContext = new DataExchangeContext(dataExchange.getConnectionFactory());
+			File file = FileUtil.createTempFile();
+			this.chunkFiles.add(file);
+
+			Writer writer = null;
+			boolean success = false;
+
+			try
+			{
+				chunkContext.getConnection();
+
+				if (index == this.errorChunk)
+					throw new SQLException("chunk error");
+
+				// 出错分块之后的分块应被终止
+				if (this.errorChunk >= 0 && index > this.errorChunk)
+				{
+					long end = System.currentTimeMillis() + 5000;
+
+					while (!aborted.get() && System.currentTimeMillis() < end)
+						Thread.sleep(10);
+
+					if (aborted.get())
+						throw new DataExchangeException("Chunk export aborted");
+				}
+
+				writer = IOUtil.getWriter(file, CHUNK_FILE_ENCODING);
+				writer.write(index + "\r\n");
+
+				CsvChunk chunk = new CsvChunk(file, Arrays.asList(new Column("ID", Types.INTEGER)));
+				chunk.setRowCount(1);
+
+				success = true;
+
+				return chunk;
+			}
+			finally
+			{
+				IOUtil.close(writer);
+				chunkContext.closeConnection();
+
+				if (!success)
+					FileUtil.deleteFile(file);
+			}
+		}
+	}
+
+	/**
+	 * 有连接数上限的{@linkplain ConnectionFactory}，连接耗尽时等待超时将抛出异常。
+	 */
+	protected static class PoolConnectionFactory implements ConnectionFactory
+	{
+		private final Semaphore semaphore;
+
+		public PoolConnectionFactory(int maxTotal)
+		{
+			super();
+			this.semaphore = new Semaphore(maxTotal);
+		}
+
+		public int getAvailable()
+		{
+			return this.semaphore.availablePermits();
+		}
+
+		@Override
+		public Connection get() throws Exception
+		{
+			if (!this.semaphore.tryAcquire(5, TimeUnit.SECONDS))
+				throw new SQLException("Connection pool exhausted");
+
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[] { Connection.class }, new InvocationHandler()
+					{
+						@Override
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+						{
+							if (method.getReturnType() == boolean.class)
+								return false;
+
+							return null;
+						}
+					});
+		}
+
+		@Override
+		public void release(Connection resource) throws Exception
+		{
+			this.semaphore.release();
+		}
+	}
+}
@@ -182,6 +182,65 @@ public class CsvDataImportServiceTest extends DataexchangeTestSupport
 		}
 	}
 
+	@Test
+	public void exchangeTest_ExceptionResolve_ignore_batch() throws Exception
+	{
+		DataFormat dataFormat = new DataFormat();
+
+		Connection cn = null;
+		Reader reader = null;
+
+		try
+		{
+			cn = getConnection();
+
+			ResourceFactory<Reader> readerFactory = getTestReaderResourceFactory(
+					"support/CsvDataImportServiceTest__ExceptionResolve.csv");
+
+			final AtomicInteger successCount = new AtomicInteger(0);
+			final AtomicInteger ignoreCount = new AtomicInteger(0);
+
+			ValueDataImportOption valueDataImportOption = new ValueDataImportOption(ExceptionResolve.IGNORE, true,
+					true);
+			CsvDataImport impt = new CsvDataImport(new SimpleConnectionFactory(cn, false), dataFormat,
+					valueDataImportOption, TABLE_NAME, readerFactory);
+
+			impt.setListener(new MockValueDataImportListener()
+			{
+				@Override
+				public void onSuccess(DataIndex dataIndex)
+				{
+					super.onSuccess(dataIndex);
+					successCount.incrementAndGet();
+				}
+
+				@Override
+				public void onIgnore(DataIndex dataIndex, DataExchangeException e)
+				{
+					super.onIgnore(dataIndex, e);
+					ignoreCount.incrementAndGet();
+				}
+			});
+
+			clearTable(cn, TABLE_NAME);
+
+			CsvDataImportService batchImportService = new CsvDataImportService(dbMetaResolver);
+			batchImportService.setImportBatchSize(2);
+			batchImportService.exchange(impt);
+
+			int count = getCount(cn, TABLE_NAME);
+
+			Assert.assertEquals(2, count);
+			Assert.assertEquals(2, successCount.intValue());
+			Assert.assertEquals(1, ignoreCount.intValue());
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+			IOUtil.close(reader);
+		}
+	}
+
 	@Test
 	public void exchangeTest_ExceptionResolve_abort() throws Exception
 	{
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.dataexchange.support;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.datagear.dataexchange.DataFormat;
+import org.datagear.dataexchange.DataexchangeTestSupport;
+import org.datagear.dataexchange.TableQuery;
+import org.datagear.meta.PrimaryKey;
+import org.datagear.util.IOUtil;
+import org.datagear.util.JdbcUtil;
+import org.datagear.util.resource.FileWriterResourceFactory;
+import org.datagear.util.resource.ResourceFactory;
+import org.datagear.util.resource.SimpleConnectionFactory;
+import org.junit.Test;
+
+/**
+ * {@linkplain SqlDataExportService}单元测试类。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class SqlDataExportServiceTest extends DataexchangeTestSupport
+{
+	public static final String TABLE_NAME = "T_DATA_EXPORT";
+
+	@Test
+	public void exptTest_resolvePrimaryKeyBeforeQuery() throws Exception
+	{
+		final List<String> events = new ArrayList<String>();
+
+		SqlDataExportService sqlDataExportService = new SqlDataExportService(dbMetaResolver)
+		{
+			@Override
+			protected PrimaryKey getPrimaryKey(Connection cn, String tableName)
+			{
+				events.add("getPrimaryKey");
+				return super.getPrimaryKey(cn, tableName);
+			}
+		};
+
+		TableQuery query = new TableQuery(TABLE_NAME)
+		{
+			@Override
+			public ResultSet execute(Connection cn) throws Throwable
+			{
+				events.add("execute");
+				return super.execute(cn);
+			}
+		};
+
+		File outFile = new File("target/SqlDataExportServiceTest.sql");
+
+		Connection cn = null;
+
+		try
+		{
+			cn = getConnection();
+
+			ResourceFactory<Writer> writerFactory = FileWriterResourceFactory.valueOf(outFile, "UTF-8");
+
+			SqlDataExport sqlDataExport = new SqlDataExport(new SimpleConnectionFactory(cn, false), new DataFormat(),
+					new SqlDataExportOption(true, true), query, TABLE_NAME, writerFactory);
+
+			sqlDataExportService.exchange(sqlDataExport);
+		}
+		finally
+		{
+			JdbcUtil.closeConnection(cn);
+		}
+
+		assertEquals(Arrays.asList("getPrimaryKey", "execute"), events);
+
+		String sql = IOUtil.readString(new FileInputStream(outFile), "UTF-8", true);
+		assertTrue(sql.startsWith("CREATE TABLE "));
+	}
+}
@@ -8,9 +8,14 @@
 package org.datagear.management.service;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
+import org.apache.hc.client5.http.async.HttpAsyncClient;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.datagear.analysis.DataSet;
+import org.datagear.analysis.support.DataSetResultCache;
+import org.datagear.analysis.support.HttpLatencyRecorder;
+import org.datagear.analysis.support.LimitSqlResolver;
 import org.datagear.analysis.support.ProfileDataSet;
 import org.datagear.management.domain.DataSetEntity;
 import org.datagear.management.domain.User;
@@ -55,4 +60,39 @@ public interface DataSetEntityService extends DataPermissionEntityService<String
 	 * @return
 	 */
 	HttpClient getHttpClient();
+
+	/**
+	 * 获取HTTP数据集的{@linkplain HttpLatencyRecorder}。
+	 * 
+	 * @return 返回{@code null}表示不记录请求耗时
+	 */
+	HttpLatencyRecorder getHttpLatencyRecorder();
+
+	/**
+	 * 获取HTTP数据集的{@linkplain HttpAsyncClient}。
+	 * 
+	 * @return 返回{@code null}表示不支持异步
+	 */
+	HttpAsyncClient getHttpAsyncClient();
+
+	/**
+	 * 获取HTTP数据集的异步响应解析执行器。
+	 * 
+	 * @return 返回{@code null}表示使用默认执行器
+	 */
+	Executor getHttpResponseExecutor();
+
+	/**
+	 * 获取数据集结果缓存。
+	 * 
+	 * @return 返回{@code null}表示未启用缓存
+	 */
+	DataSetResultCache getDataSetResultCache();
+
+	/**
+	 * 获取SQL数据集的{@linkplain LimitSqlResolver}。
+	 * 
+	 * @return 返回{@code null}表示不使用数据库级分页查询
+	 */
+	LimitSqlResolver getLimitSqlResolver();
 }
@@ -7,6 +7,7 @@
 
 package org.datagear.management.service.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -16,6 +17,7 @@ import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.datagear.management.domain.User;
 import org.datagear.management.util.dialect.MbSqlDialect;
+import org.datagear.persistence.CountType;
 import org.datagear.persistence.Order;
 import org.datagear.persistence.PagingData;
 import org.datagear.persistence.PagingQuery;
@@ -366,20 +368,45 @@ public abstract class AbstractMybatisService<T> extends SqlSessionDaoSupport
 	{
 		addQueryParam(params, pagingQuery);
 
-		int total = (Integer) selectOneMybatis(statement + "Count", params);
+		boolean countTotal = pagingQuery.isCountTotal();
+		int page = (pagingQuery.getPage() < 1 ? 1 : pagingQuery.getPage());
+		int pageSize = pagingQuery.getPageSize();
 
-		PagingData<T> pagingData = new PagingData<>(pagingQuery.getPage(), total, pagingQuery.getPageSize());
+		PagingData<T> pagingData = null;
 
-		int startIndex = pagingData.getStartIndex();
+		if (countTotal)
+		{
+			int total = (Integer) selectOneMybatis(statement + "Count", params);
+			pagingData = new PagingData<>(page, total, pageSize);
+			page = pagingData.getPage();
+		}
+
+		int startIndex = (page - 1) * pageSize;
 
-		addDialectParamsPagingQuery(params, startIndex, pagingData.getPageSize());
+		// 不查询总记录数时，多读取一行以确定是否有下一页
+		int fetchCount = (countTotal ? pageSize : pageSize + 1);
+
+		addDialectParamsPagingQuery(params, startIndex, fetchCount);
 
 		List<T> list = null;
 
 		if (this.dialect.supportsPaging())
 			list = query(statement, params);
 		else
-			list = query(statement, params, new RowBounds(startIndex, pagingData.getPageSize()));
+			list = query(statement, params, new RowBounds(startIndex, fetchCount));
+
+		if (!countTotal)
+		{
+			pagingData = new PagingData<>(page, startIndex + list.size(), pageSize);
+
+			if (list.size() <= pageSize && (list.size() > 0 || page == 1))
+				pagingData.setCountType(CountType.EXACT);
+			else
+				pagingData.setCountType(CountType.PROBED);
+
+			if (list.size() > pageSize)
+				list = new ArrayList<>(list.subList(0, pageSize));
+		}
 
 		if (postProcessQuery)
 			postProcessQuery(list);
@@ -11,13 +11,24 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
+import org.apache.hc.client5.http.async.HttpAsyncClient;
 import org.apache.hc.client5.http.classic.HttpClient;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.datagear.analysis.DataSet;
 import org.datagear.analysis.DataSetParam;
 import org.datagear.analysis.DataSetProperty;
+import org.datagear.analysis.support.AbstractCsvFileDataSet;
+import org.datagear.analysis.support.AbstractExcelDataSet;
+import org.datagear.analysis.support.AbstractJsonFileDataSet;
+import org.datagear.analysis.support.DataSetFileCache;
+import org.datagear.analysis.support.DataSetResultCache;
+import org.datagear.analysis.support.DataSetResultCoalescer;
+import org.datagear.analysis.support.HttpLatencyRecorder;
+import org.datagear.analysis.support.LimitSqlResolver;
 import org.datagear.analysis.support.ProfileDataSet;
+import org.datagear.analysis.support.ResultCacheDataSet;
 import org.datagear.connection.ConnectionSource;
 import org.datagear.management.domain.AnalysisProject;
 import org.datagear.management.domain.AnalysisProjectAwareEntity;
@@ -47,6 +58,8 @@ import org.datagear.persistence.PagingQuery;
 import org.datagear.util.FileUtil;
 import org.datagear.util.StringUtil;
 import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * {@linkplain DataSetEntityService}实现类。
@@ -74,6 +87,27 @@ public class DataSetEntityServiceImpl extends AbstractMybatisDataPermissionEntit
 
 	private HttpClient httpClient;
 
+	/** HTTP数据集请求耗时记录器，为{@code null}表示不记录 */
+	private HttpLatencyRecorder httpLatencyRecorder = null;
+
+	/** HTTP数据集异步客户端，为{@code null}表示不支持异步 */
+	private HttpAsyncClient httpAsyncClient = null;
+
+	/** HTTP数据集异步响应解析执行器，为{@code null}表示使用默认执行器 */
+	private Executor httpResponseExecutor = null;
+
+	/** 数据集结果缓存，为{@code null}表示不缓存 */
+	private DataSetResultCache dataSetResultCache = null;
+
+	/** 数据集结果合并获取器，为{@code null}表示不合并 */
+	private DataSetResultCoalescer dataSetResultCoalescer = null;
+
+	/** SQL数据集的分页查询SQL解析器，为{@code null}表示不使用数据库级分页查询 */
+	private LimitSqlResolver limitSqlResolver = null;
+
+	/** 文件数据集的已解析文件数据缓存，为{@code null}表示不缓存 */
+	private DataSetFileCache dataSetFileCache = null;
+
 	public DataSetEntityServiceImpl()
 	{
 		super();
@@ -184,6 +218,81 @@ public class DataSetEntityServiceImpl extends AbstractMybatisDataPermissionEntit
 		this.httpClient = httpClient;
 	}
 
+	@Override
+	public HttpLatencyRecorder getHttpLatencyRecorder()
+	{
+		return httpLatencyRecorder;
+	}
+
+	public void setHttpLatencyRecorder(HttpLatencyRecorder httpLatencyRecorder)
+	{
+		this.httpLatencyRecorder = httpLatencyRecorder;
+	}
+
+	@Override
+	public HttpAsyncClient getHttpAsyncClient()
+	{
+		return httpAsyncClient;
+	}
+
+	public void setHttpAsyncClient(HttpAsyncClient httpAsyncClient)
+	{
+		this.httpAsyncClient = httpAsyncClient;
+	}
+
+	@Override
+	public Executor getHttpResponseExecutor()
+	{
+		return httpResponseExecutor;
+	}
+
+	public void setHttpResponseExecutor(Executor httpResponseExecutor)
+	{
+		this.httpResponseExecutor = httpResponseExecutor;
+	}
+
+	@Override
+	public DataSetResultCache getDataSetResultCache()
+	{
+		return dataSetResultCache;
+	}
+
+	public void setDataSetResultCache(DataSetResultCache dataSetResultCache)
+	{
+		this.dataSetResultCache = dataSetResultCache;
+	}
+
+	public DataSetResultCoalescer getDataSetResultCoalescer()
+	{
+		return dataSetResultCoalescer;
+	}
+
+	public void setDataSetResultCoalescer(DataSetResultCoalescer dataSetResultCoalescer)
+	{
+		this.dataSetResultCoalescer = dataSetResultCoalescer;
+	}
+
+	@Override
+	public LimitSqlResolver getLimitSqlResolver()
+	{
+		return limitSqlResolver;
+	}
+
+	public void setLimitSqlResolver(LimitSqlResolver limitSqlResolver)
+	{
+		this.limitSqlResolver = limitSqlResolver;
+	}
+
+	public DataSetFileCache getDataSetFileCache()
+	{
+		return dataSetFileCache;
+	}
+
+	public void setDataSetFileCache(DataSetFileCache dataSetFileCache)
+	{
+		this.dataSetFileCache = dataSetFileCache;
+	}
+
 	@Override
 	public File getDataSetDirectory(String dataSetId)
 	{
@@ -202,7 +311,18 @@ public class DataSetEntityServiceImpl extends AbstractMybatisDataPermissionEntit
 
 			if (connectionFactory != null)
 				connectionFactory.setConnectionSource(this.connectionSource);
+
+			sqlDataSetEntity.setLimitSqlResolver(this.limitSqlResolver);
 		}
+		else if (entity instanceof AbstractCsvFileDataSet)
+			((AbstractCsvFileDataSet) entity).setDataSetFileCache(this.dataSetFileCache);
+		else if (entity instanceof AbstractJsonFileDataSet)
+			((AbstractJsonFileDataSet) entity).setDataSetFileCache(this.dataSetFileCache);
+		else if (entity instanceof AbstractExcelDataSet)
+			((AbstractExcelDataSet) entity).setDataSetFileCache(this.dataSetFileCache);
+
+		if (entity != null && (this.dataSetResultCache != null || this.dataSetResultCoalescer != null))
+			return new ResultCacheDataSet(entity, this.dataSetResultCache, this.dataSetResultCoalescer);
 
 		return entity;
 	}
@@ -355,9 +475,51 @@ public class DataSetEntityServiceImpl extends AbstractMybatisDataPermissionEntit
 		if (success)
 			saveDataSetChildren(entity);
 
+		dataSetResultCacheInvalidate(entity.getId());
+
 		return success;
 	}
 
+	@Override
+	protected boolean deleteById(String id, Map<String, Object> params)
+	{
+		boolean deleted = super.deleteById(id, params);
+
+		dataSetResultCacheInvalidate(id);
+
+		return deleted;
+	}
+
+	/**
+	 * 清除指定数据集的结果缓存。
+	 * <p>
+	 * 如果当前处于事务中，将在事务提交后再清除，避免并发查询在提交前再次缓存旧结果。
+	 * </p>
+	 * 
+	 * @param id
+	 */
+	protected void dataSetResultCacheInvalidate(final String id)
+	{
+		final DataSetResultCache dataSetResultCache = this.dataSetResultCache;
+
+		if (dataSetResultCache == null)
+			return;
+
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+			{
+				@Override
+				public void afterCommit()
+				{
+					dataSetResultCache.invalidate(id);
+				}
+			});
+		}
+		else
+			dataSetResultCache.invalidate(id);
+	}
+
 	protected boolean updateSqlDataSetEntity(SqlDataSetEntity entity)
 	{
 		Map<String, Object> params = buildParamMap();
@@ -548,7 +710,12 @@ public class DataSetEntityServiceImpl extends AbstractMybatisDataPermissionEntit
 		HttpDataSetEntity entity = selectOneMybatis("getHttpDataSetEntityById", params);
 
 		if (entity != null)
+		{
 			entity.setHttpClient(this.httpClient);
+			entity.setLatencyRecorder(this.httpLatencyRecorder);
+			entity.setHttpAsyncClient(this.httpAsyncClient);
+			entity.setResponseExecutor(this.httpResponseExecutor);
+		}
 
 		return entity;
 	}
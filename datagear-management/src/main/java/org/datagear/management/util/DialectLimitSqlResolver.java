@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.management.util;
+
+import java.sql.Connection;
+
+import org.datagear.analysis.support.LimitSqlResolver;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.DialectSource;
+import org.datagear.util.Sql;
+
+/**
+ * 基于{@linkplain Dialect#toPagingQuerySql(Sql, org.datagear.persistence.Order[], long, int)}的{@linkplain LimitSqlResolver}。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class DialectLimitSqlResolver implements LimitSqlResolver
+{
+	private DialectSource dialectSource;
+
+	public DialectLimitSqlResolver()
+	{
+		super();
+	}
+
+	public DialectLimitSqlResolver(DialectSource dialectSource)
+	{
+		super();
+		this.dialectSource = dialectSource;
+	}
+
+	public DialectSource getDialectSource()
+	{
+		return dialectSource;
+	}
+
+	public void setDialectSource(DialectSource dialectSource)
+	{
+		this.dialectSource = dialectSource;
+	}
+
+	@Override
+	public Sql resolve(Connection cn, Sql sql, int limit) throws Throwable
+	{
+		Dialect dialect = this.dialectSource.getDialect(cn);
+
+		if (!dialect.supportsPagingSql())
+			return null;
+
+		return dialect.toPagingQuerySql(sql, null, 1, limit);
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.meta;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 表目录。
+ * <p>
+ * 它存储按照表名排序的{@linkplain SimpleTable}列表，以及用于关键字查找的大写表名索引，创建后不可修改。
+ * </p>
+ * <p>
+ * 关键字查找规则：{@code "abc%"}匹配以{@code abc}开头的表名（使用索引二分查找）；{@code "%abc"}匹配以{@code abc}结尾的表名；
+ * {@code "%abc%"}、{@code "abc"}匹配包含{@code abc}的表名；都忽略大小写。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class TableCatalog implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	protected static final Comparator<SimpleTable> TABLE_NAME_COMPARATOR = new Comparator<SimpleTable>()
+	{
+		@Override
+		public int compare(SimpleTable o1, SimpleTable o2)
+		{
+			return o1.getName().compareTo(o2.getName());
+		}
+	};
+
+	private final List<SimpleTable> tables;
+
+	/** 与{@linkplain #tables}对应的大写表名 */
+	private final String[] upperNames;
+
+	/** 按照大写表名排序的{@linkplain #tables}索引，用于前缀查找 */
+	private final Integer[] upperNameOrders;
+
+	private final long createTime;
+
+	public TableCatalog(List<SimpleTable> tables)
+	{
+		super();
+
+		List<SimpleTable> sorted = new ArrayList<>(tables);
+		Collections.sort(sorted, TABLE_NAME_COMPARATOR);
+
+		final String[] upperNames = new String[sorted.size()];
+		Integer[] upperNameOrders = new Integer[upperNames.length];
+
+		for (int i = 0; i < upperNames.length; i++)
+		{
+			upperNames[i] = sorted.get(i).getName().toUpperCase();
+			upperNameOrders[i] = i;
+		}
+
+		Arrays.sort(upperNameOrders, new Comparator<Integer>()
+		{
+			@Override
+			public int compare(Integer o1, Integer o2)
+			{
+				return upperNames[o1].compareTo(upperNames[o2]);
+			}
+		});
+
+		this.tables = Collections.unmodifiableList(sorted);
+		this.upperNames = upperNames;
+		this.upperNameOrders = upperNameOrders;
+		this.createTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * 获取按照表名排序的所有表。
+	 *
+	 * @return
+	 */
+	public List<SimpleTable> getTables()
+	{
+		return tables;
+	}
+
+	public int size()
+	{
+		return this.tables.size();
+	}
+
+	/**
+	 * 获取创建时间毫秒数。
+	 *
+	 * @return
+	 */
+	public long getCreateTime()
+	{
+		return createTime;
+	}
+
+	/**
+	 * 是否包含指定名称的表。
+	 *
+	 * @param tableName
+	 * @return
+	 */
+	public boolean contains(String tableName)
+	{
+		SimpleTable key = new SimpleTable(tableName, null);
+		return (Collections.binarySearch(this.tables, key, TABLE_NAME_COMPARATOR) >= 0);
+	}
+
+	/**
+	 * 按照关键字查找表。
+	 *
+	 * @param keyword
+	 *            为{@code null}或空时返回所有表
+	 * @return 按照表名排序的表列表
+	 */
+	public List<SimpleTable> find(String keyword)
+	{
+		if (keyword == null)
+			return this.tables;
+
+		keyword = keyword.trim();
+
+		if (keyword.isEmpty())
+			return this.tables;
+
+		boolean start = false;
+		boolean end = false;
+
+		if (keyword.startsWith("%"))
+		{
+			end = true;
+			keyword = keyword.substring(1);
+
+			if (keyword.endsWith("%"))
+			{
+				end = false;
+				keyword = keyword.substring(0, keyword.length() - 1);
+			}
+		}
+		else if (keyword.endsWith("%"))
+		{
+			start = true;
+			keyword = keyword.substring(0, keyword.length() - 1);
+		}
+
+		String upperKeyword = keyword.toUpperCase();
+
+		if (start)
+			return findByPrefix(upperKeyword);
+
+		List<SimpleTable> re = new ArrayList<>();
+
+		for (int i = 0; i < this.upperNames.length; i++)
+		{
+			String upperName = this.upperNames[i];
+
+			if (end ? upperName.endsWith(upperKeyword) : upperName.indexOf(upperKeyword) >= 0)
+				re.add(this.tables.get(i));
+		}
+
+		return re;
+	}
+
+	/**
+	 * 查找大写表名以指定前缀开头的表。
+	 *
+	 * @param upperPrefix
+	 * @return
+	 */
+	protected List<SimpleTable> findByPrefix(String upperPrefix)
+	{
+		int low = 0;
+		int high = this.upperNameOrders.length;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (this.upperNames[this.upperNameOrders[mid]].compareTo(upperPrefix) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+
+		List<Integer> indexes = new ArrayList<>();
+
+		for (int i = low; i < this.upperNameOrders.length; i++)
+		{
+			int index = this.upperNameOrders[i];
+
+			if (!this.upperNames[index].startsWith(upperPrefix))
+				break;
+
+			indexes.add(index);
+		}
+
+		Collections.sort(indexes);
+
+		List<SimpleTable> re = new ArrayList<>(indexes.size());
+
+		for (Integer index : indexes)
+			re.add(this.tables.get(index));
+
+		return re;
+	}
+}
@@ -9,17 +9,22 @@ package org.datagear.meta.resolver;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.datagear.connection.ConnectionOption;
 import org.datagear.meta.Column;
@@ -54,11 +59,27 @@ public abstract class AbstractDevotedDBMetaResolver extends JdbcSupport implemen
 
 	protected static final String[] EMPTY_STRING_ARRAY = new String[0];
 
+	/** 默认批量解析的最少表数 */
+	public static final int DEFAULT_MIN_BULK_TABLES = 3;
+
+	/** 批量解析的最少表数，表数目小于此值时逐表解析 */
+	private int minBulkTables = DEFAULT_MIN_BULK_TABLES;
+
 	public AbstractDevotedDBMetaResolver()
 	{
 		super();
 	}
 
+	public int getMinBulkTables()
+	{
+		return minBulkTables;
+	}
+
+	public void setMinBulkTables(int minBulkTables)
+	{
+		this.minBulkTables = minBulkTables;
+	}
+
 	@Override
 	public Database getDatabase(Connection cn) throws DBMetaResolverException
 	{
@@ -162,6 +183,22 @@ public abstract class AbstractDevotedDBMetaResolver extends JdbcSupport implemen
 		return getTable(cn, metaData, catalog, schema, tableName);
 	}
 
+	@Override
+	public List<Table> getTables(Connection cn, String... tableNames) throws DBMetaResolverException
+	{
+		@JDBCCompatiblity("如果cn为readonly，某些驱动程序的DatabaseMetaData.isReadOnly()也将为true（比如：Postgresql JDBC 42.2.5），"
+				+ "这会导致解析Table.readonly不正确，因此这里设为false，以保证解析正确")
+		boolean readonly = JdbcUtil.isReadonlyIfSupports(cn, true);
+		if (readonly)
+			JdbcUtil.setReadonlyIfSupports(cn, false);
+
+		String catalog = getCatalog(cn);
+		DatabaseMetaData metaData = getDatabaseMetaData(cn);
+		String schema = getSchema(cn, metaData);
+
+		return getTables(cn, metaData, catalog, schema, tableNames);
+	}
+
 	@Override
 	public Column[] getColumns(Connection cn, String tableName) throws DBMetaResolverException
 	{
@@ -224,49 +261,35 @@ public abstract class AbstractDevotedDBMetaResolver extends JdbcSupport implemen
 		DatabaseMetaData metaData = getDatabaseMetaData(cn);
 		String schema = getSchema(cn, metaData);
 
+		Set<String> validTableNames = new LinkedHashSet<>();
+		for (String tableName : tableNames)
+		{
+			if (!StringUtil.isEmpty(tableName))
+				validTableNames.add(tableName);
+		}
+
+		Map<String, ImportKey[]> importKeyss = getBulkImportKeys(cn, metaData, catalog, schema, validTableNames);
+
 		for (int i = 0; i < tableNames.length; i++)
 		{
-			String[] importTables = null;
+			ImportKey[] importKeys = (StringUtil.isEmpty(tableNames[i]) ? null : importKeyss.get(tableNames[i]));
 
-			if (StringUtil.isEmpty(tableNames[i]))
-				importTables = EMPTY_STRING_ARRAY;
+			if (importKeys == null || importKeys.length == 0)
+				importTabless.add(EMPTY_STRING_ARRAY);
 			else
 			{
-				// 处理重复表
-				for (int k = 0; i < i; k++)
-				{
-					if (tableNames[k].equals(tableNames[i]))
-					{
-						importTables = importTabless.get(k);
-						break;
-					}
-				}
+				List<String> importedTableList = new ArrayList<>(2);
 
-				if (importTables == null)
+				for (int j = 0; j < importKeys.length; j++)
 				{
-					ImportKey[] importKeys = getImportKeys(cn, metaData, catalog, schema, tableNames[i]);
+					String primaryTable = importKeys[j].getPrimaryTableName();
 
-					if (importKeys == null || importKeys.length == 0)
-						importTables = EMPTY_STRING_ARRAY;
-					else
-					{
-						List<String> importedTableList = new ArrayList<>(2);
-
-						for (int j = 0; j < importKeys.length; j++)
-						{
-							String primaryTable = importKeys[j].getPrimaryTableName();
-
-							if (!importedTableList.contains(primaryTable))
-								importedTableList.add(primaryTable);
-						}
-
-						importTables = new String[importedTableList.size()];
-						importedTableList.toArray(importTables);
-					}
+					if (!importedTableList.contains(primaryTable))
+						importedTableList.add(primaryTable);
 				}
-			}
 
-			importTabless.add(importTables);
+				importTabless.add(importedTableList.toArray(new String[importedTableList.size()]));
+			}
 		}
 
 		return importTabless;
@@ -960,6 +983,479 @@ public abstract class AbstractDevotedDBMetaResolver extends JdbcSupport implemen
 		return importKeys;
 	}
 
+	/**
+	 * 批量获取{@linkplain Table}。
+	 * <p>
+	 * 表数目小于{@linkplain #getMinBulkTables()}时逐表解析，否则使用{@linkplain #getBulkColumns(Connection, DatabaseMetaData, String, String, Set)}、
+	 * {@linkplain #getBulkPrimaryKeys(Connection, DatabaseMetaData, String, String, Set)}等批量解析。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param metaData
+	 * @param catalog
+	 * @param schema
+	 * @param tableNames
+	 * @return
+	 * @throws DBMetaResolverException
+	 */
+	protected List<Table> getTables(Connection cn, DatabaseMetaData metaData, String catalog, String schema,
+			String[] tableNames) throws DBMetaResolverException
+	{
+		List<Table> tables = new ArrayList<>(tableNames.length);
+
+		if (tableNames.length < this.minBulkTables)
+		{
+			for (String tableName : tableNames)
+				tables.add(getTable(cn, metaData, catalog, schema, tableName));
+
+			return tables;
+		}
+
+		boolean readonly = resolveTableReadonly(cn);
+
+		Set<String> nameSet = new LinkedHashSet<>(Arrays.asList(tableNames));
+
+		Map<String, SimpleTable> simpleTables = new HashMap<>();
+		for (SimpleTable simpleTable : getSimpleTables(cn, metaData, catalog, schema, null))
+		{
+			if (nameSet.contains(simpleTable.getName()))
+				simpleTables.put(simpleTable.getName(), simpleTable);
+		}
+
+		for (String tableName : nameSet)
+		{
+			if (!simpleTables.containsKey(tableName))
+				throw new TableNotFoundException(tableName);
+		}
+
+		Map<String, Column[]> columnss = getBulkColumns(cn, metaData, catalog, schema, nameSet);
+		Map<String, PrimaryKey> primaryKeys = getBulkPrimaryKeys(cn, metaData, catalog, schema, nameSet);
+		Map<String, UniqueKey[]> uniqueKeyss = getBulkUniqueKeys(cn, metaData, catalog, schema, nameSet);
+		Map<String, ImportKey[]> importKeyss = getBulkImportKeys(cn, metaData, catalog, schema, nameSet);
+
+		for (String tableName : tableNames)
+		{
+			SimpleTable simpleTable = simpleTables.get(tableName);
+
+			Column[] columns = columnss.get(tableName);
+
+			// 元信息中没有列信息的表（比如Oracle的同义词），需要单独解析
+			if (columns == null || columns.length == 0)
+				columns = getColumns(cn, metaData, catalog, schema, tableName, null);
+
+			Table table = new Table();
+			table.setName(simpleTable.getName());
+			table.setType(simpleTable.getType());
+			table.setComment(simpleTable.getComment());
+			table.setColumns(columns);
+			table.setPrimaryKey(primaryKeys.get(tableName));
+			table.setUniqueKeys(uniqueKeyss.get(tableName));
+			table.setImportKeys(importKeyss.get(tableName));
+			table.setReadonly(readonly);
+
+			table = postProcessTable(cn, metaData, schema, table);
+
+			tables.add(table);
+		}
+
+		return tables;
+	}
+
+	/**
+	 * 批量获取表的{@linkplain Column}。
+	 * <p>
+	 * 默认实现使用一次{@linkplain DatabaseMetaData#getColumns(String, String, String, String)}查询当前模式下所有表的列，
+	 * 然后筛选出指定表的列。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param metaData
+	 * @param catalog
+	 * @param schema
+	 * @param tableNames
+	 * @return 表名-列数组映射表，没有列信息的表不会包含在内
+	 * @throws DBMetaResolverException
+	 */
+	protected Map<String, Column[]> getBulkColumns(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		Map<String, List<Column>> columnss = new HashMap<>();
+
+		ResultSet rs = null;
+
+		try
+		{
+			rs = getColumnResulSet(cn, metaData, catalog, schema, "%");
+			MetaResultSet mrs = MetaResultSet.valueOf(rs);
+
+			while (rs.next())
+			{
+				String tableName = mrs.getString("TABLE_NAME", null);
+
+				if (tableName == null || !tableNames.contains(tableName))
+					continue;
+
+				Column column = readColumn(cn, metaData, schema, tableName, mrs);
+				column = postProcessColumn(cn, metaData, schema, tableName, column);
+
+				List<Column> columns = columnss.get(tableName);
+				if (columns == null)
+				{
+					columns = new ArrayList<>();
+					columnss.put(tableName, columns);
+				}
+
+				addValidColumn(columns, column);
+			}
+		}
+		catch (SQLException e)
+		{
+			throw new DBMetaResolverException(e);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+		}
+
+		Map<String, Column[]> re = new HashMap<>();
+
+		for (Map.Entry<String, List<Column>> entry : columnss.entrySet())
+		{
+			List<Column> columns = entry.getValue();
+			sortColumns(columns);
+
+			re.put(entry.getKey(), columns.toArray(new Column[columns.size()]));
+		}
+
+		return re;
+	}
+
+	/**
+	 * 批量获取表的{@linkplain PrimaryKey}。
+	 * <p>
+	 * 默认实现逐表调用{@linkplain #getPrimaryKey(Connection, DatabaseMetaData, String, String, String)}，
+	 * 子类可以重写此方法，使用数据库特有的元信息表一次查询。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param metaData
+	 * @param catalog
+	 * @param schema
+	 * @param tableNames
+	 * @return 表名-主键映射表，无主键的表不会包含在内
+	 * @throws DBMetaResolverException
+	 */
+	protected Map<String, PrimaryKey> getBulkPrimaryKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		Map<String, PrimaryKey> re = new HashMap<>();
+
+		for (String tableName : tableNames)
+		{
+			PrimaryKey primaryKey = getPrimaryKey(cn, metaData, catalog, schema, tableName);
+
+			if (primaryKey != null)
+				re.put(tableName, primaryKey);
+		}
+
+		return re;
+	}
+
+	/**
+	 * 批量获取表的{@linkplain UniqueKey}。
+	 * <p>
+	 * 默认实现逐表调用{@linkplain #getUniqueKeys(Connection, DatabaseMetaData, String, String, String)}，
+	 * 子类可以重写此方法，使用数据库特有的元信息表一次查询。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param metaData
+	 * @param catalog
+	 * @param schema
+	 * @param tableNames
+	 * @return 表名-唯一键数组映射表，无唯一键的表不会包含在内
+	 * @throws DBMetaResolverException
+	 */
+	protected Map<String, UniqueKey[]> getBulkUniqueKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		Map<String, UniqueKey[]> re = new HashMap<>();
+
+		for (String tableName : tableNames)
+		{
+			UniqueKey[] uniqueKeys = getUniqueKeys(cn, metaData, catalog, schema, tableName);
+
+			if (uniqueKeys != null)
+				re.put(tableName, uniqueKeys);
+		}
+
+		return re;
+	}
+
+	/**
+	 * 批量获取表的{@linkplain ImportKey}。
+	 * <p>
+	 * 默认实现逐表调用{@linkplain #getImportKeys(Connection, DatabaseMetaData, String, String, String)}，
+	 * 子类可以重写此方法，使用数据库特有的元信息表一次查询。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param metaData
+	 * @param catalog
+	 * @param schema
+	 * @param tableNames
+	 * @return 表名-导入键数组映射表，无导入键的表不会包含在内
+	 * @throws DBMetaResolverException
+	 */
+	protected Map<String, ImportKey[]> getBulkImportKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		Map<String, ImportKey[]> re = new HashMap<>();
+
+		for (String tableName : tableNames)
+		{
+			ImportKey[] importKeys = getImportKeys(cn, metaData, catalog, schema, tableName);
+
+			if (importKeys != null)
+				re.put(tableName, importKeys);
+		}
+
+		return re;
+	}
+
+	/**
+	 * 读取批量主键结果集。
+	 * <p>
+	 * 结果集应包含{@code TABLE_NAME}、{@code PK_NAME}、{@code COLUMN_NAME}列，并且按照表名、主键名、列序号排序。
+	 * </p>
+	 * 
+	 * @param rs
+	 * @param tableNames
+	 *            仅读取这些表的主键
+	 * @return
+	 * @throws SQLException
+	 */
+	protected Map<String, PrimaryKey> readBulkPrimaryKeys(ResultSet rs, Set<String> tableNames) throws SQLException
+	{
+		Map<String, PrimaryKey> re = new HashMap<>();
+
+		Map<String, List<String[]>> rowss = readBulkKeyRows(rs, tableNames, "TABLE_NAME", "PK_NAME", "COLUMN_NAME");
+
+		for (Map.Entry<String, List<String[]>> entry : rowss.entrySet())
+		{
+			List<String> columnNames = new ArrayList<>();
+			String keyName = null;
+
+			for (String[] row : entry.getValue())
+			{
+				if (StringUtil.isEmpty(keyName))
+					keyName = row[0];
+
+				addValidName(columnNames, row[1]);
+			}
+
+			if (!columnNames.isEmpty())
+			{
+				PrimaryKey primaryKey = new PrimaryKey(columnNames.toArray(new String[columnNames.size()]));
+				primaryKey.setKeyName(keyName);
+
+				re.put(entry.getKey(), primaryKey);
+			}
+		}
+
+		return re;
+	}
+
+	/**
+	 * 读取批量唯一键结果集。
+	 * <p>
+	 * 结果集应包含{@code TABLE_NAME}、{@code INDEX_NAME}、{@code COLUMN_NAME}列，并且按照表名、索引名、列序号排序。
+	 * </p>
+	 * 
+	 * @param rs
+	 * @param tableNames
+	 *            仅读取这些表的唯一键
+	 * @return
+	 * @throws SQLException
+	 */
+	protected Map<String, UniqueKey[]> readBulkUniqueKeys(ResultSet rs, Set<String> tableNames) throws SQLException
+	{
+		Map<String, UniqueKey[]> re = new HashMap<>();
+
+		Map<String, List<String[]>> rowss = readBulkKeyRows(rs, tableNames, "TABLE_NAME", "INDEX_NAME",
+				"COLUMN_NAME");
+
+		for (Map.Entry<String, List<String[]>> entry : rowss.entrySet())
+		{
+			Map<String, List<String>> keyColumnNamess = new LinkedHashMap<>();
+
+			for (String[] row : entry.getValue())
+			{
+				String keyName = (row[0] == null ? "" : row[0]);
+
+				List<String> keyColumnNames = keyColumnNamess.get(keyName);
+				if (keyColumnNames == null)
+				{
+					keyColumnNames = new ArrayList<>();
+					keyColumnNamess.put(keyName, keyColumnNames);
+				}
+
+				addValidName(keyColumnNames, row[1]);
+			}
+
+			List<UniqueKey> uks = new ArrayList<>();
+
+			for (Map.Entry<String, List<String>> keyEntry : keyColumnNamess.entrySet())
+			{
+				List<String> keyColumnNames = keyEntry.getValue();
+
+				if (keyColumnNames.isEmpty())
+					continue;
+
+				UniqueKey uk = new UniqueKey(keyColumnNames.toArray(new String[keyColumnNames.size()]));
+				uk.setKeyName(keyEntry.getKey());
+
+				uks.add(uk);
+			}
+
+			if (!uks.isEmpty())
+				re.put(entry.getKey(), uks.toArray(new UniqueKey[uks.size()]));
+		}
+
+		return re;
+	}
+
+	/**
+	 * 读取批量导入键结果集。
+	 * <p>
+	 * 结果集应包含{@code FKTABLE_NAME}、{@code FK_NAME}、{@code FKCOLUMN_NAME}、{@code PKTABLE_NAME}、{@code PKCOLUMN_NAME}列，
+	 * 并且按照表名、外键名、列序号排序。
+	 * </p>
+	 * 
+	 * @param rs
+	 * @param tableNames
+	 *            仅读取这些表的导入键
+	 * @return
+	 * @throws SQLException
+	 */
+	protected Map<String, ImportKey[]> readBulkImportKeys(ResultSet rs, Set<String> tableNames) throws SQLException
+	{
+		Map<String, ImportKey[]> re = new HashMap<>();
+
+		Map<String, List<String[]>> rowss = readBulkKeyRows(rs, tableNames, "FKTABLE_NAME", "FK_NAME",
+				"FKCOLUMN_NAME", "PKTABLE_NAME", "PKCOLUMN_NAME");
+
+		for (Map.Entry<String, List<String[]>> entry : rowss.entrySet())
+		{
+			Map<String, ImportKey> importKeys = new LinkedHashMap<>();
+			Map<String, List<String>> columnNamess = new HashMap<>();
+			Map<String, List<String>> primaryColumnNamess = new HashMap<>();
+
+			for (String[] row : entry.getValue())
+			{
+				String keyName = (row[0] == null ? "" : row[0]);
+
+				if (!importKeys.containsKey(keyName))
+				{
+					ImportKey importKey = new ImportKey();
+					importKey.setKeyName(keyName);
+					importKey.setPrimaryTableName(row[2] == null ? "" : row[2]);
+
+					importKeys.put(keyName, importKey);
+					columnNamess.put(keyName, new ArrayList<String>());
+					primaryColumnNamess.put(keyName, new ArrayList<String>());
+				}
+
+				addValidName(columnNamess.get(keyName), row[1]);
+				addValidName(primaryColumnNamess.get(keyName), row[3]);
+			}
+
+			for (Map.Entry<String, ImportKey> keyEntry : importKeys.entrySet())
+			{
+				List<String> columnNames = columnNamess.get(keyEntry.getKey());
+				List<String> primaryColumnNames = primaryColumnNamess.get(keyEntry.getKey());
+
+				ImportKey importKey = keyEntry.getValue();
+				importKey.setColumnNames(columnNames.toArray(new String[columnNames.size()]));
+				importKey.setPrimaryColumnNames(primaryColumnNames.toArray(new String[primaryColumnNames.size()]));
+			}
+
+			re.put(entry.getKey(), importKeys.values().toArray(new ImportKey[importKeys.size()]));
+		}
+
+		return re;
+	}
+
+	/**
+	 * 创建批量元信息查询{@linkplain PreparedStatement}，并设置字符串参数。
+	 * 
+	 * @param cn
+	 * @param sql
+	 * @param params
+	 * @return
+	 * @throws SQLException
+	 */
+	protected PreparedStatement prepareBulkMetaQuery(Connection cn, String sql, String... params) throws SQLException
+	{
+		PreparedStatement pst = cn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+		try
+		{
+			for (int i = 0; i < params.length; i++)
+				pst.setString(i + 1, params[i]);
+		}
+		catch (SQLException e)
+		{
+			JdbcUtil.closeStatement(pst);
+			throw e;
+		}
+
+		return pst;
+	}
+
+	/**
+	 * 读取批量键结果集行，并按照表名分组。
+	 * 
+	 * @param rs
+	 * @param tableNames
+	 * @param tableNameColumn
+	 *            表名列
+	 * @param valueColumns
+	 *            要读取的其他列
+	 * @return 表名-行值列表映射表，行值与{@code valueColumns}对应
+	 * @throws SQLException
+	 */
+	protected Map<String, List<String[]>> readBulkKeyRows(ResultSet rs, Set<String> tableNames,
+			String tableNameColumn, String... valueColumns) throws SQLException
+	{
+		Map<String, List<String[]>> re = new HashMap<>();
+
+		MetaResultSet mrs = MetaResultSet.valueOf(rs);
+
+		while (rs.next())
+		{
+			String tableName = mrs.getString(tableNameColumn, null);
+
+			if (tableName == null || !tableNames.contains(tableName))
+				continue;
+
+			String[] row = new String[valueColumns.length];
+			for (int i = 0; i < valueColumns.length; i++)
+				row[i] = mrs.getString(valueColumns[i], null);
+
+			List<String[]> rows = re.get(tableName);
+			if (rows == null)
+			{
+				rows = new ArrayList<>();
+				re.put(tableName, rows);
+			}
+
+			rows.add(row);
+		}
+
+		return re;
+	}
+
 	/**
 	 * 添加非空、且不重名的名称元素。
 	 * 
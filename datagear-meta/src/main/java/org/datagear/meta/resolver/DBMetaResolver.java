@@ -92,6 +92,21 @@ public interface DBMetaResolver
 	 */
 	Table getTable(Connection cn, String tableName) throws DBMetaResolverException;
 
+	/**
+	 * 批量获取指定名称的{@linkplain Table}。
+	 * <p>
+	 * 与逐个调用{@linkplain #getTable(Connection, String)}相比，它会尽量使用少量的元信息查询一次性加载所有表的列、主键、唯一键、导入键。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param tableNames
+	 * @return 与{@code tableNames}顺序一致的{@linkplain Table}列表
+	 * @throws TableNotFoundException
+	 *             当某个表不存在时
+	 * @throws DBMetaResolverException
+	 */
+	List<Table> getTables(Connection cn, String... tableNames) throws DBMetaResolverException;
+
 	/**
 	 * 获取指定表的所有{@linkplain Column}。
 	 * 
@@ -20,6 +20,7 @@ import org.datagear.meta.PrimaryKey;
 import org.datagear.meta.SimpleTable;
 import org.datagear.meta.Table;
 import org.datagear.meta.resolver.support.MySqlDevotedDBMetaResolver;
+import org.datagear.meta.resolver.support.PostgresqlDevotedDBMetaResolver;
 
 /**
  * 通用{@linkplain DBMetaResolver}。
@@ -46,6 +47,7 @@ public class GenericDBMetaResolver implements DBMetaResolver
 
 		this.devotedDBMetaResolvers = new ArrayList<>();
 		this.devotedDBMetaResolvers.add(new MySqlDevotedDBMetaResolver());
+		this.devotedDBMetaResolvers.add(new PostgresqlDevotedDBMetaResolver());
 		this.devotedDBMetaResolvers.add(new WildcardDevotedDBMetaResolver());
 	}
 
@@ -101,6 +103,13 @@ public class GenericDBMetaResolver implements DBMetaResolver
 		return resolver.getTable(cn, tableName);
 	}
 
+	@Override
+	public List<Table> getTables(Connection cn, String... tableNames) throws DBMetaResolverException
+	{
+		DevotedDBMetaResolver resolver = doGetDevotedDBMetaResolverNotNull(cn);
+		return resolver.getTables(cn, tableNames);
+	}
+
 	@Override
 	public Column[] getColumns(Connection cn, String tableName) throws DBMetaResolverException
 	{
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.meta.resolver;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.datagear.meta.SimpleTable;
+import org.datagear.meta.TableCatalog;
+import org.datagear.meta.TableType;
+import org.datagear.util.resource.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@linkplain TableCatalog}缓存。
+ * <p>
+ * 它按照关键字（比如数据源ID）缓存由{@linkplain DBMetaResolver#getSimpleTables(Connection)}、
+ * {@linkplain TableType#filterUserDataTables(Connection, DBMetaResolver, List)}构建的用户数据表目录，
+ * 以免每次分页、关键字查找都读取数据库元信息。
+ * </p>
+ * <p>
+ * 缓存未命中时，同一关键字只会加载一次；表目录创建超过{@linkplain #getRefreshAfterMillis()}后，
+ * 获取时将先返回旧的表目录，并在{@linkplain #getRefreshExecutor()}中后台刷新（没有设置时则同步刷新）。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class TableCatalogCache
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(TableCatalogCache.class);
+
+	private DBMetaResolver dbMetaResolver;
+
+	/** 缓存的最大表目录数 */
+	private int maximumSize = 100;
+
+	/** 缓存过期分钟数 */
+	private int expireAfterAccessMinutes = 60 * 72;
+
+	/** 表目录创建多少毫秒后需要刷新，小于等于{@code 0}表示不刷新 */
+	private long refreshAfterMillis = 5 * 60 * 1000;
+
+	/** 后台刷新执行器，为{@code null}表示同步刷新 */
+	private ExecutorService refreshExecutor = null;
+
+	/** 刷新监听器，允许为{@code null} */
+	private TableCatalogListener listener = null;
+
+	private Cache<String, TableCatalog> _cache = null;
+
+	private ConcurrentMap<String, Boolean> _refreshingKeys = new ConcurrentHashMap<>();
+
+	public TableCatalogCache()
+	{
+		super();
+	}
+
+	public TableCatalogCache(DBMetaResolver dbMetaResolver)
+	{
+		super();
+		this.dbMetaResolver = dbMetaResolver;
+	}
+
+	public DBMetaResolver getDbMetaResolver()
+	{
+		return dbMetaResolver;
+	}
+
+	public void setDbMetaResolver(DBMetaResolver dbMetaResolver)
+	{
+		this.dbMetaResolver = dbMetaResolver;
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize)
+	{
+		this.maximumSize = maximumSize;
+	}
+
+	public int getExpireAfterAccessMinutes()
+	{
+		return expireAfterAccessMinutes;
+	}
+
+	public void setExpireAfterAccessMinutes(int expireAfterAccessMinutes)
+	{
+		this.expireAfterAccessMinutes = expireAfterAccessMinutes;
+	}
+
+	public long getRefreshAfterMillis()
+	{
+		return refreshAfterMillis;
+	}
+
+	public void setRefreshAfterMillis(long refreshAfterMillis)
+	{
+		this.refreshAfterMillis = refreshAfterMillis;
+	}
+
+	public ExecutorService getRefreshExecutor()
+	{
+		return refreshExecutor;
+	}
+
+	public void setRefreshExecutor(ExecutorService refreshExecutor)
+	{
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	public TableCatalogListener getListener()
+	{
+		return listener;
+	}
+
+	public void setListener(TableCatalogListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._cache = Caffeine.newBuilder().maximumSize(this.maximumSize)
+				.expireAfterAccess(this.expireAfterAccessMinutes, TimeUnit.MINUTES).build();
+	}
+
+	/**
+	 * 获取表目录。
+	 * 
+	 * @param key
+	 *            缓存关键字
+	 * @param connectionFactory
+	 *            用于加载、刷新表目录的连接工厂，后台刷新时也会使用它
+	 * @return
+	 * @throws DBMetaResolverException
+	 */
+	public TableCatalog get(final String key, final ConnectionFactory connectionFactory)
+			throws DBMetaResolverException
+	{
+		TableCatalog catalog = this._cache.get(key, new Function<String, TableCatalog>()
+		{
+			@Override
+			public TableCatalog apply(String k)
+			{
+				return load(connectionFactory);
+			}
+		});
+
+		if (isStale(catalog))
+		{
+			if (this.refreshExecutor == null)
+				catalog = refresh(key, catalog, connectionFactory);
+			else
+				submitRefresh(key, catalog, connectionFactory);
+		}
+
+		return catalog;
+	}
+
+	/**
+	 * 获取已缓存的表目录，没有时返回{@code null}。
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public TableCatalog getIfPresent(String key)
+	{
+		return this._cache.getIfPresent(key);
+	}
+
+	/**
+	 * 清除指定关键字的表目录。
+	 * 
+	 * @param key
+	 */
+	public void invalidate(String key)
+	{
+		this._cache.invalidate(key);
+	}
+
+	/**
+	 * 清除所有表目录。
+	 */
+	public void invalidateAll()
+	{
+		this._cache.invalidateAll();
+	}
+
+	/**
+	 * 表目录是否需要刷新。
+	 * 
+	 * @param catalog
+	 * @return
+	 */
+	protected boolean isStale(TableCatalog catalog)
+	{
+		if (this.refreshAfterMillis <= 0)
+			return false;
+
+		return (System.currentTimeMillis() - catalog.getCreateTime() > this.refreshAfterMillis);
+	}
+
+	/**
+	 * 提交后台刷新，同一关键字同时只会有一个刷新任务。
+	 * 
+	 * @param key
+	 * @param oldCatalog
+	 * @param connectionFactory
+	 */
+	protected void submitRefresh(final String key, final TableCatalog oldCatalog,
+			final ConnectionFactory connectionFactory)
+	{
+		if (this._refreshingKeys.putIfAbsent(key, Boolean.TRUE) != null)
+			return;
+
+		try
+		{
+			this.refreshExecutor.submit(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						refresh(key, oldCatalog, connectionFactory);
+					}
+					catch (Throwable t)
+					{
+						LOGGER.error("Refresh table catalog error for [" + key + "]", t);
+					}
+					finally
+					{
+						_refreshingKeys.remove(key);
+					}
+				}
+			});
+		}
+		catch (Throwable t)
+		{
+			this._refreshingKeys.remove(key);
+
+			LOGGER.error("Submit table catalog refresh error for [" + key + "]", t);
+		}
+	}
+
+	/**
+	 * 刷新表目录。
+	 * <p>
+	 * 仅当缓存中的表目录仍是{@code oldCatalog}时才替换它，以免覆盖刷新期间被清除或者已更新的缓存。
+	 * </p>
+	 * 
+	 * @param key
+	 * @param oldCatalog
+	 * @param connectionFactory
+	 * @return 新的表目录
+	 * @throws DBMetaResolverException
+	 */
+	protected TableCatalog refresh(String key, TableCatalog oldCatalog, ConnectionFactory connectionFactory)
+			throws DBMetaResolverException
+	{
+		TableCatalog newCatalog = load(connectionFactory);
+
+		if (this._cache.asMap().replace(key, oldCatalog, newCatalog))
+		{
+			LOGGER.debug("Refresh table catalog for [{}], {} tables", key, newCatalog.size());
+
+			if (this.listener != null)
+				this.listener.onRefresh(key, oldCatalog, newCatalog, connectionFactory);
+		}
+
+		return newCatalog;
+	}
+
+	/**
+	 * 加载表目录。
+	 * 
+	 * @param connectionFactory
+	 * @return
+	 * @throws DBMetaResolverException
+	 */
+	protected TableCatalog load(ConnectionFactory connectionFactory) throws DBMetaResolverException
+	{
+		Connection cn = null;
+
+		try
+		{
+			cn = connectionFactory.get();
+
+			List<SimpleTable> tables = this.dbMetaResolver.getSimpleTables(cn);
+			tables = TableType.filterUserDataTables(cn, this.dbMetaResolver, tables);
+
+			return new TableCatalog(tables);
+		}
+		catch (DBMetaResolverException e)
+		{
+			throw e;
+		}
+		catch (Exception e)
+		{
+			throw new DBMetaResolverException(e);
+		}
+		finally
+		{
+			if (cn != null)
+			{
+				try
+				{
+					connectionFactory.release(cn);
+				}
+				catch (Exception e)
+				{
+					LOGGER.error("Release connection error", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.meta.resolver;
+
+import org.datagear.meta.TableCatalog;
+import org.datagear.util.resource.ConnectionFactory;
+
+/**
+ * {@linkplain TableCatalogCache}刷新监听器。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface TableCatalogListener
+{
+	/**
+	 * 表目录在后台刷新后调用。
+	 * 
+	 * @param key
+	 *            缓存关键字
+	 * @param oldCatalog
+	 *            刷新前的表目录
+	 * @param newCatalog
+	 *            刷新后的表目录
+	 * @param connectionFactory
+	 *            刷新时使用的连接工厂，可用于在后台预加载其他元信息
+	 */
+	void onRefresh(String key, TableCatalog oldCatalog, TableCatalog newCatalog, ConnectionFactory connectionFactory);
+}
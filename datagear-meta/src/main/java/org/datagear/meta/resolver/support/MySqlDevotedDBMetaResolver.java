@@ -9,24 +9,58 @@ package org.datagear.meta.resolver.support;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
 
 import org.datagear.connection.ConnectionSensor;
 import org.datagear.connection.URLConnectionSensor;
 import org.datagear.connection.support.MySqlURLSensor;
+import org.datagear.meta.ImportKey;
+import org.datagear.meta.PrimaryKey;
 import org.datagear.meta.SimpleTable;
+import org.datagear.meta.UniqueKey;
 import org.datagear.meta.resolver.AbstractConnectionDevotedDBMetaResolver;
+import org.datagear.meta.resolver.DBMetaResolverException;
 import org.datagear.meta.resolver.DevotedDBMetaResolver;
+import org.datagear.util.JdbcUtil;
 import org.datagear.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * MySQL {@linkplain DevotedDBMetaResolver}。
+ * <p>
+ * 批量解析表的主键、唯一键、导入键时，它直接查询{@code information_schema}，而不是逐表调用{@linkplain DatabaseMetaData}，
+ * 查询出错时（比如没有{@code information_schema}的访问权限）将回退为逐表解析。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
 public class MySqlDevotedDBMetaResolver extends AbstractConnectionDevotedDBMetaResolver
 {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MySqlDevotedDBMetaResolver.class);
+
+	/** MySQL主键索引名 */
+	protected static final String PRIMARY_KEY_NAME = "PRIMARY";
+
+	protected static final String SQL_BULK_UNIQUE_KEYS = "SELECT TABLE_NAME, INDEX_NAME, COLUMN_NAME"
+			+ " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? AND NON_UNIQUE = 0"
+			+ " ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+
+	protected static final String SQL_BULK_PRIMARY_KEYS = "SELECT TABLE_NAME, INDEX_NAME AS PK_NAME, COLUMN_NAME"
+			+ " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? AND INDEX_NAME = '" + PRIMARY_KEY_NAME
+			+ "' ORDER BY TABLE_NAME, SEQ_IN_INDEX";
+
+	protected static final String SQL_BULK_IMPORT_KEYS = "SELECT TABLE_NAME AS FKTABLE_NAME,"
+			+ " CONSTRAINT_NAME AS FK_NAME, COLUMN_NAME AS FKCOLUMN_NAME,"
+			+ " REFERENCED_TABLE_NAME AS PKTABLE_NAME, REFERENCED_COLUMN_NAME AS PKCOLUMN_NAME"
+			+ " FROM information_schema.KEY_COLUMN_USAGE WHERE TABLE_SCHEMA = ? AND REFERENCED_TABLE_NAME IS NOT NULL"
+			+ " ORDER BY TABLE_NAME, CONSTRAINT_NAME, ORDINAL_POSITION";
+
 	public MySqlDevotedDBMetaResolver()
 	{
 		super(new URLConnectionSensor(MySqlURLSensor.INSTANCE));
@@ -63,4 +97,92 @@ public class MySqlDevotedDBMetaResolver extends AbstractConnectionDevotedDBMetaR
 		else
 			st.setComment("");
 	}
+
+	@Override
+	protected Map<String, PrimaryKey> getBulkPrimaryKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		// MySQL的数据库即是catalog
+		if (StringUtil.isEmpty(catalog))
+			return super.getBulkPrimaryKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+
+		try
+		{
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_PRIMARY_KEYS, catalog);
+			rs = pst.executeQuery();
+
+			return readBulkPrimaryKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve primary keys by table for bulk query exception", e);
+			return super.getBulkPrimaryKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+		}
+	}
+
+	@Override
+	protected Map<String, UniqueKey[]> getBulkUniqueKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		if (StringUtil.isEmpty(catalog))
+			return super.getBulkUniqueKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+
+		try
+		{
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_UNIQUE_KEYS, catalog);
+			rs = pst.executeQuery();
+
+			return readBulkUniqueKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve unique keys by table for bulk query exception", e);
+			return super.getBulkUniqueKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+		}
+	}
+
+	@Override
+	protected Map<String, ImportKey[]> getBulkImportKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		if (StringUtil.isEmpty(catalog))
+			return super.getBulkImportKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+
+		try
+		{
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_IMPORT_KEYS, catalog);
+			rs = pst.executeQuery();
+
+			return readBulkImportKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve import keys by table for bulk query exception", e);
+			return super.getBulkImportKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+		}
+	}
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.meta.resolver.support;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Map;
+import java.util.Set;
+
+import org.datagear.connection.ConnectionSensor;
+import org.datagear.connection.URLConnectionSensor;
+import org.datagear.connection.support.PostgresqlURLSensor;
+import org.datagear.meta.ImportKey;
+import org.datagear.meta.PrimaryKey;
+import org.datagear.meta.UniqueKey;
+import org.datagear.meta.resolver.AbstractConnectionDevotedDBMetaResolver;
+import org.datagear.meta.resolver.DBMetaResolverException;
+import org.datagear.meta.resolver.DevotedDBMetaResolver;
+import org.datagear.util.JdbcUtil;
+import org.datagear.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PostgreSQL {@linkplain DevotedDBMetaResolver}。
+ * <p>
+ * 批量解析表的主键、唯一键、导入键时，它直接查询{@code pg_catalog}系统表（与PostgreSQL驱动程序的{@linkplain DatabaseMetaData}实现一致），
+ * 而不是逐表调用{@linkplain DatabaseMetaData}，查询出错时将回退为逐表解析（非自动提交时会先回滚至查询前设置的保存点）。
+ * </p>
+ * <p>
+ * 这里没有使用{@code information_schema}，因为它仅包含当前用户所拥有的表的约束信息。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class PostgresqlDevotedDBMetaResolver extends AbstractConnectionDevotedDBMetaResolver
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlDevotedDBMetaResolver.class);
+
+	protected static final String SQL_BULK_INDEX_KEYS = "SELECT ct.relname AS TABLE_NAME, ci.relname AS %s,"
+			+ " a.attname AS COLUMN_NAME FROM pg_catalog.pg_class ct"
+			+ " JOIN pg_catalog.pg_namespace n ON ct.relnamespace = n.oid"
+			+ " JOIN (SELECT i.indexrelid, i.indrelid, i.indisprimary, i.indisunique,"
+			+ " information_schema._pg_expandarray(i.indkey) AS keys FROM pg_catalog.pg_index i) i"
+			+ " ON ct.oid = i.indrelid JOIN pg_catalog.pg_attribute a ON a.attrelid = ct.oid AND a.attnum = (i.keys).x"
+			+ " JOIN pg_catalog.pg_class ci ON ci.oid = i.indexrelid WHERE n.nspname = ? AND %s"
+			+ " ORDER BY ct.relname, ci.relname, (i.keys).n";
+
+	protected static final String SQL_BULK_PRIMARY_KEYS = String.format(SQL_BULK_INDEX_KEYS, "PK_NAME",
+			"i.indisprimary");
+
+	protected static final String SQL_BULK_UNIQUE_KEYS = String.format(SQL_BULK_INDEX_KEYS, "INDEX_NAME",
+			"i.indisunique");
+
+	protected static final String SQL_BULK_IMPORT_KEYS = "SELECT ct.relname AS FKTABLE_NAME, c.conname AS FK_NAME,"
+			+ " a.attname AS FKCOLUMN_NAME, pt.relname AS PKTABLE_NAME, pa.attname AS PKCOLUMN_NAME"
+			+ " FROM pg_catalog.pg_constraint c JOIN pg_catalog.pg_class ct ON ct.oid = c.conrelid"
+			+ " JOIN pg_catalog.pg_namespace n ON ct.relnamespace = n.oid"
+			+ " JOIN pg_catalog.pg_class pt ON pt.oid = c.confrelid"
+			+ " JOIN (SELECT oid, generate_subscripts(conkey, 1) AS pos FROM pg_catalog.pg_constraint"
+			+ " WHERE contype = 'f') k ON k.oid = c.oid"
+			+ " JOIN pg_catalog.pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[k.pos]"
+			+ " JOIN pg_catalog.pg_attribute pa ON pa.attrelid = c.confrelid AND pa.attnum = c.confkey[k.pos]"
+			+ " WHERE c.contype = 'f' AND n.nspname = ? ORDER BY ct.relname, c.conname, k.pos";
+
+	public PostgresqlDevotedDBMetaResolver()
+	{
+		super(new URLConnectionSensor(PostgresqlURLSensor.INSTANCE));
+	}
+
+	@Override
+	public void setConnectionSensor(ConnectionSensor connectionSensor)
+	{
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected Map<String, PrimaryKey> getBulkPrimaryKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		if (StringUtil.isEmpty(schema))
+			return super.getBulkPrimaryKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+		Savepoint savepoint = null;
+
+		try
+		{
+			savepoint = setBulkSavepoint(cn);
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_PRIMARY_KEYS, schema);
+			rs = pst.executeQuery();
+
+			return readBulkPrimaryKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve primary keys by table for bulk query exception", e);
+			rollbackBulkSavepoint(cn, savepoint);
+			return super.getBulkPrimaryKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+			releaseBulkSavepoint(cn, savepoint);
+		}
+	}
+
+	@Override
+	protected Map<String, UniqueKey[]> getBulkUniqueKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		if (StringUtil.isEmpty(schema))
+			return super.getBulkUniqueKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+		Savepoint savepoint = null;
+
+		try
+		{
+			savepoint = setBulkSavepoint(cn);
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_UNIQUE_KEYS, schema);
+			rs = pst.executeQuery();
+
+			return readBulkUniqueKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve unique keys by table for bulk query exception", e);
+			rollbackBulkSavepoint(cn, savepoint);
+			return super.getBulkUniqueKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+			releaseBulkSavepoint(cn, savepoint);
+		}
+	}
+
+	@Override
+	protected Map<String, ImportKey[]> getBulkImportKeys(Connection cn, DatabaseMetaData metaData, String catalog,
+			String schema, Set<String> tableNames) throws DBMetaResolverException
+	{
+		if (StringUtil.isEmpty(schema))
+			return super.getBulkImportKeys(cn, metaData, catalog, schema, tableNames);
+
+		PreparedStatement pst = null;
+		ResultSet rs = null;
+		Savepoint savepoint = null;
+
+		try
+		{
+			savepoint = setBulkSavepoint(cn);
+			pst = prepareBulkMetaQuery(cn, SQL_BULK_IMPORT_KEYS, schema);
+			rs = pst.executeQuery();
+
+			return readBulkImportKeys(rs, tableNames);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("resolve import keys by table for bulk query exception", e);
+			rollbackBulkSavepoint(cn, savepoint);
+			return super.getBulkImportKeys(cn, metaData, catalog, schema, tableNames);
+		}
+		finally
+		{
+			JdbcUtil.closeResultSet(rs);
+			JdbcUtil.closeStatement(pst);
+			releaseBulkSavepoint(cn, savepoint);
+		}
+	}
+
+	/**
+	 * 在批量查询前设置保存点。
+	 * <p>
+	 * PostgreSQL在事务中执行语句出错后，整个事务将不可用，因此非自动提交时需要设置保存点，
+	 * 以便批量查询出错后回滚至保存点，使回退的逐表解析可以继续执行。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @return 返回{@code null}表示自动提交，不需要保存点
+	 * @throws SQLException
+	 */
+	protected Savepoint setBulkSavepoint(Connection cn) throws SQLException
+	{
+		if (cn.getAutoCommit())
+			return null;
+
+		return cn.setSavepoint();
+	}
+
+	/**
+	 * 批量查询出错后回滚至保存点。
+	 * 
+	 * @param cn
+	 * @param savepoint
+	 *            允许为{@code null}
+	 * @throws DBMetaResolverException
+	 *             回滚出错时，此时无法回退为逐表解析
+	 */
+	protected void rollbackBulkSavepoint(Connection cn, Savepoint savepoint) throws DBMetaResolverException
+	{
+		if (savepoint == null)
+			return;
+
+		try
+		{
+			cn.rollback(savepoint);
+		}
+		catch (SQLException e)
+		{
+			throw new DBMetaResolverException(e);
+		}
+	}
+
+	/**
+	 * 释放保存点。
+	 * 
+	 * @param cn
+	 * @param savepoint
+	 *            允许为{@code null}
+	 */
+	protected void releaseBulkSavepoint(Connection cn, Savepoint savepoint)
+	{
+		if (savepoint == null)
+			return;
+
+		try
+		{
+			cn.releaseSavepoint(savepoint);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.warn("release savepoint exception", e);
+		}
+	}
+}
@@ -83,6 +83,32 @@ public class GenericDBMetaResolverTest extends DBTestSupport
 		}
 	}
 
+	@Test
+	public void getTablesTest() throws Exception
+	{
+		List<Table> tables = this.genericDBMetaResolver.getTables(this.connection, "T_ACCOUNT", "T_ADDRESS",
+				"T_ACCOUNT");
+
+		assertEquals(3, tables.size());
+
+		{
+			Table table = tables.get(0);
+			assertThat(table, hasProperty("name", equalToIgnoringCase("T_ACCOUNT")));
+			assertThat(table.getColumns(), hasItemInArray(hasProperty("name", equalToIgnoringCase("ID"))));
+			assertThat(table.getPrimaryKey(), hasProperty("columnNames", hasItemInArray(equalToIgnoringCase("ID"))));
+		}
+
+		{
+			Table table = tables.get(1);
+			assertThat(table, hasProperty("name", equalToIgnoringCase("T_ADDRESS")));
+			assertThat(table.getColumns(), hasItemInArray(hasProperty("name", equalToIgnoringCase("ACCOUNT_ID"))));
+			assertThat(table.getUniqueKeys(),
+					hasItemInArray(hasProperty("columnNames", arrayContaining(equalToIgnoringCase("ACCOUNT_ID")))));
+		}
+
+		assertThat(tables.get(2), hasProperty("name", equalToIgnoringCase("T_ACCOUNT")));
+	}
+
 	@Test
 	public void getColumnsTest() throws Exception
 	{
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * {@linkplain TableCatalog}单元测试类。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class TableCatalogTest
+{
+	private TableCatalog tableCatalog = new TableCatalog(Arrays.asList(new SimpleTable("T_ORDER", TableType.TABLE),
+			new SimpleTable("t_user", TableType.TABLE), new SimpleTable("T_ORDER_ITEM", TableType.TABLE),
+			new SimpleTable("V_USER", TableType.VIEW), new SimpleTable("T_ROLE", TableType.TABLE)));
+
+	@Test
+	public void getTablesTest()
+	{
+		assertEquals(5, tableCatalog.size());
+		assertEquals(Arrays.asList("T_ORDER", "T_ORDER_ITEM", "T_ROLE", "V_USER", "t_user"),
+				names(tableCatalog.getTables()));
+	}
+
+	@Test
+	public void containsTest()
+	{
+		assertTrue(tableCatalog.contains("T_ORDER"));
+		assertTrue(tableCatalog.contains("t_user"));
+		assertFalse(tableCatalog.contains("T_USER"));
+		assertFalse(tableCatalog.contains("T_NONE"));
+	}
+
+	@Test
+	public void findTest()
+	{
+		assertEquals(5, tableCatalog.find(null).size());
+		assertEquals(5, tableCatalog.find(" ").size());
+
+		// 前缀
+		assertEquals(Arrays.asList("T_ORDER", "T_ORDER_ITEM", "T_ROLE", "t_user"), names(tableCatalog.find("t_%")));
+		assertEquals(Arrays.asList("T_ORDER", "T_ORDER_ITEM"), names(tableCatalog.find("t_order%")));
+		assertEquals(0, tableCatalog.find("x%").size());
+
+		// 后缀
+		assertEquals(Arrays.asList("V_USER", "t_user"), names(tableCatalog.find("%user")));
+		assertEquals(Arrays.asList("T_ORDER_ITEM"), names(tableCatalog.find("%ITEM")));
+
+		// 包含
+		assertEquals(Arrays.asList("T_ORDER", "T_ORDER_ITEM"), names(tableCatalog.find("%order%")));
+		assertEquals(Arrays.asList("T_ORDER", "T_ORDER_ITEM"), names(tableCatalog.find("rder")));
+		assertEquals(Arrays.asList("T_ROLE"), names(tableCatalog.find("ROLE")));
+	}
+
+	protected List<String> names(List<SimpleTable> tables)
+	{
+		List<String> names = new ArrayList<>();
+
+		for (SimpleTable table : tables)
+			names.add(table.getName());
+
+		return names;
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence;
+
+/**
+ * 总记录数类型。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public enum CountType
+{
+	/** 精确数目 */
+	EXACT,
+
+	/** 达到上限的数目，实际记录数大于等于它 */
+	CAPPED,
+
+	/** 由数据库统计信息得到的估算数目 */
+	ESTIMATED,
+
+	/** 缓存的数目，可能已过时 */
+	CACHED,
+
+	/** 未查询总记录数，仅由已读取的记录得出 */
+	PROBED
+}
@@ -24,6 +24,9 @@ public class PagingData<T>
 	/** 总记录数 */
 	private long total = 0;
 
+	/** 总记录数类型 */
+	private CountType countType = CountType.EXACT;
+
 	/** 当前页数据 */
 	private List<T> items;
 
@@ -33,6 +36,9 @@ public class PagingData<T>
 	/** 分页信息 */
 	private Paging paging = new Paging();
 
+	/** 当前页最后一行记录的键集分页定位键，为{@code null}表示不支持键集分页 */
+	private SeekKey lastSeekKey = null;
+
 	public PagingData()
 	{
 		this(1, 0);
@@ -70,6 +76,16 @@ public class PagingData<T>
 		this.total = total;
 	}
 
+	public CountType getCountType()
+	{
+		return countType;
+	}
+
+	public void setCountType(CountType countType)
+	{
+		this.countType = countType;
+	}
+
 	public List<T> getItems()
 	{
 		return items;
@@ -110,6 +126,16 @@ public class PagingData<T>
 		this.paging.setPageSize(pageSize);
 	}
 
+	public SeekKey getLastSeekKey()
+	{
+		return lastSeekKey;
+	}
+
+	public void setLastSeekKey(SeekKey lastSeekKey)
+	{
+		this.lastSeekKey = lastSeekKey;
+	}
+
 	/**
 	 * 获取当前页在整个记录中的开始位置，以{@code 0}开始计数。
 	 * 
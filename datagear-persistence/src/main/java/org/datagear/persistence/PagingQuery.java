@@ -22,6 +22,12 @@ public class PagingQuery extends Query
 	/** 分页信息 */
 	private Paging paging = new Paging();
 
+	/** 键集分页定位键，为{@code null}表示使用偏移量分页 */
+	private SeekKey seekKey = null;
+
+	/** 是否查询总记录数，为{@code false}时仅探测是否有下一页 */
+	private boolean countTotal = true;
+
 	public PagingQuery()
 	{
 		super();
@@ -74,12 +80,41 @@ public class PagingQuery extends Query
 		this.paging.setPageSize(pageSize);
 	}
 
+	public SeekKey getSeekKey()
+	{
+		return seekKey;
+	}
+
+	/**
+	 * 设置键集分页定位键。
+	 * <p>
+	 * 当它的{@linkplain SeekKey#getPage()}小于{@linkplain #getPage()}、且排序规则匹配时，将从定位键之后开始查询，
+	 * 否则，将忽略它而使用偏移量分页。
+	 * </p>
+	 * 
+	 * @param seekKey
+	 */
+	public void setSeekKey(SeekKey seekKey)
+	{
+		this.seekKey = seekKey;
+	}
+
+	public boolean isCountTotal()
+	{
+		return countTotal;
+	}
+
+	public void setCountTotal(boolean countTotal)
+	{
+		this.countTotal = countTotal;
+	}
+
 	@Override
 	public String toString()
 	{
 		return getClass().getSimpleName() + " [page=" + getPage() + ", pageSize=" + getPageSize() + ", notLike="
 				+ isNotLike() + ", keyword=" + getKeyword() + ", condition=" + getCondition() + ", orders="
-				+ Arrays.toString(getOrders()) + "]";
+				+ Arrays.toString(getOrders()) + ", seekKey=" + seekKey + ", countTotal=" + countTotal + "]";
 	}
 
 	@Override
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence;
+
+import java.io.Serializable;
+
+/**
+ * 记录数。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class RowCount implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** 记录数 */
+	private long total;
+
+	/** 记录数类型 */
+	private CountType type;
+
+	public RowCount()
+	{
+		super();
+	}
+
+	public RowCount(long total, CountType type)
+	{
+		super();
+		this.total = total;
+		this.type = type;
+	}
+
+	public long getTotal()
+	{
+		return total;
+	}
+
+	public void setTotal(long total)
+	{
+		this.total = total;
+	}
+
+	public CountType getType()
+	{
+		return type;
+	}
+
+	public void setType(CountType type)
+	{
+		this.type = type;
+	}
+
+	/**
+	 * 是否精确数目。
+	 * 
+	 * @return
+	 */
+	public boolean isExact()
+	{
+		return CountType.EXACT.equals(this.type);
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [total=" + total + ", type=" + type + "]";
+	}
+}
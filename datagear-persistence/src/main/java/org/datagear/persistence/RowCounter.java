@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence;
+
+import java.sql.Connection;
+
+import org.datagear.meta.Table;
+import org.datagear.util.Sql;
+
+/**
+ * 分页查询的总记录数计算器。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface RowCounter
+{
+	/**
+	 * 计算记录数。
+	 * 
+	 * @param cn
+	 * @param dialect
+	 * @param table
+	 * @param query
+	 *            查询条件
+	 * @param queryView
+	 *            由{@code table}、{@code query}构建的查询SQL，不包含排序
+	 * @return
+	 * @throws PersistenceException
+	 */
+	RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+			throws PersistenceException;
+}
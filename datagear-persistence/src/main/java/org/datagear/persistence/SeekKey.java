@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 键集分页定位键。
+ * <p>
+ * 它记录某一页最后一行记录的排序列值，后续页可以使用<code>WHERE (排序列) &gt; (定位键值)</code>条件直接定位，
+ * 而不必使用<code>OFFSET</code>跳过之前的所有记录。
+ * </p>
+ * <p>
+ * {@linkplain #getOrders()}是完整的排序规则：查询的排序列，再加上能确定唯一行记录的主键列或者唯一键列。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class SeekKey implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** 定位行所在的页码 */
+	private int page;
+
+	/** 完整的排序规则 */
+	private Order[] orders;
+
+	/** 定位行的排序列值，与{@linkplain #orders}对应 */
+	private Object[] values;
+
+	public SeekKey()
+	{
+		super();
+	}
+
+	public SeekKey(int page, Order[] orders, Object[] values)
+	{
+		super();
+		this.page = page;
+		this.orders = orders;
+		this.values = values;
+	}
+
+	public int getPage()
+	{
+		return page;
+	}
+
+	public void setPage(int page)
+	{
+		this.page = page;
+	}
+
+	public Order[] getOrders()
+	{
+		return orders;
+	}
+
+	public void setOrders(Order[] orders)
+	{
+		this.orders = orders;
+	}
+
+	public Object[] getValues()
+	{
+		return values;
+	}
+
+	public void setValues(Object[] values)
+	{
+		this.values = values;
+	}
+
+	/**
+	 * 是否可用于指定排序规则的定位。
+	 *
+	 * @param orders
+	 * @return
+	 */
+	public boolean isSeekable(Order[] orders)
+	{
+		return (this.values != null && this.orders != null && this.values.length == this.orders.length
+				&& Arrays.equals(this.orders, orders));
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [page=" + page + ", orders=" + Arrays.toString(orders) + ", values="
+				+ Arrays.toString(values) + "]";
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence.support;
+
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.datagear.connection.ConnectionOption;
+import org.datagear.meta.Table;
+import org.datagear.persistence.CountType;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.PersistenceException;
+import org.datagear.persistence.Query;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
+import org.datagear.util.Sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 缓存的{@linkplain RowCounter}。
+ * <p>
+ * 它按照（数据库、表、查询条件）缓存{@linkplain #getDelegate()}的计算结果{@linkplain #getTimeToLiveMillis()}毫秒，
+ * 在此期间内的翻页不再重复计算。缓存命中时返回{@linkplain CountType#CACHED}类型的数目，
+ * 但{@linkplain CountType#CAPPED}、{@linkplain CountType#ESTIMATED}类型保持不变，因为它们本身已不是精确数目。
+ * </p>
+ * <p>
+ * 表数据增删后，应调用{@linkplain #invalidate(Connection, String)}清除此表的缓存。
+ * </p>
+ * <p>
+ * 使用前应调用{@linkplain #init()}初始化。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class CachedRowCounter implements RowCounter
+{
+	public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 60 * 1000;
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private RowCounter delegate = new ExactRowCounter();
+
+	/** 缓存有效毫秒数 */
+	private long timeToLiveMillis = DEFAULT_TIME_TO_LIVE_MILLIS;
+
+	/** 最多缓存数 */
+	private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	private Cache<CountCacheKey, RowCount> _cache = null;
+
+	public CachedRowCounter()
+	{
+		super();
+	}
+
+	public CachedRowCounter(RowCounter delegate)
+	{
+		super();
+		this.delegate = delegate;
+	}
+
+	public RowCounter getDelegate()
+	{
+		return delegate;
+	}
+
+	public void setDelegate(RowCounter delegate)
+	{
+		this.delegate = delegate;
+	}
+
+	public long getTimeToLiveMillis()
+	{
+		return timeToLiveMillis;
+	}
+
+	public void setTimeToLiveMillis(long timeToLiveMillis)
+	{
+		this.timeToLiveMillis = timeToLiveMillis;
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize)
+	{
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._cache = Caffeine.newBuilder().maximumSize(this.maximumSize)
+				.expireAfterWrite(Math.max(this.timeToLiveMillis, 0), TimeUnit.MILLISECONDS).build();
+	}
+
+	@Override
+	public RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+			throws PersistenceException
+	{
+		String database = getDatabaseKey(cn);
+
+		if (database == null)
+			return this.delegate.count(cn, dialect, table, query, queryView);
+
+		CountCacheKey key = new CountCacheKey(database, table.getName(), query);
+
+		RowCount cached = this._cache.getIfPresent(key);
+
+		if (cached != null)
+		{
+			CountType type = (cached.isExact() ? CountType.CACHED : cached.getType());
+			return new RowCount(cached.getTotal(), type);
+		}
+
+		RowCount rowCount = this.delegate.count(cn, dialect, table, query, queryView);
+
+		this._cache.put(key, rowCount);
+
+		return rowCount;
+	}
+
+	/**
+	 * 清除指定表的所有缓存。
+	 * 
+	 * @param cn
+	 *            表所在数据库的连接
+	 * @param tableName
+	 */
+	public void invalidate(Connection cn, String tableName)
+	{
+		String database = getDatabaseKey(cn);
+
+		if (database == null)
+			return;
+
+		Set<CountCacheKey> keys = new HashSet<>();
+
+		for (CountCacheKey key : this._cache.asMap().keySet())
+		{
+			if (key.isTable(database, tableName))
+				keys.add(key);
+		}
+
+		if (!keys.isEmpty())
+			this._cache.invalidateAll(keys);
+	}
+
+	/**
+	 * 清除所有缓存。
+	 */
+	public void clear()
+	{
+		this._cache.invalidateAll();
+	}
+
+	/**
+	 * 获取缓存数。
+	 * <p>
+	 * 此方法会先执行缓存的待处理维护操作（比如移除超出容量的缓存），以返回较准确的值。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	public long getSize()
+	{
+		this._cache.cleanUp();
+		return this._cache.estimatedSize();
+	}
+
+	/**
+	 * 获取数据库标识。
+	 * 
+	 * @param cn
+	 * @return 返回{@code null}表示无法识别，将不缓存
+	 */
+	protected String getDatabaseKey(Connection cn)
+	{
+		ConnectionOption connectionOption = ConnectionOption.valueOf(cn);
+
+		return (connectionOption == null ? null : connectionOption.getUrl() + "|" + connectionOption.getUser());
+	}
+
+	protected static class CountCacheKey
+	{
+		private final String database;
+		private final String tableName;
+		private final String keyword;
+		private final boolean notLike;
+		private final String condition;
+
+		public CountCacheKey(String database, String tableName, Query query)
+		{
+			super();
+			this.database = database;
+			this.tableName = tableName;
+			this.keyword = (query == null ? null : query.getKeyword());
+			this.notLike = (query == null ? false : query.isNotLike());
+			this.condition = (query == null ? null : query.getCondition());
+		}
+
+		/**
+		 * 是否是指定数据库、表的缓存关键字。
+		 * 
+		 * @param database
+		 * @param tableName
+		 * @return
+		 */
+		public boolean isTable(String database, String tableName)
+		{
+			return (equalsNullable(this.database, database) && equalsNullable(this.tableName, tableName));
+		}
+
+		@Override
+		public int hashCode()
+		{
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((database == null) ? 0 : database.hashCode());
+			result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
+			result = prime * result + ((keyword == null) ? 0 : keyword.hashCode());
+			result = prime * result + (notLike ? 1231 : 1237);
+			result = prime * result + ((condition == null) ? 0 : condition.hashCode());
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			CountCacheKey other = (CountCacheKey) obj;
+			return (equalsNullable(database, other.database) && equalsNullable(tableName, other.tableName)
+					&& equalsNullable(keyword, other.keyword) && notLike == other.notLike
+					&& equalsNullable(condition, other.condition));
+		}
+
+		protected static boolean equalsNullable(String a, String b)
+		{
+			return (a == null ? b == null : a.equals(b));
+		}
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence.support;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.datagear.meta.Table;
+import org.datagear.persistence.CountType;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.PersistenceException;
+import org.datagear.persistence.Query;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
+import org.datagear.util.QueryResultSet;
+import org.datagear.util.Sql;
+
+/**
+ * 有上限的{@linkplain RowCounter}。
+ * <p>
+ * 它最多计数{@linkplain #getCap()}+1条记录，超过上限时返回{@linkplain CountType#CAPPED}类型的上限数目（比如“10000+”），
+ * 使得大表分页不必每次都扫描全表。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class CappedRowCounter extends PersistenceSupport implements RowCounter
+{
+	public static final int DEFAULT_CAP = 10000;
+
+	/** 计数上限 */
+	private int cap = DEFAULT_CAP;
+
+	public CappedRowCounter()
+	{
+		super();
+	}
+
+	public CappedRowCounter(int cap)
+	{
+		super();
+		this.cap = cap;
+	}
+
+	public int getCap()
+	{
+		return cap;
+	}
+
+	public void setCap(int cap)
+	{
+		this.cap = cap;
+	}
+
+	@Override
+	public RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+			throws PersistenceException
+	{
+		int limit = this.cap + 1;
+		long total = 0;
+
+		Sql limitQuery = (dialect.supportsPagingSql() ? dialect.toPagingQuerySql(queryView, null, 1, limit) : null);
+
+		if (limitQuery != null)
+		{
+			Sql countQuery = Sql.valueOf().sql("SELECT COUNT(*) FROM (").sql(limitQuery).sql(") T");
+			total = executeCountQueryWrap(cn, countQuery);
+		}
+		else
+			total = countRows(cn, queryView, limit);
+
+		if (total > this.cap)
+			return new RowCount(this.cap, CountType.CAPPED);
+		else
+			return new RowCount(total, CountType.EXACT);
+	}
+
+	/**
+	 * 使用{@linkplain java.sql.Statement#setMaxRows(int)}逐行计数。
+	 * 
+	 * @param cn
+	 * @param queryView
+	 * @param maxRows
+	 * @return
+	 * @throws PersistenceException
+	 */
+	protected long countRows(Connection cn, Sql queryView, int maxRows) throws PersistenceException
+	{
+		Sql query = Sql.valueOf().sql("SELECT 1 FROM (").sql(queryView).sql(") T");
+
+		QueryResultSet qrs = null;
+
+		try
+		{
+			qrs = executeQuery(cn, query, ResultSet.TYPE_FORWARD_ONLY, maxRows, 0);
+
+			ResultSet rs = qrs.getResultSet();
+
+			long count = 0;
+
+			while (rs.next() && count < maxRows)
+				count++;
+
+			return count;
+		}
+		catch (SQLException e)
+		{
+			throw new PersistenceException(e);
+		}
+		finally
+		{
+			QueryResultSet.close(qrs);
+		}
+	}
+}
@@ -20,19 +20,26 @@ import org.datagear.connection.ConnectionOption;
 import org.datagear.meta.Column;
 import org.datagear.meta.PrimaryKey;
 import org.datagear.meta.Table;
+import org.datagear.meta.UniqueKey;
+import org.datagear.persistence.CountType;
 import org.datagear.persistence.Dialect;
 import org.datagear.persistence.DialectSource;
 import org.datagear.persistence.LiteralSqlParamValue;
 import org.datagear.persistence.NonUniqueResultException;
+import org.datagear.persistence.Order;
 import org.datagear.persistence.PagingData;
 import org.datagear.persistence.PagingQuery;
 import org.datagear.persistence.PersistenceException;
 import org.datagear.persistence.PersistenceManager;
 import org.datagear.persistence.Query;
 import org.datagear.persistence.Row;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
 import org.datagear.persistence.RowMapper;
+import org.datagear.persistence.SeekKey;
 import org.datagear.persistence.SqlParamValueMapper;
 import org.datagear.util.JDBCCompatiblity;
+import org.datagear.util.JdbcUtil;
 import org.datagear.util.Sql;
 import org.datagear.util.SqlParamValue;
 import org.datagear.util.StringUtil;
@@ -51,6 +58,9 @@ public class DefaultPersistenceManager extends PersistenceSupport implements Per
 
 	private DialectSource dialectSource;
 
+	/** 分页查询的总记录数计算器 */
+	private RowCounter rowCounter = new ExactRowCounter();
+
 	public DefaultPersistenceManager()
 	{
 		super();
@@ -73,6 +83,16 @@ public class DefaultPersistenceManager extends PersistenceSupport implements Per
 		this.dialectSource = dialectSource;
 	}
 
+	public RowCounter getRowCounter()
+	{
+		return rowCounter;
+	}
+
+	public void setRowCounter(RowCounter rowCounter)
+	{
+		this.rowCounter = rowCounter;
+	}
+
 	@Override
 	public Row insert(Connection cn, Table table, Row row) throws PersistenceException
 	{
@@ -376,41 +396,105 @@ public class DefaultPersistenceManager extends PersistenceSupport implements Per
 
 		Sql queryView = buildQuerySql(cn, dialect, table, pagingQuery, true);
 
-		long total = queryCount(cn, queryView);
+		// 键集分页需要确定的排序，使用它也可保证偏移量分页的各页之间不会重复或者遗漏
+		Order[] seekOrders = resolveSeekOrders(table, pagingQuery.getOrders());
+		Order[] orders = (seekOrders != null ? seekOrders : pagingQuery.getOrders());
+
+		int page = pagingQuery.getPage();
+		int pageSize = pagingQuery.getPageSize();
+		boolean countTotal = pagingQuery.isCountTotal();
 
-		PagingData<Row> pagingData = new PagingData<>(pagingQuery.getPage(), total, pagingQuery.getPageSize());
+		if (page < 1)
+			page = 1;
 
-		Sql query = null;
-		List<Row> rows = null;
-		int startRow = pagingData.getStartRow();
-		int count = pagingData.getPageSize();
+		PagingData<Row> pagingData = null;
 
-		if (dialect.supportsPagingSql())
+		RowCount rowCount = (countTotal ? this.rowCounter.count(cn, dialect, table, pagingQuery, queryView) : null);
+		boolean exactTotal = (rowCount != null && rowCount.isExact());
+
+		// 只有精确的总记录数才可用于校正页码
+		if (exactTotal)
 		{
-			query = dialect.toPagingQuerySql(queryView, pagingQuery.getOrders(), startRow, count);
+			pagingData = new PagingData<>(page, rowCount.getTotal(), pageSize);
+			pagingData.setCountType(rowCount.getType());
+			page = pagingData.getPage();
+		}
+
+		SeekKey seekKey = pagingQuery.getSeekKey();
+
+		if (seekOrders == null || seekKey == null || seekKey.getPage() >= page || !seekKey.isSeekable(seekOrders))
+			seekKey = null;
+
+		// 没有精确的总记录数时，多读取一行以确定是否有下一页
+		int fetchCount = (exactTotal ? pageSize : pageSize + 1);
+		long startRow = (seekKey != null ? (long) (page - seekKey.getPage() - 1) * pageSize + 1
+				: (long) (page - 1) * pageSize + 1);
+
+		ReleasableRegistry releasableRegistry = createReleasableRegistry();
+
+		try
+		{
+			if (seekKey != null)
+				queryView = buildSeekQuerySql(cn, dialect, table, queryView, seekKey, releasableRegistry);
+
+			Sql query = null;
+			int mapStartRow = (int) startRow;
+			int mapCount = fetchCount;
 
-			// 数据库分页
-			if (query != null)
+			if (dialect.supportsPagingSql())
 			{
-				startRow = 1;
-				count = -1;
+				query = dialect.toPagingQuerySql(queryView, orders, startRow, fetchCount);
+
+				// 数据库分页
+				if (query != null)
+				{
+					mapStartRow = 1;
+					mapCount = -1;
+				}
 			}
-		}
 
-		// 内存分页
-		if (query == null)
-		{
-			if (LOGGER.isWarnEnabled())
-				LOGGER.warn("memory pagination will be used for [{}]", ConnectionOption.valueOfNonNull(cn));
+			// 内存分页
+			if (query == null)
+			{
+				if (LOGGER.isWarnEnabled())
+					LOGGER.warn("memory pagination will be used for [{}]", ConnectionOption.valueOfNonNull(cn));
 
-			query = dialect.toOrderSql(queryView, pagingQuery.getOrders());
-		}
+				query = dialect.toOrderSql(queryView, orders);
+			}
 
-		rows = executeListQuery(cn, table, query, ResultSet.TYPE_SCROLL_INSENSITIVE, startRow, count, mapper);
+			List<Row> rows = executeListQuery(cn, table, query, ResultSet.TYPE_SCROLL_INSENSITIVE, mapStartRow,
+					mapCount, mapper);
 
-		pagingData.setItems(rows);
+			if (!exactTotal)
+			{
+				long startIndex = (long) (page - 1) * pageSize;
+				long total = startIndex + rows.size();
+				CountType countType = (rowCount == null ? CountType.PROBED : rowCount.getType());
+
+				// 已读到最后一页，总记录数是精确的
+				if (rows.size() <= pageSize && (rows.size() > 0 || page == 1))
+					countType = CountType.EXACT;
+				else if (rowCount != null && rowCount.getTotal() > total)
+					total = rowCount.getTotal();
+
+				pagingData = new PagingData<>(page, total, pageSize);
+				pagingData.setCountType(countType);
+
+				if (rows.size() > pageSize)
+					rows = new ArrayList<>(rows.subList(0, pageSize));
+			}
 
-		return pagingData;
+			pagingData.setItems(rows);
+
+			if (seekOrders != null)
+				pagingData.setLastSeekKey(buildLastSeekKey(pagingData.getPage(), seekOrders, rows));
+
+			return pagingData;
+		}
+		finally
+		{
+			releasableRegistry.release();
+		}
 	}
 
 	@Override
@@ -432,15 +516,6 @@ public class DefaultPersistenceManager extends PersistenceSupport implements Per
 		return sql.getSqlValue();
 	}
 
-	protected long queryCount(Connection cn, Sql query)
-	{
-		Sql countQuery = Sql.valueOf().sql("SELECT COUNT(*) FROM (").sql(query).sql(") T");
-
-		long re = executeCountQueryWrap(cn, countQuery);
-
-		return re;
-	}
-
 	protected Sql buildQuerySql(Connection cn, Dialect dialect, Table table, Query query, boolean parameterized)
 	{
 		Sql sql = Sql.valueOf().sql("SELECT ").delimit(",");
@@ -502,6 +577,193 @@ public class DefaultPersistenceManager extends PersistenceSupport implements Per
 		}
 	}
 
+	/**
+	 * 解析键集分页的完整排序规则。
+	 * <p>
+	 * 它由查询排序列，再加上表的主键列（或者第一个所有列都非空的唯一键）组成，以确定唯一的行顺序。
+	 * 如果排序列不存在、可为{@code null}、不可排序，或者表没有可用的主键、唯一键，将返回{@code null}，表示不支持键集分页。
+	 * </p>
+	 * 
+	 * @param table
+	 * @param orders
+	 *            允许为{@code null}
+	 * @return 返回{@code null}表示不支持
+	 */
+	protected Order[] resolveSeekOrders(Table table, Order[] orders)
+	{
+		Column[] keyColumns = null;
+
+		if (table.hasPrimaryKey())
+			keyColumns = table.getColumns(table.getPrimaryKey().getColumnNames());
+		else if (table.hasUniqueKey())
+		{
+			for (UniqueKey uniqueKey : table.getUniqueKeys())
+			{
+				Column[] columns = table.getColumns(uniqueKey.getColumnNames());
+
+				if (isSeekableColumns(columns))
+				{
+					keyColumns = columns;
+					break;
+				}
+			}
+		}
+
+		if (keyColumns == null || !isSeekableColumns(keyColumns))
+			return null;
+
+		List<Order> seekOrders = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+
+		if (orders != null)
+		{
+			for (Order order : orders)
+			{
+				Column column = table.getColumn(order.getName());
+
+				if (column == null || !isSeekableColumns(column))
+					return null;
+
+				if (names.contains(column.getName()))
+					continue;
+
+				seekOrders.add(Order.valueOf(column.getName(), (order.isAsc() ? Order.ASC : Order.DESC)));
+				names.add(column.getName());
+			}
+		}
+
+		for (Column column : keyColumns)
+		{
+			if (names.contains(column.getName()))
+				continue;
+
+			seekOrders.add(Order.valueOf(column.getName(), Order.ASC));
+			names.add(column.getName());
+		}
+
+		return seekOrders.toArray(new Order[seekOrders.size()]);
+	}
+
+	/**
+	 * 给定列是否都可作为键集分页的排序列：存在、不可为{@code null}、可排序，且是{@linkplain #isSeekableSqlType(int)}。
+	 * 
+	 * @param columns
+	 * @return
+	 */
+	protected boolean isSeekableColumns(Column... columns)
+	{
+		if (columns == null || columns.length == 0)
+			return false;
+
+		for (Column column : columns)
+		{
+			if (column == null || column.isNullable() || !column.isSortable() || !supportsColumn(column)
+					|| !isSeekableSqlType(column.getType()))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * 给定SQL类型是否可作为键集分页的排序列类型。
+	 * <p>
+	 * 定位键的值取自查询结果的{@linkplain Row}，而二进制、大对象类型的值在行映射时可能会被转换（比如二进制转换为十六进制字符串、
+	 * 大字符串被截断），无法再作为查询参数与原列值比较，所以它们不支持。
+	 * </p>
+	 * 
+	 * @param sqlType
+	 * @return
+	 */
+	protected boolean isSeekableSqlType(int sqlType)
+	{
+		if (JdbcUtil.isBinaryType(sqlType))
+			return false;
+
+		switch (sqlType)
+		{
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.SQLXML:
+
+				return false;
+
+			default:
+
+				return true;
+		}
+	}
+
+	/**
+	 * 构建键集分页查询SQL：<code>SELECT * FROM (queryView) T WHERE (c1 &gt; ?) OR (c1 = ? AND c2 &gt; ?) ...</code>。
+	 * 
+	 * @param cn
+	 * @param dialect
+	 * @param table
+	 * @param queryView
+	 * @param seekKey
+	 * @param releasableRegistry
+	 * @return
+	 */
+	protected Sql buildSeekQuerySql(Connection cn, Dialect dialect, Table table, Sql queryView, SeekKey seekKey,
+			ReleasableRegistry releasableRegistry)
+	{
+		Order[] orders = seekKey.getOrders();
+		Object[] values = seekKey.getValues();
+
+		SqlParamValue[] paramValues = new SqlParamValue[orders.length];
+		for (int i = 0; i < orders.length; i++)
+			paramValues[i] = mapToSqlParamValue(cn, table, table.getColumn(orders[i].getName()), values[i], null,
+					releasableRegistry);
+
+		Sql condition = Sql.valueOf().delimit(" OR ");
+
+		for (int i = 0; i < orders.length; i++)
+		{
+			Sql item = Sql.valueOf().sql("(").delimit(" AND ");
+
+			for (int j = 0; j < i; j++)
+				item.sqld(quote(dialect, orders[j].getName()) + " = ?").param(paramValues[j]);
+
+			item.sqld(quote(dialect, orders[i].getName()) + (orders[i].isAsc() ? " > ?" : " < ?"))
+					.param(paramValues[i]);
+			item.sql(")");
+
+			condition.sqld(item);
+		}
+
+		return Sql.valueOf().sql("SELECT * FROM (").sql(queryView).sql(") T WHERE ").sql(condition);
+	}
+
+	/**
+	 * 构建最后一行记录的键集分页定位键。
+	 * 
+	 * @param page
+	 * @param seekOrders
+	 * @param rows
+	 * @return 返回{@code null}表示无法构建
+	 */
+	protected SeekKey buildLastSeekKey(int page, Order[] seekOrders, List<Row> rows)
+	{
+		if (rows == null || rows.isEmpty())
+			return null;
+
+		Row row = rows.get(rows.size() - 1);
+		Object[] values = new Object[seekOrders.length];
+
+		for (int i = 0; i < seekOrders.length; i++)
+		{
+			values[i] = row.get(seekOrders[i].getName());
+
+			if (values[i] == null)
+				return null;
+		}
+
+		return new SeekKey(page, seekOrders, values);
+	}
+
 	/**
 	 * 尝试构建能够确定唯一行记录的查询条件。
 	 * <p>
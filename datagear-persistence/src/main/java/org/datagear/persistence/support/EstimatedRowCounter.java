@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence.support;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.datagear.connection.support.MySqlURLSensor;
+import org.datagear.connection.support.OracleURLSensor;
+import org.datagear.connection.support.PostgresqlURLSensor;
+import org.datagear.connection.support.SqlServerURLSensor;
+import org.datagear.meta.Table;
+import org.datagear.persistence.CountType;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.PersistenceException;
+import org.datagear.persistence.Query;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
+import org.datagear.util.JdbcUtil;
+import org.datagear.util.QueryResultSet;
+import org.datagear.util.Sql;
+import org.datagear.util.SqlParamValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 使用数据库统计信息估算的{@linkplain RowCounter}。
+ * <p>
+ * 对于无关键字、无条件的查询，它读取数据库的表统计信息（MySQL的<code>information_schema.TABLES.TABLE_ROWS</code>、
+ * PostgreSQL的<code>pg_class.reltuples</code>、Oracle的<code>NUM_ROWS</code>、SqlServer的<code>sys.partitions.rows</code>）作为估算记录数；
+ * 对于有条件的查询、不支持的数据库、无统计信息、或者估算记录数小于{@linkplain #getMinEstimatedRows()}的小表，它使用{@linkplain #getDelegate()}计算。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class EstimatedRowCounter extends PersistenceSupport implements RowCounter
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(EstimatedRowCounter.class);
+
+	public static final long DEFAULT_MIN_ESTIMATED_ROWS = 100000;
+
+	protected static final String SQL_MYSQL = "SELECT TABLE_ROWS FROM information_schema.TABLES"
+			+ " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+	protected static final String SQL_POSTGRESQL = "SELECT C.reltuples FROM pg_catalog.pg_class C"
+			+ " JOIN pg_catalog.pg_namespace N ON N.oid = C.relnamespace"
+			+ " WHERE N.nspname = current_schema() AND C.relname = ?";
+
+	protected static final String SQL_ORACLE = "SELECT NUM_ROWS FROM ALL_TABLES"
+			+ " WHERE OWNER = SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA') AND TABLE_NAME = ?";
+
+	protected static final String SQL_SQLSERVER = "SELECT SUM(P.rows) FROM sys.partitions P"
+			+ " JOIN sys.tables T ON T.object_id = P.object_id"
+			+ " WHERE T.schema_id = SCHEMA_ID() AND T.name = ? AND P.index_id IN (0, 1)";
+
+	/** 不能估算时使用的计算器 */
+	private RowCounter delegate = new ExactRowCounter();
+
+	/** 估算记录数小于此值时，使用{@linkplain #delegate}计算 */
+	private long minEstimatedRows = DEFAULT_MIN_ESTIMATED_ROWS;
+
+	public EstimatedRowCounter()
+	{
+		super();
+	}
+
+	public EstimatedRowCounter(RowCounter delegate)
+	{
+		super();
+		this.delegate = delegate;
+	}
+
+	public RowCounter getDelegate()
+	{
+		return delegate;
+	}
+
+	public void setDelegate(RowCounter delegate)
+	{
+		this.delegate = delegate;
+	}
+
+	public long getMinEstimatedRows()
+	{
+		return minEstimatedRows;
+	}
+
+	public void setMinEstimatedRows(long minEstimatedRows)
+	{
+		this.minEstimatedRows = minEstimatedRows;
+	}
+
+	@Override
+	public RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+			throws PersistenceException
+	{
+		if (query == null || (!query.hasKeyword() && !query.hasCondition()))
+		{
+			Long estimated = estimate(cn, table);
+
+			if (estimated != null && estimated >= this.minEstimatedRows)
+				return new RowCount(estimated, CountType.ESTIMATED);
+		}
+
+		return this.delegate.count(cn, dialect, table, query, queryView);
+	}
+
+	/**
+	 * 读取表的估算记录数。
+	 * 
+	 * @param cn
+	 * @param table
+	 * @return 返回{@code null}表示不能估算
+	 */
+	protected Long estimate(Connection cn, Table table)
+	{
+		String url = JdbcUtil.getURLIfSupports(cn);
+		String sql = (url == null ? null : getEstimateSql(url));
+
+		if (sql == null)
+			return null;
+
+		Sql query = Sql.valueOf().sql(sql).param(new SqlParamValue(table.getName(), Types.VARCHAR));
+
+		QueryResultSet qrs = null;
+
+		try
+		{
+			qrs = executeQuery(cn, query, ResultSet.TYPE_FORWARD_ONLY);
+
+			ResultSet rs = qrs.getResultSet();
+
+			if (!rs.next())
+				return null;
+
+			Object value = rs.getObject(1);
+
+			if (!(value instanceof Number))
+				return null;
+
+			long estimated = ((Number) value).longValue();
+
+			// PostgreSQL未分析过的表reltuples为-1
+			return (estimated < 0 ? null : estimated);
+		}
+		catch (SQLException e)
+		{
+			LOGGER.debug("Estimate row count error for table [{}]", table.getName(), e);
+			return null;
+		}
+		finally
+		{
+			QueryResultSet.close(qrs);
+		}
+	}
+
+	/**
+	 * 获取估算记录数SQL，它应只有一个表名参数。
+	 * 
+	 * @param url
+	 * @return 返回{@code null}表示不支持
+	 */
+	protected String getEstimateSql(String url)
+	{
+		if (MySqlURLSensor.INSTANCE.supports(url))
+			return SQL_MYSQL;
+		else if (PostgresqlURLSensor.INSTANCE.supports(url))
+			return SQL_POSTGRESQL;
+		else if (OracleURLSensor.INSTANCE.supports(url))
+			return SQL_ORACLE;
+		else if (SqlServerURLSensor.INSTANCE.supports(url))
+			return SQL_SQLSERVER;
+		else
+			return null;
+	}
+}
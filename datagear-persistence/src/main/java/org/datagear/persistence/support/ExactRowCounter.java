@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence.support;
+
+import java.sql.Connection;
+
+import org.datagear.meta.Table;
+import org.datagear.persistence.CountType;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.PersistenceException;
+import org.datagear.persistence.Query;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
+import org.datagear.util.Sql;
+
+/**
+ * 精确的{@linkplain RowCounter}。
+ * <p>
+ * 它使用<code>SELECT COUNT(*)</code>计算精确记录数。
+ * </p>
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class ExactRowCounter extends PersistenceSupport implements RowCounter
+{
+	public ExactRowCounter()
+	{
+		super();
+	}
+
+	@Override
+	public RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+			throws PersistenceException
+	{
+		Sql countQuery = Sql.valueOf().sql("SELECT COUNT(*) FROM (").sql(queryView).sql(") T");
+
+		long total = executeCountQueryWrap(cn, countQuery);
+
+		return new RowCount(total, CountType.EXACT);
+	}
+}
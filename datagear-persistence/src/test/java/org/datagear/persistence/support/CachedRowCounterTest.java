@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.persistence.support;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+
+import org.datagear.meta.Table;
+import org.datagear.meta.TableType;
+import org.datagear.persistence.CountType;
+import org.datagear.persistence.Dialect;
+import org.datagear.persistence.PersistenceException;
+import org.datagear.persistence.Query;
+import org.datagear.persistence.RowCount;
+import org.datagear.persistence.RowCounter;
+import org.datagear.util.Sql;
+import org.junit.Test;
+
+/**
+ * {@linkplain CachedRowCounter}单元测试类。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class CachedRowCounterTest
+{
+	@Test
+	public void countTest() throws Exception
+	{
+		CountingRowCounter delegate = new CountingRowCounter(new RowCount(100, CountType.EXACT));
+		CachedRowCounter rowCounter = new TestCachedRowCounter(delegate);
+		rowCounter.init();
+
+		Table table = createTable("T_ORDER");
+
+		RowCount rowCount = rowCounter.count(null, null, table, new Query(), null);
+		assertEquals(100, rowCount.getTotal());
+		assertEquals(CountType.EXACT, rowCount.getType());
+		assertEquals(1, delegate.getCount());
+
+		rowCount = rowCounter.count(null, null, table, new Query(), null);
+		assertEquals(100, rowCount.getTotal());
+		assertEquals(CountType.CACHED, rowCount.getType());
+		assertEquals(1, delegate.getCount());
+
+		// 不同条件
+		rowCounter.count(null, null, table, new Query("abc"), null);
+		assertEquals(2, delegate.getCount());
+
+		// 不同表
+		rowCounter.count(null, null, createTable("T_USER"), new Query(), null);
+		assertEquals(3, delegate.getCount());
+
+		// 过期
+		CachedRowCounter expiredRowCounter = new TestCachedRowCounter(delegate);
+		expiredRowCounter.setTimeToLiveMillis(0);
+		expiredRowCounter.init();
+		expiredRowCounter.count(null, null, table, new Query(), null);
+		expiredRowCounter.count(null, null, table, new Query(), null);
+		assertEquals(5, delegate.getCount());
+	}
+
+	@Test
+	public void invalidateTest() throws Exception
+	{
+		CountingRowCounter delegate = new CountingRowCounter(new RowCount(100, CountType.EXACT));
+		CachedRowCounter rowCounter = new TestCachedRowCounter(delegate);
+		rowCounter.init();
+
+		Table order = createTable("T_ORDER");
+		Table user = createTable("T_USER");
+
+		rowCounter.count(null, null, order, new Query(), null);
+		rowCounter.count(null, null, order, new Query("abc"), null);
+		rowCounter.count(null, null, user, new Query(), null);
+		assertEquals(3, delegate.getCount());
+
+		rowCounter.invalidate(null, order.getName());
+
+		rowCounter.count(null, null, order, new Query(), null);
+		rowCounter.count(null, null, order, new Query("abc"), null);
+		rowCounter.count(null, null, user, new Query(), null);
+		assertEquals(5, delegate.getCount());
+	}
+
+	@Test
+	public void countTest_capped() throws Exception
+	{
+		CountingRowCounter delegate = new CountingRowCounter(new RowCount(10000, CountType.CAPPED));
+		CachedRowCounter rowCounter = new TestCachedRowCounter(delegate);
+		rowCounter.init();
+
+		Table table = createTable("T_ORDER");
+
+		rowCounter.count(null, null, table, new Query(), null);
+		RowCount rowCount = rowCounter.count(null, null, table, new Query(), null);
+
+		assertEquals(10000, rowCount.getTotal());
+		assertEquals(CountType.CAPPED, rowCount.getType());
+		assertEquals(1, delegate.getCount());
+	}
+
+	@Test
+	public void countTest_maximumSize() throws Exception
+	{
+		CountingRowCounter delegate = new CountingRowCounter(new RowCount(100, CountType.EXACT));
+		CachedRowCounter rowCounter = new TestCachedRowCounter(delegate);
+		rowCounter.setMaximumSize(2);
+		rowCounter.init();
+
+		rowCounter.count(null, null, createTable("T_0"), new Query(), null);
+		rowCounter.count(null, null, createTable("T_1"), new Query(), null);
+		rowCounter.count(null, null, createTable("T_2"), new Query(), null);
+		assertEquals(3, delegate.getCount());
+
+		// 超过最多缓存数时将移除部分缓存
+		assertEquals(2, rowCounter.getSize());
+	}
+
+	protected Table createTable(String name)
+	{
+		return new Table(name, TableType.TABLE);
+	}
+
+	protected static class TestCachedRowCounter extends CachedRowCounter
+	{
+		public TestCachedRowCounter(RowCounter delegate)
+		{
+			super(delegate);
+		}
+
+		@Override
+		protected String getDatabaseKey(Connection cn)
+		{
+			return "test";
+		}
+	}
+
+	protected static class CountingRowCounter implements RowCounter
+	{
+		private final RowCount rowCount;
+
+		private int count = 0;
+
+		public CountingRowCounter(RowCount rowCount)
+		{
+			super();
+			this.rowCount = rowCount;
+		}
+
+		public int getCount()
+		{
+			return count;
+		}
+
+		@Override
+		public RowCount count(Connection cn, Dialect dialect, Table table, Query query, Sql queryView)
+				throws PersistenceException
+		{
+			this.count++;
+			return new RowCount(this.rowCount.getTotal(), this.rowCount.getType());
+		}
+	}
+}
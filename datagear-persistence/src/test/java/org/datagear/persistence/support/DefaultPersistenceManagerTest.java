@@ -9,11 +9,17 @@ package org.datagear.persistence.support;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.sql.Types;
 import java.util.List;
 
+import org.datagear.meta.Column;
+import org.datagear.meta.PrimaryKey;
 import org.datagear.meta.Table;
+import org.datagear.persistence.Order;
 import org.datagear.persistence.PagingData;
 import org.datagear.persistence.PagingQuery;
 import org.datagear.persistence.PersistenceTestSupport;
@@ -82,4 +88,65 @@ public class DefaultPersistenceManagerTest extends PersistenceTestSupport
 
 		assertTrue(rows.size() <= 1);
 	}
+
+	@Test
+	public void pagingQueryTest_seekKey()
+	{
+		Table table = this.genericDBMetaResolver.getTable(this.connection, "T_ACCOUNT");
+
+		PagingData<Row> page1 = this.defaultPersistenceManager.pagingQuery(connection, table, new PagingQuery(1, 1));
+		PagingData<Row> page2 = this.defaultPersistenceManager.pagingQuery(connection, table, new PagingQuery(2, 1));
+
+		if (page2.getItems().isEmpty())
+			return;
+
+		assertNotNull(page1.getLastSeekKey());
+
+		PagingQuery seekQuery = new PagingQuery(2, 1);
+		seekQuery.setSeekKey(page1.getLastSeekKey());
+		seekQuery.setCountTotal(false);
+
+		PagingData<Row> seekPage2 = this.defaultPersistenceManager.pagingQuery(connection, table, seekQuery);
+
+		assertEquals(page2.getItems(), seekPage2.getItems());
+	}
+
+	@Test
+	public void resolveSeekOrdersTest()
+	{
+		{
+			Table table = createSeekTable(Types.INTEGER, Types.VARCHAR);
+			Order[] seekOrders = this.defaultPersistenceManager.resolveSeekOrders(table, null);
+
+			assertNotNull(seekOrders);
+			assertEquals("ID", seekOrders[seekOrders.length - 1].getName());
+		}
+
+		// 二进制主键在行映射时会被转换，不能作为定位键
+		{
+			Table table = createSeekTable(Types.VARBINARY, Types.VARCHAR);
+			assertNull(this.defaultPersistenceManager.resolveSeekOrders(table, null));
+		}
+
+		// 大对象排序列
+		{
+			Table table = createSeekTable(Types.INTEGER, Types.CLOB);
+			assertNull(this.defaultPersistenceManager.resolveSeekOrders(table,
+					Order.asArray(Order.valueOf("NAME", Order.ASC))));
+		}
+	}
+
+	protected Table createSeekTable(int idType, int nameType)
+	{
+		Column id = new Column("ID", idType);
+		id.setSortable(true);
+
+		Column name = new Column("NAME", nameType);
+		name.setSortable(true);
+
+		Table table = new Table("T_SEEK", "TABLE", new Column[] { id, name });
+		table.setPrimaryKey(new PrimaryKey(new String[] { "ID" }));
+
+		return table;
+	}
 }
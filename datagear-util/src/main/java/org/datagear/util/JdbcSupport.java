@@ -94,7 +94,32 @@ public class JdbcSupport
 	 */
 	public QueryResultSet executeQuery(Connection cn, Sql sql, int resultSetType) throws SQLException
 	{
-		LOGGER.debug("execute {}, resultSetType={}", sql, resultSetType);
+		return executeQuery(cn, sql, resultSetType, 0, 0);
+	}
+
+	/**
+	 * 执行查询。
+	 * <p>
+	 * 如果{@code maxRows}、{@code fetchSize}大于{@code 0}，将分别设置{@linkplain Statement#setMaxRows(int)}、
+	 * {@linkplain Statement#setFetchSize(int)}，使数据库和驱动程序不必读取、传输多余的记录。
+	 * </p>
+	 * 
+	 * @param cn
+	 * @param sql
+	 * @param resultSetType
+	 *            {@code ResultSet.TYPE_*}
+	 * @param maxRows
+	 *            最大记录数，小于等于{@code 0}表示不限制
+	 * @param fetchSize
+	 *            驱动程序每次读取的记录数，小于等于{@code 0}表示使用驱动程序默认值
+	 * @return
+	 * @throws SQLException
+	 */
+	public QueryResultSet executeQuery(Connection cn, Sql sql, int resultSetType, int maxRows, int fetchSize)
+			throws SQLException
+	{
+		LOGGER.debug("execute {}, resultSetType={}, maxRows={}, fetchSize={}", sql, resultSetType, maxRows,
+				fetchSize);
 
 		Statement st = null;
 		ResultSet rs = null;
@@ -110,6 +135,7 @@ public class JdbcSupport
 			{
 				PreparedStatement pst = createQueryPreparedStatement(cn, sql.getSqlValue(), resultSetType);
 				st = pst;
+				setQueryLimits(st, maxRows, fetchSize);
 				setParams = setParamValues(cn, pst, sql);
 				rs = pst.executeQuery();
 			}
@@ -117,6 +143,7 @@ public class JdbcSupport
 			{
 				Statement stt = createQueryStatement(cn, resultSetType);
 				st = stt;
+				setQueryLimits(st, maxRows, fetchSize);
 				rs = stt.executeQuery(sql.getSqlValue());
 			}
 
@@ -152,12 +179,30 @@ public class JdbcSupport
 				LOGGER.debug("query is downgraded to [ResultSet.TYPE_FORWARD_ONLY] for exception :", e);
 
 				@JDBCCompatiblity("降级为ResultSet.TYPE_FORWARD_ONLY重新执行")
-				QueryResultSet qrs = executeQuery(cn, sql, ResultSet.TYPE_FORWARD_ONLY);
+				QueryResultSet qrs = executeQuery(cn, sql, ResultSet.TYPE_FORWARD_ONLY, maxRows, fetchSize);
 				return qrs;
 			}
 		}
 	}
 
+	/**
+	 * 设置查询{@linkplain Statement}的最大记录数、读取记录数。
+	 * 
+	 * @param st
+	 * @param maxRows
+	 *            小于等于{@code 0}表示不设置
+	 * @param fetchSize
+	 *            小于等于{@code 0}表示不设置
+	 */
+	protected void setQueryLimits(Statement st, int maxRows, int fetchSize)
+	{
+		if (maxRows > 0)
+			JdbcUtil.setMaxRowsIfSupports(st, maxRows);
+
+		if (fetchSize > 0)
+			JdbcUtil.setFetchSizeIfSupports(st, fetchSize);
+	}
+
 	/**
 	 * 执行更新。
 	 * 
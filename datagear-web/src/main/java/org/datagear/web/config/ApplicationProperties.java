@@ -60,6 +60,14 @@ public abstract class ApplicationProperties implements Serializable
 	@Value("${dashboardGlobalResUrlPrefix}")
 	private String dashboardGlobalResUrlPrefix;
 
+	/** 看板资源生成gzip压缩文件的最小字节数 */
+	@Value("${dashboardResource.gzipMinSize}")
+	private long dashboardResourceGzipMinSize;
+
+	/** 文件名包含内容摘要的看板资源的浏览器缓存秒数 */
+	@Value("${dashboardResource.immutableMaxAgeSeconds}")
+	private int dashboardResourceImmutableMaxAgeSeconds;
+
 	/** 数据集文件主目录 */
 	@Value("${directory.dataSet}")
 	private String directoryDataSet;
@@ -128,6 +136,222 @@ public abstract class ApplicationProperties implements Serializable
 	@Value("${service.cache.spec}")
 	private String serviceCacheSpec;
 
+	/** 看板数据查询-并发线程数 */
+	@Value("${dashboardQuery.threads}")
+	private int dashboardQueryThreads;
+
+	/** 看板数据查询-并发等待队列容量 */
+	@Value("${dashboardQuery.queueSize}")
+	private int dashboardQueryQueueSize;
+
+	/** 看板数据查询-时限毫秒数 */
+	@Value("${dashboardQuery.timeout}")
+	private long dashboardQueryTimeout;
+
+	/** 看板数据查询-是否流式输出SQL数据集结果 */
+	@Value("${dashboardQuery.streaming}")
+	private boolean dashboardQueryStreaming;
+
+	/** 数据集结果缓存-是否禁用 */
+	@Value("${dataSetResultCache.disabled}")
+	private boolean dataSetResultCacheDisabled;
+
+	/** 数据集结果缓存-容量 */
+	@Value("${dataSetResultCache.maximumSize}")
+	private int dataSetResultCacheMaximumSize;
+
+	/** 数据集结果缓存-过期毫秒数 */
+	@Value("${dataSetResultCache.timeToLive}")
+	private long dataSetResultCacheTimeToLive;
+
+	/** 数据集结果缓存-单独设置的数据集过期毫秒数 */
+	@Value("${dataSetResultCache.timeToLives}")
+	private String dataSetResultCacheTimeToLives;
+
+	/** 数据集结果合并-是否禁用 */
+	@Value("${dataSetResultCoalescer.disabled}")
+	private boolean dataSetResultCoalescerDisabled;
+
+	/** SQL数据集-是否使用数据库方言分页查询SQL */
+	@Value("${sqlDataSet.limitSql.enabled}")
+	private boolean sqlDataSetLimitSqlEnabled;
+
+	/** 文件数据集缓存-是否禁用 */
+	@Value("${dataSetFileCache.disabled}")
+	private boolean dataSetFileCacheDisabled;
+
+	/** 文件数据集缓存-最大内存占用字节数 */
+	@Value("${dataSetFileCache.maximumMemorySize}")
+	private long dataSetFileCacheMaximumMemorySize;
+
+	/** 数据导出-是否以流式游标模式读取 */
+	@Value("${dataExport.streaming}")
+	private boolean dataExportStreaming;
+
+	/** 数据导出-流式游标模式每批读取的记录数 */
+	@Value("${dataExport.fetchSize}")
+	private int dataExportFetchSize;
+
+	/** 数据导出-单表CSV导出的最大并行分块数 */
+	@Value("${dataExport.chunkCount}")
+	private int dataExportChunkCount;
+
+	/** 数据导出-每个分块的最小主键跨度 */
+	@Value("${dataExport.minChunkKeySpan}")
+	private long dataExportMinChunkKeySpan;
+
+	/** 数据源-是否在启动时预先查找首选驱动程序 */
+	@Value("${schema.resolveDriverOnStartup}")
+	private boolean schemaResolveDriverOnStartup;
+
+	/** 数据源连接池-最多缓存的数据源连接池数 */
+	@Value("${connectionPool.maxDataSources}")
+	private int connectionPoolMaxDataSources;
+
+	/** 数据源连接池-最小空闲连接数 */
+	@Value("${connectionPool.minIdle}")
+	private int connectionPoolMinIdle;
+
+	/** 数据源连接池-最大空闲连接数 */
+	@Value("${connectionPool.maxIdle}")
+	private int connectionPoolMaxIdle;
+
+	/** 数据源连接池-最大连接数 */
+	@Value("${connectionPool.maxTotal}")
+	private int connectionPoolMaxTotal;
+
+	/** 数据源连接池-获取连接的最大等待毫秒数 */
+	@Value("${connectionPool.maxWaitMillis}")
+	private long connectionPoolMaxWaitMillis;
+
+	/** 数据源连接池-校验连接的SQL语句 */
+	@Value("${connectionPool.validationQuery}")
+	private String connectionPoolValidationQuery;
+
+	/** 数据源连接池-空闲连接回收线程的运行间隔毫秒数 */
+	@Value("${connectionPool.timeBetweenEvictionRunsMillis}")
+	private long connectionPoolTimeBetweenEvictionRunsMillis;
+
+	/** 数据源连接池-是否缓存预编译语句 */
+	@Value("${connectionPool.poolPreparedStatements}")
+	private boolean connectionPoolPoolPreparedStatements;
+
+	/** 数据源连接池-每个连接缓存的最大预编译语句数 */
+	@Value("${connectionPool.maxOpenPreparedStatements}")
+	private int connectionPoolMaxOpenPreparedStatements;
+
+	/** 数据源连接池-按连接URL前缀单独设置的最大连接数 */
+	@Value("${connectionPool.maxTotals}")
+	private String connectionPoolMaxTotals;
+
+	/** 表目录缓存-最多缓存的数据源表目录数 */
+	@Value("${tableCatalogCache.maximumSize}")
+	private int tableCatalogCacheMaximumSize;
+
+	/** 表目录缓存-表目录的刷新间隔毫秒数 */
+	@Value("${tableCatalogCache.refreshAfterMillis}")
+	private long tableCatalogCacheRefreshAfterMillis;
+
+	/** 表目录缓存-后台刷新表目录的线程数 */
+	@Value("${tableCatalogCache.refreshThreads}")
+	private int tableCatalogCacheRefreshThreads;
+
+	/** 表数据总记录数-计算策略 */
+	@Value("${tableDataCount.strategy}")
+	private String tableDataCountStrategy;
+
+	/** 表数据总记录数-capped策略的计数上限 */
+	@Value("${tableDataCount.cap}")
+	private int tableDataCountCap;
+
+	/** 表数据总记录数-estimated策略使用估算数的最小记录数 */
+	@Value("${tableDataCount.minEstimatedRows}")
+	private long tableDataCountMinEstimatedRows;
+
+	/** 表数据总记录数-cached策略的缓存有效毫秒数 */
+	@Value("${tableDataCount.cacheTimeToLiveMillis}")
+	private long tableDataCountCacheTimeToLiveMillis;
+
+	/** SQL工作台-最多同时执行数 */
+	@Value("${sqlpad.maxThreads}")
+	private int sqlpadMaxThreads;
+
+	/** SQL工作台-最多排队数 */
+	@Value("${sqlpad.queueSize}")
+	private int sqlpadQueueSize;
+
+	/** SQL工作台-每个用户最多的执行数 */
+	@Value("${sqlpad.maxExecutionsPerUser}")
+	private int sqlpadMaxExecutionsPerUser;
+
+	/** 消息推送-推送线程数 */
+	@Value("${messagePush.threads}")
+	private int messagePushThreads;
+
+	/** 消息推送-每次推送最多包含的消息数 */
+	@Value("${messagePush.batchSize}")
+	private int messagePushBatchSize;
+
+	/** 消息推送-批量推送延迟毫秒数 */
+	@Value("${messagePush.batchDelayMillis}")
+	private long messagePushBatchDelayMillis;
+
+	/** 消息推送-推送连接超时毫秒数 */
+	@Value("${messagePush.timeoutMillis}")
+	private long messagePushTimeoutMillis;
+
+	/** 消息推送-最多发送线程数 */
+	@Value("${messagePush.sendThreads}")
+	private int messagePushSendThreads;
+
+	/** 消息推送-每次发送超时毫秒数 */
+	@Value("${messagePush.sendTimeoutMillis}")
+	private long messagePushSendTimeoutMillis;
+
+	/** HTTP客户端-最大连接数 */
+	@Value("${httpClient.maxTotal}")
+	private int httpClientMaxTotal;
+
+	/** HTTP客户端-每个主机的最大连接数 */
+	@Value("${httpClient.maxPerRoute}")
+	private int httpClientMaxPerRoute;
+
+	/** HTTP客户端-建立连接超时毫秒数 */
+	@Value("${httpClient.connectTimeoutMillis}")
+	private long httpClientConnectTimeoutMillis;
+
+	/** HTTP客户端-从连接池获取连接超时毫秒数 */
+	@Value("${httpClient.connectionRequestTimeoutMillis}")
+	private long httpClientConnectionRequestTimeoutMillis;
+
+	/** HTTP客户端-等待响应超时毫秒数 */
+	@Value("${httpClient.responseTimeoutMillis}")
+	private long httpClientResponseTimeoutMillis;
+
+	/** HTTP客户端-空闲连接关闭毫秒数 */
+	@Value("${httpClient.idleEvictMillis}")
+	private long httpClientIdleEvictMillis;
+
+	/** HTTP客户端-是否请求并解压gzip、deflate压缩响应 */
+	@Value("${httpClient.contentCompression}")
+	private boolean httpClientContentCompression;
+
+	/** HTTP客户端-异步请求是否协商使用HTTP/2协议 */
+	@Value("${httpClient.http2}")
+	private boolean httpClientHttp2;
+
+	/** HTTP客户端-异步请求响应数据的解析线程数 */
+	@Value("${httpClient.responseParseThreads}")
+	private int httpClientResponseParseThreads;
+
+	/** 数据导入-批量导入的数据条数 */
+	@Value("${dataImport.batchSize}")
+	private int dataImportBatchSize;
+
+	/** 数据导入-每执行多少批次提交一次事务 */
+	@Value("${dataImport.commitBatchCount}")
+	private int dataImportCommitBatchCount;
+
 	public ApplicationProperties()
 	{
 		super();
@@ -223,6 +447,26 @@ public abstract class ApplicationProperties implements Serializable
 		this.dashboardGlobalResUrlPrefix = dashboardGlobalResUrlPrefix;
 	}
 
+	public long getDashboardResourceGzipMinSize()
+	{
+		return dashboardResourceGzipMinSize;
+	}
+
+	protected void setDashboardResourceGzipMinSize(long dashboardResourceGzipMinSize)
+	{
+		this.dashboardResourceGzipMinSize = dashboardResourceGzipMinSize;
+	}
+
+	public int getDashboardResourceImmutableMaxAgeSeconds()
+	{
+		return dashboardResourceImmutableMaxAgeSeconds;
+	}
+
+	protected void setDashboardResourceImmutableMaxAgeSeconds(int dashboardResourceImmutableMaxAgeSeconds)
+	{
+		this.dashboardResourceImmutableMaxAgeSeconds = dashboardResourceImmutableMaxAgeSeconds;
+	}
+
 	public String getDirectoryDataSet()
 	{
 		return directoryDataSet;
@@ -392,4 +636,544 @@ public abstract class ApplicationProperties implements Serializable
 	{
 		this.serviceCacheSpec = serviceCacheSpec;
 	}
+
+	public int getDashboardQueryThreads()
+	{
+		return dashboardQueryThreads;
+	}
+
+	protected void setDashboardQueryThreads(int dashboardQueryThreads)
+	{
+		this.dashboardQueryThreads = dashboardQueryThreads;
+	}
+
+	public int getDashboardQueryQueueSize()
+	{
+		return dashboardQueryQueueSize;
+	}
+
+	protected void setDashboardQueryQueueSize(int dashboardQueryQueueSize)
+	{
+		this.dashboardQueryQueueSize = dashboardQueryQueueSize;
+	}
+
+	public long getDashboardQueryTimeout()
+	{
+		return dashboardQueryTimeout;
+	}
+
+	protected void setDashboardQueryTimeout(long dashboardQueryTimeout)
+	{
+		this.dashboardQueryTimeout = dashboardQueryTimeout;
+	}
+
+	public boolean isDashboardQueryStreaming()
+	{
+		return dashboardQueryStreaming;
+	}
+
+	protected void setDashboardQueryStreaming(boolean dashboardQueryStreaming)
+	{
+		this.dashboardQueryStreaming = dashboardQueryStreaming;
+	}
+
+	public boolean isDataSetResultCacheDisabled()
+	{
+		return dataSetResultCacheDisabled;
+	}
+
+	protected void setDataSetResultCacheDisabled(boolean dataSetResultCacheDisabled)
+	{
+		this.dataSetResultCacheDisabled = dataSetResultCacheDisabled;
+	}
+
+	public int getDataSetResultCacheMaximumSize()
+	{
+		return dataSetResultCacheMaximumSize;
+	}
+
+	protected void setDataSetResultCacheMaximumSize(int dataSetResultCacheMaximumSize)
+	{
+		this.dataSetResultCacheMaximumSize = dataSetResultCacheMaximumSize;
+	}
+
+	public long getDataSetResultCacheTimeToLive()
+	{
+		return dataSetResultCacheTimeToLive;
+	}
+
+	protected void setDataSetResultCacheTimeToLive(long dataSetResultCacheTimeToLive)
+	{
+		this.dataSetResultCacheTimeToLive = dataSetResultCacheTimeToLive;
+	}
+
+	public String getDataSetResultCacheTimeToLives()
+	{
+		return dataSetResultCacheTimeToLives;
+	}
+
+	protected void setDataSetResultCacheTimeToLives(String dataSetResultCacheTimeToLives)
+	{
+		this.dataSetResultCacheTimeToLives = dataSetResultCacheTimeToLives;
+	}
+
+	public boolean isDataSetResultCoalescerDisabled()
+	{
+		return dataSetResultCoalescerDisabled;
+	}
+
+	protected void setDataSetResultCoalescerDisabled(boolean dataSetResultCoalescerDisabled)
+	{
+		this.dataSetResultCoalescerDisabled = dataSetResultCoalescerDisabled;
+	}
+
+	public boolean isSqlDataSetLimitSqlEnabled()
+	{
+		return sqlDataSetLimitSqlEnabled;
+	}
+
+	protected void setSqlDataSetLimitSqlEnabled(boolean sqlDataSetLimitSqlEnabled)
+	{
+		this.sqlDataSetLimitSqlEnabled = sqlDataSetLimitSqlEnabled;
+	}
+
+	public boolean isDataSetFileCacheDisabled()
+	{
+		return dataSetFileCacheDisabled;
+	}
+
+	protected void setDataSetFileCacheDisabled(boolean dataSetFileCacheDisabled)
+	{
+		this.dataSetFileCacheDisabled = dataSetFileCacheDisabled;
+	}
+
+	public long getDataSetFileCacheMaximumMemorySize()
+	{
+		return dataSetFileCacheMaximumMemorySize;
+	}
+
+	protected void setDataSetFileCacheMaximumMemorySize(long dataSetFileCacheMaximumMemorySize)
+	{
+		this.dataSetFileCacheMaximumMemorySize = dataSetFileCacheMaximumMemorySize;
+	}
+
+	public boolean isDataExportStreaming()
+	{
+		return dataExportStreaming;
+	}
+
+	protected void setDataExportStreaming(boolean dataExportStreaming)
+	{
+		this.dataExportStreaming = dataExportStreaming;
+	}
+
+	public int getDataExportFetchSize()
+	{
+		return dataExportFetchSize;
+	}
+
+	protected void setDataExportFetchSize(int dataExportFetchSize)
+	{
+		this.dataExportFetchSize = dataExportFetchSize;
+	}
+
+	public int getDataExportChunkCount()
+	{
+		return dataExportChunkCount;
+	}
+
+	protected void setDataExportChunkCount(int dataExportChunkCount)
+	{
+		this.dataExportChunkCount = dataExportChunkCount;
+	}
+
+	public long getDataExportMinChunkKeySpan()
+	{
+		return dataExportMinChunkKeySpan;
+	}
+
+	protected void setDataExportMinChunkKeySpan(long dataExportMinChunkKeySpan)
+	{
+		this.dataExportMinChunkKeySpan = dataExportMinChunkKeySpan;
+	}
+
+	public boolean isSchemaResolveDriverOnStartup()
+	{
+		return schemaResolveDriverOnStartup;
+	}
+
+	protected void setSchemaResolveDriverOnStartup(boolean schemaResolveDriverOnStartup)
+	{
+		this.schemaResolveDriverOnStartup = schemaResolveDriverOnStartup;
+	}
+
+	public int getConnectionPoolMaxDataSources()
+	{
+		return connectionPoolMaxDataSources;
+	}
+
+	protected void setConnectionPoolMaxDataSources(int connectionPoolMaxDataSources)
+	{
+		this.connectionPoolMaxDataSources = connectionPoolMaxDataSources;
+	}
+
+	public int getConnectionPoolMinIdle()
+	{
+		return connectionPoolMinIdle;
+	}
+
+	protected void setConnectionPoolMinIdle(int connectionPoolMinIdle)
+	{
+		this.connectionPoolMinIdle = connectionPoolMinIdle;
+	}
+
+	public int getConnectionPoolMaxIdle()
+	{
+		return connectionPoolMaxIdle;
+	}
+
+	protected void setConnectionPoolMaxIdle(int connectionPoolMaxIdle)
+	{
+		this.connectionPoolMaxIdle = connectionPoolMaxIdle;
+	}
+
+	public int getConnectionPoolMaxTotal()
+	{
+		return connectionPoolMaxTotal;
+	}
+
+	protected void setConnectionPoolMaxTotal(int connectionPoolMaxTotal)
+	{
+		this.connectionPoolMaxTotal = connectionPoolMaxTotal;
+	}
+
+	public long getConnectionPoolMaxWaitMillis()
+	{
+		return connectionPoolMaxWaitMillis;
+	}
+
+	protected void setConnectionPoolMaxWaitMillis(long connectionPoolMaxWaitMillis)
+	{
+		this.connectionPoolMaxWaitMillis = connectionPoolMaxWaitMillis;
+	}
+
+	public String getConnectionPoolValidationQuery()
+	{
+		return connectionPoolValidationQuery;
+	}
+
+	protected void setConnectionPoolValidationQuery(String connectionPoolValidationQuery)
+	{
+		this.connectionPoolValidationQuery = connectionPoolValidationQuery;
+	}
+
+	public long getConnectionPoolTimeBetweenEvictionRunsMillis()
+	{
+		return connectionPoolTimeBetweenEvictionRunsMillis;
+	}
+
+	protected void setConnectionPoolTimeBetweenEvictionRunsMillis(long connectionPoolTimeBetweenEvictionRunsMillis)
+	{
+		this.connectionPoolTimeBetweenEvictionRunsMillis = connectionPoolTimeBetweenEvictionRunsMillis;
+	}
+
+	public boolean isConnectionPoolPoolPreparedStatements()
+	{
+		return connectionPoolPoolPreparedStatements;
+	}
+
+	protected void setConnectionPoolPoolPreparedStatements(boolean connectionPoolPoolPreparedStatements)
+	{
+		this.connectionPoolPoolPreparedStatements = connectionPoolPoolPreparedStatements;
+	}
+
+	public int getConnectionPoolMaxOpenPreparedStatements()
+	{
+		return connectionPoolMaxOpenPreparedStatements;
+	}
+
+	protected void setConnectionPoolMaxOpenPreparedStatements(int connectionPoolMaxOpenPreparedStatements)
+	{
+		this.connectionPoolMaxOpenPreparedStatements = connectionPoolMaxOpenPreparedStatements;
+	}
+
+	public String getConnectionPoolMaxTotals()
+	{
+		return connectionPoolMaxTotals;
+	}
+
+	protected void setConnectionPoolMaxTotals(String connectionPoolMaxTotals)
+	{
+		this.connectionPoolMaxTotals = connectionPoolMaxTotals;
+	}
+
+	public int getTableCatalogCacheMaximumSize()
+	{
+		return tableCatalogCacheMaximumSize;
+	}
+
+	protected void setTableCatalogCacheMaximumSize(int tableCatalogCacheMaximumSize)
+	{
+		this.tableCatalogCacheMaximumSize = tableCatalogCacheMaximumSize;
+	}
+
+	public long getTableCatalogCacheRefreshAfterMillis()
+	{
+		return tableCatalogCacheRefreshAfterMillis;
+	}
+
+	protected void setTableCatalogCacheRefreshAfterMillis(long tableCatalogCacheRefreshAfterMillis)
+	{
+		this.tableCatalogCacheRefreshAfterMillis = tableCatalogCacheRefreshAfterMillis;
+	}
+
+	public int getTableCatalogCacheRefreshThreads()
+	{
+		return tableCatalogCacheRefreshThreads;
+	}
+
+	protected void setTableCatalogCacheRefreshThreads(int tableCatalogCacheRefreshThreads)
+	{
+		this.tableCatalogCacheRefreshThreads = tableCatalogCacheRefreshThreads;
+	}
+
+	public String getTableDataCountStrategy()
+	{
+		return tableDataCountStrategy;
+	}
+
+	protected void setTableDataCountStrategy(String tableDataCountStrategy)
+	{
+		this.tableDataCountStrategy = tableDataCountStrategy;
+	}
+
+	public int getTableDataCountCap()
+	{
+		return tableDataCountCap;
+	}
+
+	protected void setTableDataCountCap(int tableDataCountCap)
+	{
+		this.tableDataCountCap = tableDataCountCap;
+	}
+
+	public long getTableDataCountMinEstimatedRows()
+	{
+		return tableDataCountMinEstimatedRows;
+	}
+
+	protected void setTableDataCountMinEstimatedRows(long tableDataCountMinEstimatedRows)
+	{
+		this.tableDataCountMinEstimatedRows = tableDataCountMinEstimatedRows;
+	}
+
+	public long getTableDataCountCacheTimeToLiveMillis()
+	{
+		return tableDataCountCacheTimeToLiveMillis;
+	}
+
+	protected void setTableDataCountCacheTimeToLiveMillis(long tableDataCountCacheTimeToLiveMillis)
+	{
+		this.tableDataCountCacheTimeToLiveMillis = tableDataCountCacheTimeToLiveMillis;
+	}
+
+	public int getSqlpadMaxThreads()
+	{
+		return sqlpadMaxThreads;
+	}
+
+	protected void setSqlpadMaxThreads(int sqlpadMaxThreads)
+	{
+		this.sqlpadMaxThreads = sqlpadMaxThreads;
+	}
+
+	public int getSqlpadQueueSize()
+	{
+		return sqlpadQueueSize;
+	}
+
+	protected void setSqlpadQueueSize(int sqlpadQueueSize)
+	{
+		this.sqlpadQueueSize = sqlpadQueueSize;
+	}
+
+	public int getSqlpadMaxExecutionsPerUser()
+	{
+		return sqlpadMaxExecutionsPerUser;
+	}
+
+	protected void setSqlpadMaxExecutionsPerUser(int sqlpadMaxExecutionsPerUser)
+	{
+		this.sqlpadMaxExecutionsPerUser = sqlpadMaxExecutionsPerUser;
+	}
+
+	public int getMessagePushThreads()
+	{
+		return messagePushThreads;
+	}
+
+	protected void setMessagePushThreads(int messagePushThreads)
+	{
+		this.messagePushThreads = messagePushThreads;
+	}
+
+	public int getMessagePushBatchSize()
+	{
+		return messagePushBatchSize;
+	}
+
+	protected void setMessagePushBatchSize(int messagePushBatchSize)
+	{
+		this.messagePushBatchSize = messagePushBatchSize;
+	}
+
+	public long getMessagePushBatchDelayMillis()
+	{
+		return messagePushBatchDelayMillis;
+	}
+
+	protected void setMessagePushBatchDelayMillis(long messagePushBatchDelayMillis)
+	{
+		this.messagePushBatchDelayMillis = messagePushBatchDelayMillis;
+	}
+
+	public long getMessagePushTimeoutMillis()
+	{
+		return messagePushTimeoutMillis;
+	}
+
+	protected void setMessagePushTimeoutMillis(long messagePushTimeoutMillis)
+	{
+		this.messagePushTimeoutMillis = messagePushTimeoutMillis;
+	}
+
+	public int getMessagePushSendThreads()
+	{
+		return messagePushSendThreads;
+	}
+
+	protected void setMessagePushSendThreads(int messagePushSendThreads)
+	{
+		this.messagePushSendThreads = messagePushSendThreads;
+	}
+
+	public long getMessagePushSendTimeoutMillis()
+	{
+		return messagePushSendTimeoutMillis;
+	}
+
+	protected void setMessagePushSendTimeoutMillis(long messagePushSendTimeoutMillis)
+	{
+		this.messagePushSendTimeoutMillis = messagePushSendTimeoutMillis;
+	}
+
+	public int getHttpClientMaxTotal()
+	{
+		return httpClientMaxTotal;
+	}
+
+	protected void setHttpClientMaxTotal(int httpClientMaxTotal)
+	{
+		this.httpClientMaxTotal = httpClientMaxTotal;
+	}
+
+	public int getHttpClientMaxPerRoute()
+	{
+		return httpClientMaxPerRoute;
+	}
+
+	protected void setHttpClientMaxPerRoute(int httpClientMaxPerRoute)
+	{
+		this.httpClientMaxPerRoute = httpClientMaxPerRoute;
+	}
+
+	public long getHttpClientConnectTimeoutMillis()
+	{
+		return httpClientConnectTimeoutMillis;
+	}
+
+	protected void setHttpClientConnectTimeoutMillis(long httpClientConnectTimeoutMillis)
+	{
+		this.httpClientConnectTimeoutMillis = httpClientConnectTimeoutMillis;
+	}
+
+	public long getHttpClientConnectionRequestTimeoutMillis()
+	{
+		return httpClientConnectionRequestTimeoutMillis;
+	}
+
+	protected void setHttpClientConnectionRequestTimeoutMillis(long httpClientConnectionRequestTimeoutMillis)
+	{
+		this.httpClientConnectionRequestTimeoutMillis = httpClientConnectionRequestTimeoutMillis;
+	}
+
+	public long getHttpClientResponseTimeoutMillis()
+	{
+		return httpClientResponseTimeoutMillis;
+	}
+
+	protected void setHttpClientResponseTimeoutMillis(long httpClientResponseTimeoutMillis)
+	{
+		this.httpClientResponseTimeoutMillis = httpClientResponseTimeoutMillis;
+	}
+
+	public long getHttpClientIdleEvictMillis()
+	{
+		return httpClientIdleEvictMillis;
+	}
+
+	protected void setHttpClientIdleEvictMillis(long httpClientIdleEvictMillis)
+	{
+		this.httpClientIdleEvictMillis = httpClientIdleEvictMillis;
+	}
+
+	public boolean isHttpClientContentCompression()
+	{
+		return httpClientContentCompression;
+	}
+
+	protected void setHttpClientContentCompression(boolean httpClientContentCompression)
+	{
+		this.httpClientContentCompression = httpClientContentCompression;
+	}
+
+	public boolean isHttpClientHttp2()
+	{
+		return httpClientHttp2;
+	}
+
+	protected void setHttpClientHttp2(boolean httpClientHttp2)
+	{
+		this.httpClientHttp2 = httpClientHttp2;
+	}
+
+	public int getHttpClientResponseParseThreads()
+	{
+		return httpClientResponseParseThreads;
+	}
+
+	protected void setHttpClientResponseParseThreads(int httpClientResponseParseThreads)
+	{
+		this.httpClientResponseParseThreads = httpClientResponseParseThreads;
+	}
+
+	public int getDataImportBatchSize()
+	{
+		return dataImportBatchSize;
+	}
+
+	protected void setDataImportBatchSize(int dataImportBatchSize)
+	{
+		this.dataImportBatchSize = dataImportBatchSize;
+	}
+
+	public int getDataImportCommitBatchCount()
+	{
+		return dataImportCommitBatchCount;
+	}
+
+	protected void setDataImportCommitBatchCount(int dataImportCommitBatchCount)
+	{
+		this.dataImportCommitBatchCount = dataImportCommitBatchCount;
+	}
 }
@@ -12,15 +12,41 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.type.TypeHandler;
 import org.datagear.analysis.TemplateDashboardWidgetResManager;
+import org.datagear.analysis.support.DataSetFileCache;
+import org.datagear.analysis.support.DataSetResultCache;
+import org.datagear.analysis.support.DataSetResultCoalescer;
 import org.datagear.analysis.support.FileTemplateDashboardWidgetResManager;
+import org.datagear.analysis.support.HttpLatencyRecorder;
+import org.datagear.analysis.support.LimitSqlResolver;
 import org.datagear.analysis.support.NameAsTemplateDashboardWidgetResManager;
 import org.datagear.analysis.support.html.DirectoryHtmlChartPluginManager;
 import org.datagear.analysis.support.html.HtmlChartPluginLoader;
@@ -31,13 +57,17 @@ import org.datagear.analysis.support.html.HtmlTplDashboardWidgetHtmlRenderer;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetRenderer;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetRenderer.TemplateImportHtmlChartPluginVarNameResolver;
 import org.datagear.analysis.support.html.SimpleHtmlTplDashboardImport;
+import org.datagear.connection.ConnectionPoolConfig;
+import org.datagear.connection.ConnectionPoolConfigResolver;
 import org.datagear.connection.ConnectionSource;
 import org.datagear.connection.DefaultConnectionSource;
 import org.datagear.connection.GenericPropertiesProcessor;
+import org.datagear.connection.PrefixURLConnectionPoolConfigResolver;
 import org.datagear.connection.XmlDriverEntityManager;
 import org.datagear.connection.support.MySqlDevotedPropertiesProcessor;
 import org.datagear.connection.support.OracleDevotedPropertiesProcessor;
 import org.datagear.dataexchange.BatchDataExchange;
+import org.datagear.dataexchange.AbstractDevotedDataExchangeService;
 import org.datagear.dataexchange.BatchDataExchangeService;
 import org.datagear.dataexchange.DevotedDataExchangeService;
 import org.datagear.dataexchange.GenericDataExchangeService;
@@ -83,6 +113,7 @@ import org.datagear.management.service.impl.SchemaServiceImpl;
 import org.datagear.management.service.impl.SqlHistoryServiceImpl;
 import org.datagear.management.service.impl.UserPasswordEncoder;
 import org.datagear.management.service.impl.UserServiceImpl;
+import org.datagear.management.util.DialectLimitSqlResolver;
 import org.datagear.management.util.dialect.MbSqlDialect;
 import org.datagear.management.util.dialect.MbSqlDialectBuilder;
 import org.datagear.management.util.typehandlers.DataFormatTypeHandler;
@@ -90,13 +121,20 @@ import org.datagear.management.util.typehandlers.LiteralBooleanTypeHandler;
 import org.datagear.management.util.typehandlers.ResultDataFormatTypeHandler;
 import org.datagear.meta.resolver.DBMetaResolver;
 import org.datagear.meta.resolver.GenericDBMetaResolver;
+import org.datagear.meta.resolver.TableCatalogCache;
 import org.datagear.persistence.DialectSource;
 import org.datagear.persistence.PersistenceManager;
+import org.datagear.persistence.RowCounter;
+import org.datagear.persistence.support.CachedRowCounter;
+import org.datagear.persistence.support.CappedRowCounter;
 import org.datagear.persistence.support.DefaultDialectSource;
 import org.datagear.persistence.support.DefaultPersistenceManager;
+import org.datagear.persistence.support.EstimatedRowCounter;
+import org.datagear.persistence.support.ExactRowCounter;
 import org.datagear.persistence.support.SqlSelectManager;
 import org.datagear.util.FileUtil;
 import org.datagear.util.IOUtil;
+import org.datagear.util.StringUtil;
 import org.datagear.web.format.DateFormatter;
 import org.datagear.web.format.SqlDateFormatter;
 import org.datagear.web.format.SqlTimeFormatter;
@@ -112,6 +150,12 @@ import org.datagear.web.sqlpad.SqlpadExecutionService;
 import org.datagear.web.util.ChangelogResolver;
 import org.datagear.web.util.DirectoryFactory;
 import org.datagear.web.util.DirectoryHtmlChartPluginManagerInitializer;
+import org.datagear.web.util.FileResourceWriter;
+import org.datagear.web.util.HtmlChartPluginBundle;
+import org.datagear.web.util.HtmlChartPluginBundleImportItem;
+import org.datagear.web.util.MessageChannelPusher;
+import org.datagear.web.util.SchemaPreferredDriverInitializer;
+import org.datagear.web.util.SeekKeyCache;
 import org.datagear.web.util.SqlDriverChecker;
 import org.datagear.web.util.TableCache;
 import org.datagear.web.util.XmlDriverEntityManagerInitializer;
@@ -147,6 +191,8 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 
 	public static final String NAME_DASHBOARD_GLOBAL_RES_ROOT_DIRECTORY = "dashboardGlobalResRootDirectory";
 
+	public static final String NAME_DASHBOARD_QUERY_EXECUTOR_SERVICE = "dashboardQueryExecutorService";
+
 	private ApplicationProperties applicationProperties;
 
 	private DataSourceConfig dataSourceConfig;
@@ -323,10 +369,111 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		return FileUtil.getFile(this.applicationProperties.getSchemaUrlBuilderScriptFile());
 	}
 
-	@Bean
+	@Bean(destroyMethod = "close")
 	public CloseableHttpClient httpClient()
 	{
-		return HttpClients.createDefault();
+		ApplicationProperties properties = getApplicationProperties();
+
+		HttpClientBuilder builder = HttpClients.custom().setConnectionManager(this.httpClientConnectionManager())
+				.setDefaultRequestConfig(createHttpClientRequestConfig());
+
+		if (properties.getHttpClientIdleEvictMillis() > 0)
+		{
+			builder.evictExpiredConnections();
+			builder.evictIdleConnections(TimeValue.ofMilliseconds(properties.getHttpClientIdleEvictMillis()));
+		}
+
+		if (!properties.isHttpClientContentCompression())
+			builder.disableContentCompression();
+
+		return builder.build();
+	}
+
+	/**
+	 * {@linkplain #httpClient()}的连接池，单独定义以便获取连接池统计信息。
+	 * <p>
+	 * 它由{@linkplain #httpClient()}独占，并由其负责过期、空闲连接清理及关闭，因此这里不再定义销毁方法。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	@Bean(destroyMethod = "")
+	public PoolingHttpClientConnectionManager httpClientConnectionManager()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		int maxTotal = Math.max(properties.getHttpClientMaxTotal(), 1);
+		int maxPerRoute = Math.min(Math.max(properties.getHttpClientMaxPerRoute(), 1), maxTotal);
+
+		return PoolingHttpClientConnectionManagerBuilder.create().setMaxConnTotal(maxTotal)
+				.setMaxConnPerRoute(maxPerRoute).build();
+	}
+
+	/**
+	 * 数据集的异步HTTP客户端，用于不占用请求处理线程地执行HTTP数据集请求。
+	 * 
+	 * @return
+	 */
+	@Bean(initMethod = "start", destroyMethod = "close")
+	public CloseableHttpAsyncClient httpAsyncClient()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		int maxTotal = Math.max(properties.getHttpClientMaxTotal(), 1);
+		int maxPerRoute = Math.min(Math.max(properties.getHttpClientMaxPerRoute(), 1), maxTotal);
+
+		PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxTotal).setMaxConnPerRoute(maxPerRoute).build();
+
+		HttpAsyncClientBuilder builder = HttpAsyncClients.custom().setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(createHttpClientRequestConfig())
+				.setVersionPolicy(properties.isHttpClientHttp2() ? HttpVersionPolicy.NEGOTIATE
+						: HttpVersionPolicy.FORCE_HTTP_1);
+
+		if (properties.getHttpClientIdleEvictMillis() > 0)
+		{
+			builder.evictExpiredConnections();
+			builder.evictIdleConnections(TimeValue.ofMilliseconds(properties.getHttpClientIdleEvictMillis()));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * 解析{@linkplain #httpAsyncClient()}响应数据的{@linkplain ExecutorService}，使解析不占用异步客户端的I/O线程。
+	 * <p>
+	 * 待解析的响应数目受限于异步客户端的最大连接数，因此这里使用无界队列。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	public ExecutorService httpResponseParseExecutorService()
+	{
+		int threads = Math.max(getApplicationProperties().getHttpClientResponseParseThreads(), 1);
+
+		ThreadPoolExecutor bean = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		bean.allowCoreThreadTimeOut(true);
+
+		return bean;
+	}
+
+	protected RequestConfig createHttpClientRequestConfig()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		return RequestConfig.custom()
+				.setConnectTimeout(Timeout.ofMilliseconds(properties.getHttpClientConnectTimeoutMillis()))
+				.setConnectionRequestTimeout(
+						Timeout.ofMilliseconds(properties.getHttpClientConnectionRequestTimeoutMillis()))
+				.setResponseTimeout(Timeout.ofMilliseconds(properties.getHttpClientResponseTimeoutMillis())).build();
+	}
+
+	@Bean
+	public HttpLatencyRecorder httpLatencyRecorder()
+	{
+		return new HttpLatencyRecorder();
 	}
 
 	protected File createDirectory(String directoryName, boolean createIfInexistence)
@@ -433,13 +580,98 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 
 		bean.setPropertiesProcessor(genericPropertiesProcessor);
 
+		bean.setMaxInternalDataSources(getApplicationProperties().getConnectionPoolMaxDataSources());
+		bean.setConnectionPoolConfig(this.connectionPoolConfig());
+		bean.setConnectionPoolConfigResolver(this.connectionPoolConfigResolver());
+
 		return bean;
 	}
 
+	protected ConnectionPoolConfig connectionPoolConfig()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		ConnectionPoolConfig config = new ConnectionPoolConfig();
+		config.setMinIdle(properties.getConnectionPoolMinIdle());
+		config.setMaxIdle(properties.getConnectionPoolMaxIdle());
+		config.setMaxTotal(properties.getConnectionPoolMaxTotal());
+		config.setMaxWaitMillis(properties.getConnectionPoolMaxWaitMillis());
+		config.setValidationQuery(properties.getConnectionPoolValidationQuery());
+		config.setTimeBetweenEvictionRunsMillis(properties.getConnectionPoolTimeBetweenEvictionRunsMillis());
+		config.setPoolPreparedStatements(properties.isConnectionPoolPoolPreparedStatements());
+		config.setMaxOpenPreparedStatements(properties.getConnectionPoolMaxOpenPreparedStatements());
+
+		return config;
+	}
+
+	/**
+	 * 解析{@code [URL前缀]=[最大连接数]|[URL前缀]=[最大连接数]}格式的连接池最大连接数配置。
+	 * 
+	 * @return
+	 */
+	protected ConnectionPoolConfigResolver connectionPoolConfigResolver()
+	{
+		Map<String, Integer> maxTotals = null;
+
+		try
+		{
+			maxTotals = PrefixURLConnectionPoolConfigResolver
+					.parseMaxTotals(getApplicationProperties().getConnectionPoolMaxTotals());
+		}
+		catch (IllegalArgumentException e)
+		{
+			throw new BeanInitializationException("Illegal [connectionPool.maxTotals] : " + e.getMessage());
+		}
+
+		return new PrefixURLConnectionPoolConfigResolver(maxTotals);
+	}
+
 	@Bean(initMethod = "init")
 	public TableCache tableCache()
 	{
 		TableCache bean = new TableCache();
+		bean.setDbMetaResolver(this.dbMetaResolver());
+		return bean;
+	}
+
+	@Bean(initMethod = "init")
+	public SeekKeyCache seekKeyCache()
+	{
+		SeekKeyCache bean = new SeekKeyCache();
+		return bean;
+	}
+
+	@Bean(initMethod = "init")
+	public TableCatalogCache tableCatalogCache()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		TableCatalogCache bean = new TableCatalogCache(this.dbMetaResolver());
+		bean.setMaximumSize(properties.getTableCatalogCacheMaximumSize());
+		bean.setRefreshAfterMillis(properties.getTableCatalogCacheRefreshAfterMillis());
+		bean.setRefreshExecutor(this.tableCatalogRefreshExecutorService());
+		bean.setListener(this.tableCache());
+
+		return bean;
+	}
+
+	/**
+	 * 后台刷新{@linkplain TableCatalogCache}的{@linkplain ExecutorService}。
+	 * <p>
+	 * 队列已满时拒绝刷新任务，表目录将在下次访问时再次尝试刷新。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	public ExecutorService tableCatalogRefreshExecutorService()
+	{
+		int threads = Math.max(getApplicationProperties().getTableCatalogCacheRefreshThreads(), 1);
+
+		ThreadPoolExecutor bean = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(100));
+		bean.allowCoreThreadTimeOut(true);
+
 		return bean;
 	}
 
@@ -454,9 +686,41 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 	public PersistenceManager persistenceManager()
 	{
 		DefaultPersistenceManager bean = new DefaultPersistenceManager(this.dialectSource());
+		bean.setRowCounter(this.rowCounter());
 		return bean;
 	}
 
+	@Bean
+	public RowCounter rowCounter()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+		String strategy = properties.getTableDataCountStrategy();
+
+		if ("exact".equalsIgnoreCase(strategy))
+		{
+			return new ExactRowCounter();
+		}
+		else if ("capped".equalsIgnoreCase(strategy))
+		{
+			return new CappedRowCounter(properties.getTableDataCountCap());
+		}
+		else if ("estimated".equalsIgnoreCase(strategy))
+		{
+			EstimatedRowCounter bean = new EstimatedRowCounter(new ExactRowCounter());
+			bean.setMinEstimatedRows(properties.getTableDataCountMinEstimatedRows());
+			return bean;
+		}
+		else if ("cached".equalsIgnoreCase(strategy))
+		{
+			CachedRowCounter bean = new CachedRowCounter(new ExactRowCounter());
+			bean.setTimeToLiveMillis(properties.getTableDataCountCacheTimeToLiveMillis());
+			bean.init();
+			return bean;
+		}
+		else
+			throw new BeanInitializationException("Unknown table data count strategy [" + strategy + "]");
+	}
+
 	@Bean
 	public PasswordEncoder passwordEncoder()
 	{
@@ -532,6 +796,97 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 				this.dataSetRootDirectory(),
 				this.httpClient());
 
+		if (!this.applicationProperties.isDataSetResultCacheDisabled())
+			bean.setDataSetResultCache(this.dataSetResultCache());
+
+		if (!this.applicationProperties.isDataSetResultCoalescerDisabled())
+			bean.setDataSetResultCoalescer(this.dataSetResultCoalescer());
+
+		if (this.applicationProperties.isSqlDataSetLimitSqlEnabled())
+			bean.setLimitSqlResolver(this.limitSqlResolver());
+
+		bean.setHttpLatencyRecorder(this.httpLatencyRecorder());
+		bean.setHttpAsyncClient(this.httpAsyncClient());
+		bean.setHttpResponseExecutor(this.httpResponseParseExecutorService());
+
+		if (!this.applicationProperties.isDataSetFileCacheDisabled())
+			bean.setDataSetFileCache(this.dataSetFileCache());
+
+		return bean;
+	}
+
+	@Bean
+	public LimitSqlResolver limitSqlResolver()
+	{
+		DialectLimitSqlResolver bean = new DialectLimitSqlResolver(this.dialectSource());
+		return bean;
+	}
+
+	@Bean(initMethod = "init")
+	public DataSetResultCache dataSetResultCache()
+	{
+		DataSetResultCache bean = new DataSetResultCache();
+		bean.setMaximumSize(this.applicationProperties.getDataSetResultCacheMaximumSize());
+		bean.setDefaultTimeToLive(this.applicationProperties.getDataSetResultCacheTimeToLive());
+		bean.setTimeToLives(
+				this.parseDataSetResultCacheTimeToLives(this.applicationProperties.getDataSetResultCacheTimeToLives()));
+
+		if (!this.applicationProperties.isDataSetResultCoalescerDisabled())
+			bean.setDataSetResultCoalescer(this.dataSetResultCoalescer());
+
+		return bean;
+	}
+
+	/**
+	 * 解析{@code [数据集ID]:[毫秒数],[数据集ID]:[毫秒数]}格式的数据集缓存过期毫秒数配置。
+	 * 
+	 * @param timeToLives
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected Map<String, Long> parseDataSetResultCacheTimeToLives(String timeToLives)
+	{
+		Map<String, Long> re = new HashMap<>();
+
+		List<String> items = StringUtil.splitWithTrim(timeToLives, ",");
+
+		for (String item : items)
+		{
+			if (item.isEmpty())
+				continue;
+
+			int idx = item.lastIndexOf(':');
+			String id = (idx > 0 ? item.substring(0, idx).trim() : "");
+
+			try
+			{
+				if (id.isEmpty())
+					throw new NumberFormatException();
+
+				re.put(id, Long.parseLong(item.substring(idx + 1).trim()));
+			}
+			catch (NumberFormatException e)
+			{
+				throw new BeanInitializationException(
+						"Illegal [dataSetResultCache.timeToLives] item '" + item + "', it should be [id]:[millis]");
+			}
+		}
+
+		return re;
+	}
+
+	@Bean
+	public DataSetResultCoalescer dataSetResultCoalescer()
+	{
+		DataSetResultCoalescer bean = new DataSetResultCoalescer();
+		return bean;
+	}
+
+	@Bean(initMethod = "init")
+	public DataSetFileCache dataSetFileCache()
+	{
+		DataSetFileCache bean = new DataSetFileCache();
+		bean.setMaximumMemorySize(this.applicationProperties.getDataSetFileCacheMaximumMemorySize());
 		return bean;
 	}
 
@@ -543,6 +898,24 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		return bean;
 	}
 
+	/**
+	 * 看板资源输出器，生成的gzip压缩文件存储在临时目录内，由临时目录清理任务删除过期文件。
+	 * 
+	 * @return
+	 */
+	@Bean(initMethod = "init")
+	public FileResourceWriter dashboardResourceWriter()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		FileResourceWriter bean = new FileResourceWriter();
+		bean.setGzipDirectory(FileUtil.getDirectory(this.tempDirectory(), "dashboardResGzip", false));
+		bean.setGzipMinSize(properties.getDashboardResourceGzipMinSize());
+		bean.setImmutableMaxAgeSeconds(properties.getDashboardResourceImmutableMaxAgeSeconds());
+
+		return bean;
+	}
+
 	@Bean
 	public DirectoryHtmlChartPluginManager directoryHtmlChartPluginManager()
 	{
@@ -601,6 +974,22 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		bean.setImportHtmlChartPluginVarNameResolver(
 				this.buildHtmlTplDashboardWidgetRendererd_importHtmlChartPluginVarNameResolver(bean));
 
+		// 看板内获取图表出错时使用的图表插件也由图表插件脚本包提供
+		this.htmlChartPluginBundle().setHtmlChartPluginForGetWidgetException(
+				bean.getHtmlChartPluginForGetWidgetException());
+
+		return bean;
+	}
+
+	/**
+	 * 看板页面引用的图表插件脚本包。
+	 * 
+	 * @return
+	 */
+	@Bean
+	public HtmlChartPluginBundle htmlChartPluginBundle()
+	{
+		HtmlChartPluginBundle bean = new HtmlChartPluginBundle(this.directoryHtmlChartPluginManager());
 		return bean;
 	}
 
@@ -648,8 +1037,8 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 				.add(ImportItem.valueOfJavaScript("chartSupport", scriptPrefix + "/datagear-chartSupport.js?v=" + vp));
 		importItems
 				.add(ImportItem.valueOfJavaScript("chartSetting", scriptPrefix + "/datagear-chartSetting.js?v=" + vp));
-		importItems.add(ImportItem.valueOfJavaScript("chartPluginManager",
-				cp + "/chartPlugin/chartPluginManager.js?v=" + vp));
+		importItems.add(new HtmlChartPluginBundleImportItem("chartPluginManager",
+				cp + "/chartPlugin/chartPluginManager.js", vp, this.htmlChartPluginBundle()));
 
 		dashboardImport.setImportItems(importItems);
 
@@ -667,6 +1056,27 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		return resolver;
 	}
 
+	/**
+	 * 并发查询看板图表数据的执行器。
+	 * <p>
+	 * 线程数、队列容量都是有界的，队列已满时将拒绝执行，被拒绝的图表将记为图表错误。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	@Bean(name = NAME_DASHBOARD_QUERY_EXECUTOR_SERVICE, destroyMethod = "shutdownNow")
+	public ExecutorService dashboardQueryExecutorService()
+	{
+		int threads = Math.max(this.applicationProperties.getDashboardQueryThreads(), 1);
+		int queueSize = Math.max(this.applicationProperties.getDashboardQueryQueueSize(), 1);
+
+		ThreadPoolExecutor bean = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize), new ThreadPoolExecutor.AbortPolicy());
+		bean.allowCoreThreadTimeOut(true);
+
+		return bean;
+	}
+
 	@Bean
 	public HtmlChartWidgetJsonWriter htmlChartWidgetJsonWriter()
 	{
@@ -721,10 +1131,63 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 	}
 
 	@Bean
+	public MessageChannelPusher messageChannelPusher()
+	{
+		ApplicationProperties properties = getApplicationProperties();
+
+		MessageChannelPusher bean = new MessageChannelPusher(this.messagePushExecutorService(),
+				this.messagePushSendExecutorService(), this.objectMapperBuilder().build());
+		bean.setBatchSize(Math.max(properties.getMessagePushBatchSize(), 1));
+		bean.setBatchDelayMillis(Math.max(properties.getMessagePushBatchDelayMillis(), 0));
+		bean.setTimeoutMillis(properties.getMessagePushTimeoutMillis());
+		bean.setSendTimeoutMillis(Math.max(properties.getMessagePushSendTimeoutMillis(), 1));
+
+		return bean;
+	}
+
+	/**
+	 * {@linkplain MessageChannelPusher}的推送执行器，所有推送连接共享它的少量线程。
+	 * 
+	 * @return
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	public ScheduledExecutorService messagePushExecutorService()
+	{
+		int threads = Math.max(getApplicationProperties().getMessagePushThreads(), 1);
+
+		ScheduledThreadPoolExecutor bean = new ScheduledThreadPoolExecutor(threads);
+		bean.setRemoveOnCancelPolicy(true);
+
+		return bean;
+	}
+
+	/**
+	 * {@linkplain MessageChannelPusher}的消息发送执行器。
+	 * <p>
+	 * 发送是阻塞写操作，接收较慢的客户端会占用线程，因此线程数有上限，且不排队，已满时消息将留在通道内等待下次推送。
+	 * </p>
+	 * 
+	 * @return
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	public ExecutorService messagePushSendExecutorService()
+	{
+		int threads = Math.max(getApplicationProperties().getMessagePushSendThreads(), 1);
+
+		return new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+	}
+
+	@Bean(initMethod = "init", destroyMethod = "shutdown")
 	public SqlpadExecutionService sqlpadExecutionService()
 	{
+		ApplicationProperties properties = getApplicationProperties();
+
 		SqlpadExecutionService bean = new SqlpadExecutionService(this.connectionSource(), this.messageSource(),
 				this.sqlHistoryService(), this.sqlSelectManager());
+		bean.setMaxThreads(properties.getSqlpadMaxThreads());
+		bean.setQueueSize(properties.getSqlpadQueueSize());
+		bean.setMaxExecutionsPerUser(properties.getSqlpadMaxExecutionsPerUser());
+
 		return bean;
 	}
 
@@ -733,18 +1196,40 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 	{
 		List<DevotedDataExchangeService<?>> bean = new ArrayList<>();
 
-		bean.add(new CsvDataImportService(this.dbMetaResolver()));
-		bean.add(new CsvDataExportService(this.dbMetaResolver()));
+		bean.add(initDataImportService(new CsvDataImportService(this.dbMetaResolver())));
+		bean.add(initCsvDataExportService(new CsvDataExportService(this.dbMetaResolver())));
 		bean.add(new SqlDataImportService());
 		bean.add(new SqlDataExportService(this.dbMetaResolver()));
-		bean.add(new ExcelDataImportService(this.dbMetaResolver()));
+		bean.add(initDataImportService(new ExcelDataImportService(this.dbMetaResolver())));
 		bean.add(new ExcelDataExportService(this.dbMetaResolver()));
-		bean.add(new JsonDataImportService(this.dbMetaResolver()));
+		bean.add(initDataImportService(new JsonDataImportService(this.dbMetaResolver())));
 		bean.add(new JsonDataExportService(this.dbMetaResolver()));
 
 		return bean;
 	}
 
+	protected <T extends AbstractDevotedDataExchangeService<?>> T initDataImportService(T service)
+	{
+		service.setImportBatchSize(getApplicationProperties().getDataImportBatchSize());
+		service.setImportCommitBatchCount(getApplicationProperties().getDataImportCommitBatchCount());
+
+		return service;
+	}
+
+	protected CsvDataExportService initCsvDataExportService(CsvDataExportService service)
+	{
+		int chunkCount = getApplicationProperties().getDataExportChunkCount();
+
+		if (chunkCount > 1)
+		{
+			service.setChunkCount(chunkCount);
+			service.setMinChunkKeySpan(getApplicationProperties().getDataExportMinChunkKeySpan());
+			service.setChunkExecutorService(this.batchDataExchangeService().getExecutorService());
+		}
+
+		return service;
+	}
+
 	@Bean(destroyMethod = "shutdown")
 	public BatchDataExchangeService<BatchDataExchange> batchDataExchangeService()
 	{
@@ -771,6 +1256,7 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		initServiceCaches(context);
 		initDevotedDataExchangeServices(context);
 		initUserServiceCreateUserEntityServices(context);
+		initSchemaPreferredDrivers(context);
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -841,6 +1327,19 @@ public class CoreConfig implements ApplicationListener<ContextRefreshedEvent>
 		this.dataExchangeService().setDevotedDataExchangeServices(devotedDataExchangeServices);
 	}
 
+	protected void initSchemaPreferredDrivers(ApplicationContext context)
+	{
+		ConnectionSource connectionSource = this.connectionSource();
+
+		if (!getApplicationProperties().isSchemaResolveDriverOnStartup()
+				|| !(connectionSource instanceof DefaultConnectionSource))
+			return;
+
+		SchemaPreferredDriverInitializer initializer = new SchemaPreferredDriverInitializer(this.schemaService(),
+				(DefaultConnectionSource) connectionSource);
+		initializer.init();
+	}
+
 	protected void initUserServiceCreateUserEntityServices(ApplicationContext context)
 	{
 		List<CreateUserEntityService> serviceList = getCreateUserEntityServices(context);
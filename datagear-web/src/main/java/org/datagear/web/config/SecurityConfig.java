@@ -182,10 +182,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter implements Appl
 				// 用户针对数据源数据的所有操作都已受其所属数据源权限控制，所以不必再引入数据管理员/数据分析员权限
 				.antMatchers("/data/**").access(disableAnonymous ? AUTH_USER_ADMIN : AUTH_ANONYMOUS_USER_ADMIN)
 				.antMatchers("/dataexchange/**").access(disableAnonymous ? AUTH_USER_ADMIN : AUTH_ANONYMOUS_USER_ADMIN)
+				.antMatchers("/sqlpad/executorStat").access(AUTH_ADMIN)
 				.antMatchers("/sqlpad/**").access(disableAnonymous ? AUTH_USER_ADMIN : AUTH_ANONYMOUS_USER_ADMIN)
 				.antMatchers("/sqlEditor/**").access(disableAnonymous ? AUTH_USER_ADMIN : AUTH_ANONYMOUS_USER_ADMIN)
 
 				// 数据集
+				// 统计
+				.antMatchers("/dataSet/httpClientStat", "/dataSet/resultCacheStat").access(AUTH_ADMIN)
 				// 编辑
 				.antMatchers("/dataSet/addFor*", "/dataSet/saveAddFor*", "/dataSet/edit",
 						"/dataSet/saveEditFor*", "/dataSet/delete", "/dataSet/uploadFile")
@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -24,12 +25,14 @@ import javax.servlet.http.HttpSession;
 import org.datagear.analysis.Chart;
 import org.datagear.analysis.ChartDataSet;
 import org.datagear.analysis.ChartQuery;
+import org.datagear.analysis.ChartResult;
 import org.datagear.analysis.Dashboard;
 import org.datagear.analysis.DashboardQuery;
 import org.datagear.analysis.DashboardResult;
 import org.datagear.analysis.DashboardTheme;
 import org.datagear.analysis.DashboardThemeSource;
 import org.datagear.analysis.DataSetQuery;
+import org.datagear.analysis.DataSetResult;
 import org.datagear.analysis.RenderContext;
 import org.datagear.analysis.SimpleDashboardQueryHandler;
 import org.datagear.analysis.support.ChartWidget;
@@ -40,8 +43,16 @@ import org.datagear.analysis.support.html.HtmlChartWidget;
 import org.datagear.analysis.support.html.HtmlTplDashboardRenderAttr;
 import org.datagear.analysis.support.html.HtmlTplDashboardRenderAttr.WebContext;
 import org.datagear.analysis.support.html.HtmlTplDashboardWidgetRenderer;
+import org.datagear.management.domain.User;
+import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
+import org.datagear.web.config.ApplicationProperties;
+import org.datagear.web.config.CoreConfig;
 import org.datagear.web.util.WebUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * 抽象数据分析控制器。
@@ -68,6 +79,13 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 
 	private DashboardThemeSource dashboardThemeSource = new SimpleDashboardThemeSource();
 
+	@Autowired
+	private ApplicationProperties applicationProperties;
+
+	@Autowired
+	@Qualifier(CoreConfig.NAME_DASHBOARD_QUERY_EXECUTOR_SERVICE)
+	private ExecutorService dashboardQueryExecutorService;
+
 	public AbstractDataAnalysisController()
 	{
 		super();
@@ -93,6 +111,26 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 		this.dashboardThemeSource = dashboardThemeSource;
 	}
 
+	public ApplicationProperties getApplicationProperties()
+	{
+		return applicationProperties;
+	}
+
+	public void setApplicationProperties(ApplicationProperties applicationProperties)
+	{
+		this.applicationProperties = applicationProperties;
+	}
+
+	public ExecutorService getDashboardQueryExecutorService()
+	{
+		return dashboardQueryExecutorService;
+	}
+
+	public void setDashboardQueryExecutorService(ExecutorService dashboardQueryExecutorService)
+	{
+		this.dashboardQueryExecutorService = dashboardQueryExecutorService;
+	}
+
 	protected RenderContext createHtmlRenderContext(HttpServletRequest request, HttpServletResponse response,
 			HtmlTplDashboardRenderAttr renderAttr, WebContext webContext,
 			HtmlTplDashboardWidgetRenderer htmlTplDashboardWidgetRenderer) throws IOException
@@ -170,12 +208,13 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 	 * 获取看板结果。
 	 * 
 	 * @param request
+	 * @param response
 	 * @param form
 	 * @param renderer
 	 * @return
 	 */
-	protected DashboardResult getDashboardResult(HttpServletRequest request, DashboardQueryForm form,
-			HtmlTplDashboardWidgetRenderer renderer)
+	protected DashboardResult getDashboardResult(HttpServletRequest request, HttpServletResponse response,
+			DashboardQueryForm form, HtmlTplDashboardWidgetRenderer renderer)
 	{
 		if (StringUtil.isEmpty(form.getDashboardId()))
 			throw new IllegalInputException();
@@ -189,11 +228,72 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 		DashboardQuery dashboardQuery = form.getDashboardQuery();
 		Map<String, HtmlChartWidget> chartWidgets = getChartWidgets(form.getDashboardQuery(), dashboardInfo, renderer);
 
-		DashboardQuery queriesConverted = convertDashboardQuery(dashboardQuery, chartWidgets);
+		User user = WebUtils.getUser(request, response);
+
+		DashboardQuery queriesConverted = convertDashboardQuery(dashboardQuery, chartWidgets, user.getId());
 
 		SimpleDashboardQueryHandler dqh = new SimpleDashboardQueryHandler(chartWidgets);
 
-		return dqh.getResult(queriesConverted);
+		if (this.applicationProperties.getDashboardQueryThreads() > 0)
+		{
+			dqh.setExecutorService(this.dashboardQueryExecutorService);
+			dqh.setTimeout(this.applicationProperties.getDashboardQueryTimeout());
+		}
+
+		DashboardResult dashboardResult = dqh.getResult(queriesConverted);
+
+		if (this.applicationProperties.isDashboardQueryStreaming())
+			registerCloseDashboardResult(dashboardResult);
+
+		return dashboardResult;
+	}
+
+	/**
+	 * 注册请求结束时关闭看板结果中持有资源的数据（比如流式结果数据）。
+	 * <p>
+	 * 流式结果数据在输出JSON后即自动关闭，这里用于处理请求因出错等原因未输出结果的情况。
+	 * </p>
+	 * 
+	 * @param dashboardResult
+	 */
+	protected void registerCloseDashboardResult(final DashboardResult dashboardResult)
+	{
+		Map<String, ChartResult> chartResults = dashboardResult.getChartResults();
+
+		if (chartResults == null || chartResults.isEmpty())
+			return;
+
+		final List<AutoCloseable> closeables = new ArrayList<AutoCloseable>();
+
+		for (ChartResult chartResult : chartResults.values())
+		{
+			List<DataSetResult> dataSetResults = (chartResult == null ? null : chartResult.getDataSetResults());
+
+			if (dataSetResults == null)
+				continue;
+
+			for (DataSetResult dataSetResult : dataSetResults)
+			{
+				Object data = (dataSetResult == null ? null : dataSetResult.getData());
+
+				if (data instanceof AutoCloseable)
+					closeables.add((AutoCloseable) data);
+			}
+		}
+
+		if (closeables.isEmpty())
+			return;
+
+		RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+				DashboardResult.class.getName() + "@" + System.identityHashCode(dashboardResult), new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						for (AutoCloseable closeable : closeables)
+							IOUtil.close(closeable);
+					}
+				}, RequestAttributes.SCOPE_REQUEST);
 	}
 
 	/**
@@ -226,8 +326,20 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 		return chartWidgets;
 	}
 
+	/**
+	 * 转换看板查询。
+	 * <p>
+	 * 所有数据集查询都将被设置为给定的查询范围，使得不同用户的查询不会共享缓存、合并的结果。
+	 * </p>
+	 * 
+	 * @param query
+	 * @param chartWidgets
+	 * @param scope
+	 *            查询范围，参考{@linkplain DataSetQuery#setScope(String)}
+	 * @return
+	 */
 	protected DashboardQuery convertDashboardQuery(DashboardQuery query,
-			Map<String, ? extends ChartWidget> chartWidgets)
+			Map<String, ? extends ChartWidget> chartWidgets, String scope)
 	{
 		if (query == null)
 			return new DashboardQuery();
@@ -249,19 +361,26 @@ public abstract class AbstractDataAnalysisController extends AbstractController
 
 			ChartQuery chartQueryRe = null;
 
-			if (chartDataSets == null || chartDataSets.length == 0 || dataSetQueries == null
-					|| dataSetQueries.isEmpty())
+			if (chartDataSets == null || chartDataSets.length == 0)
 			{
 				chartQueryRe = chartQuery;
 			}
 			else
 			{
-				List<DataSetQuery> dataSetQueriesRe = new ArrayList<DataSetQuery>(dataSetQueries.size());
+				List<DataSetQuery> dataSetQueriesRe = new ArrayList<DataSetQuery>(chartDataSets.length);
 
 				for (int j = 0; j < chartDataSets.length; j++)
 				{
-					DataSetQuery dataSetQueryRe = dataSetQueries.get(j);
-					dataSetQueryRe = getDataSetParamValueConverter().convert(dataSetQueryRe, chartDataSets[j].getDataSet(), true);
+					DataSetQuery dataSetQueryRe = (dataSetQueries != null && j < dataSetQueries.size()
+							? dataSetQueries.get(j) : null);
+
+					if (dataSetQueryRe != null)
+						dataSetQueryRe = getDataSetParamValueConverter().convert(dataSetQueryRe, chartDataSets[j].getDataSet(), true);
+					else
+						dataSetQueryRe = DataSetQuery.copy(chartDataSets[j].getQuery());
+
+					dataSetQueryRe.setStreaming(this.applicationProperties.isDashboardQueryStreaming());
+					dataSetQueryRe.setScope(scope);
 					dataSetQueriesRe.add(dataSetQueryRe);
 				}
 
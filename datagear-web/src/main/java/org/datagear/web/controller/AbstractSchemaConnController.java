@@ -25,6 +25,7 @@ import org.datagear.management.service.PermissionDeniedException;
 import org.datagear.management.service.SchemaService;
 import org.datagear.management.util.SchemaConnectionSupport;
 import org.datagear.util.JdbcUtil;
+import org.datagear.util.resource.ConnectionFactory;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -151,6 +152,30 @@ public abstract class AbstractSchemaConnController extends AbstractController
 		return this.schemaConnectionSupport.getSchemaConnection(this.connectionSource, schema);
 	}
 
+	/**
+	 * 获取指定{@linkplain Schema}的{@linkplain ConnectionFactory}，它每次都会新建连接，并在释放时关闭连接。
+	 * 
+	 * @param schema
+	 * @return
+	 */
+	protected ConnectionFactory getSchemaConnectionFactory(final Schema schema)
+	{
+		return new ConnectionFactory()
+		{
+			@Override
+			public Connection get() throws Exception
+			{
+				return getSchemaConnection(schema);
+			}
+
+			@Override
+			public void release(Connection resource) throws Exception
+			{
+				JdbcUtil.closeConnection(resource);
+			}
+		};
+	}
+
 	protected void checkReadTableDataPermission(Schema schema, User user)
 	{
 		if (!Schema.canReadTableData(schema.getDataPermission()))
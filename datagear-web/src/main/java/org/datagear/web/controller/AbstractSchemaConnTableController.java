@@ -13,6 +13,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.datagear.management.domain.Schema;
 import org.datagear.meta.Table;
 import org.datagear.meta.resolver.DBMetaResolver;
+import org.datagear.meta.resolver.TableCatalogCache;
 import org.datagear.persistence.support.NoColumnDefinedException;
 import org.datagear.web.util.TableCache;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ public abstract class AbstractSchemaConnTableController extends AbstractSchemaCo
 	@Autowired
 	private TableCache tableCache;
 
+	@Autowired
+	private TableCatalogCache tableCatalogCache;
+
 	public AbstractSchemaConnTableController()
 	{
 		super();
@@ -56,6 +60,16 @@ public abstract class AbstractSchemaConnTableController extends AbstractSchemaCo
 		this.tableCache = tableCache;
 	}
 
+	public TableCatalogCache getTableCatalogCache()
+	{
+		return tableCatalogCache;
+	}
+
+	public void setTableCatalogCache(TableCatalogCache tableCatalogCache)
+	{
+		this.tableCatalogCache = tableCatalogCache;
+	}
+
 	/**
 	 * 抽象数据库表执行器。
 	 * 
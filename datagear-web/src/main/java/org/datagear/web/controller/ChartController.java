@@ -481,7 +481,7 @@ public class ChartController extends AbstractChartPluginAwareController implemen
 	public ErrorMessageDashboardResult showData(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model model, @RequestBody DashboardQueryForm form) throws Exception
 	{
-		DashboardResult dashboardResult = getDashboardResult(request, form,
+		DashboardResult dashboardResult = getDashboardResult(request, response, form,
 				this.chartShowHtmlTplDashboardWidgetHtmlRenderer);
 
 		return new ErrorMessageDashboardResult(dashboardResult, true);
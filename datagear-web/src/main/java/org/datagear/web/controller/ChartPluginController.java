@@ -11,7 +11,6 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -29,13 +28,13 @@ import org.datagear.analysis.support.CategorizationResolver.Categorization;
 import org.datagear.analysis.support.html.HtmlChartPlugin;
 import org.datagear.analysis.support.html.HtmlChartPluginLoadException;
 import org.datagear.analysis.support.html.HtmlChartPluginLoader;
-import org.datagear.analysis.support.html.HtmlChartPluginScriptObjectWriter;
-import org.datagear.analysis.support.html.HtmlTplDashboardWidgetRenderer;
 import org.datagear.management.service.HtmlTplDashboardWidgetEntityService;
 import org.datagear.persistence.PagingQuery;
 import org.datagear.util.FileUtil;
 import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
+import org.datagear.web.util.HtmlChartPluginBundle;
+import org.datagear.web.util.HtmlChartPluginBundle.Bundle;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -65,7 +64,8 @@ public class ChartPluginController extends AbstractChartPluginAwareController
 	@Autowired
 	private HtmlTplDashboardWidgetEntityService htmlTplDashboardWidgetEntityService;
 
-	private HtmlChartPluginScriptObjectWriter htmlChartPluginScriptObjectWriter = new HtmlChartPluginScriptObjectWriter();
+	@Autowired
+	private HtmlChartPluginBundle htmlChartPluginBundle;
 
 	public ChartPluginController()
 	{
@@ -93,15 +93,14 @@ public class ChartPluginController extends AbstractChartPluginAwareController
 		this.htmlTplDashboardWidgetEntityService = htmlTplDashboardWidgetEntityService;
 	}
 
-	public HtmlChartPluginScriptObjectWriter getHtmlChartPluginScriptObjectWriter()
+	public HtmlChartPluginBundle getHtmlChartPluginBundle()
 	{
-		return htmlChartPluginScriptObjectWriter;
+		return htmlChartPluginBundle;
 	}
 
-	public void setHtmlChartPluginScriptObjectWriter(
-			HtmlChartPluginScriptObjectWriter htmlChartPluginScriptObjectWriter)
+	public void setHtmlChartPluginBundle(HtmlChartPluginBundle htmlChartPluginBundle)
 	{
-		this.htmlChartPluginScriptObjectWriter = htmlChartPluginScriptObjectWriter;
+		this.htmlChartPluginBundle = htmlChartPluginBundle;
 	}
 
 	@RequestMapping("/upload")
@@ -292,65 +291,49 @@ public class ChartPluginController extends AbstractChartPluginAwareController
 		}
 	}
 
+	/**
+	 * 获取图表插件脚本包。
+	 * <p>
+	 * 请求参数<code>v</code>是脚本包的当前内容摘要时，浏览器可长期缓存，否则，每次都需向服务端验证是否已修改。
+	 * </p>
+	 * 
+	 * @param request
+	 * @param response
+	 * @param webRequest
+	 * @throws Exception
+	 */
 	@RequestMapping("/chartPluginManager.js")
 	public void getChartPluginManagerJs(HttpServletRequest request, HttpServletResponse response, WebRequest webRequest)
 			throws Exception
 	{
-		List<HtmlChartPlugin> plugins = getDirectoryHtmlChartPluginManager().getAll(HtmlChartPlugin.class);
-
-		List<HtmlChartPlugin> htmlChartPlugins = new ArrayList<>(plugins.size());
-		long lastModified = -1;
+		Bundle bundle = this.htmlChartPluginBundle.getBundle();
+		boolean gzip = WebUtils.isAcceptEncoding(request, "gzip");
 
-		if (plugins != null)
-		{
-			for (HtmlChartPlugin plugin : plugins)
-			{
-				htmlChartPlugins.add(plugin);
-				lastModified = Math.max(lastModified, plugin.getLastModified());
-			}
-		}
+		response.setHeader("Vary", "Accept-Encoding");
 
-		HtmlTplDashboardWidgetRenderer renderer = getHtmlTplDashboardWidgetEntityService()
-				.getHtmlTplDashboardWidgetRenderer();
+		if (bundle.getHash().equals(request.getParameter("v")))
+			response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+		else
+			response.setHeader("Cache-Control", "public, no-cache");
 
-		HtmlChartPlugin htmlChartPluginForGetWidgetException = renderer.getHtmlChartPluginForGetWidgetException();
-		htmlChartPlugins.add(htmlChartPluginForGetWidgetException);
-		lastModified = Math.max(lastModified, htmlChartPluginForGetWidgetException.getLastModified());
+		String etag = "\"" + bundle.getHash() + (gzip ? "-gzip" : "") + "\"";
 
-		if (webRequest.checkNotModified(lastModified))
+		if (webRequest.checkNotModified(etag, bundle.getLastModified()))
 			return;
 
-		response.setContentType(CONTENT_TYPE_JAVASCRIPT);
-
-		PrintWriter out = response.getWriter();
-
-		out.println("(function(global)");
-		out.println("{");
+		response.setContentType(CONTENT_TYPE_JAVASCRIPT + ";charset=" + IOUtil.CHARSET_UTF_8);
 
-		out.println("var chartFactory = (global.chartFactory || (global.chartFactory = {}));");
-		out.println(
-				"var chartPluginManager = (chartFactory.chartPluginManager || (chartFactory.chartPluginManager = {}));");
-		out.println("chartPluginManager.plugins = (chartPluginManager.plugins || {});");
+		byte[] content = bundle.getContent();
 
-		out.println();
-		out.println("//@deprecated 兼容1.8.1版本的window.chartPluginManager变量名，未来版本会移除");
-		out.println("global.chartPluginManager = chartPluginManager;");
-
-		out.println();
-		out.println("chartPluginManager.get = function(id){ return this.plugins[id]; };");
-		out.println();
-
-		for (int i = 0, len = htmlChartPlugins.size(); i < len; i++)
+		if (gzip)
 		{
-			HtmlChartPlugin plugin = htmlChartPlugins.get(i);
-			String pluginVar = "plugin" + i;
-
-			this.htmlChartPluginScriptObjectWriter.write(out, plugin, pluginVar);
-
-			out.println("chartPluginManager.plugins[\"" + WebUtils.escapeJavaScriptStringValue(plugin.getId())
-					+ "\"] = " + pluginVar + ";");
+			response.setHeader("Content-Encoding", "gzip");
+			content = bundle.getGzipContent();
 		}
 
-		out.println("})(this);");
+		response.setContentLength(content.length);
+
+		OutputStream out = response.getOutputStream();
+		out.write(content);
 	}
 }
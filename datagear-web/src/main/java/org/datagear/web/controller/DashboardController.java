@@ -32,6 +32,7 @@ import org.datagear.analysis.DashboardResult;
 import org.datagear.analysis.RenderContext;
 import org.datagear.analysis.TemplateDashboardWidgetResManager;
 import org.datagear.analysis.support.ErrorMessageDashboardResult;
+import org.datagear.analysis.support.FileTemplateDashboardWidgetResManager;
 import org.datagear.analysis.support.html.HtmlChart;
 import org.datagear.analysis.support.html.HtmlChartWidget;
 import org.datagear.analysis.support.html.HtmlChartWidgetJsonWriter;
@@ -53,8 +54,8 @@ import org.datagear.util.Global;
 import org.datagear.util.IDUtil;
 import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
-import org.datagear.web.config.ApplicationProperties;
 import org.datagear.web.config.CoreConfig;
+import org.datagear.web.util.FileResourceWriter;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.datagear.web.vo.APIDDataFilterPagingQuery;
@@ -107,6 +108,9 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 	@Qualifier(CoreConfig.NAME_DASHBOARD_GLOBAL_RES_ROOT_DIRECTORY)
 	private File dashboardGlobalResRootDirectory;
 
+	@Autowired
+	private FileResourceWriter dashboardResourceWriter;
+
 	@Autowired
 	private AnalysisProjectService analysisProjectService;
 
@@ -118,9 +122,6 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 
 	private ServletContext servletContext;
 
-	@Autowired
-	private ApplicationProperties applicationProperties;
-
 	public DashboardController()
 	{
 		super();
@@ -147,6 +148,16 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		this.dashboardGlobalResRootDirectory = dashboardGlobalResRootDirectory;
 	}
 
+	public FileResourceWriter getDashboardResourceWriter()
+	{
+		return dashboardResourceWriter;
+	}
+
+	public void setDashboardResourceWriter(FileResourceWriter dashboardResourceWriter)
+	{
+		this.dashboardResourceWriter = dashboardResourceWriter;
+	}
+
 	public AnalysisProjectService getAnalysisProjectService()
 	{
 		return analysisProjectService;
@@ -188,16 +199,6 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		this.servletContext = servletContext;
 	}
 
-	public ApplicationProperties getApplicationProperties()
-	{
-		return applicationProperties;
-	}
-
-	public void setApplicationProperties(ApplicationProperties applicationProperties)
-	{
-		this.applicationProperties = applicationProperties;
-	}
-
 	@RequestMapping("/add")
 	public String add(HttpServletRequest request, HttpServletResponse response, org.springframework.ui.Model model)
 	{
@@ -218,8 +219,8 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		model.addAttribute("templateContent", templateContent);
 		model.addAttribute("defaultTemplateContent", templateContent);
 		model.addAttribute("dashboardGlobalResUrlPrefix",
-				(StringUtil.isEmpty(this.applicationProperties.getDashboardGlobalResUrlPrefix()) ? ""
-						: this.applicationProperties.getDashboardGlobalResUrlPrefix()));
+				(StringUtil.isEmpty(getApplicationProperties().getDashboardGlobalResUrlPrefix()) ? ""
+						: getApplicationProperties().getDashboardGlobalResUrlPrefix()));
 		model.addAttribute(KEY_TITLE_MESSAGE_KEY, "dashboard.addDashboard");
 		model.addAttribute(KEY_FORM_ACTION, "save");
 
@@ -248,8 +249,8 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		model.addAttribute("templateContent", readResourceContent(dashboard, dashboard.getFirstTemplate()));
 		model.addAttribute("defaultTemplateContent", defaultTemplateContent);
 		model.addAttribute("dashboardGlobalResUrlPrefix",
-				(StringUtil.isEmpty(this.applicationProperties.getDashboardGlobalResUrlPrefix()) ? ""
-						: this.applicationProperties.getDashboardGlobalResUrlPrefix()));
+				(StringUtil.isEmpty(getApplicationProperties().getDashboardGlobalResUrlPrefix()) ? ""
+						: getApplicationProperties().getDashboardGlobalResUrlPrefix()));
 		model.addAttribute(KEY_TITLE_MESSAGE_KEY, "dashboard.editDashboard");
 		model.addAttribute(KEY_FORM_ACTION, "save");
 
@@ -280,8 +281,8 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		model.addAttribute("templateContent", readResourceContent(dashboard, dashboard.getFirstTemplate()));
 		model.addAttribute("defaultTemplateContent", defaultTemplateContent);
 		model.addAttribute("dashboardGlobalResUrlPrefix",
-				(StringUtil.isEmpty(this.applicationProperties.getDashboardGlobalResUrlPrefix()) ? ""
-						: this.applicationProperties.getDashboardGlobalResUrlPrefix()));
+				(StringUtil.isEmpty(getApplicationProperties().getDashboardGlobalResUrlPrefix()) ? ""
+						: getApplicationProperties().getDashboardGlobalResUrlPrefix()));
 		model.addAttribute(KEY_TITLE_MESSAGE_KEY, "dashboard.addDashboard");
 		model.addAttribute(KEY_FORM_ACTION, "save");
 
@@ -747,8 +748,8 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 		model.addAttribute("templateName", dashboard.getFirstTemplate());
 		model.addAttribute("templateContent", readResourceContent(dashboard, dashboard.getFirstTemplate()));
 		model.addAttribute("dashboardGlobalResUrlPrefix",
-				(StringUtil.isEmpty(this.applicationProperties.getDashboardGlobalResUrlPrefix()) ? ""
-						: this.applicationProperties.getDashboardGlobalResUrlPrefix()));
+				(StringUtil.isEmpty(getApplicationProperties().getDashboardGlobalResUrlPrefix()) ? ""
+						: getApplicationProperties().getDashboardGlobalResUrlPrefix()));
 		model.addAttribute(KEY_TITLE_MESSAGE_KEY, "dashboard.viewDashboard");
 		model.addAttribute(KEY_READONLY, true);
 
@@ -914,7 +915,8 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 			org.springframework.ui.Model model, @PathVariable("id") String id) throws Exception
 	{
 		User user = WebUtils.getUser(request, response);
-		HtmlTplDashboardWidgetEntity entity = this.htmlTplDashboardWidgetEntityService.getById(user, id);
+		HtmlTplDashboardWidgetEntity entity = this.htmlTplDashboardWidgetEntityService.getHtmlTplDashboardWidget(user,
+				id);
 
 		if (entity == null)
 			throw new RecordNotFoundException();
@@ -929,15 +931,10 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 
 		if (entity.isTemplate(resName))
 		{
-			HtmlTplDashboardWidgetEntity dashboardWidget = this.htmlTplDashboardWidgetEntityService
-					.getHtmlTplDashboardWidget(user, id);
-
-			showDashboard(request, response, model, user, dashboardWidget, resName);
+			showDashboard(request, response, model, user, entity, resName);
 		}
 		else
 		{
-			InputStream in = null;
-
 			TemplateDashboardWidgetResManager resManager = this.htmlTplDashboardWidgetEntityService
 					.getHtmlTplDashboardWidgetRenderer().getTemplateDashboardWidgetResManager();
 
@@ -946,48 +943,46 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 			{
 				setContentTypeByName(request, response, getServletContext(), resName);
 
-				long lastModified = resManager.lastModified(id, resName);
-				if (webRequest.checkNotModified(lastModified))
-					return;
+				if (resManager instanceof FileTemplateDashboardWidgetResManager)
+				{
+					File file = ((FileTemplateDashboardWidgetResManager) resManager).getFile(id, resName);
+					this.dashboardResourceWriter.write(request, response, file);
+				}
+				else
+				{
+					long lastModified = resManager.lastModified(id, resName);
+					if (webRequest.checkNotModified(lastModified))
+						return;
+
+					InputStream in = resManager.getInputStream(id, resName);
 
-				in = resManager.getInputStream(id, resName);
+					try
+					{
+						IOUtil.write(in, response.getOutputStream());
+					}
+					finally
+					{
+						IOUtil.close(in);
+					}
+				}
 			}
 			// 其次全局资源
 			else
 			{
-				if (!StringUtil.isEmpty(this.applicationProperties.getDashboardGlobalResUrlPrefix())
-						&& resName.startsWith(this.applicationProperties.getDashboardGlobalResUrlPrefix()))
-					resName = resName.substring(this.applicationProperties.getDashboardGlobalResUrlPrefix().length());
+				if (!StringUtil.isEmpty(getApplicationProperties().getDashboardGlobalResUrlPrefix())
+						&& resName.startsWith(getApplicationProperties().getDashboardGlobalResUrlPrefix()))
+					resName = resName.substring(getApplicationProperties().getDashboardGlobalResUrlPrefix().length());
 
 				File globalRes = FileUtil.getFile(dashboardGlobalResRootDirectory, resName);
 
 				if (globalRes.exists() && !globalRes.isDirectory())
 				{
 					setContentTypeByName(request, response, getServletContext(), resName);
-
-					long lastModified = globalRes.lastModified();
-					if (webRequest.checkNotModified(lastModified))
-						return;
-
-					in = IOUtil.getInputStream(globalRes);
-				}
-			}
-
-			if (in != null)
-			{
-				OutputStream out = response.getOutputStream();
-
-				try
-				{
-					IOUtil.write(in, out);
-				}
-				finally
-				{
-					IOUtil.close(in);
+					this.dashboardResourceWriter.write(request, response, globalRes);
 				}
+				else
+					throw new FileNotFoundException(resName);
 			}
-			else
-				throw new FileNotFoundException(resName);
 		}
 	}
 
@@ -1060,7 +1055,7 @@ public class DashboardController extends AbstractDataAnalysisController implemen
 	public ErrorMessageDashboardResult showData(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model model, @RequestBody DashboardQueryForm form) throws Exception
 	{
-		DashboardResult dashboardResult = getDashboardResult(request, form,
+		DashboardResult dashboardResult = getDashboardResult(request, response, form,
 				this.htmlTplDashboardWidgetEntityService.getHtmlTplDashboardWidgetRenderer());
 
 		return new ErrorMessageDashboardResult(dashboardResult, true);
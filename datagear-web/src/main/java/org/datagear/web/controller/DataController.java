@@ -34,8 +34,10 @@ import org.datagear.persistence.PagingQuery;
 import org.datagear.persistence.PersistenceManager;
 import org.datagear.persistence.Query;
 import org.datagear.persistence.Row;
+import org.datagear.persistence.RowCounter;
 import org.datagear.persistence.RowMapper;
 import org.datagear.persistence.SqlParamValueMapper;
+import org.datagear.persistence.support.CachedRowCounter;
 import org.datagear.persistence.support.ConversionSqlParamValueMapper;
 import org.datagear.persistence.support.DefaultLOBRowMapper;
 import org.datagear.persistence.support.SqlParamValueSqlExpressionSyntaxException;
@@ -52,6 +54,7 @@ import org.datagear.web.format.SqlTimestampFormatter;
 import org.datagear.web.freemarker.WriteJsonTemplateDirectiveModel;
 import org.datagear.web.json.jackson.ObjectMapperBuilder;
 import org.datagear.web.util.OperationMessage;
+import org.datagear.web.util.SeekKeyCache;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionException;
@@ -91,6 +94,12 @@ public class DataController extends AbstractSchemaConnTableController
 	@Autowired
 	private PersistenceManager persistenceManager;
 
+	@Autowired
+	private RowCounter rowCounter;
+
+	@Autowired
+	private SeekKeyCache seekKeyCache;
+
 	@Autowired
 	private File tempDirectory;
 
@@ -127,6 +136,26 @@ public class DataController extends AbstractSchemaConnTableController
 		this.persistenceManager = persistenceManager;
 	}
 
+	public RowCounter getRowCounter()
+	{
+		return rowCounter;
+	}
+
+	public void setRowCounter(RowCounter rowCounter)
+	{
+		this.rowCounter = rowCounter;
+	}
+
+	public SeekKeyCache getSeekKeyCache()
+	{
+		return seekKeyCache;
+	}
+
+	public void setSeekKeyCache(SeekKeyCache seekKeyCache)
+	{
+		this.seekKeyCache = seekKeyCache;
+	}
+
 	public File getTempDirectory()
 	{
 		return tempDirectory;
@@ -238,8 +267,15 @@ public class DataController extends AbstractSchemaConnTableController
 			{
 				checkReadTableDataPermission(schema, user);
 
+				// 从最近浏览过的前一页定位查询，避免深度分页时使用OFFSET跳过大量记录
+				pagingQuery.setSeekKey(seekKeyCache.get(schema.getId(), table.getName(), pagingQuery));
+
 				PagingData<Row> pagingData = persistenceManager.pagingQuery(getConnection(), null, table, pagingQuery,
 						rowMapper);
+
+				seekKeyCache.put(schema.getId(), table.getName(), pagingQuery, pagingData.getLastSeekKey());
+				pagingData.setLastSeekKey(null);
+
 				return pagingData;
 			}
 		};
@@ -339,8 +375,11 @@ public class DataController extends AbstractSchemaConnTableController
 					org.springframework.ui.Model springModel, Schema schema, Table table) throws Throwable
 			{
 				checkEditTableDataPermission(schema, user);
-				return persistenceManager.insert(getConnection(), null, table, row,
+				Row savedRow = persistenceManager.insert(getConnection(), null, table, row,
 						buildSaveSingleSqlParamValueMapper());
+				invalidateRowCount(getConnection(), table);
+
+				return savedRow;
 			}
 		}.execute();
 
@@ -363,6 +402,7 @@ public class DataController extends AbstractSchemaConnTableController
 			{
 				checkEditTableDataPermission(schema, user);
 				persistenceManager.insert(cn, dialect, table, row, paramValueMapper);
+				invalidateRowCount(cn, table);
 			}
 		}.execute();
 
@@ -469,6 +509,7 @@ public class DataController extends AbstractSchemaConnTableController
 				Dialect dialect = persistenceManager.getDialectSource().getDialect(cn);
 
 				int count = persistenceManager.delete(cn, dialect, table, rows, buildConditionSqlParamValueMapper());
+				invalidateRowCount(cn, table);
 
 				checkDuplicateRecord(rows.length, count, ignoreDuplication);
 
@@ -595,6 +636,9 @@ public class DataController extends AbstractSchemaConnTableController
 					actualDeleteCount += myDeleteCount;
 				}
 
+				if (actualAddCount > 0 || actualDeleteCount > 0)
+					invalidateRowCount(cn, table);
+
 				OperationMessage operationMessage = buildOperationMessageSuccess(request,
 						buildMessageCode("savessSuccess"), expectedUpdateCount, acutalUpdateCount, expectedAddCount,
 						actualAddCount, expectedDeleteCount, actualDeleteCount);
@@ -940,6 +984,18 @@ public class DataController extends AbstractSchemaConnTableController
 		return FileUtil.getDirectory(this.tempDirectory, "data", true);
 	}
 
+	/**
+	 * 表数据增删后，清除{@linkplain CachedRowCounter}中此表的记录数缓存。
+	 * 
+	 * @param cn
+	 * @param table
+	 */
+	protected void invalidateRowCount(Connection cn, Table table)
+	{
+		if (this.rowCounter instanceof CachedRowCounter)
+			((CachedRowCounter) this.rowCounter).invalidate(cn, table.getName());
+	}
+
 	protected void checkDuplicateRecord(int expectedCount, int actualCount, Boolean ignoreDuplication)
 			throws DuplicateRecordException
 	{
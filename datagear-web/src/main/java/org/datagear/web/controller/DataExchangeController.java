@@ -40,6 +40,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
+import org.datagear.dataexchange.AbstractQuery;
 import org.datagear.dataexchange.BatchDataExchange;
 import org.datagear.dataexchange.BatchDataExchangeResult;
 import org.datagear.dataexchange.DataExchange;
@@ -84,14 +85,17 @@ import org.datagear.util.resource.FileOutputStreamResourceFactory;
 import org.datagear.util.resource.FileReaderResourceFactory;
 import org.datagear.util.resource.FileWriterResourceFactory;
 import org.datagear.util.resource.ResourceFactory;
+import org.datagear.web.config.ApplicationProperties;
 import org.datagear.web.dataexchange.MessageBatchDataExchangeListener;
 import org.datagear.web.dataexchange.MessageSubDataImportListener;
 import org.datagear.web.dataexchange.MessageSubTextDataExportListener;
 import org.datagear.web.dataexchange.MessageSubTextValueDataImportListener;
 import org.datagear.web.util.MessageChannel;
+import org.datagear.web.util.MessageChannelPusher;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -101,6 +105,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * 数据交换控制器。
@@ -126,6 +131,12 @@ public class DataExchangeController extends AbstractSchemaConnController
 	@Autowired
 	private File tempDirectory;
 
+	@Autowired
+	private ApplicationProperties applicationProperties;
+
+	@Autowired
+	private MessageChannelPusher messageChannelPusher;
+
 	private MessageChannel messageChannel = new MessageChannel();
 
 	public DataExchangeController()
@@ -153,6 +164,16 @@ public class DataExchangeController extends AbstractSchemaConnController
 		this.messageChannel = messageChannel;
 	}
 
+	public MessageChannelPusher getMessageChannelPusher()
+	{
+		return messageChannelPusher;
+	}
+
+	public void setMessageChannelPusher(MessageChannelPusher messageChannelPusher)
+	{
+		this.messageChannelPusher = messageChannelPusher;
+	}
+
 	public DBMetaResolver getDbMetaResolver()
 	{
 		return dbMetaResolver;
@@ -173,6 +194,16 @@ public class DataExchangeController extends AbstractSchemaConnController
 		this.tempDirectory = tempDirectory;
 	}
 
+	public ApplicationProperties getApplicationProperties()
+	{
+		return applicationProperties;
+	}
+
+	public void setApplicationProperties(ApplicationProperties applicationProperties)
+	{
+		this.applicationProperties = applicationProperties;
+	}
+
 	@RequestMapping("/{schemaId}/import")
 	public String impt(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId) throws Throwable
@@ -1350,6 +1381,15 @@ public class DataExchangeController extends AbstractSchemaConnController
 		return this.messageChannel.pull(dataExchangeId, messageCount);
 	}
 
+	@RequestMapping(value = "/{schemaId}/messageStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter messageStream(HttpServletRequest request, HttpServletResponse response,
+			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
+			@RequestParam("dataExchangeId") String dataExchangeId) throws Throwable
+	{
+		return this.messageChannelPusher.subscribe(this.messageChannel, dataExchangeId);
+	}
+
 	protected String[] setParamInitSqlsAttribute(HttpServletRequest request, org.springframework.ui.Model springModel)
 	{
 		String[] initSqls = request.getParameterValues("initSqls");
@@ -1546,10 +1586,17 @@ public class DataExchangeController extends AbstractSchemaConnController
 
 	protected Query toQuery(String query)
 	{
+		AbstractQuery re = null;
+
 		if (isTableNameQueryString(query))
-			return new TableQuery(query);
+			re = new TableQuery(query);
 		else
-			return new SqlQuery(query);
+			re = new SqlQuery(query);
+
+		re.setStreaming(this.applicationProperties.isDataExportStreaming());
+		re.setFetchSize(this.applicationProperties.getDataExportFetchSize());
+
+		return re;
 	}
 
 	protected boolean isTableNameQueryString(String query)
@@ -19,10 +19,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
 import org.datagear.analysis.DataSet;
 import org.datagear.analysis.DataSetParam;
 import org.datagear.analysis.DataSetProperty;
@@ -30,6 +34,8 @@ import org.datagear.analysis.DataSetQuery;
 import org.datagear.analysis.ResolvedDataSetResult;
 import org.datagear.analysis.support.CsvValueDataSet;
 import org.datagear.analysis.support.DataSetParamValueConverter;
+import org.datagear.analysis.support.DataSetResultCache;
+import org.datagear.analysis.support.HttpLatencyRecorder;
 import org.datagear.analysis.support.JsonValueDataSet;
 import org.datagear.analysis.support.ProfileDataSet;
 import org.datagear.analysis.support.SqlDataSet;
@@ -59,6 +65,8 @@ import org.datagear.util.FileUtil;
 import org.datagear.util.IDUtil;
 import org.datagear.util.IOUtil;
 import org.datagear.util.StringUtil;
+import org.datagear.web.util.DataSetResultCacheStat;
+import org.datagear.web.util.HttpClientStat;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.datagear.web.vo.APIDDataFilterPagingQuery;
@@ -101,6 +109,9 @@ public class DataSetController extends AbstractSchemaConnController
 	@Autowired
 	private DataSetResDirectoryService dataSetResDirectoryService;
 
+	@Autowired
+	private PoolingHttpClientConnectionManager httpClientConnectionManager;
+
 	public DataSetController()
 	{
 		super();
@@ -156,6 +167,16 @@ public class DataSetController extends AbstractSchemaConnController
 		this.dataSetResDirectoryService = dataSetResDirectoryService;
 	}
 
+	public PoolingHttpClientConnectionManager getHttpClientConnectionManager()
+	{
+		return httpClientConnectionManager;
+	}
+
+	public void setHttpClientConnectionManager(PoolingHttpClientConnectionManager httpClientConnectionManager)
+	{
+		this.httpClientConnectionManager = httpClientConnectionManager;
+	}
+
 	@RequestMapping("/addFor" + DataSetEntity.DATA_SET_TYPE_SQL)
 	public String addForSql(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model model)
@@ -853,6 +874,7 @@ public class DataSetController extends AbstractSchemaConnController
 
 		SchemaConnectionFactory connectionFactory = new SchemaConnectionFactory(getConnectionSource(), schema);
 		dataSet.setConnectionFactory(connectionFactory);
+		dataSet.setLimitSqlResolver(getDataSetEntityService().getLimitSqlResolver());
 
 		DataSetQuery query = getDataSetParamValueConverter().convert(preview.getQuery(), dataSet);
 		TemplateResolvedDataSetResult result = dataSet.resolve(query);
@@ -961,10 +983,94 @@ public class DataSetController extends AbstractSchemaConnController
 		return result;
 	}
 
+	/**
+	 * 获取数据集结果缓存的命中率、容量统计信息。
+	 * 
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@RequestMapping(value = "/resultCacheStat", produces = CONTENT_TYPE_JSON)
+	@ResponseBody
+	public DataSetResultCacheStat resultCacheStat(HttpServletRequest request) throws Exception
+	{
+		DataSetResultCache cache = getDataSetEntityService().getDataSetResultCache();
+
+		DataSetResultCacheStat stat = new DataSetResultCacheStat();
+		stat.setEnabled(cache != null);
+
+		if (cache != null)
+		{
+			stat.setSize(cache.getSize());
+			stat.setMaximumSize(cache.getMaximumSize());
+			stat.setHitCount(cache.getHitCount());
+			stat.setMissCount(cache.getMissCount());
+			stat.setHitRate(cache.getHitRate());
+			stat.setEvictionCount(cache.getEvictionCount());
+			stat.setDefaultTimeToLive(cache.getDefaultTimeToLive());
+			stat.setTimeToLives(cache.getTimeToLives());
+		}
+
+		return stat;
+	}
+
+	/**
+	 * 获取HTTP数据集客户端的连接池、请求耗时统计信息。
+	 * 
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@RequestMapping(value = "/httpClientStat", produces = CONTENT_TYPE_JSON)
+	@ResponseBody
+	public HttpClientStat httpClientStat(HttpServletRequest request) throws Exception
+	{
+		PoolingHttpClientConnectionManager manager = getHttpClientConnectionManager();
+		PoolStats totalStats = manager.getTotalStats();
+
+		HttpClientStat stat = new HttpClientStat();
+		stat.setMaxTotal(totalStats.getMax());
+		stat.setDefaultMaxPerRoute(manager.getDefaultMaxPerRoute());
+		stat.setLeased(totalStats.getLeased());
+		stat.setPending(totalStats.getPending());
+		stat.setAvailable(totalStats.getAvailable());
+
+		List<HttpClientStat.RouteStat> routeStats = new ArrayList<>();
+
+		for (HttpRoute route : manager.getRoutes())
+		{
+			PoolStats routeStat = manager.getStats(route);
+			routeStats.add(new HttpClientStat.RouteStat(route.getTargetHost().toURI(), routeStat.getMax(),
+					routeStat.getLeased(), routeStat.getPending(), routeStat.getAvailable()));
+		}
+
+		stat.setRouteStats(routeStats);
+
+		HttpLatencyRecorder latencyRecorder = getDataSetEntityService().getHttpLatencyRecorder();
+		if (latencyRecorder != null)
+			stat.setLatencies(latencyRecorder.getHistograms());
+
+		return stat;
+	}
+
+	/**
+	 * 预览HTTP数据集。
+	 * <p>
+	 * 如果配置了异步HTTP客户端，将异步执行请求，等待远程响应期间不占用请求处理线程。
+	 * </p>
+	 * 
+	 * @param request
+	 * @param response
+	 * @param springModel
+	 * @param preview
+	 * @return
+	 * @throws Throwable
+	 */
 	@RequestMapping(value = "/previewHttp", produces = CONTENT_TYPE_JSON)
 	@ResponseBody
-	public TemplateResolvedDataSetResult previewHttp(HttpServletRequest request, HttpServletResponse response,
-			org.springframework.ui.Model springModel, @RequestBody HttpDataSetEntityPreview preview) throws Throwable
+	public CompletableFuture<TemplateResolvedDataSetResult> previewHttp(HttpServletRequest request,
+			HttpServletResponse response, org.springframework.ui.Model springModel,
+			@RequestBody HttpDataSetEntityPreview preview) throws Throwable
 	{
 		final User user = WebUtils.getUser(request, response);
 
@@ -973,11 +1079,13 @@ public class DataSetController extends AbstractSchemaConnController
 		checkDataSetEntityIdReadPermission(user, dataSet.getId());
 
 		dataSet.setHttpClient(getDataSetEntityService().getHttpClient());
+		dataSet.setLatencyRecorder(getDataSetEntityService().getHttpLatencyRecorder());
+		dataSet.setHttpAsyncClient(getDataSetEntityService().getHttpAsyncClient());
+		dataSet.setResponseExecutor(getDataSetEntityService().getHttpResponseExecutor());
 
 		DataSetQuery query = getDataSetParamValueConverter().convert(preview.getQuery(), dataSet);
-		TemplateResolvedDataSetResult result = dataSet.resolve(query);
 
-		return result;
+		return dataSet.resolveAsync(query);
 	}
 
 	/**
@@ -24,6 +24,9 @@ import java.util.zip.ZipOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.datagear.connection.ConnectionPoolStat;
+import org.datagear.connection.ConnectionSource;
+import org.datagear.connection.DefaultConnectionSource;
 import org.datagear.connection.DriverEntity;
 import org.datagear.connection.DriverEntityManager;
 import org.datagear.connection.DriverEntityManagerException;
@@ -67,6 +70,9 @@ public class DriverEntityController extends AbstractController
 	@Autowired
 	private File tempDirectory;
 
+	@Autowired
+	private ConnectionSource connectionSource;
+
 	private List<String> commonDriverClassNames = Collections
 			.unmodifiableList(DriverInfo.getDriverClassNames(DriverInfo.getCommonInDriverInfos()));
 
@@ -95,6 +101,16 @@ public class DriverEntityController extends AbstractController
 		this.tempDirectory = tempDirectory;
 	}
 
+	public ConnectionSource getConnectionSource()
+	{
+		return connectionSource;
+	}
+
+	public void setConnectionSource(ConnectionSource connectionSource)
+	{
+		this.connectionSource = connectionSource;
+	}
+
 	public List<String> getCommonDriverClassNames()
 	{
 		return commonDriverClassNames;
@@ -344,6 +360,23 @@ public class DriverEntityController extends AbstractController
 		return driverEntities;
 	}
 
+	/**
+	 * 获取数据源连接池的当前统计信息。
+	 * 
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@RequestMapping(value = "/connectionPoolStats", produces = CONTENT_TYPE_JSON)
+	@ResponseBody
+	public List<ConnectionPoolStat> connectionPoolStats(HttpServletRequest request) throws Exception
+	{
+		if (!(this.connectionSource instanceof DefaultConnectionSource))
+			return Collections.emptyList();
+
+		return ((DefaultConnectionSource) this.connectionSource).getConnectionPoolStats();
+	}
+
 	@RequestMapping(value = "/uploadDriverFile", produces = CONTENT_TYPE_JSON)
 	@ResponseBody
 	public Map<String, Object> uploadDriverFile(HttpServletRequest request, @RequestParam("id") String id,
@@ -8,8 +8,7 @@
 package org.datagear.web.controller;
 
 import java.sql.Connection;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -22,13 +21,12 @@ import org.datagear.management.domain.Schema;
 import org.datagear.management.domain.User;
 import org.datagear.meta.SimpleTable;
 import org.datagear.meta.Table;
-import org.datagear.meta.TableType;
+import org.datagear.meta.TableCatalog;
 import org.datagear.persistence.Order;
 import org.datagear.persistence.PagingData;
 import org.datagear.persistence.PagingQuery;
 import org.datagear.util.IDUtil;
 import org.datagear.util.JdbcUtil;
-import org.datagear.web.util.KeywordMatcher;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -152,7 +150,10 @@ public class SchemaController extends AbstractSchemaConnTableController
 		// 如果URL或者用户变更了，则需要清除缓存
 		if (updated && old != null
 				&& (!schema.getUrl().equals(old.getUrl()) || !schema.getUser().equals(old.getUser())))
+		{
 			getTableCache().invalidate(schema.getId());
+			getTableCatalogCache().invalidate(schema.getId());
+		}
 
 		return buildOperationMessageSaveSuccessResponseEntity(request, schema);
 	}
@@ -192,7 +193,10 @@ public class SchemaController extends AbstractSchemaConnTableController
 
 			// 清除缓存
 			if (deleted)
+			{
 				getTableCache().invalidate(id);
+				getTableCatalogCache().invalidate(id);
+			}
 		}
 
 		return buildOperationMessageDeleteSuccessResponseEntity(request);
@@ -279,33 +283,32 @@ public class SchemaController extends AbstractSchemaConnTableController
 	@ResponseBody
 	public PagingData<SimpleTable> pagingQueryTable(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
-			@RequestBody PagingQuery pagingQueryParam) throws Throwable
+			@RequestBody PagingQuery pagingQueryParam,
+			@RequestParam(value = "reload", required = false) final Boolean forceReload) throws Throwable
 	{
 		final PagingQuery pagingQuery = inflatePagingQuery(request, pagingQueryParam, COOKIE_PAGINATION_SIZE);
 
-		List<SimpleTable> tables = new ReturnSchemaConnExecutor<List<SimpleTable>>(request, response, springModel,
+		TableCatalog tableCatalog = new ReturnSchemaConnExecutor<TableCatalog>(request, response, springModel,
 				schemaId, true)
 		{
 			@Override
-			protected List<SimpleTable> execute(HttpServletRequest request, HttpServletResponse response,
+			protected TableCatalog execute(HttpServletRequest request, HttpServletResponse response,
 					org.springframework.ui.Model springModel, Schema schema) throws Throwable
 			{
-				Connection cn = getConnection();
+				if (Boolean.TRUE.equals(forceReload))
+					getTableCatalogCache().invalidate(schema.getId());
 
-				List<SimpleTable> tables = getDbMetaResolver().getSimpleTables(cn);
-				return TableType.filterUserDataTables(cn, getDbMetaResolver(), tables);
+				return getTableCatalogCache().get(schema.getId(), getSchemaConnectionFactory(schema));
 			}
 
 		}.execute();
 
-		sortByTableName(tables);
-
-		List<SimpleTable> keywordTables = findByKeyword(tables, pagingQuery.getKeyword());
+		List<SimpleTable> keywordTables = tableCatalog.find(pagingQuery.getKeyword());
 
 		PagingData<SimpleTable> pagingData = new PagingData<>(pagingQuery.getPage(), keywordTables.size(),
 				pagingQuery.getPageSize());
 
-		keywordTables = keywordTables.subList(pagingData.getStartIndex(), pagingData.getEndIndex());
+		keywordTables = new ArrayList<>(keywordTables.subList(pagingData.getStartIndex(), pagingData.getEndIndex()));
 
 		pagingData.setItems(keywordTables);
 
@@ -353,42 +356,4 @@ public class SchemaController extends AbstractSchemaConnTableController
 			}
 		}
 	}
-
-	/**
-	 * 将{@linkplain SimpleTable}数组按照{@linkplain SimpleTable#getName()}排序。
-	 * 
-	 * @param tables
-	 */
-	public static void sortByTableName(List<SimpleTable> tables)
-	{
-		Collections.sort(tables, TABLE_SORT_BY_NAME_COMPARATOR);
-	}
-
-	/**
-	 * 根据表名称关键字查询{@linkplain TableInfo}列表。
-	 * 
-	 * @param tables
-	 * @param tableNameKeyword
-	 * @return
-	 */
-	public static List<SimpleTable> findByKeyword(List<SimpleTable> tables, String tableNameKeyword)
-	{
-		return KeywordMatcher.<SimpleTable> match(tables, tableNameKeyword, new KeywordMatcher.MatchValue<SimpleTable>()
-		{
-			@Override
-			public String[] get(SimpleTable t)
-			{
-				return new String[] { t.getName() };
-			}
-		});
-	}
-
-	public static Comparator<SimpleTable> TABLE_SORT_BY_NAME_COMPARATOR = new Comparator<SimpleTable>()
-	{
-		@Override
-		public int compare(SimpleTable o1, SimpleTable o2)
-		{
-			return o1.getName().compareTo(o2.getName());
-		}
-	};
 }
@@ -7,7 +7,6 @@
 
 package org.datagear.web.controller;
 
-import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -22,7 +21,6 @@ import org.datagear.management.domain.User;
 import org.datagear.meta.Column;
 import org.datagear.meta.SimpleTable;
 import org.datagear.meta.Table;
-import org.datagear.meta.TableType;
 import org.datagear.web.util.KeywordMatcher;
 import org.datagear.web.util.WebUtils;
 import org.springframework.stereotype.Controller;
@@ -50,12 +48,12 @@ public class SqlEditorController extends AbstractSchemaConnTableController
 	@ResponseBody
 	public List<String> findTableNames(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
-			@RequestParam(value = "keyword", required = false) String keyword) throws Throwable
+			@RequestParam(value = "keyword", required = false) final String keyword) throws Throwable
 	{
 		final User user = WebUtils.getUser(request, response);
 
-		List<SimpleTable> tables = new ReturnSchemaConnExecutor<List<SimpleTable>>(request, response, springModel,
-				schemaId, true)
+		List<SimpleTable> keywordTables = new ReturnSchemaConnExecutor<List<SimpleTable>>(request, response,
+				springModel, schemaId, true)
 		{
 			@Override
 			protected List<SimpleTable> execute(HttpServletRequest request, HttpServletResponse response,
@@ -63,18 +61,11 @@ public class SqlEditorController extends AbstractSchemaConnTableController
 			{
 				checkReadTableDataPermission(schema, user);
 
-				Connection cn = getConnection();
-
-				List<SimpleTable> tables = getDbMetaResolver().getSimpleTables(cn);
-				return TableType.filterUserDataTables(cn, getDbMetaResolver(), tables);
+				return getTableCatalogCache().get(schema.getId(), getSchemaConnectionFactory(schema)).find(keyword);
 			}
 
 		}.execute();
 
-		SchemaController.sortByTableName(tables);
-
-		List<SimpleTable> keywordTables = SchemaController.findByKeyword(tables, keyword);
-
 		List<String> tableNames = new ArrayList<>();
 
 		for (SimpleTable tableInfo : keywordTables)
@@ -42,9 +42,12 @@ import org.datagear.web.sqlpad.SqlpadExecutionService.CommitMode;
 import org.datagear.web.sqlpad.SqlpadExecutionService.ExceptionHandleMode;
 import org.datagear.web.sqlpad.SqlpadExecutionService.SqlCommand;
 import org.datagear.web.sqlpad.SqlpadExecutionSubmit;
+import org.datagear.web.sqlpad.SqlpadExecutorStat;
+import org.datagear.web.util.MessageChannelPusher;
 import org.datagear.web.util.OperationMessage;
 import org.datagear.web.util.WebUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -53,6 +56,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -80,6 +84,9 @@ public class SqlpadController extends AbstractSchemaConnController
 	@Autowired
 	private File tempDirectory;
 
+	@Autowired
+	private MessageChannelPusher messageChannelPusher;
+
 	private int sqlResultReadActualLobRows = 3;
 
 	private ObjectMapperBuilder objectMapperBuilder;
@@ -131,6 +138,16 @@ public class SqlpadController extends AbstractSchemaConnController
 		this.tempDirectory = tempDirectory;
 	}
 
+	public MessageChannelPusher getMessageChannelPusher()
+	{
+		return messageChannelPusher;
+	}
+
+	public void setMessageChannelPusher(MessageChannelPusher messageChannelPusher)
+	{
+		this.messageChannelPusher = messageChannelPusher;
+	}
+
 	public int getSqlResultReadActualLobRows()
 	{
 		return sqlResultReadActualLobRows;
@@ -241,6 +258,20 @@ public class SqlpadController extends AbstractSchemaConnController
 		return buildOperationMessageSuccessEmptyResponseEntity();
 	}
 
+	/**
+	 * 获取SQL执行器的当前统计信息。
+	 * 
+	 * @param request
+	 * @return
+	 * @throws Exception
+	 */
+	@RequestMapping(value = "/executorStat", produces = CONTENT_TYPE_JSON)
+	@ResponseBody
+	public SqlpadExecutorStat executorStat(HttpServletRequest request) throws Exception
+	{
+		return this.sqlpadExecutionService.getExecutorStat();
+	}
+
 	@RequestMapping(value = "/{schemaId}/message", produces = CONTENT_TYPE_JSON)
 	public void message(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
@@ -260,6 +291,16 @@ public class SqlpadController extends AbstractSchemaConnController
 		this._objectMapperForBigNumberToString.writeValue(out, messages);
 	}
 
+	@RequestMapping(value = "/{schemaId}/messageStream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@ResponseBody
+	public SseEmitter messageStream(HttpServletRequest request, HttpServletResponse response,
+			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
+			@RequestParam("sqlpadId") String sqlpadId) throws Throwable
+	{
+		return this.messageChannelPusher.subscribe(this.sqlpadExecutionService.getMessageChannel(), sqlpadId,
+				this._objectMapperForBigNumberToString);
+	}
+
 	@RequestMapping(value = "/{schemaId}/select", produces = CONTENT_TYPE_JSON)
 	public void select(HttpServletRequest request, HttpServletResponse response,
 			org.springframework.ui.Model springModel, @PathVariable("schemaId") String schemaId,
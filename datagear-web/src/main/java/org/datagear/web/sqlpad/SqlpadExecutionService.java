@@ -15,16 +15,25 @@ import java.sql.Statement;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.datagear.connection.ConnectionSource;
 import org.datagear.connection.ConnectionSourceException;
 import org.datagear.management.domain.Schema;
+import org.datagear.management.domain.User;
 import org.datagear.management.service.SqlHistoryService;
 import org.datagear.management.util.SchemaConnectionSupport;
 import org.datagear.persistence.support.PersistenceSupport;
@@ -40,12 +49,34 @@ import org.springframework.context.NoSuchMessageException;
 
 /**
  * SQL工作台执行SQL服务。
+ * <p>
+ * 它使用有界的线程池执行SQL：最多同时执行{@linkplain #getMaxThreads()}个，超出的排队等待，排队数超过{@linkplain #getQueueSize()}、
+ * 或者用户的执行数（包括排队）超过{@linkplain #getMaxExecutionsPerUser()}时，将拒绝执行。
+ * </p>
+ * <p>
+ * 暂停、等待提交或回滚中的执行不占用线程池的线程（但仍占用数据库连接和用户的执行数），收到新命令或者超时后才重新提交执行。
+ * </p>
+ * <p>
+ * 使用此类前应先调用{@linkplain #init()}初始化。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
 public class SqlpadExecutionService extends PersistenceSupport
 {
+	/** 执行时命令处理结果：继续执行 */
+	protected static final int COMMAND_RESULT_CONTINUE = 0;
+
+	/** 执行时命令处理结果：退出执行循环 */
+	protected static final int COMMAND_RESULT_BREAK = 1;
+
+	/** 执行时命令处理结果：挂起等待新命令 */
+	protected static final int COMMAND_RESULT_PARK = 2;
+
+	/** 线程池繁忙时，挂起的执行重新提交的间隔毫秒数 */
+	protected static final long RESUBMIT_DELAY_MILLIS = 1000;
+
 	private ConnectionSource connectionSource;
 
 	private MessageSource messageSource;
@@ -61,10 +92,35 @@ public class SqlpadExecutionService extends PersistenceSupport
 	private MessageChannel _messageChannel = new MessageChannel(
 			SqlpadExecutionSubmit.MAX_PAUSE_OVER_TIME_THREASHOLD_MINUTES * 60);
 
-	private ExecutorService _executorService = Executors.newCachedThreadPool();
+	/** 最多同时执行数 */
+	private int maxThreads = 50;
+
+	/** 最多排队数 */
+	private int queueSize = 100;
+
+	/**
+	 * 每个用户最多的执行数（包括排队、因暂停或者等待提交/回滚而挂起的），小于等于0表示不限制。
+	 * <p>
+	 * 挂起的执行虽然不占用执行线程，但仍占用着数据库连接，所以也计入此数。
+	 * </p>
+	 */
+	private int maxExecutionsPerUser = 5;
+
+	private ThreadPoolExecutor _executorService = null;
+
+	/** 用于挂起超时、重新提交的调度器 */
+	private ScheduledThreadPoolExecutor _scheduledExecutorService = null;
 
 	private ConcurrentMap<String, SqlpadExecutionRunnable> _sqlpadExecutionRunnableMap = new ConcurrentHashMap<>();
 
+	private ConcurrentMap<String, AtomicInteger> _userExecutionCounts = new ConcurrentHashMap<>();
+
+	private AtomicLong _rejectedCount = new AtomicLong(0);
+
+	private AtomicLong _completedCount = new AtomicLong(0);
+
+	private AtomicInteger _parkedCount = new AtomicInteger(0);
+
 	public SqlpadExecutionService()
 	{
 		super();
@@ -100,7 +156,7 @@ public class SqlpadExecutionService extends PersistenceSupport
 		this.messageSource = messageSource;
 	}
 
-	protected MessageChannel getMessageChannel()
+	public MessageChannel getMessageChannel()
 	{
 		return this._messageChannel;
 	}
@@ -135,6 +191,36 @@ public class SqlpadExecutionService extends PersistenceSupport
 		this.sqlPermissionChecker = sqlPermissionChecker;
 	}
 
+	public int getMaxThreads()
+	{
+		return maxThreads;
+	}
+
+	public void setMaxThreads(int maxThreads)
+	{
+		this.maxThreads = maxThreads;
+	}
+
+	public int getQueueSize()
+	{
+		return queueSize;
+	}
+
+	public void setQueueSize(int queueSize)
+	{
+		this.queueSize = queueSize;
+	}
+
+	public int getMaxExecutionsPerUser()
+	{
+		return maxExecutionsPerUser;
+	}
+
+	public void setMaxExecutionsPerUser(int maxExecutionsPerUser)
+	{
+		this.maxExecutionsPerUser = maxExecutionsPerUser;
+	}
+
 	public SchemaConnectionSupport getSchemaConnectionSupport()
 	{
 		return schemaConnectionSupport;
@@ -145,11 +231,33 @@ public class SqlpadExecutionService extends PersistenceSupport
 		this.schemaConnectionSupport = schemaConnectionSupport;
 	}
 
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		int threads = Math.max(this.maxThreads, 1);
+
+		ThreadPoolExecutor executorService = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(Math.max(this.queueSize, 1)));
+		executorService.allowCoreThreadTimeOut(true);
+
+		this._executorService = executorService;
+
+		ScheduledThreadPoolExecutor scheduledExecutorService = new ScheduledThreadPoolExecutor(1);
+		scheduledExecutorService.setRemoveOnCancelPolicy(true);
+
+		this._scheduledExecutorService = scheduledExecutorService;
+	}
+
 	/**
 	 * 提交SQL执行。
+	 * <p>
+	 * 如果被拒绝执行，将通过消息通道发送拒绝消息。
+	 * </p>
 	 * 
 	 * @param submit
-	 * @return
+	 * @return {@code false}表示此{@linkplain SqlpadExecutionSubmit#getSqlpadId()}已在执行中，或者被拒绝执行
 	 */
 	public boolean submit(SqlpadExecutionSubmit submit)
 	{
@@ -161,11 +269,64 @@ public class SqlpadExecutionService extends PersistenceSupport
 		if (old != null)
 			return false;
 
-		this._executorService.submit(sqlpadExecutionRunnable);
+		String userKey = getUserKey(submit.getUser());
+
+		if (!acquireUserExecution(userKey))
+		{
+			reject(sqlpadExecutionRunnable,
+					getMessage(submit.getLocale(), "sqlpad.executionRejectedForUserLimit", this.maxExecutionsPerUser));
+			return false;
+		}
+
+		if (this._executorService.getActiveCount() >= this._executorService.getMaximumPoolSize())
+			sendTextMessage(submit.getSqlpadId(), getMessage(submit.getLocale(), "sqlpad.executionQueued"));
+
+		try
+		{
+			this._executorService.execute(sqlpadExecutionRunnable);
+		}
+		catch (RejectedExecutionException e)
+		{
+			releaseUserExecution(userKey);
+			reject(sqlpadExecutionRunnable, getMessage(submit.getLocale(), "sqlpad.executionRejectedForBusy"));
+			return false;
+		}
 
 		return true;
 	}
 
+	/**
+	 * 获取执行器统计信息。
+	 * 
+	 * @return
+	 */
+	public SqlpadExecutorStat getExecutorStat()
+	{
+		SqlpadExecutorStat stat = new SqlpadExecutorStat();
+
+		stat.setMaxThreads(this._executorService.getMaximumPoolSize());
+		stat.setQueueSize(Math.max(this.queueSize, 1));
+		stat.setRunningCount(this._executorService.getActiveCount());
+		stat.setQueuedCount(this._executorService.getQueue().size());
+		stat.setCompletedCount(this._completedCount.get());
+		stat.setRejectedCount(this._rejectedCount.get());
+		stat.setParkedCount(this._parkedCount.get());
+
+		Map<String, Integer> userExecutionCounts = new HashMap<>();
+
+		for (Map.Entry<String, AtomicInteger> entry : this._userExecutionCounts.entrySet())
+		{
+			int count = entry.getValue().get();
+
+			if (count > 0)
+				userExecutionCounts.put(entry.getKey(), count);
+		}
+
+		stat.setUserExecutionCounts(userExecutionCounts);
+
+		return stat;
+	}
+
 	/**
 	 * 发送SQL命令。
 	 * 
@@ -200,10 +361,157 @@ public class SqlpadExecutionService extends PersistenceSupport
 
 	/**
 	 * 关闭。
+	 * <p>
+	 * 正在执行的将继续执行，但之后不会再挂起；已挂起、等待重新提交的执行将被回滚并关闭数据库连接，因为它们不会再被唤醒。
+	 * </p>
 	 */
 	public void shutdown()
 	{
-		this._executorService.shutdown();
+		if (this._executorService != null)
+			this._executorService.shutdown();
+
+		if (this._scheduledExecutorService != null)
+			this._scheduledExecutorService.shutdownNow();
+
+		for (SqlpadExecutionRunnable sqlpadExecutionRunnable : this._sqlpadExecutionRunnableMap.values())
+			sqlpadExecutionRunnable.abandonIfIdle();
+	}
+
+	/**
+	 * 是否已关闭。
+	 * 
+	 * @return
+	 */
+	protected boolean isShutdown()
+	{
+		return (this._executorService == null || this._executorService.isShutdown());
+	}
+
+	/**
+	 * 重新提交挂起后被唤醒的执行。
+	 * <p>
+	 * 线程池繁忙时，将在{@linkplain #RESUBMIT_DELAY_MILLIS}毫秒后再次尝试，因为挂起的执行仍占用着数据库连接，不能拒绝。
+	 * </p>
+	 * 
+	 * @param sqlpadExecutionRunnable
+	 */
+	protected void resubmit(final SqlpadExecutionRunnable sqlpadExecutionRunnable)
+	{
+		try
+		{
+			this._executorService.execute(sqlpadExecutionRunnable);
+		}
+		catch (RejectedExecutionException e)
+		{
+			if (isShutdown())
+			{
+				sqlpadExecutionRunnable.abandon();
+				return;
+			}
+
+			this._scheduledExecutorService.schedule(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					resubmit(sqlpadExecutionRunnable);
+				}
+			}, RESUBMIT_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * 调度挂起超时任务，超时后唤醒执行，以处理暂停、等待提交超时。
+	 * 
+	 * @param sqlpadExecutionRunnable
+	 * @param delayMillis
+	 * @return
+	 */
+	protected ScheduledFuture<?> scheduleParkTimeout(final SqlpadExecutionRunnable sqlpadExecutionRunnable,
+			long delayMillis)
+	{
+		return this._scheduledExecutorService.schedule(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				sqlpadExecutionRunnable.unpark();
+			}
+		}, delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 拒绝执行。
+	 * 
+	 * @param sqlpadExecutionRunnable
+	 * @param message
+	 */
+	protected void reject(SqlpadExecutionRunnable sqlpadExecutionRunnable, String message)
+	{
+		String sqlpadId = sqlpadExecutionRunnable.getSqlpadId();
+
+		this._sqlpadExecutionRunnableMap.remove(sqlpadId);
+		this._rejectedCount.incrementAndGet();
+
+		sendStartMessage(sqlpadId, sqlpadExecutionRunnable.getSqlStatements().size());
+		sendExceptionMessage(sqlpadId, message);
+		sendFinishMessage(sqlpadId);
+	}
+
+	/**
+	 * 占用用户的一个执行数。
+	 * 
+	 * @param userKey
+	 * @return {@code false}表示已达到用户执行数上限
+	 */
+	protected boolean acquireUserExecution(String userKey)
+	{
+		AtomicInteger count = this._userExecutionCounts.get(userKey);
+
+		if (count == null)
+		{
+			count = new AtomicInteger(0);
+			AtomicInteger old = this._userExecutionCounts.putIfAbsent(userKey, count);
+
+			if (old != null)
+				count = old;
+		}
+
+		if (this.maxExecutionsPerUser <= 0)
+		{
+			count.incrementAndGet();
+			return true;
+		}
+
+		while (true)
+		{
+			int current = count.get();
+
+			if (current >= this.maxExecutionsPerUser)
+				return false;
+
+			if (count.compareAndSet(current, current + 1))
+				return true;
+		}
+	}
+
+	/**
+	 * 释放用户的一个执行数。
+	 * 
+	 * @param userKey
+	 */
+	protected void releaseUserExecution(String userKey)
+	{
+		AtomicInteger count = this._userExecutionCounts.get(userKey);
+
+		if (count != null)
+			count.decrementAndGet();
+	}
+
+	protected String getUserKey(User user)
+	{
+		String userId = (user == null ? null : user.getId());
+		return (userId == null ? "" : userId);
 	}
 
 	/**
@@ -467,15 +775,70 @@ public class SqlpadExecutionService extends PersistenceSupport
 
 	/**
 	 * 用于执行SQL的{@linkplain Runnable}。
+	 * <p>
+	 * 暂停、等待提交或回滚时，它不会阻塞执行线程，而是保存执行状态（包括数据库连接）后退出{@linkplain #run()}、释放执行线程，
+	 * 在收到新命令或者等待超时后，再重新提交至线程池继续执行。
+	 * </p>
 	 * 
 	 * @author datagear@163.com
 	 *
 	 */
 	protected class SqlpadExecutionRunnable extends SqlpadExecutionSubmit implements Runnable
 	{
-		/** 发送给此Runnable的SQL命令 */
+		/** 发送给此Runnable的SQL命令，执行线程、请求线程都会修改它，修改时应持有{@linkplain #sqlCommandLock} */
 		private volatile SqlCommand sqlCommand;
 
+		/** 设置SQL命令、挂起与唤醒时的锁 */
+		private final Object sqlCommandLock = new Object();
+
+		/** 是否已挂起（暂停、等待提交或回滚中，未占用执行线程） */
+		private boolean _parked = false;
+
+		/** 是否正在执行线程中运行 */
+		private boolean _running = false;
+
+		/** 是否已结束（执行完成，或者因服务关闭而放弃执行） */
+		private boolean _ended = false;
+
+		/** 挂起时的SQL命令，挂起前命令已改变时将不挂起 */
+		private SqlCommand _parkCommand = null;
+
+		/** 挂起超时任务 */
+		private ScheduledFuture<?> _parkTimeoutFuture = null;
+
+		private Connection _cn = null;
+
+		private Statement _st = null;
+
+		private long _startTime;
+
+		private SQLExecutionStat _sqlExecutionStat = null;
+
+		private SqlpadFileDirectory _sqlpadFileDirectory = null;
+
+		private List<String> _sqlHistories = new ArrayList<>();
+
+		/** 下一条要执行的SQL语句索引 */
+		private int _nextIndex = 0;
+
+		/** SQL语句是否已执行完 */
+		private boolean _executed = false;
+
+		/** 是否已停止，停止后不再等待提交或回滚 */
+		private boolean _stopped = false;
+
+		/** 是否正在暂停中 */
+		private boolean _paused = false;
+
+		/** 暂停时是否发送暂停消息 */
+		private boolean _sendPauseMessage = true;
+
+		/** 是否正在等待提交或回滚 */
+		private boolean _waitingForCommit = false;
+
+		/** 暂停、等待提交或回滚的截止时间毫秒数 */
+		private long _waitDeadline = 0;
+
 		public SqlpadExecutionRunnable()
 		{
 			super();
@@ -493,50 +856,82 @@ public class SqlpadExecutionService extends PersistenceSupport
 
 		public void setSqlCommand(SqlCommand sqlCommand)
 		{
-			this.sqlCommand = sqlCommand;
+			synchronized (this.sqlCommandLock)
+			{
+				this.sqlCommand = sqlCommand;
+			}
+
+			unpark();
 		}
 
 		@Override
 		public void run()
 		{
-			Connection cn = null;
-			Statement st = null;
-
-			sendStartMessage(getSqlpadId(), getSqlStatements().size());
-
-			try
+			synchronized (this.sqlCommandLock)
 			{
-				cn = getSchemaConnection(getSchema());
-				JdbcUtil.setAutoCommitIfSupports(cn, false);
-				JdbcUtil.setReadonlyIfSupports(cn, false);
-				st = createStatement(cn);
+				if (this._ended)
+					return;
+
+				this._running = true;
 			}
-			catch (Throwable t)
+
+			while (true)
 			{
-				sendExceptionMessage(getSqlpadId(), t, getMessage(getLocale(), "sqlpad.executionConnectionException"),
-						false);
+				boolean finished = true;
 
-				sendFinishMessage(getSqlpadId());
+				try
+				{
+					finished = runExecution();
+				}
+				finally
+				{
+					if (finished)
+					{
+						synchronized (this.sqlCommandLock)
+						{
+							this._running = false;
+							this._ended = true;
+						}
 
-				_sqlpadExecutionRunnableMap.remove(getSqlpadId());
+						releaseUserExecution(getUserKey(getUser()));
+					}
+				}
 
-				return;
+				if (finished || park())
+					return;
 			}
+		}
 
-			long startTime = System.currentTimeMillis();
-			int totalCount = getSqlStatements().size();
-			SQLExecutionStat sqlExecutionStat = new SQLExecutionStat(totalCount);
-			SqlpadFileDirectory sqlpadFileDirectory = SqlpadFileDirectory.valueOf(getSqlpadFileDirectory());
+		/**
+		 * 执行，直到执行完成或者需要挂起。
+		 * 
+		 * @return {@code true} 执行完成；{@code false} 需要挂起，此时应已设置{@linkplain #_parkCommand}、{@linkplain #_waitDeadline}
+		 */
+		protected boolean runExecution()
+		{
+			if (this._sqlExecutionStat == null && !startExecution())
+				return true;
 
-			List<String> sqlHistories = new ArrayList<>();
+			boolean parking = false;
 
 			try
 			{
-				for (int i = 0; i < totalCount; i++)
+				int totalCount = getSqlStatements().size();
+
+				while (!this._executed && this._nextIndex < totalCount)
 				{
-					if (handleSqlCommandInExecution(cn, true, sqlExecutionStat))
+					int commandResult = handleSqlCommandInExecution(this._cn, this._sqlExecutionStat);
+
+					if (commandResult == COMMAND_RESULT_PARK)
+					{
+						parking = true;
+						return false;
+					}
+
+					if (commandResult == COMMAND_RESULT_BREAK)
 						break;
 
+					int i = this._nextIndex++;
 					SqlStatement sqlStatement = getSqlStatements().get(i);
 
 					if (!SqlpadExecutionService.this.sqlPermissionChecker.hasPermission(getUser(), getSchema(),
@@ -545,20 +940,21 @@ public class SqlpadExecutionService extends PersistenceSupport
 						sendSqlExceptionMessage(getSqlpadId(), sqlStatement, i,
 								getMessage(getLocale(), "sqlpad.executionSQLPermissionDenied"));
 
-						sqlExecutionStat.increaseExceptionCount();
+						this._sqlExecutionStat.increaseExceptionCount();
 					}
 					else
 					{
 						try
 						{
-							execute(sqlExecutionStat, sqlpadFileDirectory, cn, st, sqlStatement, i);
-							sqlExecutionStat.increaseSuccessCount();
+							execute(this._sqlExecutionStat, this._sqlpadFileDirectory, this._cn, this._st,
+									sqlStatement, i);
+							this._sqlExecutionStat.increaseSuccessCount();
 
-							sqlHistories.add(sqlStatement.getSql());
+							this._sqlHistories.add(sqlStatement.getSql());
 						}
 						catch (SQLException e)
 						{
-							sqlExecutionStat.increaseExceptionCount();
+							this._sqlExecutionStat.increaseExceptionCount();
 
 							sendSqlExceptionMessage(getSqlpadId(), sqlStatement, i, e,
 									getMessage(getLocale(), "sqlpad.executionSQLException", e.getMessage()));
@@ -573,20 +969,28 @@ public class SqlpadExecutionService extends PersistenceSupport
 					}
 				}
 
-				if (SqlCommand.STOP.equals(this.sqlCommand))
-					;
-				else
+				if (!this._executed)
 				{
-					if (CommitMode.AUTO.equals(getCommitMode()))
+					this._executed = true;
+					this._stopped = SqlCommand.STOP.equals(this.sqlCommand);
+
+					if (!this._stopped && CommitMode.AUTO.equals(getCommitMode()))
 					{
-						if (sqlExecutionStat.getExceptionCount() > 0
-								&& ExceptionHandleMode.ROLLBACK.equals(getExceptionHandleMode()))
-							this.sqlCommand = SqlCommand.ROLLBACK;
-						else
-							this.sqlCommand = SqlCommand.COMMIT;
+						synchronized (this.sqlCommandLock)
+						{
+							if (this._sqlExecutionStat.getExceptionCount() > 0
+									&& ExceptionHandleMode.ROLLBACK.equals(getExceptionHandleMode()))
+								this.sqlCommand = SqlCommand.ROLLBACK;
+							else
+								this.sqlCommand = SqlCommand.COMMIT;
+						}
 					}
+				}
 
-					waitForCommitOrRollbackCommand(cn, sqlExecutionStat);
+				if (!this._stopped && !handleCommitOrRollbackCommand(this._cn, this._sqlExecutionStat))
+				{
+					parking = true;
+					return false;
 				}
 			}
 			catch (Throwable t)
@@ -595,157 +999,333 @@ public class SqlpadExecutionService extends PersistenceSupport
 			}
 			finally
 			{
-				JdbcUtil.closeStatement(st);
-				JdbcUtil.closeConnection(cn);
+				if (!parking)
+					finishExecution();
+			}
+
+			if (!this._sqlHistories.isEmpty())
+				SqlpadExecutionService.this.sqlHistoryService.addForRemain(getSchema().getId(), getUser().getId(),
+						this._sqlHistories);
+
+			return true;
+		}
+
+		/**
+		 * 开始执行，获取数据库连接。
+		 * 
+		 * @return {@code false}表示获取连接出错，已结束执行
+		 */
+		protected boolean startExecution()
+		{
+			sendStartMessage(getSqlpadId(), getSqlStatements().size());
+
+			try
+			{
+				this._cn = getSchemaConnection(getSchema());
+				JdbcUtil.setAutoCommitIfSupports(this._cn, false);
+				JdbcUtil.setReadonlyIfSupports(this._cn, false);
+				this._st = createStatement(this._cn);
+			}
+			catch (Throwable t)
+			{
+				JdbcUtil.closeConnection(this._cn);
+				this._cn = null;
 
-				sqlExecutionStat.setTaskDuration(System.currentTimeMillis() - startTime);
+				sendExceptionMessage(getSqlpadId(), t, getMessage(getLocale(), "sqlpad.executionConnectionException"),
+						false);
 
-				sendFinishMessage(getSqlpadId(), sqlExecutionStat);
+				sendFinishMessage(getSqlpadId());
 
 				_sqlpadExecutionRunnableMap.remove(getSqlpadId());
+
+				return false;
 			}
 
-			if (!sqlHistories.isEmpty())
-				SqlpadExecutionService.this.sqlHistoryService.addForRemain(getSchema().getId(), getUser().getId(),
-						sqlHistories);
+			this._startTime = System.currentTimeMillis();
+			this._sqlExecutionStat = new SQLExecutionStat(getSqlStatements().size());
+			this._sqlpadFileDirectory = SqlpadFileDirectory.valueOf(getSqlpadFileDirectory());
+
+			return true;
 		}
 
 		/**
-		 * 处理执行时命令。
-		 * 
-		 * @param cn
-		 * @param sendMessageIfPause
-		 * @param sqlExecutionStat
-		 * @return true 退出执行循环；false 不退出执行循环。
-		 * @throws SQLException
-		 * @throws InterruptedException
+		 * 结束执行，关闭数据库连接。
 		 */
-		protected boolean handleSqlCommandInExecution(Connection cn, boolean sendMessageIfPause,
-				SQLExecutionStat sqlExecutionStat) throws SQLException, InterruptedException
+		protected void finishExecution()
 		{
-			boolean breakLoop = false;
+			JdbcUtil.closeStatement(this._st);
+			JdbcUtil.closeConnection(this._cn);
 
-			boolean hasPaused = false;
+			this._sqlExecutionStat.setTaskDuration(System.currentTimeMillis() - this._startTime);
 
-			if (SqlCommand.PAUSE.equals(this.sqlCommand))
-			{
-				hasPaused = true;
+			sendFinishMessage(getSqlpadId(), this._sqlExecutionStat);
 
-				if (sendMessageIfPause)
-					sendSqlCommandMessage(this.sqlCommand, getOverTimeThreashold());
+			_sqlpadExecutionRunnableMap.remove(getSqlpadId());
+			_completedCount.incrementAndGet();
+		}
 
-				long waitStartTime = System.currentTimeMillis();
+		/**
+		 * 挂起，等待{@linkplain #unpark()}。
+		 * <p>
+		 * 如果挂起前SQL命令已改变，则不挂起，调用者应继续执行；如果服务已关闭，则不会再被唤醒，将放弃执行。
+		 * </p>
+		 * 
+		 * @return {@code true} 已挂起或者已放弃执行；{@code false} 未挂起
+		 */
+		protected boolean park()
+		{
+			synchronized (this.sqlCommandLock)
+			{
+				if (this.sqlCommand != this._parkCommand)
+					return false;
 
-				while (SqlCommand.PAUSE.equals(this.sqlCommand)
-						&& (System.currentTimeMillis() - waitStartTime) <= getOverTimeThreashold() * 60 * 1000)
-					sleepForSqlCommand();
+				this._running = false;
 
-				// 暂停超时
-				if (SqlCommand.PAUSE.equals(this.sqlCommand))
+				if (!isShutdown())
 				{
-					sendTextMessage(getSqlpadId(), getMessage(getLocale(), "sqlpad.pauseOverTime"));
+					this._parked = true;
+					_parkedCount.incrementAndGet();
 
-					this.sqlCommand = SqlCommand.RESUME;
+					if (this._parkTimeoutFuture != null)
+						this._parkTimeoutFuture.cancel(false);
+
+					this._parkTimeoutFuture = scheduleParkTimeout(this,
+							Math.max(this._waitDeadline - System.currentTimeMillis(), 0) + 1);
+
+					return true;
 				}
 			}
 
-			if (SqlCommand.RESUME.equals(this.sqlCommand))
+			abandon();
+
+			return true;
+		}
+
+		/**
+		 * 如果已挂起，则重新提交执行。
+		 */
+		protected void unpark()
+		{
+			synchronized (this.sqlCommandLock)
 			{
-				sendSqlCommandMessage(this.sqlCommand);
+				if (!this._parked)
+					return;
+
+				this._parked = false;
+				_parkedCount.decrementAndGet();
+
+				if (this._parkTimeoutFuture != null)
+				{
+					this._parkTimeoutFuture.cancel(false);
+					this._parkTimeoutFuture = null;
+				}
+			}
 
-				this.sqlCommand = null;
+			resubmit(this);
+		}
+
+		/**
+		 * 如果未在执行线程中运行（已挂起、等待重新提交），则放弃执行。
+		 * <p>
+		 * 尚未开始执行的不处理，它们开始执行后会自行结束或者在挂起时放弃。
+		 * </p>
+		 */
+		protected void abandonIfIdle()
+		{
+			synchronized (this.sqlCommandLock)
+			{
+				if (this._running || this._ended || this._cn == null)
+					return;
 			}
-			else if (SqlCommand.STOP.equals(this.sqlCommand))
+
+			abandon();
+		}
+
+		/**
+		 * 放弃执行：回滚并关闭数据库连接，释放用户执行数。
+		 * <p>
+		 * 只应在服务关闭、执行不会再被唤醒时调用。
+		 * </p>
+		 */
+		protected void abandon()
+		{
+			synchronized (this.sqlCommandLock)
 			{
-				cn.rollback();
-				sendSqlCommandMessage(this.sqlCommand);
+				if (this._ended)
+					return;
+
+				this._ended = true;
 
-				breakLoop = true;
+				if (this._parked)
+				{
+					this._parked = false;
+					_parkedCount.decrementAndGet();
+				}
+
+				if (this._parkTimeoutFuture != null)
+				{
+					this._parkTimeoutFuture.cancel(false);
+					this._parkTimeoutFuture = null;
+				}
 			}
-			else if (SqlCommand.COMMIT.equals(this.sqlCommand))
+
+			if (this._cn != null)
+				JdbcUtil.rollbackSilently(this._cn);
+
+			JdbcUtil.closeStatement(this._st);
+			JdbcUtil.closeConnection(this._cn);
+
+			_sqlpadExecutionRunnableMap.remove(getSqlpadId());
+			releaseUserExecution(getUserKey(getUser()));
+		}
+
+		/**
+		 * 如果当前SQL命令仍是{@code expected}，则将其设置为{@code sqlCommand}。
+		 * <p>
+		 * 执行线程修改SQL命令时应使用此方法，避免覆盖同时通过{@linkplain #setSqlCommand(SqlCommand)}发送的新命令。
+		 * </p>
+		 * 
+		 * @param expected
+		 * @param sqlCommand
+		 */
+		protected void updateSqlCommand(SqlCommand expected, SqlCommand sqlCommand)
+		{
+			synchronized (this.sqlCommandLock)
 			{
-				cn.commit();
-				sendSqlCommandMessage(this.sqlCommand);
+				if (this.sqlCommand == expected)
+					this.sqlCommand = sqlCommand;
+			}
+		}
 
-				// 提交操作不打断暂停
-				if (hasPaused)
+		/**
+		 * 处理执行时命令。
+		 * 
+		 * @param cn
+		 * @param sqlExecutionStat
+		 * @return {@linkplain #COMMAND_RESULT_CONTINUE}、{@linkplain #COMMAND_RESULT_BREAK}、{@linkplain #COMMAND_RESULT_PARK}
+		 * @throws SQLException
+		 */
+		protected int handleSqlCommandInExecution(Connection cn, SQLExecutionStat sqlExecutionStat)
+				throws SQLException
+		{
+			SqlCommand sqlCommand = this.sqlCommand;
+
+			if (SqlCommand.PAUSE.equals(sqlCommand))
+			{
+				if (!this._paused)
 				{
-					this.sqlCommand = SqlCommand.PAUSE;
-					breakLoop = handleSqlCommandInExecution(cn, false, sqlExecutionStat);
+					this._paused = true;
+
+					if (this._sendPauseMessage)
+						sendSqlCommandMessage(sqlCommand, getOverTimeThreashold());
+
+					this._waitDeadline = System.currentTimeMillis() + getOverTimeThreashold() * 60 * 1000L;
 				}
-				else
-					this.sqlCommand = null;
+
+				if (System.currentTimeMillis() <= this._waitDeadline)
+				{
+					this._parkCommand = sqlCommand;
+					return COMMAND_RESULT_PARK;
+				}
+
+				// 暂停超时
+				sendTextMessage(getSqlpadId(), getMessage(getLocale(), "sqlpad.pauseOverTime"));
+
+				updateSqlCommand(sqlCommand, SqlCommand.RESUME);
+				sqlCommand = SqlCommand.RESUME;
 			}
-			else if (SqlCommand.ROLLBACK.equals(this.sqlCommand))
+
+			boolean hasPaused = this._paused;
+			this._paused = false;
+			this._sendPauseMessage = true;
+
+			if (SqlCommand.RESUME.equals(sqlCommand))
+			{
+				sendSqlCommandMessage(sqlCommand);
+
+				updateSqlCommand(sqlCommand, null);
+			}
+			else if (SqlCommand.STOP.equals(sqlCommand))
 			{
 				cn.rollback();
-				sendSqlCommandMessage(this.sqlCommand);
+				sendSqlCommandMessage(sqlCommand);
 
-				// 回滚操作不打断暂停
+				return COMMAND_RESULT_BREAK;
+			}
+			else if (SqlCommand.COMMIT.equals(sqlCommand) || SqlCommand.ROLLBACK.equals(sqlCommand))
+			{
+				if (SqlCommand.COMMIT.equals(sqlCommand))
+					cn.commit();
+				else
+					cn.rollback();
+
+				sendSqlCommandMessage(sqlCommand);
+
+				// 提交、回滚操作不打断暂停
 				if (hasPaused)
 				{
-					this.sqlCommand = SqlCommand.PAUSE;
-					breakLoop = handleSqlCommandInExecution(cn, false, sqlExecutionStat);
+					updateSqlCommand(sqlCommand, SqlCommand.PAUSE);
+					this._sendPauseMessage = false;
+
+					return handleSqlCommandInExecution(cn, sqlExecutionStat);
 				}
 				else
-					this.sqlCommand = null;
+					updateSqlCommand(sqlCommand, null);
 			}
 
-			return breakLoop;
+			return COMMAND_RESULT_CONTINUE;
 		}
 
 		/**
-		 * 等待执行提交或者是回滚命令。
+		 * 处理提交或者回滚命令。
 		 * 
 		 * @param cn
 		 * @param sqlExecutionStat
+		 * @return {@code true} 已提交或者回滚；{@code false} 需要挂起等待命令
 		 * @throws SQLException
-		 * @throws InterruptedException
 		 */
-		protected void waitForCommitOrRollbackCommand(Connection cn, SQLExecutionStat sqlExecutionStat)
-				throws SQLException, InterruptedException
+		protected boolean handleCommitOrRollbackCommand(Connection cn, SQLExecutionStat sqlExecutionStat)
+				throws SQLException
 		{
-			boolean sendWatingMessage = false;
+			SqlCommand sqlCommand = this.sqlCommand;
 
-			long waitStartTime = System.currentTimeMillis();
-
-			while (!SqlCommand.COMMIT.equals(this.sqlCommand) && !SqlCommand.ROLLBACK.equals(this.sqlCommand)
-					&& (System.currentTimeMillis() - waitStartTime) <= getOverTimeThreashold() * 60 * 1000)
+			if (!SqlCommand.COMMIT.equals(sqlCommand) && !SqlCommand.ROLLBACK.equals(sqlCommand))
 			{
-				if (!sendWatingMessage)
+				if (!this._waitingForCommit)
 				{
+					this._waitingForCommit = true;
+
 					sendTextMessage(getSqlpadId(),
 							getMessage(getLocale(), "sqlpad.waitingForCommitOrRollback", getOverTimeThreashold()),
 							"message-content-highlight", sqlExecutionStat);
 
-					sendWatingMessage = true;
+					this._waitDeadline = System.currentTimeMillis() + getOverTimeThreashold() * 60 * 1000L;
 				}
 
-				sleepForSqlCommand();
-			}
+				if (System.currentTimeMillis() <= this._waitDeadline)
+				{
+					this._parkCommand = sqlCommand;
+					return false;
+				}
 
-			// 等待超时
-			if (!SqlCommand.COMMIT.equals(this.sqlCommand) && !SqlCommand.ROLLBACK.equals(this.sqlCommand))
-			{
+				// 等待超时
 				sendTextMessage(getSqlpadId(), getMessage(getLocale(), "sqlpad.waitOverTime"));
 
-				this.sqlCommand = (sqlExecutionStat.getExceptionCount() > 0 ? SqlCommand.ROLLBACK : SqlCommand.COMMIT);
+				sqlCommand = (sqlExecutionStat.getExceptionCount() > 0 ? SqlCommand.ROLLBACK : SqlCommand.COMMIT);
 			}
 
-			if (SqlCommand.COMMIT.equals(this.sqlCommand))
-			{
-				JdbcUtil.commitIfSupports(cn);
-				sendSqlCommandMessage(this.sqlCommand);
+			this._waitingForCommit = false;
 
-				this.sqlCommand = null;
-			}
-			else if (SqlCommand.ROLLBACK.equals(this.sqlCommand))
-			{
+			if (SqlCommand.COMMIT.equals(sqlCommand))
+				JdbcUtil.commitIfSupports(cn);
+			else
 				JdbcUtil.rollbackIfSupports(cn);
-				sendSqlCommandMessage(this.sqlCommand);
 
-				this.sqlCommand = null;
-			}
+			sendSqlCommandMessage(sqlCommand);
+
+			updateSqlCommand(sqlCommand, null);
+
+			return true;
 		}
 
 		/**
@@ -831,16 +1411,6 @@ public class SqlpadExecutionService extends PersistenceSupport
 
 			return st;
 		}
-
-		/**
-		 * 睡眠等待SQL命令。
-		 * 
-		 * @throws InterruptedException
-		 */
-		protected void sleepForSqlCommand() throws InterruptedException
-		{
-			Thread.sleep(10);
-		}
 	}
 
 	/**
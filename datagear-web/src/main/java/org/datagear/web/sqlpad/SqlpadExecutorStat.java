@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.sqlpad;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * {@linkplain SqlpadExecutionService}执行器统计信息。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public class SqlpadExecutorStat implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** 最多同时执行数 */
+	private int maxThreads;
+
+	/** 最多排队数 */
+	private int queueSize;
+
+	/** 正在执行数 */
+	private int runningCount;
+
+	/** 排队等待执行数 */
+	private int queuedCount;
+
+	/** 已完成执行数 */
+	private long completedCount;
+
+	/** 被拒绝执行数 */
+	private long rejectedCount;
+
+	/** 暂停、等待提交或回滚中（不占用线程）的执行数 */
+	private int parkedCount;
+
+	/** 用户ID-正在执行与排队的数目 */
+	private Map<String, Integer> userExecutionCounts;
+
+	public SqlpadExecutorStat()
+	{
+		super();
+	}
+
+	public int getMaxThreads()
+	{
+		return maxThreads;
+	}
+
+	public void setMaxThreads(int maxThreads)
+	{
+		this.maxThreads = maxThreads;
+	}
+
+	public int getQueueSize()
+	{
+		return queueSize;
+	}
+
+	public void setQueueSize(int queueSize)
+	{
+		this.queueSize = queueSize;
+	}
+
+	public int getRunningCount()
+	{
+		return runningCount;
+	}
+
+	public void setRunningCount(int runningCount)
+	{
+		this.runningCount = runningCount;
+	}
+
+	public int getQueuedCount()
+	{
+		return queuedCount;
+	}
+
+	public void setQueuedCount(int queuedCount)
+	{
+		this.queuedCount = queuedCount;
+	}
+
+	public long getCompletedCount()
+	{
+		return completedCount;
+	}
+
+	public void setCompletedCount(long completedCount)
+	{
+		this.completedCount = completedCount;
+	}
+
+	public long getRejectedCount()
+	{
+		return rejectedCount;
+	}
+
+	public void setRejectedCount(long rejectedCount)
+	{
+		this.rejectedCount = rejectedCount;
+	}
+
+	public int getParkedCount()
+	{
+		return parkedCount;
+	}
+
+	public void setParkedCount(int parkedCount)
+	{
+		this.parkedCount = parkedCount;
+	}
+
+	public Map<String, Integer> getUserExecutionCounts()
+	{
+		return userExecutionCounts;
+	}
+
+	public void setUserExecutionCounts(Map<String, Integer> userExecutionCounts)
+	{
+		this.userExecutionCounts = userExecutionCounts;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + " [maxThreads=" + maxThreads + ", queueSize=" + queueSize
+				+ ", runningCount=" + runningCount + ", queuedCount=" + queuedCount + ", completedCount="
+				+ completedCount + ", rejectedCount=" + rejectedCount + ", parkedCount=" + parkedCount
+				+ ", userExecutionCounts=" + userExecutionCounts + "]";
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.util.Map;
+
+/**
+ * 数据集结果缓存统计信息。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class DataSetResultCacheStat
+{
+	/** 是否启用了缓存 */
+	private boolean enabled;
+
+	/** 缓存条目数 */
+	private long size;
+
+	/** 缓存容量 */
+	private int maximumSize;
+
+	/** 命中数 */
+	private long hitCount;
+
+	/** 未命中数 */
+	private long missCount;
+
+	/** 命中率 */
+	private double hitRate;
+
+	/** 淘汰数 */
+	private long evictionCount;
+
+	/** 默认缓存过期毫秒数 */
+	private long defaultTimeToLive;
+
+	/** 单独设置的数据集ID-缓存过期毫秒数 */
+	private Map<String, Long> timeToLives;
+
+	public DataSetResultCacheStat()
+	{
+		super();
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	public long getSize()
+	{
+		return size;
+	}
+
+	public void setSize(long size)
+	{
+		this.size = size;
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize)
+	{
+		this.maximumSize = maximumSize;
+	}
+
+	public long getHitCount()
+	{
+		return hitCount;
+	}
+
+	public void setHitCount(long hitCount)
+	{
+		this.hitCount = hitCount;
+	}
+
+	public long getMissCount()
+	{
+		return missCount;
+	}
+
+	public void setMissCount(long missCount)
+	{
+		this.missCount = missCount;
+	}
+
+	public double getHitRate()
+	{
+		return hitRate;
+	}
+
+	public void setHitRate(double hitRate)
+	{
+		this.hitRate = hitRate;
+	}
+
+	public long getEvictionCount()
+	{
+		return evictionCount;
+	}
+
+	public void setEvictionCount(long evictionCount)
+	{
+		this.evictionCount = evictionCount;
+	}
+
+	public long getDefaultTimeToLive()
+	{
+		return defaultTimeToLive;
+	}
+
+	public void setDefaultTimeToLive(long defaultTimeToLive)
+	{
+		this.defaultTimeToLive = defaultTimeToLive;
+	}
+
+	public Map<String, Long> getTimeToLives()
+	{
+		return timeToLives;
+	}
+
+	public void setTimeToLives(Map<String, Long> timeToLives)
+	{
+		this.timeToLives = timeToLives;
+	}
+}
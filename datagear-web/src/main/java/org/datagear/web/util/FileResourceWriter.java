@@ -0,0 +1,548 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.datagear.util.IOUtil;
+import org.datagear.util.StringUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 静态文件资源输出器。
+ * <p>
+ * 它为文件资源提供：
+ * </p>
+ * <ul>
+ * <li>基于内容摘要的强<code>ETag</code>，以及<code>Last-Modified</code>协商缓存；</li>
+ * <li>文件名包含内容摘要（比如：<code>app.3f2a9c1b.js</code>）的资源，输出长期有效的<code>Cache-Control</code>；</li>
+ * <li>优先输出预压缩的同名<code>.br</code>、<code>.gz</code>文件，其次为可压缩的资源生成并缓存<code>gzip</code>压缩文件；</li>
+ * <li>单个<code>Range</code>的部分内容请求；</li>
+ * <li>Tomcat支持时，较大文件由容器以<code>sendfile</code>方式零拷贝输出，否则使用{@linkplain FileChannel#transferTo(long, long, WritableByteChannel)}输出。</li>
+ * </ul>
+ * <p>
+ * 调用{@linkplain #write(HttpServletRequest, HttpServletResponse, File)}前，应已设置好响应的<code>Content-Type</code>。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class FileResourceWriter
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(FileResourceWriter.class);
+
+	/** Tomcat是否支持sendfile的请求属性名 */
+	public static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+
+	/** Tomcat的sendfile文件名请求属性名 */
+	public static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+	/** Tomcat的sendfile起始位置请求属性名 */
+	public static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+
+	/** Tomcat的sendfile结束位置（不包含）请求属性名 */
+	public static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+	public static final String ENCODING_BR = "br";
+
+	public static final String ENCODING_GZIP = "gzip";
+
+	/** 默认的不可变资源名匹配模式：文件名中包含至少8位十六进制内容摘要 */
+	public static final Pattern DEFAULT_IMMUTABLE_NAME_PATTERN = Pattern
+			.compile(".+[.\\-_][0-9a-fA-F]{8,}(\\.min)?\\.[0-9a-zA-Z]+");
+
+	/** 生成的gzip压缩文件存储目录，为{@code null}表示不生成 */
+	private File gzipDirectory = null;
+
+	/** 生成gzip压缩文件的最小文件字节数，小于此值的文件压缩收益不大 */
+	private long gzipMinSize = 1024;
+
+	/** 使用sendfile输出的最小字节数 */
+	private long sendfileMinSize = 48 * 1024;
+
+	/** 不可变资源名匹配模式，为{@code null}表示没有不可变资源 */
+	private Pattern immutableNamePattern = DEFAULT_IMMUTABLE_NAME_PATTERN;
+
+	/** 不可变资源的缓存秒数 */
+	private int immutableMaxAgeSeconds = 31536000;
+
+	/** 缓存的文件摘要数 */
+	private int digestCacheSize = 10000;
+
+	private Cache<String, FileDigest> _digestCache = null;
+
+	public FileResourceWriter()
+	{
+		super();
+	}
+
+	public File getGzipDirectory()
+	{
+		return gzipDirectory;
+	}
+
+	public void setGzipDirectory(File gzipDirectory)
+	{
+		this.gzipDirectory = gzipDirectory;
+	}
+
+	public long getGzipMinSize()
+	{
+		return gzipMinSize;
+	}
+
+	public void setGzipMinSize(long gzipMinSize)
+	{
+		this.gzipMinSize = gzipMinSize;
+	}
+
+	public long getSendfileMinSize()
+	{
+		return sendfileMinSize;
+	}
+
+	public void setSendfileMinSize(long sendfileMinSize)
+	{
+		this.sendfileMinSize = sendfileMinSize;
+	}
+
+	public Pattern getImmutableNamePattern()
+	{
+		return immutableNamePattern;
+	}
+
+	public void setImmutableNamePattern(Pattern immutableNamePattern)
+	{
+		this.immutableNamePattern = immutableNamePattern;
+	}
+
+	public int getImmutableMaxAgeSeconds()
+	{
+		return immutableMaxAgeSeconds;
+	}
+
+	public void setImmutableMaxAgeSeconds(int immutableMaxAgeSeconds)
+	{
+		this.immutableMaxAgeSeconds = immutableMaxAgeSeconds;
+	}
+
+	public int getDigestCacheSize()
+	{
+		return digestCacheSize;
+	}
+
+	public void setDigestCacheSize(int digestCacheSize)
+	{
+		this.digestCacheSize = digestCacheSize;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._digestCache = Caffeine.newBuilder().maximumSize(this.digestCacheSize).build();
+
+		if (this.gzipDirectory != null && !this.gzipDirectory.exists())
+			this.gzipDirectory.mkdirs();
+	}
+
+	/**
+	 * 输出文件资源。
+	 *
+	 * @param request
+	 * @param response
+	 * @param file
+	 *            存在的文件
+	 * @throws IOException
+	 */
+	public void write(HttpServletRequest request, HttpServletResponse response, File file) throws IOException
+	{
+		FileDigest digest = getFileDigest(file);
+		boolean compressible = isCompressible(response.getContentType());
+		String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+		File variant = file;
+		String encoding = null;
+
+		// 部分内容请求总是基于原始内容
+		if (rangeHeader == null)
+		{
+			if (WebUtils.isAcceptEncoding(request, ENCODING_BR))
+			{
+				variant = getPrecompressedFile(file, ".br");
+				encoding = (variant == null ? null : ENCODING_BR);
+			}
+
+			if (encoding == null && WebUtils.isAcceptEncoding(request, ENCODING_GZIP))
+			{
+				variant = getPrecompressedFile(file, ".gz");
+
+				if (variant == null && compressible)
+					variant = getGzipFile(file, digest);
+
+				encoding = (variant == null ? null : ENCODING_GZIP);
+			}
+
+			if (encoding == null)
+				variant = file;
+		}
+
+		if (compressible || encoding != null)
+			response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		// 资源需登录访问，因此仅允许浏览器私有缓存
+		if (isImmutable(file))
+			response.setHeader(HttpHeaders.CACHE_CONTROL,
+					"private, max-age=" + this.immutableMaxAgeSeconds + ", immutable");
+		else
+			response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+		String etag = "\"" + digest.getDigest() + (encoding == null ? "" : "-" + encoding) + "\"";
+
+		if (new ServletWebRequest(request, response).checkNotModified(etag, digest.getLastModified()))
+			return;
+
+		if (encoding != null)
+		{
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+			writeFile(request, response, variant, 0, variant.length() - 1);
+			return;
+		}
+
+		long length = digest.getLength();
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+		if (rangeHeader != null && isIfRangeMatched(request, etag, digest.getLastModified()))
+		{
+			List<HttpRange> ranges = null;
+
+			try
+			{
+				ranges = HttpRange.parseRanges(rangeHeader);
+			}
+			catch (IllegalArgumentException e)
+			{
+				ranges = null;
+			}
+
+			// 多个范围请求较少见，直接输出全部内容
+			if (ranges != null && ranges.size() == 1)
+			{
+				HttpRange range = ranges.get(0);
+				long start = range.getRangeStart(length);
+				long end = range.getRangeEnd(length);
+
+				if (start >= length || start > end)
+				{
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+
+				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+				writeFile(request, response, file, start, end);
+				return;
+			}
+		}
+
+		writeFile(request, response, file, 0, length - 1);
+	}
+
+	/**
+	 * 输出文件的指定区间。
+	 *
+	 * @param request
+	 * @param response
+	 * @param file
+	 * @param start
+	 *            起始位置
+	 * @param end
+	 *            结束位置（包含）
+	 * @throws IOException
+	 */
+	protected void writeFile(HttpServletRequest request, HttpServletResponse response, File file, long start,
+			long end) throws IOException
+	{
+		long count = end - start + 1;
+
+		response.setContentLengthLong(count < 0 ? 0 : count);
+
+		if (count <= 0 || "HEAD".equalsIgnoreCase(request.getMethod()))
+			return;
+
+		if (count >= this.sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR)))
+		{
+			request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+			request.setAttribute(SENDFILE_START_ATTR, start);
+			request.setAttribute(SENDFILE_END_ATTR, end + 1);
+
+			return;
+		}
+
+		FileChannel in = null;
+
+		try
+		{
+			in = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+
+			long position = start;
+
+			while (position <= end)
+			{
+				long transferred = in.transferTo(position, end + 1 - position, out);
+
+				if (transferred <= 0)
+					break;
+
+				position += transferred;
+			}
+		}
+		finally
+		{
+			IOUtil.close(in);
+		}
+	}
+
+	/**
+	 * 获取文件摘要，文件修改后将重新计算。
+	 *
+	 * @param file
+	 * @return
+	 * @throws IOException
+	 */
+	protected FileDigest getFileDigest(File file) throws IOException
+	{
+		String key = file.getAbsolutePath();
+		long lastModified = file.lastModified();
+		long length = file.length();
+
+		FileDigest digest = this._digestCache.getIfPresent(key);
+
+		if (digest != null && digest.getLastModified() == lastModified && digest.getLength() == length)
+			return digest;
+
+		InputStream in = null;
+
+		try
+		{
+			in = IOUtil.getInputStream(file);
+			digest = new FileDigest(lastModified, length, DigestUtils.md5DigestAsHex(in));
+		}
+		finally
+		{
+			IOUtil.close(in);
+		}
+
+		this._digestCache.put(key, digest);
+
+		return digest;
+	}
+
+	/**
+	 * 获取预压缩的同名文件，文件不存在或者已过时，将返回{@code null}。
+	 *
+	 * @param file
+	 * @param suffix
+	 * @return
+	 */
+	protected File getPrecompressedFile(File file, String suffix)
+	{
+		File compressed = new File(file.getPath() + suffix);
+
+		if (compressed.isFile() && compressed.lastModified() >= file.lastModified())
+			return compressed;
+
+		return null;
+	}
+
+	/**
+	 * 获取生成的gzip压缩文件，没有时将生成。
+	 * <p>
+	 * 压缩文件以内容摘要命名，因此文件内容修改后将自动使用新的压缩文件。
+	 * </p>
+	 *
+	 * @param file
+	 * @param digest
+	 * @return 返回{@code null}表示不压缩
+	 */
+	protected File getGzipFile(File file, FileDigest digest)
+	{
+		if (this.gzipDirectory == null || this.gzipMinSize < 0 || digest.getLength() < this.gzipMinSize)
+			return null;
+
+		File gzipFile = new File(this.gzipDirectory, digest.getDigest() + ".gz");
+
+		if (gzipFile.isFile())
+		{
+			// 刷新常用压缩文件的修改时间，避免被临时目录清理
+			long now = System.currentTimeMillis();
+			if (now - gzipFile.lastModified() > 60 * 60 * 1000)
+				gzipFile.setLastModified(now);
+
+			return gzipFile;
+		}
+
+		try
+		{
+			if (!this.gzipDirectory.exists())
+				this.gzipDirectory.mkdirs();
+
+			File tmpFile = File.createTempFile(digest.getDigest(), ".tmp", this.gzipDirectory);
+			OutputStream out = null;
+
+			try
+			{
+				out = new GZIPOutputStream(IOUtil.getOutputStream(tmpFile));
+				IOUtil.write(file, out);
+			}
+			finally
+			{
+				IOUtil.close(out);
+			}
+
+			// 如果压缩过程中文件已被修改，则放弃此压缩文件
+			if (file.lastModified() != digest.getLastModified() || file.length() != digest.getLength())
+			{
+				tmpFile.delete();
+				return null;
+			}
+
+			Files.move(tmpFile.toPath(), gzipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			return gzipFile;
+		}
+		catch (IOException e)
+		{
+			if (LOGGER.isWarnEnabled())
+				LOGGER.warn("Create gzip file for [" + file.getAbsolutePath() + "] error", e);
+
+			return null;
+		}
+	}
+
+	protected boolean isImmutable(File file)
+	{
+		return (this.immutableNamePattern != null && this.immutableNamePattern.matcher(file.getName()).matches());
+	}
+
+	/**
+	 * 判断<code>If-Range</code>请求头是否匹配，不匹配时应输出全部内容。
+	 *
+	 * @param request
+	 * @param etag
+	 * @param lastModified
+	 * @return
+	 */
+	protected boolean isIfRangeMatched(HttpServletRequest request, String etag, long lastModified)
+	{
+		String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+		if (StringUtil.isEmpty(ifRange))
+			return true;
+
+		ifRange = ifRange.trim();
+
+		if (ifRange.startsWith("\"") || ifRange.startsWith("W/"))
+			return ifRange.equals(etag);
+
+		try
+		{
+			long ifRangeTime = request.getDateHeader(HttpHeaders.IF_RANGE);
+			return (ifRangeTime >= 0 && lastModified / 1000 == ifRangeTime / 1000);
+		}
+		catch (IllegalArgumentException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * 判断指定内容类型是否值得压缩。
+	 *
+	 * @param contentType
+	 *            允许为{@code null}
+	 * @return
+	 */
+	protected boolean isCompressible(String contentType)
+	{
+		if (StringUtil.isEmpty(contentType))
+			return false;
+
+		contentType = contentType.toLowerCase(Locale.ENGLISH);
+
+		return (contentType.startsWith("text/") || contentType.startsWith("application/javascript")
+				|| contentType.startsWith("application/json") || contentType.startsWith("application/xml")
+				|| contentType.startsWith("image/svg+xml"));
+	}
+
+	/**
+	 * 文件摘要。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	protected static class FileDigest
+	{
+		private final long lastModified;
+
+		private final long length;
+
+		private final String digest;
+
+		public FileDigest(long lastModified, long length, String digest)
+		{
+			super();
+			this.lastModified = lastModified;
+			this.length = length;
+			this.digest = digest;
+		}
+
+		public long getLastModified()
+		{
+			return lastModified;
+		}
+
+		public long getLength()
+		{
+			return length;
+		}
+
+		public String getDigest()
+		{
+			return digest;
+		}
+	}
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.datagear.analysis.support.html.DirectoryHtmlChartPluginManager;
+import org.datagear.analysis.support.html.HtmlChartPlugin;
+import org.datagear.analysis.support.html.HtmlChartPluginScriptObjectWriter;
+import org.datagear.util.IOUtil;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 图表插件脚本包。
+ * <p>
+ * 它将所有{@linkplain HtmlChartPlugin}输出为一个JS脚本（即：<code>chartPluginManager.js</code>），
+ * 并在内存中保存其原始、gzip压缩后的内容和内容摘要，插件没有变化时，不会重新生成。
+ * </p>
+ * <p>
+ * 看板页面以带有内容摘要的URL引用此脚本，使浏览器可以跨看板、跨会话长期缓存它，插件变化后URL也随之改变。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HtmlChartPluginBundle
+{
+	private DirectoryHtmlChartPluginManager directoryHtmlChartPluginManager;
+
+	/** 看板渲染获取图表出错时使用的图表插件，为{@code null}表示没有 */
+	private HtmlChartPlugin htmlChartPluginForGetWidgetException = null;
+
+	private HtmlChartPluginScriptObjectWriter htmlChartPluginScriptObjectWriter = new HtmlChartPluginScriptObjectWriter();
+
+	private volatile Bundle _bundle = null;
+
+	public HtmlChartPluginBundle()
+	{
+		super();
+	}
+
+	public HtmlChartPluginBundle(DirectoryHtmlChartPluginManager directoryHtmlChartPluginManager)
+	{
+		super();
+		this.directoryHtmlChartPluginManager = directoryHtmlChartPluginManager;
+	}
+
+	public DirectoryHtmlChartPluginManager getDirectoryHtmlChartPluginManager()
+	{
+		return directoryHtmlChartPluginManager;
+	}
+
+	public void setDirectoryHtmlChartPluginManager(DirectoryHtmlChartPluginManager directoryHtmlChartPluginManager)
+	{
+		this.directoryHtmlChartPluginManager = directoryHtmlChartPluginManager;
+	}
+
+	public HtmlChartPlugin getHtmlChartPluginForGetWidgetException()
+	{
+		return htmlChartPluginForGetWidgetException;
+	}
+
+	public void setHtmlChartPluginForGetWidgetException(HtmlChartPlugin htmlChartPluginForGetWidgetException)
+	{
+		this.htmlChartPluginForGetWidgetException = htmlChartPluginForGetWidgetException;
+	}
+
+	public HtmlChartPluginScriptObjectWriter getHtmlChartPluginScriptObjectWriter()
+	{
+		return htmlChartPluginScriptObjectWriter;
+	}
+
+	public void setHtmlChartPluginScriptObjectWriter(
+			HtmlChartPluginScriptObjectWriter htmlChartPluginScriptObjectWriter)
+	{
+		this.htmlChartPluginScriptObjectWriter = htmlChartPluginScriptObjectWriter;
+	}
+
+	/**
+	 * 获取当前的脚本包。
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public Bundle getBundle() throws IOException
+	{
+		List<HtmlChartPlugin> plugins = getHtmlChartPlugins();
+		String signature = buildSignature(plugins);
+
+		Bundle bundle = this._bundle;
+
+		if (bundle != null && bundle.getSignature().equals(signature))
+			return bundle;
+
+		synchronized (this)
+		{
+			bundle = this._bundle;
+
+			if (bundle == null || !bundle.getSignature().equals(signature))
+			{
+				bundle = createBundle(plugins, signature);
+				this._bundle = bundle;
+			}
+		}
+
+		return bundle;
+	}
+
+	/**
+	 * 获取当前脚本包的内容摘要。
+	 *
+	 * @return
+	 * @throws IOException
+	 */
+	public String getHash() throws IOException
+	{
+		return getBundle().getHash();
+	}
+
+	protected List<HtmlChartPlugin> getHtmlChartPlugins()
+	{
+		List<HtmlChartPlugin> plugins = this.directoryHtmlChartPluginManager.getAll(HtmlChartPlugin.class);
+
+		List<HtmlChartPlugin> htmlChartPlugins = new ArrayList<>((plugins == null ? 0 : plugins.size()) + 1);
+
+		if (plugins != null)
+			htmlChartPlugins.addAll(plugins);
+
+		if (this.htmlChartPluginForGetWidgetException != null)
+			htmlChartPlugins.add(this.htmlChartPluginForGetWidgetException);
+
+		return htmlChartPlugins;
+	}
+
+	/**
+	 * 构建插件签名，插件增删、修改后签名都将变化。
+	 *
+	 * @param plugins
+	 * @return
+	 */
+	protected String buildSignature(List<HtmlChartPlugin> plugins)
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (HtmlChartPlugin plugin : plugins)
+		{
+			sb.append(plugin.getId()).append(':').append(plugin.getLastModified()).append(':')
+					.append(System.identityHashCode(plugin)).append(',');
+		}
+
+		return sb.toString();
+	}
+
+	protected Bundle createBundle(List<HtmlChartPlugin> plugins, String signature) throws IOException
+	{
+		long lastModified = -1;
+
+		for (HtmlChartPlugin plugin : plugins)
+			lastModified = Math.max(lastModified, plugin.getLastModified());
+
+		StringWriter stringWriter = new StringWriter();
+		PrintWriter out = new PrintWriter(stringWriter);
+
+		writeScript(out, plugins);
+		out.flush();
+
+		byte[] content = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream gzipBytes = new ByteArrayOutputStream(content.length / 4 + 16);
+		GZIPOutputStream gzipOut = null;
+
+		try
+		{
+			gzipOut = new GZIPOutputStream(gzipBytes);
+			gzipOut.write(content);
+		}
+		finally
+		{
+			IOUtil.close(gzipOut);
+		}
+
+		return new Bundle(signature, content, gzipBytes.toByteArray(), DigestUtils.md5DigestAsHex(content),
+				lastModified);
+	}
+
+	protected void writeScript(PrintWriter out, List<HtmlChartPlugin> plugins) throws IOException
+	{
+		out.println("(function(global)");
+		out.println("{");
+
+		out.println("var chartFactory = (global.chartFactory || (global.chartFactory = {}));");
+		out.println(
+				"var chartPluginManager = (chartFactory.chartPluginManager || (chartFactory.chartPluginManager = {}));");
+		out.println("chartPluginManager.plugins = (chartPluginManager.plugins || {});");
+
+		out.println();
+		out.println("//@deprecated 兼容1.8.1版本的window.chartPluginManager变量名，未来版本会移除");
+		out.println("global.chartPluginManager = chartPluginManager;");
+
+		out.println();
+		out.println("chartPluginManager.get = function(id){ return this.plugins[id]; };");
+		out.println();
+
+		for (int i = 0, len = plugins.size(); i < len; i++)
+		{
+			HtmlChartPlugin plugin = plugins.get(i);
+			String pluginVar = "plugin" + i;
+
+			this.htmlChartPluginScriptObjectWriter.write(out, plugin, pluginVar);
+
+			out.println("chartPluginManager.plugins[\"" + WebUtils.escapeJavaScriptStringValue(plugin.getId())
+					+ "\"] = " + pluginVar + ";");
+		}
+
+		out.println("})(this);");
+	}
+
+	/**
+	 * 脚本包。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	public static class Bundle
+	{
+		/** 插件签名 */
+		private final String signature;
+
+		/** UTF-8编码的脚本内容 */
+		private final byte[] content;
+
+		/** gzip压缩后的脚本内容 */
+		private final byte[] gzipContent;
+
+		/** 内容摘要 */
+		private final String hash;
+
+		/** 最后修改时间 */
+		private final long lastModified;
+
+		public Bundle(String signature, byte[] content, byte[] gzipContent, String hash, long lastModified)
+		{
+			super();
+			this.signature = signature;
+			this.content = content;
+			this.gzipContent = gzipContent;
+			this.hash = hash;
+			this.lastModified = lastModified;
+		}
+
+		public String getSignature()
+		{
+			return signature;
+		}
+
+		public byte[] getContent()
+		{
+			return content;
+		}
+
+		public byte[] getGzipContent()
+		{
+			return gzipContent;
+		}
+
+		public String getHash()
+		{
+			return hash;
+		}
+
+		public long getLastModified()
+		{
+			return lastModified;
+		}
+	}
+}
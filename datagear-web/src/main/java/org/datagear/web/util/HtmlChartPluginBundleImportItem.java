@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.io.IOException;
+
+import org.datagear.analysis.support.html.HtmlTplDashboardImport.ImportItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@linkplain HtmlChartPluginBundle}看板导入项。
+ * <p>
+ * 它的{@linkplain #getContent()}是引用图表插件脚本包的<code>&lt;script&gt;</code>，URL末尾附加当前脚本包的内容摘要，
+ * 因此插件变化后看板页面会自动引用新的脚本包。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HtmlChartPluginBundleImportItem extends ImportItem
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HtmlChartPluginBundleImportItem.class);
+
+	/** 脚本包URL，不包含版本参数 */
+	private String src;
+
+	/** 获取内容摘要出错时使用的版本 */
+	private String defaultVersion;
+
+	private transient HtmlChartPluginBundle htmlChartPluginBundle;
+
+	public HtmlChartPluginBundleImportItem()
+	{
+		super();
+	}
+
+	public HtmlChartPluginBundleImportItem(String name, String src, String defaultVersion,
+			HtmlChartPluginBundle htmlChartPluginBundle)
+	{
+		super(name, null);
+		this.src = src;
+		this.defaultVersion = defaultVersion;
+		this.htmlChartPluginBundle = htmlChartPluginBundle;
+	}
+
+	public String getSrc()
+	{
+		return src;
+	}
+
+	public void setSrc(String src)
+	{
+		this.src = src;
+	}
+
+	public String getDefaultVersion()
+	{
+		return defaultVersion;
+	}
+
+	public void setDefaultVersion(String defaultVersion)
+	{
+		this.defaultVersion = defaultVersion;
+	}
+
+	public HtmlChartPluginBundle getHtmlChartPluginBundle()
+	{
+		return htmlChartPluginBundle;
+	}
+
+	public void setHtmlChartPluginBundle(HtmlChartPluginBundle htmlChartPluginBundle)
+	{
+		this.htmlChartPluginBundle = htmlChartPluginBundle;
+	}
+
+	@Override
+	public String getContent()
+	{
+		String version = this.defaultVersion;
+
+		try
+		{
+			version = this.htmlChartPluginBundle.getHash();
+		}
+		catch (IOException e)
+		{
+			if (LOGGER.isErrorEnabled())
+				LOGGER.error("Get chart plugin bundle hash error", e);
+		}
+
+		return valueOfJavaScript(getName(), this.src + "?v=" + version).getContent();
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.util.List;
+import java.util.Map;
+
+import org.datagear.analysis.support.HttpLatencyHistogram;
+
+/**
+ * 数据集HTTP客户端统计信息。
+ *
+ * @author datagear@163.com
+ *
+ */
+public class HttpClientStat
+{
+	/** 最大连接数 */
+	private int maxTotal;
+
+	/** 每个主机的默认最大连接数 */
+	private int defaultMaxPerRoute;
+
+	/** 使用中的连接数 */
+	private int leased;
+
+	/** 等待获取连接的请求数 */
+	private int pending;
+
+	/** 空闲连接数 */
+	private int available;
+
+	/** 各主机的连接统计 */
+	private List<RouteStat> routeStats;
+
+	/** 主机-请求耗时直方图 */
+	private Map<String, HttpLatencyHistogram> latencies;
+
+	public HttpClientStat()
+	{
+		super();
+	}
+
+	public int getMaxTotal()
+	{
+		return maxTotal;
+	}
+
+	public void setMaxTotal(int maxTotal)
+	{
+		this.maxTotal = maxTotal;
+	}
+
+	public int getDefaultMaxPerRoute()
+	{
+		return defaultMaxPerRoute;
+	}
+
+	public void setDefaultMaxPerRoute(int defaultMaxPerRoute)
+	{
+		this.defaultMaxPerRoute = defaultMaxPerRoute;
+	}
+
+	public int getLeased()
+	{
+		return leased;
+	}
+
+	public void setLeased(int leased)
+	{
+		this.leased = leased;
+	}
+
+	public int getPending()
+	{
+		return pending;
+	}
+
+	public void setPending(int pending)
+	{
+		this.pending = pending;
+	}
+
+	public int getAvailable()
+	{
+		return available;
+	}
+
+	public void setAvailable(int available)
+	{
+		this.available = available;
+	}
+
+	public List<RouteStat> getRouteStats()
+	{
+		return routeStats;
+	}
+
+	public void setRouteStats(List<RouteStat> routeStats)
+	{
+		this.routeStats = routeStats;
+	}
+
+	public Map<String, HttpLatencyHistogram> getLatencies()
+	{
+		return latencies;
+	}
+
+	public void setLatencies(Map<String, HttpLatencyHistogram> latencies)
+	{
+		this.latencies = latencies;
+	}
+
+	/**
+	 * 主机连接统计信息。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	public static class RouteStat
+	{
+		/** 主机 */
+		private String route;
+
+		/** 最大连接数 */
+		private int max;
+
+		/** 使用中的连接数 */
+		private int leased;
+
+		/** 等待获取连接的请求数 */
+		private int pending;
+
+		/** 空闲连接数 */
+		private int available;
+
+		public RouteStat()
+		{
+			super();
+		}
+
+		public RouteStat(String route, int max, int leased, int pending, int available)
+		{
+			super();
+			this.route = route;
+			this.max = max;
+			this.leased = leased;
+			this.pending = pending;
+			this.available = available;
+		}
+
+		public String getRoute()
+		{
+			return route;
+		}
+
+		public void setRoute(String route)
+		{
+			this.route = route;
+		}
+
+		public int getMax()
+		{
+			return max;
+		}
+
+		public void setMax(int max)
+		{
+			this.max = max;
+		}
+
+		public int getLeased()
+		{
+			return leased;
+		}
+
+		public void setLeased(int leased)
+		{
+			this.leased = leased;
+		}
+
+		public int getPending()
+		{
+			return pending;
+		}
+
+		public void setPending(int pending)
+		{
+			this.pending = pending;
+		}
+
+		public int getAvailable()
+		{
+			return available;
+		}
+
+		public void setAvailable(int available)
+		{
+			this.available = available;
+		}
+	}
+}
@@ -9,7 +9,8 @@ package org.datagear.web.util;
 
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ListIterator;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
@@ -21,13 +22,19 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
  * <p>
  * 此类是线程安全的。
  * </p>
+ * <p>
+ * 消息可以由客户端使用{@linkplain #pull(String, int)}轮询拉取，也可以设置{@linkplain #setListener(MessageChannelListener)}，
+ * 在推入消息时通知监听器（比如{@linkplain MessageChannelPusher}）主动推送给客户端。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
 public class MessageChannel
 {
-	private LoadingCache<String, LinkedBlockingQueue<Object>> _cache;
+	private LoadingCache<String, LinkedBlockingDeque<Object>> _cache;
+
+	private volatile MessageChannelListener listener = null;
 
 	public MessageChannel()
 	{
@@ -41,16 +48,26 @@ public class MessageChannel
 		// 消息通道只允许超时，不允许被其他情况移除
 		this._cache = Caffeine.newBuilder().maximumSize(Integer.MAX_VALUE)
 				.expireAfterAccess(channelExpireSeconds, TimeUnit.SECONDS)
-				.build(new CacheLoader<String, LinkedBlockingQueue<Object>>()
+				.build(new CacheLoader<String, LinkedBlockingDeque<Object>>()
 				{
 					@Override
-					public LinkedBlockingQueue<Object> load(String key) throws Exception
+					public LinkedBlockingDeque<Object> load(String key) throws Exception
 					{
-						return new LinkedBlockingQueue<Object>();
+						return new LinkedBlockingDeque<Object>();
 					}
 				});
 	}
 
+	public MessageChannelListener getListener()
+	{
+		return listener;
+	}
+
+	public void setListener(MessageChannelListener listener)
+	{
+		this.listener = listener;
+	}
+
 	/**
 	 * 推入消息。
 	 * 
@@ -59,10 +76,45 @@ public class MessageChannel
 	 */
 	public void push(String channel, Object... messages)
 	{
-		LinkedBlockingQueue<Object> queue = getChannelQueueNonNull(channel);
+		LinkedBlockingDeque<Object> queue = getChannelQueueNonNull(channel);
 
 		for (int i = 0; i < messages.length; i++)
 			queue.add(messages[i]);
+
+		MessageChannelListener listener = this.listener;
+
+		if (listener != null)
+			listener.onPush(this, channel);
+	}
+
+	/**
+	 * 将已拉取的消息放回通道头部，保持原有顺序。
+	 * <p>
+	 * 用于推送消息失败时，使它们可以被再次拉取。
+	 * </p>
+	 * 
+	 * @param channel
+	 * @param messages
+	 */
+	public void restore(String channel, List<?> messages)
+	{
+		LinkedBlockingDeque<Object> queue = getChannelQueueNonNull(channel);
+
+		for (ListIterator<?> it = messages.listIterator(messages.size()); it.hasPrevious();)
+			queue.addFirst(it.previous());
+	}
+
+	/**
+	 * 是否有待拉取的消息。
+	 * 
+	 * @param channel
+	 * @return
+	 */
+	public boolean hasMessage(String channel)
+	{
+		LinkedBlockingDeque<Object> queue = this._cache.getIfPresent(channel);
+
+		return (queue != null && !queue.isEmpty());
 	}
 
 	/**
@@ -75,7 +127,7 @@ public class MessageChannel
 	@SuppressWarnings("unchecked")
 	public <T> T pull(String channel)
 	{
-		LinkedBlockingQueue<Object> queue = getChannelQueueNonNull(channel);
+		LinkedBlockingDeque<Object> queue = getChannelQueueNonNull(channel);
 
 		return (T) queue.poll();
 	}
@@ -90,7 +142,7 @@ public class MessageChannel
 	 */
 	public <T> List<T> pull(String channel, int count)
 	{
-		LinkedBlockingQueue<Object> queue = getChannelQueueNonNull(channel);
+		LinkedBlockingDeque<Object> queue = getChannelQueueNonNull(channel);
 
 		List<T> list = new LinkedList<T>();
 
@@ -106,7 +158,7 @@ public class MessageChannel
 		return list;
 	}
 
-	protected LinkedBlockingQueue<Object> getChannelQueueNonNull(String channel)
+	protected LinkedBlockingDeque<Object> getChannelQueueNonNull(String channel)
 	{
 		try
 		{
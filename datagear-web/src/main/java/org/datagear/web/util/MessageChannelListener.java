@@ -0,0 +1,28 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+/**
+ * {@linkplain MessageChannel}监听器。
+ * 
+ * @author datagear@163.com
+ *
+ */
+public interface MessageChannelListener
+{
+	/**
+	 * 消息已推入通道。
+	 * <p>
+	 * 此方法在推入消息的线程内调用，实现类不应在此执行耗时操作。
+	 * </p>
+	 * 
+	 * @param messageChannel
+	 * @param channel
+	 */
+	void onPush(MessageChannel messageChannel, String channel);
+}
@@ -0,0 +1,601 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@linkplain MessageChannel}消息推送器。
+ * <p>
+ * 它使用<i>Server-Sent Events</i>将通道消息推送给客户端，客户端不必再轮询拉取：
+ * </p>
+ * <ul>
+ * <li>批量：推入消息后延迟{@linkplain #getBatchDelayMillis()}毫秒再推送，期间推入的消息合并为一个事件，每个事件最多{@linkplain #getBatchSize()}条消息；</li>
+ * <li>背压：每个订阅者同时最多只有一个推送任务，客户端接收较慢时，消息暂留在通道内，推送失败的消息将被放回通道；</li>
+ * <li>所有订阅者共享{@linkplain #getExecutor()}的少量线程，不会因为会话增多而增加请求、线程；</li>
+ * <li>发送：{@linkplain SseEmitter#send(SseEmitter.SseEventBuilder)}是阻塞写操作，它在有界的{@linkplain #getSendExecutor()}中执行，
+ * 不会阻塞{@linkplain #getExecutor()}；发送超过{@linkplain #getSendTimeoutMillis()}毫秒未完成的订阅将被取消，
+ * 发送失败的订阅将以错误结束，客户端随后将自动重连。</li>
+ * </ul>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class MessageChannelPusher implements MessageChannelListener
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(MessageChannelPusher.class);
+
+	/** 推送执行器 */
+	private ScheduledExecutorService executor;
+
+	/** 消息发送执行器，应是有界的 */
+	private ExecutorService sendExecutor;
+
+	/** 默认的消息JSON序列化器 */
+	private ObjectMapper objectMapper;
+
+	/** 每个事件最多包含的消息数 */
+	private int batchSize = 50;
+
+	/** 批量推送延迟毫秒数 */
+	private long batchDelayMillis = 50;
+
+	/** 推送连接超时毫秒数，超时后客户端将自动重连 */
+	private long timeoutMillis = 5 * 60 * 1000;
+
+	/** 每次发送超时毫秒数 */
+	private long sendTimeoutMillis = 10 * 1000;
+
+	private ConcurrentMap<String, Subscriber> _subscribers = new ConcurrentHashMap<>();
+
+	public MessageChannelPusher()
+	{
+		super();
+	}
+
+	public MessageChannelPusher(ScheduledExecutorService executor, ExecutorService sendExecutor,
+			ObjectMapper objectMapper)
+	{
+		super();
+		this.executor = executor;
+		this.sendExecutor = sendExecutor;
+		this.objectMapper = objectMapper;
+	}
+
+	public ScheduledExecutorService getExecutor()
+	{
+		return executor;
+	}
+
+	public void setExecutor(ScheduledExecutorService executor)
+	{
+		this.executor = executor;
+	}
+
+	public ExecutorService getSendExecutor()
+	{
+		return sendExecutor;
+	}
+
+	public void setSendExecutor(ExecutorService sendExecutor)
+	{
+		this.sendExecutor = sendExecutor;
+	}
+
+	public ObjectMapper getObjectMapper()
+	{
+		return objectMapper;
+	}
+
+	public void setObjectMapper(ObjectMapper objectMapper)
+	{
+		this.objectMapper = objectMapper;
+	}
+
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize)
+	{
+		this.batchSize = batchSize;
+	}
+
+	public long getBatchDelayMillis()
+	{
+		return batchDelayMillis;
+	}
+
+	public void setBatchDelayMillis(long batchDelayMillis)
+	{
+		this.batchDelayMillis = batchDelayMillis;
+	}
+
+	public long getTimeoutMillis()
+	{
+		return timeoutMillis;
+	}
+
+	public void setTimeoutMillis(long timeoutMillis)
+	{
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public long getSendTimeoutMillis()
+	{
+		return sendTimeoutMillis;
+	}
+
+	public void setSendTimeoutMillis(long sendTimeoutMillis)
+	{
+		this.sendTimeoutMillis = sendTimeoutMillis;
+	}
+
+	/**
+	 * 订阅通道消息。
+	 *
+	 * @param messageChannel
+	 * @param channel
+	 * @return
+	 */
+	public SseEmitter subscribe(MessageChannel messageChannel, String channel)
+	{
+		return subscribe(messageChannel, channel, this.objectMapper);
+	}
+
+	/**
+	 * 订阅通道消息。
+	 * <p>
+	 * 同一通道只保留最后一个订阅者，客户端重连时之前的订阅将被关闭。
+	 * </p>
+	 *
+	 * @param messageChannel
+	 * @param channel
+	 * @param objectMapper
+	 *            消息JSON序列化器
+	 * @return
+	 */
+	public SseEmitter subscribe(MessageChannel messageChannel, String channel, ObjectMapper objectMapper)
+	{
+		if (messageChannel.getListener() != this)
+			messageChannel.setListener(this);
+
+		SseEmitter emitter = new SseEmitter(this.timeoutMillis);
+		final Subscriber subscriber = new Subscriber(messageChannel, channel, emitter, objectMapper);
+
+		Runnable unsubscribe = new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				unsubscribe(subscriber);
+			}
+		};
+
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(new Consumer<Throwable>()
+		{
+			@Override
+			public void accept(Throwable t)
+			{
+				unsubscribe(subscriber);
+			}
+		});
+
+		Subscriber prev = this._subscribers.put(channel, subscriber);
+
+		if (prev != null)
+			close(prev, null);
+
+		// 订阅前可能已有消息
+		if (messageChannel.hasMessage(channel))
+			schedule(subscriber);
+
+		return emitter;
+	}
+
+	@Override
+	public void onPush(MessageChannel messageChannel, String channel)
+	{
+		Subscriber subscriber = this._subscribers.get(channel);
+
+		if (subscriber != null && subscriber.getMessageChannel() == messageChannel)
+			schedule(subscriber);
+	}
+
+	/**
+	 * 安排推送任务，如果订阅者已有待执行的推送任务，则不再安排。
+	 *
+	 * @param subscriber
+	 */
+	protected void schedule(final Subscriber subscriber)
+	{
+		if (subscriber.isClosed() || !subscriber.getScheduled().compareAndSet(false, true))
+			return;
+
+		try
+		{
+			this.executor.schedule(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					push(subscriber);
+				}
+			}, this.batchDelayMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException e)
+		{
+			subscriber.getScheduled().set(false);
+
+			LOGGER.warn("Schedule message push rejected for channel [{}]", subscriber.getChannel());
+		}
+	}
+
+	/**
+	 * 推送一批消息。
+	 * <p>
+	 * 消息将交由{@linkplain #send(Subscriber, List)}异步发送，发送完成后才会再次安排推送任务；未能发送时，如果还有剩余消息，将再次安排推送任务。
+	 * </p>
+	 *
+	 * @param subscriber
+	 */
+	protected void push(Subscriber subscriber)
+	{
+		MessageChannel messageChannel = subscriber.getMessageChannel();
+		String channel = subscriber.getChannel();
+
+		boolean sending = false;
+
+		try
+		{
+			if (!subscriber.isClosed())
+			{
+				List<Object> messages = messageChannel.pull(channel, this.batchSize);
+
+				if (!messages.isEmpty())
+					sending = send(subscriber, messages);
+			}
+		}
+		finally
+		{
+			if (!sending)
+				subscriber.getScheduled().set(false);
+		}
+
+		// 重置标记后推入的消息可能未安排推送
+		if (!sending && messageChannel.hasMessage(channel))
+			schedule(subscriber);
+	}
+
+	/**
+	 * 在{@linkplain #getSendExecutor()}中异步发送消息事件，并安排发送超时检查。
+	 * <p>
+	 * 发送执行器已满时，消息将被放回通道，等待下次推送。
+	 * </p>
+	 *
+	 * @param subscriber
+	 * @param messages
+	 * @return {@code false}表示未能开始发送
+	 */
+	protected boolean send(final Subscriber subscriber, List<Object> messages)
+	{
+		String json = null;
+
+		try
+		{
+			json = subscriber.getObjectMapper().writeValueAsString(messages);
+		}
+		catch (IOException e)
+		{
+			LOGGER.error("Serialize messages failed for channel [{}]", subscriber.getChannel(), e);
+
+			subscriber.getMessageChannel().restore(subscriber.getChannel(), messages);
+			close(subscriber, e);
+
+			return false;
+		}
+
+		final SendTask task = new SendTask(subscriber, messages, json);
+
+		subscriber.setSending(true);
+
+		try
+		{
+			task.setTimeoutFuture(this.executor.schedule(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					if (task.finish())
+					{
+						LOGGER.debug("Push messages timeout for channel [{}]", subscriber.getChannel());
+
+						close(subscriber, new TimeoutException("Push messages timeout"));
+					}
+				}
+			}, this.sendTimeoutMillis, TimeUnit.MILLISECONDS));
+
+			this.sendExecutor.execute(task);
+
+			return true;
+		}
+		catch (RejectedExecutionException e)
+		{
+			task.finish();
+			task.cancelTimeout();
+
+			LOGGER.debug("Send messages rejected for channel [{}]", subscriber.getChannel());
+
+			subscriber.getMessageChannel().restore(subscriber.getChannel(), messages);
+			endSending(subscriber, null);
+
+			return false;
+		}
+	}
+
+	/**
+	 * 执行发送，此方法可能被阻塞，只应在{@linkplain #getSendExecutor()}中调用。
+	 *
+	 * @param task
+	 */
+	protected void doSend(SendTask task)
+	{
+		Subscriber subscriber = task.getSubscriber();
+		MessageChannel messageChannel = subscriber.getMessageChannel();
+		String channel = subscriber.getChannel();
+
+		Throwable error = null;
+
+		try
+		{
+			subscriber.getEmitter().send(SseEmitter.event().data(task.getJson()));
+		}
+		catch (Throwable t)
+		{
+			LOGGER.debug("Push messages failed for channel [{}]", channel, t);
+
+			error = t;
+		}
+		finally
+		{
+			task.finish();
+			task.cancelTimeout();
+		}
+
+		if (error != null)
+		{
+			messageChannel.restore(channel, task.getMessages());
+			unsubscribe(subscriber);
+		}
+
+		endSending(subscriber, error);
+
+		subscriber.getScheduled().set(false);
+
+		if (messageChannel.hasMessage(channel))
+			schedule(subscriber);
+	}
+
+	/**
+	 * 结束发送状态，如果期间订阅已被取消，则结束推送连接。
+	 *
+	 * @param subscriber
+	 * @param error
+	 *            发送错误，允许为{@code null}
+	 */
+	protected void endSending(Subscriber subscriber, Throwable error)
+	{
+		subscriber.setSending(false);
+
+		if (subscriber.isClosed())
+			completeEmitter(subscriber, error);
+	}
+
+	/**
+	 * 取消订阅并结束推送连接。
+	 * <p>
+	 * {@linkplain SseEmitter}的发送、结束操作是互斥的，如果订阅者正在发送，为了不阻塞调用线程，将由发送线程在发送返回后结束推送连接。
+	 * </p>
+	 *
+	 * @param subscriber
+	 * @param error
+	 *            允许为{@code null}
+	 */
+	protected void close(Subscriber subscriber, Throwable error)
+	{
+		unsubscribe(subscriber);
+
+		if (!subscriber.isSending())
+			completeEmitter(subscriber, error);
+	}
+
+	protected void completeEmitter(Subscriber subscriber, Throwable error)
+	{
+		try
+		{
+			if (error == null)
+				subscriber.getEmitter().complete();
+			else
+				subscriber.getEmitter().completeWithError(error);
+		}
+		catch (Throwable t)
+		{
+			LOGGER.debug("Complete emitter failed for channel [{}]", subscriber.getChannel(), t);
+		}
+	}
+
+	protected void unsubscribe(Subscriber subscriber)
+	{
+		subscriber.setClosed(true);
+		this._subscribers.remove(subscriber.getChannel(), subscriber);
+	}
+
+	/**
+	 * 发送任务。
+	 *
+	 * @author datagear@163.com
+	 *
+	 */
+	protected class SendTask implements Runnable
+	{
+		private final Subscriber subscriber;
+
+		private final List<Object> messages;
+
+		private final String json;
+
+		private final AtomicBoolean finished = new AtomicBoolean(false);
+
+		private volatile ScheduledFuture<?> timeoutFuture = null;
+
+		public SendTask(Subscriber subscriber, List<Object> messages, String json)
+		{
+			super();
+			this.subscriber = subscriber;
+			this.messages = messages;
+			this.json = json;
+		}
+
+		public Subscriber getSubscriber()
+		{
+			return subscriber;
+		}
+
+		public List<Object> getMessages()
+		{
+			return messages;
+		}
+
+		public String getJson()
+		{
+			return json;
+		}
+
+		public void setTimeoutFuture(ScheduledFuture<?> timeoutFuture)
+		{
+			this.timeoutFuture = timeoutFuture;
+		}
+
+		/**
+		 * 标记为已结束（发送返回或者超时）。
+		 *
+		 * @return {@code true}表示由本次调用标记
+		 */
+		public boolean finish()
+		{
+			return this.finished.compareAndSet(false, true);
+		}
+
+		public void cancelTimeout()
+		{
+			ScheduledFuture<?> timeoutFuture = this.timeoutFuture;
+
+			if (timeoutFuture != null)
+				timeoutFuture.cancel(false);
+		}
+
+		@Override
+		public void run()
+		{
+			doSend(this);
+		}
+	}
+
+	protected static class Subscriber
+	{
+		private final MessageChannel messageChannel;
+
+		private final String channel;
+
+		private final SseEmitter emitter;
+
+		private final ObjectMapper objectMapper;
+
+		private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+		private volatile boolean closed = false;
+
+		/** 是否正在发送，与{@linkplain #closed}配合确保推送连接在发送返回后被结束 */
+		private volatile boolean sending = false;
+
+		public Subscriber(MessageChannel messageChannel, String channel, SseEmitter emitter,
+				ObjectMapper objectMapper)
+		{
+			super();
+			this.messageChannel = messageChannel;
+			this.channel = channel;
+			this.emitter = emitter;
+			this.objectMapper = objectMapper;
+		}
+
+		public MessageChannel getMessageChannel()
+		{
+			return messageChannel;
+		}
+
+		public String getChannel()
+		{
+			return channel;
+		}
+
+		public SseEmitter getEmitter()
+		{
+			return emitter;
+		}
+
+		public ObjectMapper getObjectMapper()
+		{
+			return objectMapper;
+		}
+
+		public AtomicBoolean getScheduled()
+		{
+			return scheduled;
+		}
+
+		public boolean isClosed()
+		{
+			return closed;
+		}
+
+		public void setClosed(boolean closed)
+		{
+			this.closed = closed;
+		}
+
+		public boolean isSending()
+		{
+			return sending;
+		}
+
+		public void setSending(boolean sending)
+		{
+			this.sending = sending;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.datagear.connection.ConnectionOption;
+import org.datagear.connection.DefaultConnectionSource;
+import org.datagear.management.domain.Schema;
+import org.datagear.management.service.SchemaService;
+import org.datagear.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@linkplain Schema}首选驱动程序初始化器。
+ * <p>
+ * 它在后台线程中为所有未指定驱动程序的{@linkplain Schema}预先查找首选驱动程序，
+ * 以免应用启动后首批请求才并发地查找、尝试建立连接。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class SchemaPreferredDriverInitializer
+{
+	private static final Logger LOGGER = LoggerFactory.getLogger(SchemaPreferredDriverInitializer.class);
+
+	private SchemaService schemaService;
+
+	private DefaultConnectionSource connectionSource;
+
+	public SchemaPreferredDriverInitializer()
+	{
+		super();
+	}
+
+	public SchemaPreferredDriverInitializer(SchemaService schemaService, DefaultConnectionSource connectionSource)
+	{
+		super();
+		this.schemaService = schemaService;
+		this.connectionSource = connectionSource;
+	}
+
+	public SchemaService getSchemaService()
+	{
+		return schemaService;
+	}
+
+	public void setSchemaService(SchemaService schemaService)
+	{
+		this.schemaService = schemaService;
+	}
+
+	public DefaultConnectionSource getConnectionSource()
+	{
+		return connectionSource;
+	}
+
+	public void setConnectionSource(DefaultConnectionSource connectionSource)
+	{
+		this.connectionSource = connectionSource;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		Thread thread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				resolve();
+			}
+		}, SchemaPreferredDriverInitializer.class.getSimpleName());
+
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * 查找所有{@linkplain Schema}的首选驱动程序。
+	 */
+	protected void resolve()
+	{
+		List<Schema> schemas = null;
+
+		try
+		{
+			schemas = this.schemaService.query(new Query());
+		}
+		catch (Throwable t)
+		{
+			LOGGER.error("Query schemas for resolving prefered drivers error", t);
+			return;
+		}
+
+		Set<String> urls = new HashSet<>();
+		int resolved = 0;
+
+		for (Schema schema : schemas)
+		{
+			if (schema.hasDriverEntity() || !urls.add(schema.getUrl()))
+				continue;
+
+			ConnectionOption connectionOption = ConnectionOption.valueOf(schema.getUrl(), schema.getUser(),
+					schema.getPassword());
+
+			try
+			{
+				if (this.connectionSource.resolvePreferredDriverEntity(connectionOption))
+					resolved++;
+			}
+			catch (Throwable t)
+			{
+				LOGGER.debug("Resolve prefered driver error for schema [{}]", schema.getId(), t);
+			}
+		}
+
+		if (LOGGER.isInfoEnabled())
+			LOGGER.info("Resolved prefered drivers for {} of {} schema urls", resolved, urls.size());
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 datagear.tech
+ *
+ * Licensed under the LGPLv3 license:
+ * http://www.gnu.org/licenses/lgpl-3.0.html
+ */
+
+package org.datagear.web.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.datagear.persistence.PagingQuery;
+import org.datagear.persistence.SeekKey;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 表数据分页查询的{@linkplain SeekKey}缓存。
+ * <p>
+ * 它按照表、查询关键字、条件、排序、每页记录数缓存各页的{@linkplain SeekKey}，
+ * 使得顺序翻页、或者跳转至已浏览过页的附近时，可以从最近的前一页定位查询，而不必使用<code>OFFSET</code>跳过之前的所有记录。
+ * </p>
+ *
+ * @author datagear@163.com
+ *
+ */
+public class SeekKeyCache
+{
+	/** 缓存的查询数 */
+	private int maximumSize = 500;
+
+	/** 每个查询最多缓存的页数，超出时将移除页码最小的，因为靠前的页使用偏移量查询的开销也很小 */
+	private int maxPagesPerQuery = 100;
+
+	/** 缓存过期分钟数 */
+	private int expireAfterAccessMinutes = 30;
+
+	private Cache<SeekKeyCacheKey, ConcurrentSkipListMap<Integer, SeekKey>> _cache = null;
+
+	public SeekKeyCache()
+	{
+		super();
+	}
+
+	public int getMaximumSize()
+	{
+		return maximumSize;
+	}
+
+	public void setMaximumSize(int maximumSize)
+	{
+		this.maximumSize = maximumSize;
+	}
+
+	public int getMaxPagesPerQuery()
+	{
+		return maxPagesPerQuery;
+	}
+
+	public void setMaxPagesPerQuery(int maxPagesPerQuery)
+	{
+		this.maxPagesPerQuery = maxPagesPerQuery;
+	}
+
+	public int getExpireAfterAccessMinutes()
+	{
+		return expireAfterAccessMinutes;
+	}
+
+	public void setExpireAfterAccessMinutes(int expireAfterAccessMinutes)
+	{
+		this.expireAfterAccessMinutes = expireAfterAccessMinutes;
+	}
+
+	/**
+	 * 初始化。
+	 */
+	public void init()
+	{
+		this._cache = Caffeine.newBuilder().maximumSize(this.maximumSize)
+				.expireAfterAccess(this.expireAfterAccessMinutes, TimeUnit.MINUTES).build();
+	}
+
+	/**
+	 * 获取{@linkplain PagingQuery#getPage()}之前最近一页的{@linkplain SeekKey}。
+	 *
+	 * @param schemaId
+	 * @param tableName
+	 * @param pagingQuery
+	 * @return 返回{@code null}表示没有
+	 */
+	public SeekKey get(String schemaId, String tableName, PagingQuery pagingQuery)
+	{
+		if (pagingQuery.getPage() <= 1)
+			return null;
+
+		ConcurrentSkipListMap<Integer, SeekKey> seekKeys = this._cache
+				.getIfPresent(new SeekKeyCacheKey(schemaId, tableName, pagingQuery));
+
+		if (seekKeys == null)
+			return null;
+
+		Map.Entry<Integer, SeekKey> entry = seekKeys.floorEntry(pagingQuery.getPage() - 1);
+
+		return (entry == null ? null : entry.getValue());
+	}
+
+	/**
+	 * 缓存{@linkplain SeekKey}。
+	 *
+	 * @param schemaId
+	 * @param tableName
+	 * @param pagingQuery
+	 * @param seekKey
+	 *            允许为{@code null}
+	 */
+	public void put(String schemaId, String tableName, PagingQuery pagingQuery, SeekKey seekKey)
+	{
+		if (seekKey == null)
+			return;
+
+		ConcurrentSkipListMap<Integer, SeekKey> seekKeys = this._cache.get(
+				new SeekKeyCacheKey(schemaId, tableName, pagingQuery),
+				new Function<SeekKeyCacheKey, ConcurrentSkipListMap<Integer, SeekKey>>()
+				{
+					@Override
+					public ConcurrentSkipListMap<Integer, SeekKey> apply(SeekKeyCacheKey key)
+					{
+						return new ConcurrentSkipListMap<>();
+					}
+				});
+
+		seekKeys.put(seekKey.getPage(), seekKey);
+
+		while (seekKeys.size() > this.maxPagesPerQuery)
+			seekKeys.pollFirstEntry();
+	}
+
+	protected static class SeekKeyCacheKey implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final String schemaId;
+		private final String tableName;
+		private final String keyword;
+		private final String condition;
+		private final boolean notLike;
+		private final String orders;
+		private final int pageSize;
+
+		public SeekKeyCacheKey(String schemaId, String tableName, PagingQuery pagingQuery)
+		{
+			super();
+			this.schemaId = schemaId;
+			this.tableName = tableName;
+			this.keyword = pagingQuery.getKeyword();
+			this.condition = pagingQuery.getCondition();
+			this.notLike = pagingQuery.isNotLike();
+			this.orders = Arrays.toString(pagingQuery.getOrders());
+			this.pageSize = pagingQuery.getPageSize();
+		}
+
+		@Override
+		public int hashCode()
+		{
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + ((schemaId == null) ? 0 : schemaId.hashCode());
+			result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
+			result = prime * result + ((keyword == null) ? 0 : keyword.hashCode());
+			result = prime * result + ((condition == null) ? 0 : condition.hashCode());
+			result = prime * result + (notLike ? 1231 : 1237);
+			result = prime * result + ((orders == null) ? 0 : orders.hashCode());
+			result = prime * result + pageSize;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+				return true;
+			if (obj == null)
+				return false;
+			if (getClass() != obj.getClass())
+				return false;
+			SeekKeyCacheKey other = (SeekKeyCacheKey) obj;
+			return (equalsNullable(schemaId, other.schemaId) && equalsNullable(tableName, other.tableName)
+					&& equalsNullable(keyword, other.keyword) && equalsNullable(condition, other.condition)
+					&& notLike == other.notLike && equalsNullable(orders, other.orders) && pageSize == other.pageSize);
+		}
+
+		protected static boolean equalsNullable(String a, String b)
+		{
+			return (a == null ? b == null : a.equals(b));
+		}
+	}
+}
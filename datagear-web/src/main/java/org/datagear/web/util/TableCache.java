@@ -8,31 +8,50 @@
 package org.datagear.web.util;
 
 import java.io.Serializable;
+import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import org.datagear.management.domain.Schema;
 import org.datagear.meta.Table;
+import org.datagear.meta.TableCatalog;
+import org.datagear.meta.resolver.DBMetaResolver;
+import org.datagear.meta.resolver.TableCatalogCache;
+import org.datagear.meta.resolver.TableCatalogListener;
+import org.datagear.util.resource.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
  * {@linkplain Table}缓存。
+ * <p>
+ * 它同时也是{@linkplain TableCatalogListener}，在{@linkplain TableCatalogCache}刷新某个{@linkplain Schema}的表目录后，
+ * 清除已不存在的表的缓存，并重新加载仍然存在的表。
+ * </p>
  * 
  * @author datagear@163.com
  *
  */
-public class TableCache
+public class TableCache implements TableCatalogListener
 {
+	private static final Logger LOGGER = LoggerFactory.getLogger(TableCache.class);
+
 	/** 缓存值的最大数 */
 	private int maximumSize = 1000;
 
 	/** 缓存过期分钟数 */
 	private int expireAfterAccessMinutes = 60 * 72;
 
+	/** 用于在表目录刷新后重新加载已缓存的表，为{@code null}表示不重新加载 */
+	private DBMetaResolver dbMetaResolver = null;
+
 	private Cache<TableCacheKey, Table> _cache = null;
 
 	public TableCache()
@@ -60,6 +79,16 @@ public class TableCache
 		this.expireAfterAccessMinutes = expireAfterAccessMinutes;
 	}
 
+	public DBMetaResolver getDbMetaResolver()
+	{
+		return dbMetaResolver;
+	}
+
+	public void setDbMetaResolver(DBMetaResolver dbMetaResolver)
+	{
+		this.dbMetaResolver = dbMetaResolver;
+	}
+
 	/**
 	 * 初始化。
 	 */
@@ -127,6 +156,83 @@ public class TableCache
 			this._cache.invalidateAll(myKeys);
 	}
 
+	@Override
+	public void onRefresh(String schemaId, TableCatalog oldCatalog, TableCatalog newCatalog,
+			ConnectionFactory connectionFactory)
+	{
+		ConcurrentMap<TableCacheKey, Table> map = this._cache.asMap();
+		Set<TableCacheKey> keys = map.keySet();
+
+		Set<TableCacheKey> removedKeys = new HashSet<>();
+		List<String> warmTableNames = new ArrayList<>();
+
+		for (TableCacheKey key : keys)
+		{
+			if (!key.getSchemaId().equals(schemaId))
+				continue;
+
+			if (newCatalog.contains(key.getTableName()))
+				warmTableNames.add(key.getTableName());
+			else
+				removedKeys.add(key);
+		}
+
+		if (!removedKeys.isEmpty())
+			this._cache.invalidateAll(removedKeys);
+
+		if (this.dbMetaResolver != null && !warmTableNames.isEmpty())
+			warm(schemaId, warmTableNames, connectionFactory);
+	}
+
+	/**
+	 * 重新加载并缓存指定的{@linkplain Table}。
+	 * <p>
+	 * 表目录无法反映表结构的变化，因此这里重新加载所有仍然存在的已缓存表，使用户下次打开时可以直接使用最新的缓存。
+	 * 此方法在{@linkplain TableCatalogCache}的后台刷新线程中调用，加载出错时仅清除这些表的缓存。
+	 * </p>
+	 * 
+	 * @param schemaId
+	 * @param tableNames
+	 * @param connectionFactory
+	 */
+	protected void warm(String schemaId, List<String> tableNames, ConnectionFactory connectionFactory)
+	{
+		Connection cn = null;
+
+		try
+		{
+			cn = connectionFactory.get();
+
+			List<Table> tables = this.dbMetaResolver.getTables(cn, tableNames.toArray(new String[tableNames.size()]));
+
+			for (Table table : tables)
+				put(schemaId, table);
+
+			LOGGER.debug("Warm {} cached tables for schema [{}]", tables.size(), schemaId);
+		}
+		catch (Throwable t)
+		{
+			for (String tableName : tableNames)
+				invalidate(schemaId, tableName);
+
+			LOGGER.error("Warm cached tables error for schema [" + schemaId + "]", t);
+		}
+		finally
+		{
+			if (cn != null)
+			{
+				try
+				{
+					connectionFactory.release(cn);
+				}
+				catch (Throwable t)
+				{
+					LOGGER.error("Release connection error", t);
+				}
+			}
+		}
+	}
+
 	protected static class TableCacheKey implements Serializable
 	{
 		private static final long serialVersionUID = 1L;
@@ -315,6 +315,44 @@ public class WebUtils
 		return ajaxRequest;
 	}
 
+	/**
+	 * 判断请求的<code>Accept-Encoding</code>是否接受指定内容编码，声明<code>q=0</code>的编码视为不接受。
+	 * 
+	 * @param request
+	 * @param encoding
+	 *            小写的内容编码，比如：{@code "gzip"}、{@code "br"}
+	 * @return
+	 */
+	public static boolean isAcceptEncoding(HttpServletRequest request, String encoding)
+	{
+		String acceptEncoding = request.getHeader("Accept-Encoding");
+
+		if (StringUtil.isEmpty(acceptEncoding))
+			return false;
+
+		String[] items = acceptEncoding.toLowerCase(Locale.ENGLISH).split(",");
+
+		for (String item : items)
+		{
+			String[] parts = item.trim().split(";");
+
+			if (!parts[0].trim().equals(encoding))
+				continue;
+
+			for (int i = 1; i < parts.length; i++)
+			{
+				String param = parts[i].trim();
+
+				if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?"))
+					return false;
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
 	/**
 	 * 获取页面ID。
 	 * <p>
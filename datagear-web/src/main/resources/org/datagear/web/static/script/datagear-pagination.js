@@ -27,6 +27,9 @@
 			//可选，总记录数
 			total: 0,
 			
+			//可选，总记录数类型："EXACT"、"CAPPED"、"ESTIMATED"、"CACHED"、"PROBED"
+			countType: "EXACT",
+			
 			//可选，页大小选项
 			pageSizeOptions: [[5, 10], [20, 50], [100, 200], [500, 1000]],
 			
@@ -276,6 +279,19 @@
 			}
 		},
 	
+		/**
+		 * 获取总记录数标签：上限数目、已读取数目显示为“10000+”，估算数目显示为“~10000”。
+		 */
+		_totalLabel : function(total, countType)
+		{
+			if(countType == "CAPPED" || countType == "PROBED")
+				return total + "+";
+			else if(countType == "ESTIMATED")
+				return "~" + total;
+			else
+				return total;
+		},
+		
 		/**
 		 * 绘制。
 		 */
@@ -290,7 +306,7 @@
 			var pages =  ( pageSize < 1 ? 0 : Math.ceil(total/pageSize));
 			
 			var label = $(".label", this.element);
-			$(".label-rt", label).text(total);
+			$(".label-rt", label).text(this._totalLabel(total, this.options.countType));
 			$(".label-ps", label).text(pageSize);
 			$(".label-cp", label).text(page);
 			$(".label-tp", label).text(pages);
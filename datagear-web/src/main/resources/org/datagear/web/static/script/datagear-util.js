@@ -3551,6 +3551,7 @@
 	/**
 	 * 创建任务客户端。
 	 * 任务客户端接收任务消息，直到任务完成。
+	 * 如果设置了options.streamUrl且浏览器支持EventSource，将由服务端推送消息，否则轮询接收消息。
 	 *
 	 * @param url 任务消息响应URL
 	 * @param messageHandler 消息处理器，格式为：function(message){ return true || false }，返回true表示任务已完成
@@ -3572,7 +3573,9 @@
 					//自动挂起状态时的轮询间隔
 					autoSuspendInterval: 1500,
 					//ajax设置项
-					ajaxOptions: {}
+					ajaxOptions: {},
+					//可选，服务端推送（Server-Sent Events）消息URL，为空则轮询
+					streamUrl: ""
 				},
 				options);
 	};
@@ -3586,7 +3589,11 @@
 				return false;
 			
 			this._status = "active.run";
-			this._receiveAndHandleMessage();
+			
+			if(this._isStreamEnabled())
+				this._openStream();
+			else
+				this._receiveAndHandleMessage();
 			
 			return true;
 		},
@@ -3608,6 +3615,13 @@
 			if(!this.isSuspend())
 				return false;
 			
+			//推送模式下没有轮询，保持连接即可
+			if(this._eventSource)
+			{
+				this._status = "active.run";
+				return true;
+			}
+			
 			this.stop();
 			this.start();
 			
@@ -3627,6 +3641,8 @@
 				this._timeoutId = "";
 			}
 			
+			this._closeStream();
+			
 			return true;
 		},
 		
@@ -3640,6 +3656,77 @@
 			return (this._status == "active.suspend");
 		},
 		
+		_isStreamEnabled: function()
+		{
+			return (this.options.streamUrl && window.EventSource && !this._streamFailed);
+		},
+		
+		_openStream: function()
+		{
+			var taskClient = this;
+			
+			var url = this.options.streamUrl;
+			if(this.options.data)
+				url += (url.indexOf("?") < 0 ? "?" : "&") + $.param(this.options.data);
+			
+			var eventSource = new EventSource(url);
+			this._eventSource = eventSource;
+			
+			eventSource.onmessage = function(event)
+			{
+				var messages = $.parseJSON(event.data);
+				
+				if(taskClient._handleMessages(messages))
+				{
+					taskClient._status = "stop";
+					taskClient._closeStream();
+				}
+			};
+			
+			eventSource.onerror = function()
+			{
+				//连接关闭后不再自动重连（比如服务端不支持推送），降级为轮询
+				if(eventSource.readyState == 2 && taskClient._eventSource === eventSource)
+				{
+					taskClient._closeStream();
+					taskClient._streamFailed = true;
+					
+					if(taskClient.isActive())
+						taskClient._receiveAndHandleMessage();
+				}
+			};
+		},
+		
+		_closeStream: function()
+		{
+			if(this._eventSource)
+			{
+				this._eventSource.close();
+				this._eventSource = null;
+			}
+		},
+		
+		//处理消息数组，返回true表示任务已完成
+		_handleMessages: function(messages)
+		{
+			if(messages == null)
+				messages = [];
+			else if(!$.isArray(messages))
+				messages = [ messages ];
+			
+			var isFinish = false;
+			
+			for(var i=0; i<messages.length; i++)
+			{
+				var myIsFinish = this.messageHandler(messages[i]);
+				
+				if(!isFinish && myIsFinish === true)
+					isFinish = true;
+			}
+			
+			return isFinish;
+		},
+		
 		_receiveAndHandleMessage: function()
 		{
 			if(!this.isActive())
@@ -3659,15 +3746,7 @@
 							else if(!$.isArray(messages))
 								messages = [ messages ];
 							
-							var isFinish = false;
-							
-							for(var i=0; i<messages.length; i++)
-							{
-								var myIsFinish = taskClient.messageHandler(messages[i]);
-								
-								if(!isFinish && myIsFinish === true)
-									isFinish = true;
-							}
+							var isFinish = taskClient._handleMessages(messages);
 							
 							if(isFinish)
 								taskClient._status = "stop";
@@ -65,7 +65,8 @@ po.subDataExchangeStatusColumnIndex 子数据交换表格中状态列索引
 				return po.handleDataExchangeMessage(message);
 			},
 			{
-				data: { dataExchangeId: po.dataExchangeId }
+				data: { dataExchangeId: po.dataExchangeId },
+				streamUrl: "${contextPath}/dataexchange/"+po.schemaId+"/messageStream"
 			}
 		);
 	
@@ -55,7 +55,7 @@ page_js_obj.ftl
 	po.dataTableAjaxSuccess = function(pagingData, textStatus, jqXHR)
 	{
 		if(po.refreshPagination)
-			po.refreshPagination(pagingData.total, pagingData.page, pagingData.pageSize);
+			po.refreshPagination(pagingData.total, pagingData.page, pagingData.pageSize, pagingData.countType);
 		
 		po.pageParamCall("dataTableAjaxSuccess", pagingData, textStatus, jqXHR);
 	};
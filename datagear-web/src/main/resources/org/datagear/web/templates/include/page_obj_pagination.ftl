@@ -55,10 +55,11 @@ po.paging = undefined;
 		});
 	};
 	
-	po.refreshPagination = function(total, page, pageSize)
+	po.refreshPagination = function(total, page, pageSize, countType)
 	{
 		po.pagination()
 		.pagination("option", "total", total)
+		.pagination("option", "countType", (countType || "EXACT"))
 		.pagination("option", "pageSize", pageSize)
 		.pagination("option", "page", page)
 		.pagination("refresh");
@@ -202,7 +202,8 @@ Schema schema 数据库，不允许为null
 				return po.handleMessage(message);
 			},
 			{
-				data: { sqlpadId: po.sqlpadId }
+				data: { sqlpadId: po.sqlpadId },
+				streamUrl: "${contextPath}/sqlpad/"+po.schemaId+"/messageStream"
 			}
 		);
 	